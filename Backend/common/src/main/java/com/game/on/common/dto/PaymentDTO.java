@@ -1,17 +1,22 @@
 package com.game.on.common.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-/* TO DO: Remove/ update once Payment/ stripe is implemented */
+/**
+ * Payment state change published on {@link #TOPIC}, keyed by paymentId. Delivery is at-least-once,
+ * so consumers should treat (paymentId, status) as idempotent.
+ */
 public record PaymentDTO(
         UUID paymentId,
-        UUID userId,
-        UUID orderId,
-        BigDecimal amount,
+        String userId,
+        UUID leagueId,
+        UUID teamId,
+        // amount in minor units (ex: cents for CAD/USD)
+        Long amount,
         String currency,
         String status,
-        LocalDateTime createdAt
+        LocalDateTime occurredAt
 ) {
+    public static final String TOPIC = "go-payment";
 }
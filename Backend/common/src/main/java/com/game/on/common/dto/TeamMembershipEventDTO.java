@@ -0,0 +1,23 @@
+package com.game.on.common.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by go-team-service whenever the set of teams a user belongs to changes.
+ * {@code userId} is null for team-wide changes such as archiving a team.
+ */
+public record TeamMembershipEventDTO(
+        UUID teamId,
+        String userId,
+        String change,
+        LocalDateTime occurredAt
+) {
+    public static final String TOPIC = "go-team-membership";
+
+    public static final String JOINED = "JOINED";
+    public static final String LEFT = "LEFT";
+    public static final String TEAM_ARCHIVED = "TEAM_ARCHIVED";
+    // userId is the new owner; the member set is unchanged
+    public static final String OWNER_CHANGED = "OWNER_CHANGED";
+}
@@ -0,0 +1,109 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.league.model.StandingsRules;
+import com.game.on.go_league_service.league.service.SeasonSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a full playoff-odds run: a league halfway through a double round robin, played out
+ * {@code simulations} times on a pool of {@code parallelism} workers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeasonSimulatorBenchmark {
+
+    @Param({"20", "64"})
+    int teams;
+
+    @Param({"20000"})
+    int simulations;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private SeasonSimulator.Season season;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(1L);
+        int[] played = new int[teams];
+        int[] wins = new int[teams];
+        int[] draws = new int[teams];
+        int[] goalsFor = new int[teams];
+        int[] goalsAgainst = new int[teams];
+        int[] points = new int[teams];
+        int fixtures = teams * (teams - 1);
+        int[] home = new int[fixtures / 2];
+        int[] away = new int[fixtures / 2];
+        int remaining = 0;
+        int index = 0;
+        for (int h = 0; h < teams; h++) {
+            for (int a = 0; a < teams; a++) {
+                if (h == a) {
+                    continue;
+                }
+                if (index++ % 2 == 0 && remaining < home.length) {
+                    home[remaining] = h;
+                    away[remaining] = a;
+                    remaining++;
+                    continue;
+                }
+                int hg = random.nextInt(4);
+                int ag = random.nextInt(3);
+                played[h]++;
+                played[a]++;
+                goalsFor[h] += hg;
+                goalsAgainst[h] += ag;
+                goalsFor[a] += ag;
+                goalsAgainst[a] += hg;
+                if (hg > ag) {
+                    wins[h]++;
+                    points[h] += 3;
+                } else if (hg < ag) {
+                    wins[a]++;
+                    points[a] += 3;
+                } else {
+                    draws[h]++;
+                    draws[a]++;
+                    points[h]++;
+                    points[a]++;
+                }
+            }
+        }
+        season = new SeasonSimulator.Season(StandingsRules.SOCCER, played, wins, draws, goalsFor, goalsAgainst,
+                points, Arrays.copyOf(home, remaining), Arrays.copyOf(away, remaining));
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public SeasonSimulator.Result simulate() {
+        return SeasonSimulator.simulate(season, simulations, 4, 42L, pool);
+    }
+}
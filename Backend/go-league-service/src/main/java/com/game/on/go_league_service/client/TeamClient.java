@@ -1,7 +1,11 @@
 package com.game.on.go_league_service.client;
 
+import com.game.on.go_league_service.client.dto.RefereeCommitmentResponse;
+import com.game.on.go_league_service.client.dto.RefereeCommitmentsRequest;
 import com.game.on.go_league_service.client.dto.TeamListResponse;
 import com.game.on.go_league_service.client.dto.TeamMatchDetailResponse;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckResponse;
 import com.game.on.go_league_service.client.dto.TeamMembershipResponse;
 import com.game.on.go_league_service.client.dto.TeamPostCreateRequest;
 import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
@@ -36,6 +40,9 @@ public interface TeamClient {
     @GetMapping("/api/v1/teams/{teamId}/members/{userId}/exists")
     Boolean isMember(@PathVariable UUID teamId, @PathVariable String userId);
 
+    @PostMapping("/api/v1/teams/members/check")
+    TeamMembershipCheckResponse findMembers(@RequestBody TeamMembershipCheckRequest request);
+
     @GetMapping("/api/v1/matches/{matchId}")
     TeamMatchDetailResponse getTeamMatch(@PathVariable UUID matchId);
 
@@ -55,4 +62,7 @@ public interface TeamClient {
     void createSystemPost(@PathVariable UUID teamId, @RequestBody TeamPostCreateRequest request);
     @GetMapping("/api/v1/matches/referee")
     List<TeamMatchDetailResponse> getMyRefereeMatches();
+
+    @PostMapping("/api/v1/matches/referees/commitments")
+    List<RefereeCommitmentResponse> getRefereeCommitments(@RequestBody RefereeCommitmentsRequest request);
 }
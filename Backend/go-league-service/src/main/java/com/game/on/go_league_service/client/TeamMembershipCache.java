@@ -0,0 +1,77 @@
+package com.game.on.go_league_service.client;
+
+import com.game.on.go_league_service.client.dto.TeamListItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Short-lived cache of the teams each user belongs to, so league visibility checks do not need a
+ * team-service round-trip per request. Entries expire after a TTL and are evicted early by
+ * membership events from go-team-service.
+ */
+@Slf4j
+@Component
+public class TeamMembershipCache {
+
+    private final TeamClient teamClient;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public TeamMembershipCache(TeamClient teamClient,
+                               @Value("${team-membership.cache.ttl:PT60S}") Duration ttl,
+                               @Value("${team-membership.cache.max-entries:10000}") int maxEntries) {
+        this.teamClient = teamClient;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Team ids of the given user. On a miss this calls the team service with the caller's
+     * forwarded credentials, so {@code userId} must be the current caller.
+     */
+    public List<UUID> teamIdsFor(String userId) {
+        long now = System.nanoTime();
+        Entry cached = entries.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.teamIds();
+        }
+
+        var response = teamClient.listTeams(true);
+        List<UUID> teamIds = response == null || response.items() == null
+                ? List.of()
+                : response.items().stream()
+                .map(TeamListItem::id)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> now - entry.loadedAt() >= ttlNanos);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(userId, new Entry(teamIds, now));
+        return teamIds;
+    }
+
+    public void evictUser(String userId) {
+        entries.remove(userId);
+    }
+
+    public void evictTeam(UUID teamId) {
+        entries.values().removeIf(entry -> entry.teamIds().contains(teamId));
+    }
+
+    private record Entry(List<UUID> teamIds, long loadedAt) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.game.on.go_league_service.client.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record RefereeCommitmentsRequest(
+        List<String> refereeUserIds,
+        OffsetDateTime from,
+        OffsetDateTime to
+) {
+}
@@ -0,0 +1,10 @@
+package com.game.on.go_league_service.client.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TeamMembershipCheckRequest(
+        List<UUID> teamIds,
+        List<String> userIds
+) {
+}
@@ -0,0 +1,8 @@
+package com.game.on.go_league_service.client.dto;
+
+import java.util.List;
+
+public record TeamMembershipCheckResponse(
+        List<String> memberUserIds
+) {
+}
@@ -4,24 +4,25 @@ import com.game.on.common.dto.PaymentDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentProducer {
     private final KafkaTemplate<String, PaymentDTO> paymentKafkaTemplate;
 
-    public void sendEvent(String topic, PaymentDTO payment){
+    public CompletableFuture<SendResult<String, PaymentDTO>> sendEvent(String topic, PaymentDTO payment){
         Message<PaymentDTO> message = MessageBuilder
                 .withPayload(payment)
                 .setHeader(KafkaHeaders.TOPIC, topic)
                 .setHeader(KafkaHeaders.KEY, payment.paymentId().toString())
                 .build();
 
-        paymentKafkaTemplate.send(message);
+        return paymentKafkaTemplate.send(message);
     }
 }
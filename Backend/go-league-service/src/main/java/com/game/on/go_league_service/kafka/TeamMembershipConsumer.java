@@ -0,0 +1,40 @@
+package com.game.on.go_league_service.kafka;
+
+import com.game.on.common.dto.TeamMembershipEventDTO;
+import com.game.on.go_league_service.client.TeamMembershipCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamMembershipConsumer {
+    private final TeamMembershipCache membershipCache;
+
+    // Membership checks are answered from a cache in this JVM, so a change has to evict on every
+    // replica, not on one member of a shared group. Naming the group after the host keeps replicas
+    // apart and reuses the same group when a replica restarts.
+    @KafkaListener(
+            topics = TeamMembershipEventDTO.TOPIC,
+            groupId = "${team-membership.cache.listener-group:${spring.application.name}-membership-${HOSTNAME:localhost}}",
+            autoStartup = "${team-membership.cache.listener-enabled:true}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.game.on.common.dto.TeamMembershipEventDTO"
+            }
+    )
+    public void onMembershipChanged(TeamMembershipEventDTO event) {
+        if (event == null || event.teamId() == null) {
+            return;
+        }
+        if (event.userId() != null) {
+            membershipCache.evictUser(event.userId());
+        } else {
+            membershipCache.evictTeam(event.teamId());
+        }
+        log.debug("team_membership_cache_evicted teamId={} userId={} change={}",
+                event.teamId(), event.userId(), event.change());
+    }
+}
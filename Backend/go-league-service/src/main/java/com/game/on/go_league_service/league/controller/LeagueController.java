@@ -1,10 +1,9 @@
 package com.game.on.go_league_service.league.controller;
 
-import com.game.on.common.dto.PaymentDTO;
-import com.game.on.go_league_service.kafka.PaymentProducer;
 import com.game.on.go_league_service.league.dto.*;
 import com.game.on.go_league_service.league.model.StandingScore;
 import com.game.on.go_league_service.league.service.LeagueService;
+import com.game.on.go_league_service.league.service.PlayoffOddsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -28,8 +27,7 @@ import java.util.UUID;
 public class LeagueController {
 
     private final LeagueService leagueService;
-    /* Temporary placement of the Kafka producer class */
-    private final PaymentProducer paymentProducer;
+    private final PlayoffOddsService playoffOddsService;
 
     @PostMapping("/create")
     public ResponseEntity<LeagueDetailResponse> createLeague(@Valid @RequestBody LeagueCreateRequest request) {
@@ -132,14 +130,14 @@ public class LeagueController {
         return ResponseEntity.ok(leagueService.getMyLeagueMemberships(leagueId));
     }
 
-    /* Test endpoint... TO DO: remove once Payment/ stripe is implemented */
-    @PostMapping("/payment-event")
-    public void producePaymentEvent(@RequestBody PaymentDTO paymentDTO) {
-        paymentProducer.sendEvent("go-payment", paymentDTO);
-    }
-
     @GetMapping("/{leagueId}/standings")
     public ResponseEntity<List<StandingScore>> getLeagueStandings(@PathVariable UUID leagueId) {
         return ResponseEntity.ok(leagueService.getLeagueStandings(leagueId));
     }
+
+    @GetMapping("/{leagueId}/standings/playoff-odds")
+    public ResponseEntity<PlayoffOddsResponse> getPlayoffOdds(@PathVariable UUID leagueId,
+                                                              @RequestParam(value = "playoffSpots", required = false) Integer playoffSpots) {
+        return ResponseEntity.ok(playoffOddsService.getPlayoffOdds(leagueId, playoffSpots));
+    }
 }
@@ -1,7 +1,10 @@
 package com.game.on.go_league_service.league.controller;
 
 import com.game.on.go_league_service.league.dto.AssignRefereeRequest;
+import com.game.on.go_league_service.league.dto.LeagueFixtureGenerateRequest;
+import com.game.on.go_league_service.league.dto.LeagueFixtureGenerateResponse;
 import com.game.on.go_league_service.league.dto.LeagueMatchCancelRequest;
+import com.game.on.go_league_service.league.dto.LeagueMatchImportResponse;
 import com.game.on.go_league_service.league.dto.LeagueMatchCreateRequest;
 import com.game.on.go_league_service.league.dto.LeagueMatchResponse;
 import com.game.on.go_league_service.league.dto.LeagueMatchScheduleValidationResponse;
@@ -9,7 +12,13 @@ import com.game.on.go_league_service.league.dto.LeagueMatchScoreRequest;
 import com.game.on.go_league_service.league.dto.LeagueTeamStatsResponse;
 import com.game.on.go_league_service.league.dto.LeagueMatchMemberResponse;
 import com.game.on.go_league_service.league.dto.LeagueMatchAttendanceRequest;
+import com.game.on.go_league_service.league.dto.RefereeAutoAssignRequest;
+import com.game.on.go_league_service.league.dto.RefereeAutoAssignResponse;
+import com.game.on.go_league_service.league.service.LeagueFixtureService;
+import com.game.on.go_league_service.league.service.LeagueMatchImportService;
 import com.game.on.go_league_service.league.service.LeagueMatchService;
+import com.game.on.go_league_service.league.service.RefereeAssignmentService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +40,9 @@ import java.util.UUID;
 public class LeagueMatchController {
 
     private final LeagueMatchService leagueMatchService;
+    private final LeagueFixtureService leagueFixtureService;
+    private final LeagueMatchImportService leagueMatchImportService;
+    private final RefereeAssignmentService refereeAssignmentService;
 
     @PostMapping("/{leagueId}/matches/create-match")
     public ResponseEntity<LeagueMatchResponse> createMatch(@PathVariable UUID leagueId,
@@ -46,6 +59,24 @@ public class LeagueMatchController {
         return ResponseEntity.ok(leagueMatchService.validateMatch(leagueId, request));
     }
 
+    @PostMapping("/{leagueId}/seasons/{seasonId}/fixtures")
+    public ResponseEntity<LeagueFixtureGenerateResponse> generateFixtures(
+            @PathVariable UUID leagueId,
+            @PathVariable UUID seasonId,
+            @Valid @RequestBody LeagueFixtureGenerateRequest request
+    ) {
+        var response = leagueFixtureService.generateFixtures(leagueId, seasonId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(value = "/{leagueId}/matches/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<LeagueMatchImportResponse> importMatches(@PathVariable UUID leagueId,
+                                                                   HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(
+                leagueMatchImportService.importMatches(leagueId, request.getContentType(), request.getInputStream())
+        );
+    }
+
     @GetMapping("/{leagueId}/matches")
     public ResponseEntity<List<LeagueMatchResponse>> listMatches(@PathVariable UUID leagueId) {
         return ResponseEntity.ok(leagueMatchService.listMatches(leagueId));
@@ -73,6 +104,12 @@ public class LeagueMatchController {
         return ResponseEntity.ok(leagueMatchService.assignReferee(leagueId, matchId, request));
     }
 
+    @PostMapping("/{leagueId}/matches/referees/auto-assign")
+    public ResponseEntity<RefereeAutoAssignResponse> autoAssignReferees(@PathVariable UUID leagueId,
+                                                                        @Valid @RequestBody RefereeAutoAssignRequest request) {
+        return ResponseEntity.ok(refereeAssignmentService.autoAssign(leagueId, request));
+    }
+
     @GetMapping("/{leagueId}/teams/{teamId}/stats")
     public ResponseEntity<LeagueTeamStatsResponse> getTeamStats(@PathVariable UUID leagueId,
                                                                 @PathVariable UUID teamId) {
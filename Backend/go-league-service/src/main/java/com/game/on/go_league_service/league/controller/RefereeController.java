@@ -3,6 +3,7 @@ package com.game.on.go_league_service.league.controller;
 import com.game.on.go_league_service.client.dto.TeamMatchDetailResponse;
 import com.game.on.go_league_service.league.dto.*;
 import com.game.on.go_league_service.league.model.RefereeProfile;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityService;
 import com.game.on.go_league_service.league.service.RefereeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class RefereeController {
 
     private final RefereeService refereeService;
+    private final RefereeAvailabilityService availabilityService;
 
     @PostMapping("/referees/register")
     public ResponseEntity<RefereeProfileResponse> register(@Valid @RequestBody RefereeRegisterRequest request) {
@@ -31,8 +33,10 @@ public class RefereeController {
     public ResponseEntity<List<RefereeProfileResponse>> search(@RequestParam(value = "sport", required = false) String sport,
                                                                @RequestParam(value = "region", required = false) String region,
                                                                @RequestParam(value = "active", required = false) Boolean active,
-                                                               @RequestParam(value = "matchId", required = false) UUID matchId) {
-        return ResponseEntity.ok(refereeService.search(sport, region, active, matchId));
+                                                               @RequestParam(value = "matchId", required = false) UUID matchId,
+                                                               @RequestParam(value = "page", defaultValue = "0") int page,
+                                                               @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(refereeService.search(sport, region, active, matchId, page, size));
     }
 
     @PostMapping("/matches/{matchId}/ref-invite")
@@ -104,6 +108,23 @@ public class RefereeController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/referees/availability")
+    public ResponseEntity<List<RefereeAvailabilityResponse>> listMyAvailability() {
+        return ResponseEntity.ok(availabilityService.listMine());
+    }
+
+    @PostMapping("/referees/availability")
+    public ResponseEntity<RefereeAvailabilityResponse> createAvailability(@Valid @RequestBody RefereeAvailabilityRequest request) {
+        var response = availabilityService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/referees/availability/{availabilityId}")
+    public ResponseEntity<Void> deleteAvailability(@PathVariable UUID availabilityId) {
+        availabilityService.delete(availabilityId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/referees/my-matches/league")
     public ResponseEntity<List<LeagueMatchResponse>> listMyLeagueMatches() {
         return ResponseEntity.ok(refereeService.listMyLeagueMatches());
@@ -0,0 +1,16 @@
+package com.game.on.go_league_service.league.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+public record FixtureTimeWindowRequest(
+        @NotNull(message = "dayOfWeek is required")
+        DayOfWeek dayOfWeek,
+        @NotNull(message = "startTime is required")
+        LocalTime startTime,
+        @NotNull(message = "endTime is required")
+        LocalTime endTime
+) {
+}
@@ -2,8 +2,10 @@ package com.game.on.go_league_service.league.dto;
 
 import com.game.on.go_league_service.league.model.LeagueLevel;
 import com.game.on.go_league_service.league.model.LeaguePrivacy;
+import com.game.on.go_league_service.league.model.TieBreaker;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public record LeagueDetailResponse(
@@ -20,6 +22,7 @@ public record LeagueDetailResponse(
         long seasonCount,
         OffsetDateTime createdAt,
         OffsetDateTime updatedAt,
-        OffsetDateTime archivedAt
+        OffsetDateTime archivedAt,
+        List<TieBreaker> tieBreakers
 ) {
 }
@@ -0,0 +1,25 @@
+package com.game.on.go_league_service.league.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record LeagueFixtureGenerateRequest(
+        @NotEmpty(message = "venueIds is required")
+        List<UUID> venueIds,
+        @NotEmpty(message = "timeWindows is required")
+        List<@Valid FixtureTimeWindowRequest> timeWindows,
+        @NotNull(message = "matchDurationMinutes is required")
+        @Min(value = 15, message = "matchDurationMinutes must be at least 15")
+        @Max(value = 600, message = "matchDurationMinutes cannot exceed 600")
+        Integer matchDurationMinutes,
+        boolean doubleRoundRobin,
+        boolean requiresReferee,
+        String timeZone
+) {
+}
@@ -0,0 +1,13 @@
+package com.game.on.go_league_service.league.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record LeagueFixtureGenerateResponse(
+        UUID leagueId,
+        UUID seasonId,
+        int rounds,
+        int matchCount,
+        List<LeagueFixtureResponse> fixtures
+) {
+}
@@ -0,0 +1,17 @@
+package com.game.on.go_league_service.league.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record LeagueFixtureResponse(
+        UUID matchId,
+        int round,
+        UUID homeTeamId,
+        UUID awayTeamId,
+        UUID venueId,
+        LocalDate scheduledDate,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime
+) {
+}
@@ -0,0 +1,14 @@
+package com.game.on.go_league_service.league.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record LeagueMatchImportResponse(
+        UUID leagueId,
+        long totalRows,
+        long importedCount,
+        long failedCount,
+        boolean errorsTruncated,
+        List<LeagueMatchImportRowError> errors
+) {
+}
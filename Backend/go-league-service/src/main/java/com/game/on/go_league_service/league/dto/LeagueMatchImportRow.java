@@ -0,0 +1,19 @@
+package com.game.on.go_league_service.league.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LeagueMatchImportRow(
+        UUID homeTeamId,
+        UUID awayTeamId,
+        LocalDate scheduledDate,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime,
+        UUID venueId,
+        Boolean requiresReferee
+) {
+}
@@ -0,0 +1,8 @@
+package com.game.on.go_league_service.league.dto;
+
+public record LeagueMatchImportRowError(
+        long row,
+        String code,
+        String message
+) {
+}
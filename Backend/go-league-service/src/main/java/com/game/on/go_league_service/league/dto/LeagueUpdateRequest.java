@@ -2,8 +2,11 @@ package com.game.on.go_league_service.league.dto;
 
 import com.game.on.go_league_service.league.model.LeagueLevel;
 import com.game.on.go_league_service.league.model.LeaguePrivacy;
+import com.game.on.go_league_service.league.model.TieBreaker;
 import jakarta.validation.constraints.Size;
 
+import java.util.List;
+
 public record LeagueUpdateRequest(
         @Size(max = 150, message = "name cannot exceed 150 characters")
         String name,
@@ -16,6 +19,9 @@ public record LeagueUpdateRequest(
         @Size(max = 350, message = "logoUrl cannot exceed 350 characters")
         String logoUrl,
         LeagueLevel level,
-        LeaguePrivacy privacy
+        LeaguePrivacy privacy,
+        // an empty list goes back to the sport's default tie-breakers
+        @Size(max = 5, message = "at most 5 tie-breakers can be configured")
+        List<TieBreaker> tieBreakers
 ) {
 }
@@ -0,0 +1,23 @@
+package com.game.on.go_league_service.league.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record PlayoffOddsResponse(
+        UUID leagueId,
+        int simulations,
+        int playoffSpots,
+        int remainingMatches,
+        OffsetDateTime computedAt,
+        List<TeamOdds> teams
+) {
+    public record TeamOdds(
+            UUID teamId,
+            String teamName,
+            int points,
+            double playoffProbability,
+            double firstPlaceProbability,
+            double expectedRank
+    ) {}
+}
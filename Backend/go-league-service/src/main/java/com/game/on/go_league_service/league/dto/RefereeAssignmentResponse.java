@@ -0,0 +1,12 @@
+package com.game.on.go_league_service.league.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record RefereeAssignmentResponse(
+        UUID matchId,
+        String refereeUserId,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime
+) {
+}
@@ -0,0 +1,16 @@
+package com.game.on.go_league_service.league.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record RefereeAutoAssignRequest(
+        @NotNull(message = "from is required")
+        LocalDate from,
+        @NotNull(message = "to is required")
+        LocalDate to,
+        @Min(value = 1, message = "maxMatchesPerReferee must be at least 1")
+        Integer maxMatchesPerReferee
+) {
+}
@@ -0,0 +1,13 @@
+package com.game.on.go_league_service.league.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record RefereeAutoAssignResponse(
+        UUID leagueId,
+        int candidateMatches,
+        int assignedCount,
+        List<RefereeAssignmentResponse> assignments,
+        List<UUID> unassignedMatchIds
+) {
+}
@@ -0,0 +1,20 @@
+package com.game.on.go_league_service.league.dto;
+
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+public record RefereeAvailabilityRequest(
+        @NotNull(message = "type is required")
+        RefereeAvailabilityType type,
+        DayOfWeek dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String timeZone,
+        OffsetDateTime startsAt,
+        OffsetDateTime endsAt
+) {
+}
@@ -0,0 +1,21 @@
+package com.game.on.go_league_service.league.dto;
+
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record RefereeAvailabilityResponse(
+        UUID id,
+        RefereeAvailabilityType type,
+        DayOfWeek dayOfWeek,
+        LocalTime startTime,
+        LocalTime endTime,
+        String timeZone,
+        OffsetDateTime startsAt,
+        OffsetDateTime endsAt,
+        OffsetDateTime createdAt
+) {
+}
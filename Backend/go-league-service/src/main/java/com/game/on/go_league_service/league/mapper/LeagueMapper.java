@@ -5,6 +5,7 @@ import com.game.on.go_league_service.league.model.League;
 import com.game.on.go_league_service.league.model.LeagueLevel;
 import com.game.on.go_league_service.league.model.LeaguePrivacy;
 import com.game.on.go_league_service.league.model.LeagueSeason;
+import com.game.on.go_league_service.league.model.TieBreaker;
 import com.game.on.go_league_service.league.util.SlugGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -47,7 +48,8 @@ public class LeagueMapper {
                 seasonCount,
                 league.getCreatedAt(),
                 league.getUpdatedAt(),
-                league.getArchivedAt()
+                league.getArchivedAt(),
+                TieBreaker.parseList(league.getStandingsTieBreakers())
         );
     }
 
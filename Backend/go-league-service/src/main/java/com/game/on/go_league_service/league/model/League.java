@@ -81,6 +81,10 @@ public class League {
     @Column(name = "logo_url")
     private String logoUrl;
 
+    // Comma-separated TieBreaker chain overriding the sport's default; null uses the default
+    @Column(name = "standings_tie_breakers", length = 200)
+    private String standingsTieBreakers;
+
     public boolean isArchived() {
         return archivedAt != null;
     }
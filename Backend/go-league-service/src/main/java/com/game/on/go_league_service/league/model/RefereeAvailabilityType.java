@@ -0,0 +1,6 @@
+package com.game.on.go_league_service.league.model;
+
+public enum RefereeAvailabilityType {
+    WEEKLY,
+    ONE_OFF
+}
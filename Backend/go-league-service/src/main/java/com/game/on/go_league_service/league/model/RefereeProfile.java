@@ -8,6 +8,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -20,7 +21,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -50,6 +56,21 @@ public class RefereeProfile {
     @Column(name = "region", length = 100)
     private List<String> allowedRegions = new ArrayList<>();
 
+    // Case-folded copies of sports/allowedRegions, maintained by the setters so searches can hit an index.
+    @Builder.Default
+    @Setter(AccessLevel.NONE)
+    @ElementCollection
+    @CollectionTable(name = "referee_sport_keys", joinColumns = @JoinColumn(name = "referee_user_id"))
+    @Column(name = "sport_key", length = 75)
+    private Set<String> sportKeys = new LinkedHashSet<>();
+
+    @Builder.Default
+    @Setter(AccessLevel.NONE)
+    @ElementCollection
+    @CollectionTable(name = "referee_region_keys", joinColumns = @JoinColumn(name = "referee_user_id"))
+    @Column(name = "region_key", length = 100)
+    private Set<String> regionKeys = new LinkedHashSet<>();
+
     @Column(name = "is_active", nullable = false)
     private boolean isActive = true;
 
@@ -60,4 +81,32 @@ public class RefereeProfile {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
+
+    public void setSports(List<String> sports) {
+        this.sports = sports;
+        replaceKeys(sportKeys, sports);
+    }
+
+    public void setAllowedRegions(List<String> allowedRegions) {
+        this.allowedRegions = allowedRegions;
+        replaceKeys(regionKeys, allowedRegions);
+    }
+
+    public static String searchKey(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void replaceKeys(Set<String> keys, List<String> values) {
+        Set<String> next = values == null
+                ? Set.of()
+                : values.stream()
+                .map(RefereeProfile::searchKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        keys.retainAll(next);
+        keys.addAll(next);
+    }
 }
@@ -0,0 +1,174 @@
+package com.game.on.go_league_service.league.model;
+
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ranks a table by {@link StandingsRules}. The primary key and each tie-breaker are compiled once
+ * into rank keys; teams are sorted on the first key and every group still level is re-sorted on the
+ * next one, so head-to-head only ever looks at the matches between the teams actually tied. Teams
+ * still level after the whole chain are ordered by name.
+ *
+ * <p>Instances are immutable and shared between leagues with the same rules.
+ */
+public final class RuleBasedStandingStrategy implements StandingStrategy {
+
+    @FunctionalInterface
+    private interface RankKey {
+        // higher ranks first; group holds the team positions currently tied
+        double[] compute(StandingsTable table, int[] group, StandingsRules rules);
+    }
+
+    private final StandingsRules rules;
+    private final RankKey[] keys;
+
+    public RuleBasedStandingStrategy(StandingsRules rules) {
+        this.rules = rules;
+        List<RankKey> compiled = new ArrayList<>(rules.tieBreakers().size() + 1);
+        compiled.add(primaryKey(rules.scoring()));
+        for (TieBreaker tieBreaker : rules.tieBreakers()) {
+            compiled.add(tieBreakerKey(tieBreaker));
+        }
+        this.keys = compiled.toArray(RankKey[]::new);
+    }
+
+    public StandingsRules rules() {
+        return rules;
+    }
+
+    @Override
+    public List<StandingScore> calculateStanding(List<TeamSummaryResponse> teams,
+                                                 List<LeagueMatch> matches,
+                                                 Map<UUID, LeagueMatchScore> scoresByMatchId) {
+        List<TeamSummaryResponse> distinctTeams = new ArrayList<>(teams.size());
+        Map<UUID, Integer> teamIndex = new HashMap<>();
+        for (TeamSummaryResponse team : teams) {
+            if (teamIndex.putIfAbsent(team.id(), distinctTeams.size()) == null) {
+                distinctTeams.add(team);
+            }
+        }
+
+        StandingsTable table = StandingsTable.build(teamIndex, matches, scoresByMatchId, rules);
+        int[] order = new int[table.teamCount];
+        for (int t = 0; t < order.length; t++) {
+            order[t] = t;
+        }
+        rank(table, order, 0, order.length, 0, distinctTeams);
+
+        List<StandingScore> standings = new ArrayList<>(order.length);
+        for (int position = 0; position < order.length; position++) {
+            int t = order[position];
+            TeamSummaryResponse team = distinctTeams.get(t);
+            StandingScore score = new StandingScore(team.id(), team.name(), team.logoUrl());
+            score.setRank(position + 1);
+            score.setPlayed(table.played[t]);
+            score.setWins(table.wins[t]);
+            score.setDraws(table.draws[t]);
+            score.setLosses(table.losses[t]);
+            score.setGoalsFor(table.scoreFor[t]);
+            score.setGoalsAgainst(table.scoreAgainst[t]);
+            score.setPoints(table.points[t]);
+            score.setWinPercentage(Math.round(table.winPercentage(t) * 1000) / 1000.0);
+            standings.add(score);
+        }
+        return standings;
+    }
+
+    private void rank(StandingsTable table, int[] order, int from, int to, int level, List<TeamSummaryResponse> teams) {
+        if (to - from < 2) {
+            return;
+        }
+        if (level == keys.length) {
+            Integer[] tied = new Integer[to - from];
+            for (int i = from; i < to; i++) {
+                tied[i - from] = order[i];
+            }
+            Arrays.sort(tied, Comparator
+                    .comparing((Integer t) -> String.valueOf(teams.get(t).name()))
+                    .thenComparing(t -> teams.get(t).id()));
+            for (int i = from; i < to; i++) {
+                order[i] = tied[i - from];
+            }
+            return;
+        }
+
+        int[] group = Arrays.copyOfRange(order, from, to);
+        double[] key = keys[level].compute(table, group, rules);
+
+        Integer[] byKey = new Integer[group.length];
+        for (int i = 0; i < group.length; i++) {
+            byKey[i] = i;
+        }
+        Arrays.sort(byKey, (a, b) -> Double.compare(key[b], key[a]));
+        for (int i = 0; i < group.length; i++) {
+            order[from + i] = group[byKey[i]];
+        }
+
+        int runStart = 0;
+        for (int i = 1; i <= group.length; i++) {
+            if (i == group.length || Double.compare(key[byKey[i]], key[byKey[runStart]]) != 0) {
+                rank(table, order, from + runStart, from + i, level + 1, teams);
+                runStart = i;
+            }
+        }
+    }
+
+    private static RankKey primaryKey(StandingsScoring scoring) {
+        return switch (scoring) {
+            case POINTS, SETS -> perTeam((table, t) -> table.points[t]);
+            case WIN_PERCENTAGE -> perTeam(StandingsTable::winPercentage);
+        };
+    }
+
+    private static RankKey tieBreakerKey(TieBreaker tieBreaker) {
+        return switch (tieBreaker) {
+            case HEAD_TO_HEAD -> RuleBasedStandingStrategy::headToHead;
+            case GOAL_DIFFERENCE -> perTeam((table, t) -> table.scoreFor[t] - table.scoreAgainst[t]);
+            case GOALS_FOR -> perTeam((table, t) -> table.scoreFor[t]);
+            case WINS -> perTeam((table, t) -> table.wins[t]);
+            case SCORE_RATIO -> perTeam(StandingsTable::scoreRatio);
+        };
+    }
+
+    @FunctionalInterface
+    private interface TeamValue {
+        double of(StandingsTable table, int team);
+    }
+
+    private static RankKey perTeam(TeamValue value) {
+        return (table, group, rules) -> {
+            double[] key = new double[group.length];
+            for (int i = 0; i < group.length; i++) {
+                key[i] = value.of(table, group[i]);
+            }
+            return key;
+        };
+    }
+
+    // points earned in the matches among the group only
+    private static double[] headToHead(StandingsTable table, int[] group, StandingsRules rules) {
+        int[] position = new int[table.teamCount];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < group.length; i++) {
+            position[group[i]] = i;
+        }
+
+        double[] key = new double[group.length];
+        for (int i = 0; i < group.length; i++) {
+            int team = group[i];
+            for (int slot = table.resultStart[team]; slot < table.resultStart[team + 1]; slot++) {
+                if (position[table.opponent[slot]] >= 0) {
+                    key[i] += rules.pointsFor(table.ownScore[slot], table.opponentScore[slot]);
+                }
+            }
+        }
+        return key;
+    }
+}
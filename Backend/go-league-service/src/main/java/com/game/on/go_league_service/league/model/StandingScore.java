@@ -10,6 +10,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 public class StandingScore {
+    private int rank;
     private UUID teamId;
     private String teamName;
     private int played;
@@ -19,6 +20,7 @@ public class StandingScore {
     private int goalsFor;
     private int goalsAgainst;
     private int points;
+    private double winPercentage;
     private String logoUrl;
 
     public StandingScore(UUID teamId, String teamName, String logoUrl) {
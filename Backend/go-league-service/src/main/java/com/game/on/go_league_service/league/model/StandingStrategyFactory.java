@@ -1,15 +1,24 @@
 package com.game.on.go_league_service.league.model;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class StandingStrategyFactory {
 
+    // strategies are immutable, so each distinct rule set is compiled once and shared by its leagues
+    private static final Map<StandingsRules, StandingStrategy> COMPILED = new ConcurrentHashMap<>();
+
     public static StandingStrategy createStandingStrategy(String sportType) {
-        switch (sportType.toLowerCase()) {
-            case "soccer":
-                return new SoccerStandingStrategy();
-
-            default:
-                /* Keep default as soccer for now, need to discuss default behaviour next meeting */
-                return new SoccerStandingStrategy();
-        }
+        return createStandingStrategy(sportType, List.of());
+    }
+
+    /**
+     * Strategy for the sport's default rules, with the league's own tie-breaker chain in place of
+     * the sport's when one is configured.
+     */
+    public static StandingStrategy createStandingStrategy(String sportType, List<TieBreaker> tieBreakers) {
+        StandingsRules rules = StandingsRules.forSport(sportType).withTieBreakers(tieBreakers);
+        return COMPILED.computeIfAbsent(rules, RuleBasedStandingStrategy::new);
     }
 }
@@ -0,0 +1,60 @@
+package com.game.on.go_league_service.league.model;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How a league's table is ranked: the primary scoring and the tie-breakers applied after it.
+ * Sports without specific rules fall back to soccer's.
+ */
+public record StandingsRules(
+        StandingsScoring scoring,
+        int pointsForWin,
+        int pointsForDraw,
+        int pointsForLoss,
+        List<TieBreaker> tieBreakers
+) {
+
+    public static final StandingsRules SOCCER = new StandingsRules(StandingsScoring.POINTS, 3, 1, 0,
+            List.of(TieBreaker.GOAL_DIFFERENCE, TieBreaker.GOALS_FOR, TieBreaker.HEAD_TO_HEAD));
+
+    private static final StandingsRules HOCKEY = new StandingsRules(StandingsScoring.POINTS, 2, 1, 0,
+            List.of(TieBreaker.WINS, TieBreaker.GOAL_DIFFERENCE, TieBreaker.HEAD_TO_HEAD));
+
+    private static final StandingsRules WIN_PERCENTAGE = new StandingsRules(StandingsScoring.WIN_PERCENTAGE, 1, 0, 0,
+            List.of(TieBreaker.HEAD_TO_HEAD, TieBreaker.GOAL_DIFFERENCE, TieBreaker.GOALS_FOR));
+
+    private static final StandingsRules SETS = new StandingsRules(StandingsScoring.SETS, 1, 0, 0,
+            List.of(TieBreaker.SCORE_RATIO, TieBreaker.HEAD_TO_HEAD));
+
+    private static final StandingsRules FRAMES = new StandingsRules(StandingsScoring.SETS, 1, 0, 0,
+            List.of(TieBreaker.GOAL_DIFFERENCE, TieBreaker.HEAD_TO_HEAD));
+
+    public StandingsRules {
+        tieBreakers = List.copyOf(tieBreakers);
+    }
+
+    public static StandingsRules forSport(String sport) {
+        String key = sport == null ? "" : sport.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        return switch (key) {
+            case "hockey", "icehockey", "ballhockey", "fieldhockey" -> HOCKEY;
+            case "basketball", "baseball", "softball", "americanfootball", "flagfootball", "ultimate" -> WIN_PERCENTAGE;
+            case "volleyball", "beachvolleyball", "tennis", "badminton", "tabletennis", "pickleball", "squash" -> SETS;
+            case "snooker", "pool", "billiards", "darts" -> FRAMES;
+            default -> SOCCER;
+        };
+    }
+
+    public StandingsRules withTieBreakers(List<TieBreaker> overrides) {
+        if (overrides == null || overrides.isEmpty()) {
+            return this;
+        }
+        return new StandingsRules(scoring, pointsForWin, pointsForDraw, pointsForLoss, overrides.stream().distinct().toList());
+    }
+
+    public int pointsFor(int scored, int conceded) {
+        if (scored > conceded) return pointsForWin;
+        if (scored < conceded) return pointsForLoss;
+        return pointsForDraw;
+    }
+}
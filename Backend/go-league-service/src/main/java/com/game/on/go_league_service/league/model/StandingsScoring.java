@@ -0,0 +1,10 @@
+package com.game.on.go_league_service.league.model;
+
+public enum StandingsScoring {
+    // league points per win, draw and loss
+    POINTS,
+    // (wins + draws / 2) / played, as in basketball and baseball
+    WIN_PERCENTAGE,
+    // match wins first; scores count sets or frames, compared by the tie-breakers
+    SETS
+}
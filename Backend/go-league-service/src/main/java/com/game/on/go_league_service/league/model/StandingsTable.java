@@ -0,0 +1,110 @@
+package com.game.on.go_league_service.league.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Season results in flat int arrays indexed by team position. Each team's results are stored
+ * contiguously (from {@code resultStart[t]} to {@code resultStart[t + 1]}), so totals and
+ * head-to-head mini tables are computed without per-team objects or maps.
+ */
+final class StandingsTable {
+
+    final int teamCount;
+    final int[] played;
+    final int[] wins;
+    final int[] draws;
+    final int[] losses;
+    final int[] scoreFor;
+    final int[] scoreAgainst;
+    final int[] points;
+
+    final int[] resultStart;
+    final int[] opponent;
+    final int[] ownScore;
+    final int[] opponentScore;
+
+    private StandingsTable(int teamCount, int resultCount) {
+        this.teamCount = teamCount;
+        this.played = new int[teamCount];
+        this.wins = new int[teamCount];
+        this.draws = new int[teamCount];
+        this.losses = new int[teamCount];
+        this.scoreFor = new int[teamCount];
+        this.scoreAgainst = new int[teamCount];
+        this.points = new int[teamCount];
+        this.resultStart = new int[teamCount + 1];
+        this.opponent = new int[resultCount * 2];
+        this.ownScore = new int[resultCount * 2];
+        this.opponentScore = new int[resultCount * 2];
+    }
+
+    static StandingsTable build(Map<UUID, Integer> teamIndex,
+                                List<LeagueMatch> matches,
+                                Map<UUID, LeagueMatchScore> scoresByMatchId,
+                                StandingsRules rules) {
+        int[] home = new int[matches.size()];
+        int[] away = new int[matches.size()];
+        int[] homeScore = new int[matches.size()];
+        int[] awayScore = new int[matches.size()];
+        int resultCount = 0;
+        for (LeagueMatch match : matches) {
+            LeagueMatchScore score = scoresByMatchId.get(match.getId());
+            Integer homeIndex = teamIndex.get(match.getHomeTeamId());
+            Integer awayIndex = teamIndex.get(match.getAwayTeamId());
+            if (score == null || homeIndex == null || awayIndex == null) {
+                continue;
+            }
+            home[resultCount] = homeIndex;
+            away[resultCount] = awayIndex;
+            homeScore[resultCount] = score.getHomeScore();
+            awayScore[resultCount] = score.getAwayScore();
+            resultCount++;
+        }
+
+        StandingsTable table = new StandingsTable(teamIndex.size(), resultCount);
+        for (int r = 0; r < resultCount; r++) {
+            table.resultStart[home[r] + 1]++;
+            table.resultStart[away[r] + 1]++;
+        }
+        for (int t = 0; t < table.teamCount; t++) {
+            table.resultStart[t + 1] += table.resultStart[t];
+        }
+        int[] next = table.resultStart.clone();
+        for (int r = 0; r < resultCount; r++) {
+            table.record(next[home[r]]++, home[r], away[r], homeScore[r], awayScore[r], rules);
+            table.record(next[away[r]]++, away[r], home[r], awayScore[r], homeScore[r], rules);
+        }
+        return table;
+    }
+
+    private void record(int slot, int team, int against, int scored, int conceded, StandingsRules rules) {
+        opponent[slot] = against;
+        ownScore[slot] = scored;
+        opponentScore[slot] = conceded;
+
+        played[team]++;
+        scoreFor[team] += scored;
+        scoreAgainst[team] += conceded;
+        points[team] += rules.pointsFor(scored, conceded);
+        if (scored > conceded) {
+            wins[team]++;
+        } else if (scored < conceded) {
+            losses[team]++;
+        } else {
+            draws[team]++;
+        }
+    }
+
+    double winPercentage(int team) {
+        return played[team] == 0 ? 0 : (wins[team] + draws[team] / 2.0) / played[team];
+    }
+
+    double scoreRatio(int team) {
+        if (scoreAgainst[team] == 0) {
+            return scoreFor[team] == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return (double) scoreFor[team] / scoreAgainst[team];
+    }
+}
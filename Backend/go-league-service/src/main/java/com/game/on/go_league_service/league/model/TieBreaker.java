@@ -0,0 +1,46 @@
+package com.game.on.go_league_service.league.model;
+
+import com.game.on.go_league_service.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Criteria applied, in order, to teams level on the primary ranking. "Goals" are whatever the sport
+ * scores in: goals, points, runs, sets or frames.
+ */
+public enum TieBreaker {
+    // ranking among the tied teams over the matches they played against each other
+    HEAD_TO_HEAD,
+    GOAL_DIFFERENCE,
+    GOALS_FOR,
+    WINS,
+    // goals for divided by goals against, the usual set or frame ratio
+    SCORE_RATIO;
+
+    public static List<TieBreaker> parseList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        List<TieBreaker> tieBreakers = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                try {
+                    tieBreakers.add(TieBreaker.valueOf(part.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException ex) {
+                    throw new BadRequestException("Unknown tie-breaker: " + part.trim());
+                }
+            }
+        }
+        return List.copyOf(tieBreakers);
+    }
+
+    public static String format(List<TieBreaker> tieBreakers) {
+        if (tieBreakers == null || tieBreakers.isEmpty()) {
+            return null;
+        }
+        return tieBreakers.stream().distinct().map(Enum::name).collect(Collectors.joining(","));
+    }
+}
@@ -5,6 +5,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +18,46 @@ public interface LeagueMatchRepository extends JpaRepository<LeagueMatch, UUID>
     List<LeagueMatch> findByHomeTeamIdOrAwayTeamId(UUID homeTeamId, UUID awayTeamId);
     List<LeagueMatch> findByRefereeUserIdOrderByStartTimeDesc(String refereeUserId);
 
+    @Query("""
+            SELECT lm FROM LeagueMatch lm
+            WHERE lm.status = com.game.on.go_league_service.league.model.LeagueMatchStatus.CONFIRMED
+              AND lm.scheduledDate BETWEEN :from AND :to
+              AND (lm.homeTeamId IN :teamIds OR lm.awayTeamId IN :teamIds)
+            """)
+    List<LeagueMatch> findConfirmedByTeamIdsBetween(
+            @Param("teamIds") Collection<UUID> teamIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            SELECT lm FROM LeagueMatch lm
+            WHERE lm.league.id = :leagueId
+              AND lm.status = com.game.on.go_league_service.league.model.LeagueMatchStatus.CONFIRMED
+              AND lm.requiresReferee = true
+              AND lm.refereeUserId IS NULL
+              AND lm.scheduledDate BETWEEN :from AND :to
+            ORDER BY lm.startTime ASC
+            """)
+    List<LeagueMatch> findUnrefereedByLeagueBetween(
+            @Param("leagueId") UUID leagueId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            SELECT lm FROM LeagueMatch lm
+            WHERE lm.status <> com.game.on.go_league_service.league.model.LeagueMatchStatus.CANCELLED
+              AND lm.refereeUserId IN :refereeUserIds
+              AND lm.startTime < :to
+              AND lm.endTime > :from
+            """)
+    List<LeagueMatch> findRefereeCommitmentsBetween(
+            @Param("refereeUserIds") Collection<String> refereeUserIds,
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to
+    );
+
     @Query(value = """
             SELECT lm.* FROM league_matches lm
             JOIN leagues l ON lm.league_id = l.id
@@ -3,7 +3,10 @@ package com.game.on.go_league_service.league.repository;
 import com.game.on.go_league_service.league.model.League;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,5 +16,10 @@ public interface LeagueRepository extends JpaRepository<League, UUID>, JpaSpecif
 
     Optional<League> findBySlugIgnoreCaseAndArchivedAtIsNull(String slug);
 
-    boolean existsBySlug(String slug);
+    @Query("""
+            SELECT l.slug FROM League l
+            WHERE l.slug = :baseSlug
+               OR l.slug LIKE CONCAT(:baseSlug, '-%')
+            """)
+    List<String> findSlugsByBase(@Param("baseSlug") String baseSlug);
 }
@@ -0,0 +1,23 @@
+package com.game.on.go_league_service.league.repository;
+
+import com.game.on.go_league_service.league.model.RefereeAvailability;
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefereeAvailabilityRepository extends JpaRepository<RefereeAvailability, UUID> {
+    List<RefereeAvailability> findByRefereeUserIdOrderByCreatedAtAsc(String refereeUserId);
+
+    List<RefereeAvailability> findByRefereeUserIdIn(Collection<String> refereeUserIds);
+
+    @Query("select distinct a.timeZone from RefereeAvailability a where a.type = :type")
+    List<String> findDistinctTimeZonesByType(@Param("type") RefereeAvailabilityType type);
+
+    Optional<RefereeAvailability> findByIdAndRefereeUserId(UUID id, String refereeUserId);
+}
@@ -1,17 +1,32 @@
 package com.game.on.go_league_service.league.repository;
 
 import com.game.on.go_league_service.league.model.RefereeProfile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface RefereeProfileRepository extends JpaRepository<RefereeProfile, String> {
+public interface RefereeProfileRepository extends JpaRepository<RefereeProfile, String>,
+        JpaSpecificationExecutor<RefereeProfile> {
     List<RefereeProfile> findByIsActive(boolean isActive);
 
     Optional<RefereeProfile> findByUserId(String userId);
 
     boolean existsByUserId(String userId);
 
-    
+    @EntityGraph(attributePaths = {"sportKeys", "regionKeys"})
+    @Query("select distinct r from RefereeProfile r join r.sportKeys s where r.isActive = true and s in :sportKeys")
+    List<RefereeProfile> findActiveBySportKeys(@Param("sportKeys") Collection<String> sportKeys);
+
+    default Slice<RefereeProfile> search(Specification<RefereeProfile> spec, Pageable pageable) {
+        return findBy(spec, query -> query.slice(pageable));
+    }
 }
@@ -0,0 +1,284 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.league.dto.FixtureTimeWindowRequest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory round-robin fixture solver. Pairings come from the circle method and are
+ * placed greedily into the earliest free venue slot, one match per team per day, with a
+ * repair pass that relaxes round ordering for pairings the first pass could not place.
+ */
+public final class FixtureScheduler {
+
+    private FixtureScheduler() {
+    }
+
+    public record Pairing(int round, UUID homeTeamId, UUID awayTeamId) {
+    }
+
+    public record Slot(LocalDate date, OffsetDateTime startTime, OffsetDateTime endTime, UUID venueId) {
+    }
+
+    public record Fixture(Pairing pairing, Slot slot) {
+    }
+
+    public record Result(int rounds, List<Fixture> fixtures, List<Pairing> unscheduled) {
+    }
+
+    public static List<Pairing> roundRobin(List<UUID> teamIds, boolean doubleRoundRobin) {
+        List<UUID> rotation = new ArrayList<>(teamIds);
+        if (rotation.size() % 2 == 1) {
+            rotation.add(null);
+        }
+        int size = rotation.size();
+        int rounds = size - 1;
+        List<Pairing> pairings = new ArrayList<>();
+
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < size / 2; i++) {
+                UUID first = rotation.get(i);
+                UUID second = rotation.get(size - 1 - i);
+                if (first == null || second == null) {
+                    continue;
+                }
+                boolean swap = i == 0 ? round % 2 == 1 : i % 2 == 1;
+                pairings.add(swap
+                        ? new Pairing(round + 1, second, first)
+                        : new Pairing(round + 1, first, second));
+            }
+            rotation.add(1, rotation.remove(size - 1));
+        }
+
+        if (doubleRoundRobin) {
+            int firstLeg = pairings.size();
+            for (int i = 0; i < firstLeg; i++) {
+                Pairing pairing = pairings.get(i);
+                pairings.add(new Pairing(pairing.round() + rounds, pairing.awayTeamId(), pairing.homeTeamId()));
+            }
+        }
+        return pairings;
+    }
+
+    public static List<Slot> buildSlots(LocalDate from,
+                                        LocalDate to,
+                                        List<FixtureTimeWindowRequest> windows,
+                                        List<UUID> venueIds,
+                                        Duration matchDuration,
+                                        ZoneId zone) {
+        List<Slot> slots = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (FixtureTimeWindowRequest window : windows) {
+                if (window.dayOfWeek() != date.getDayOfWeek()) {
+                    continue;
+                }
+                LocalTime start = window.startTime();
+                while (true) {
+                    LocalTime end = start.plus(matchDuration);
+                    if (end.isBefore(start) || end.isAfter(window.endTime())) {
+                        break;
+                    }
+                    ZonedDateTime zonedStart = date.atTime(start).atZone(zone);
+                    OffsetDateTime startTime = zonedStart.toOffsetDateTime();
+                    OffsetDateTime endTime = zonedStart.plus(matchDuration).toOffsetDateTime();
+                    for (UUID venueId : venueIds) {
+                        slots.add(new Slot(date, startTime, endTime, venueId));
+                    }
+                    start = end;
+                }
+            }
+        }
+        slots.sort(Comparator.comparing(Slot::date).thenComparing(Slot::startTime));
+        return slots;
+    }
+
+    public static Result schedule(List<Pairing> pairings,
+                                  List<Slot> slots,
+                                  Map<UUID, Set<UUID>> allowedVenuesByTeam,
+                                  Map<UUID, Set<LocalDate>> unavailableDatesByTeam) {
+        var state = new State(pairings, slots, allowedVenuesByTeam, unavailableDatesByTeam);
+        int rounds = pairings.stream().mapToInt(Pairing::round).max().orElse(0);
+
+        List<Fixture> fixtures = new ArrayList<>(pairings.size());
+        List<Pairing> pending = new ArrayList<>();
+        for (Pairing pairing : pairings) {
+            Fixture fixture = state.place(pairing, true);
+            if (fixture == null) {
+                pending.add(pairing);
+            } else {
+                fixtures.add(fixture);
+            }
+        }
+
+        List<Pairing> unscheduled = new ArrayList<>();
+        for (Pairing pairing : pending) {
+            Fixture fixture = state.place(pairing, false);
+            if (fixture == null) {
+                unscheduled.add(pairing);
+            } else {
+                fixtures.add(fixture);
+            }
+        }
+
+        fixtures.sort(Comparator.comparing((Fixture fixture) -> fixture.slot().startTime())
+                .thenComparing(fixture -> fixture.pairing().round()));
+        return new Result(rounds, fixtures, unscheduled);
+    }
+
+    private static final class State {
+        private final List<Slot> slots;
+        private final int[] dateStart;
+        private final int[] dateEnd;
+        private final int[] slotDate;
+        private final int[] slotVenue;
+        private final int[][] venueConflicts;
+        private final boolean[] slotUsed;
+        private final int[] freeSlotsByDate;
+        private final Map<UUID, Integer> teamIndex = new HashMap<>();
+        private final BitSet[] allowedVenues;
+        private final BitSet[] unavailableDates;
+        private final BitSet[] playingDates;
+        private final int[] lastDate;
+
+        private State(List<Pairing> pairings,
+                      List<Slot> slots,
+                      Map<UUID, Set<UUID>> allowedVenuesByTeam,
+                      Map<UUID, Set<LocalDate>> unavailableDatesByTeam) {
+            this.slots = slots;
+            int slotCount = slots.size();
+            this.slotDate = new int[slotCount];
+            this.slotVenue = new int[slotCount];
+            this.slotUsed = new boolean[slotCount];
+
+            Map<LocalDate, Integer> dateIndex = new HashMap<>();
+            Map<UUID, Integer> venueIndex = new HashMap<>();
+            List<Integer> starts = new ArrayList<>();
+            for (int i = 0; i < slotCount; i++) {
+                Slot slot = slots.get(i);
+                Integer date = dateIndex.get(slot.date());
+                if (date == null) {
+                    date = dateIndex.size();
+                    dateIndex.put(slot.date(), date);
+                    starts.add(i);
+                }
+                slotDate[i] = date;
+                slotVenue[i] = venueIndex.computeIfAbsent(slot.venueId(), ignored -> venueIndex.size());
+            }
+
+            int dateCount = starts.size();
+            this.dateStart = new int[dateCount];
+            this.dateEnd = new int[dateCount];
+            this.freeSlotsByDate = new int[dateCount];
+            for (int d = 0; d < dateCount; d++) {
+                dateStart[d] = starts.get(d);
+                dateEnd[d] = d + 1 < dateCount ? starts.get(d + 1) : slotCount;
+                freeSlotsByDate[d] = dateEnd[d] - dateStart[d];
+            }
+
+            this.venueConflicts = new int[slotCount][];
+            for (int d = 0; d < dateCount; d++) {
+                for (int i = dateStart[d]; i < dateEnd[d]; i++) {
+                    List<Integer> conflicts = new ArrayList<>();
+                    for (int j = dateStart[d]; j < dateEnd[d]; j++) {
+                        if (i != j && slotVenue[i] == slotVenue[j] && overlaps(slots.get(i), slots.get(j))) {
+                            conflicts.add(j);
+                        }
+                    }
+                    venueConflicts[i] = conflicts.stream().mapToInt(Integer::intValue).toArray();
+                }
+            }
+
+            for (Pairing pairing : pairings) {
+                teamIndex.computeIfAbsent(pairing.homeTeamId(), ignored -> teamIndex.size());
+                teamIndex.computeIfAbsent(pairing.awayTeamId(), ignored -> teamIndex.size());
+            }
+            int teamCount = teamIndex.size();
+            this.allowedVenues = new BitSet[teamCount];
+            this.unavailableDates = new BitSet[teamCount];
+            this.playingDates = new BitSet[teamCount];
+            this.lastDate = new int[teamCount];
+            for (var entry : teamIndex.entrySet()) {
+                int team = entry.getValue();
+                lastDate[team] = -1;
+                playingDates[team] = new BitSet(dateCount);
+                unavailableDates[team] = new BitSet(dateCount);
+                for (LocalDate date : unavailableDatesByTeam.getOrDefault(entry.getKey(), Set.of())) {
+                    Integer index = dateIndex.get(date);
+                    if (index != null) {
+                        unavailableDates[team].set(index);
+                    }
+                }
+                Set<UUID> allowed = allowedVenuesByTeam.get(entry.getKey());
+                if (allowed != null) {
+                    allowedVenues[team] = new BitSet(venueIndex.size());
+                    for (UUID venueId : allowed) {
+                        Integer index = venueIndex.get(venueId);
+                        if (index != null) {
+                            allowedVenues[team].set(index);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Fixture place(Pairing pairing, boolean keepRoundOrder) {
+            int home = teamIndex.get(pairing.homeTeamId());
+            int away = teamIndex.get(pairing.awayTeamId());
+            int firstDate = keepRoundOrder ? Math.max(lastDate[home], lastDate[away]) + 1 : 0;
+
+            for (int d = firstDate; d < dateStart.length; d++) {
+                if (freeSlotsByDate[d] == 0 || isBlocked(home, d) || isBlocked(away, d)) {
+                    continue;
+                }
+                for (int s = dateStart[d]; s < dateEnd[d]; s++) {
+                    if (slotUsed[s] || !isVenueAllowed(home, slotVenue[s]) || !isVenueAllowed(away, slotVenue[s])) {
+                        continue;
+                    }
+                    take(s);
+                    playingDates[home].set(d);
+                    playingDates[away].set(d);
+                    lastDate[home] = Math.max(lastDate[home], d);
+                    lastDate[away] = Math.max(lastDate[away], d);
+                    return new Fixture(pairing, slots.get(s));
+                }
+            }
+            return null;
+        }
+
+        private void take(int slot) {
+            slotUsed[slot] = true;
+            freeSlotsByDate[slotDate[slot]]--;
+            for (int conflict : venueConflicts[slot]) {
+                if (!slotUsed[conflict]) {
+                    slotUsed[conflict] = true;
+                    freeSlotsByDate[slotDate[conflict]]--;
+                }
+            }
+        }
+
+        private boolean isBlocked(int team, int date) {
+            return playingDates[team].get(date) || unavailableDates[team].get(date);
+        }
+
+        private boolean isVenueAllowed(int team, int venue) {
+            return allowedVenues[team] == null || allowedVenues[team].get(venue);
+        }
+
+        private static boolean overlaps(Slot left, Slot right) {
+            return left.startTime().isBefore(right.endTime()) && right.startTime().isBefore(left.endTime());
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamMemberProfileResponse;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.ConflictException;
+import com.game.on.go_league_service.exception.ForbiddenException;
+import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.league.dto.FixtureTimeWindowRequest;
+import com.game.on.go_league_service.league.dto.LeagueFixtureGenerateRequest;
+import com.game.on.go_league_service.league.dto.LeagueFixtureGenerateResponse;
+import com.game.on.go_league_service.league.dto.LeagueFixtureResponse;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchStatus;
+import com.game.on.go_league_service.league.model.LeagueSeason;
+import com.game.on.go_league_service.league.model.LeagueTeam;
+import com.game.on.go_league_service.league.model.Venue;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
+import com.game.on.go_league_service.league.repository.LeagueRepository;
+import com.game.on.go_league_service.league.repository.LeagueSeasonRepository;
+import com.game.on.go_league_service.league.repository.LeagueTeamRepository;
+import com.game.on.go_league_service.league.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeagueFixtureService {
+    private static final String FIXTURE_SLOTS_EXHAUSTED_CODE = "LEAGUE_FIXTURE_SLOTS_EXHAUSTED";
+
+    private final LeagueRepository leagueRepository;
+    private final LeagueOrganizerRepository organizerRepository;
+    private final LeagueSeasonRepository leagueSeasonRepository;
+    private final LeagueTeamRepository leagueTeamRepository;
+    private final LeagueMatchRepository leagueMatchRepository;
+    private final LeagueMatchBatchWriter leagueMatchBatchWriter;
+    private final VenueRepository venueRepository;
+    private final TeamClient teamClient;
+    private final CurrentUserProvider userProvider;
+
+    @Transactional
+    public LeagueFixtureGenerateResponse generateFixtures(UUID leagueId,
+                                                          UUID seasonId,
+                                                          LeagueFixtureGenerateRequest request) {
+        String userId = userProvider.clerkUserId();
+        League league = requireActiveLeague(leagueId);
+        ensureLeagueOwner(league, userId);
+
+        LeagueSeason season = leagueSeasonRepository.findByIdAndLeague_IdAndArchivedAtIsNull(seasonId, leagueId)
+                .orElseThrow(() -> new NotFoundException("Season not found"));
+        ZoneId zone = resolveZone(request.timeZone());
+        validateTimeWindows(request.timeWindows());
+
+        LocalDate from = season.getStartDate();
+        LocalDate today = LocalDate.now(zone);
+        if (from == null || from.isBefore(today)) {
+            from = today;
+        }
+        LocalDate to = season.getEndDate();
+        if (to == null || to.isBefore(from)) {
+            throw new BadRequestException("Season has no remaining dates to schedule");
+        }
+
+        List<UUID> teamIds = leagueTeamRepository.findByLeague_IdOrderByCreatedAtDesc(leagueId)
+                .stream()
+                .map(LeagueTeam::getTeamId)
+                .distinct()
+                .sorted()
+                .toList();
+        if (teamIds.size() < 2) {
+            throw new BadRequestException("At least two teams are required to generate fixtures");
+        }
+
+        Map<UUID, TeamSummaryResponse> teams = new LinkedHashMap<>();
+        teamIds.forEach(teamId -> teams.put(teamId, teamClient.getTeam(teamId)));
+        String sport = resolveSport(teams.values());
+
+        List<UUID> venueIds = request.venueIds().stream().distinct().toList();
+        Map<UUID, Venue> venues = venueRepository.findAllById(venueIds)
+                .stream()
+                .collect(Collectors.toMap(Venue::getId, Function.identity()));
+        if (venues.size() != venueIds.size()) {
+            throw new NotFoundException("Venue not found");
+        }
+
+        Map<UUID, List<TeamMemberProfileResponse>> playersByTeam = fetchPlayers(teamIds);
+
+        var pairings = FixtureScheduler.roundRobin(teamIds, request.doubleRoundRobin());
+        var slots = FixtureScheduler.buildSlots(
+                from,
+                to,
+                request.timeWindows(),
+                venueIds,
+                Duration.ofMinutes(request.matchDurationMinutes()),
+                zone
+        );
+        var result = FixtureScheduler.schedule(
+                pairings,
+                slots,
+                allowedVenuesByTeam(teams, venues.values()),
+                unavailableDatesByTeam(teamIds, from, to)
+        );
+        if (!result.unscheduled().isEmpty()) {
+            throw new ConflictException(
+                    FIXTURE_SLOTS_EXHAUSTED_CODE,
+                    result.unscheduled().size() + " of " + pairings.size()
+                            + " matches could not be placed in the season. Add venues or time windows and try again.",
+                    result.unscheduled().stream()
+                            .flatMap(pairing -> Stream.of(pairing.homeTeamId(), pairing.awayTeamId()))
+                            .distinct()
+                            .toList()
+            );
+        }
+
+        List<LeagueMatch> matches = new ArrayList<>(result.fixtures().size());
+        for (var fixture : result.fixtures()) {
+            Venue venue = venues.get(fixture.slot().venueId());
+            matches.add(LeagueMatch.builder()
+                    .league(league)
+                    .homeTeamId(fixture.pairing().homeTeamId())
+                    .awayTeamId(fixture.pairing().awayTeamId())
+                    .sport(sport)
+                    .startTime(fixture.slot().startTime())
+                    .endTime(fixture.slot().endTime())
+                    .scheduledDate(fixture.slot().date())
+                    .matchLocation(venue.getName())
+                    .venueId(venue.getId())
+                    .requiresReferee(request.requiresReferee())
+                    .status(LeagueMatchStatus.CONFIRMED)
+                    .createdByUserId(userId)
+                    .build());
+        }
+        var saved = leagueMatchBatchWriter.write(matches, playersByTeam);
+
+        List<LeagueFixtureResponse> fixtures = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            LeagueMatch match = saved.get(i);
+            fixtures.add(new LeagueFixtureResponse(
+                    match.getId(),
+                    result.fixtures().get(i).pairing().round(),
+                    match.getHomeTeamId(),
+                    match.getAwayTeamId(),
+                    match.getVenueId(),
+                    match.getScheduledDate(),
+                    match.getStartTime(),
+                    match.getEndTime()
+            ));
+        }
+
+        log.info("league_fixtures_generated leagueId={} seasonId={} matches={} byUser={}",
+                leagueId, seasonId, saved.size(), userId);
+        return new LeagueFixtureGenerateResponse(leagueId, seasonId, result.rounds(), fixtures.size(), fixtures);
+    }
+
+    private Map<UUID, List<TeamMemberProfileResponse>> fetchPlayers(List<UUID> teamIds) {
+        Map<UUID, List<TeamMemberProfileResponse>> playersByTeam = new HashMap<>();
+        Map<String, UUID> teamByPlayer = new HashMap<>();
+        for (UUID teamId : teamIds) {
+            var players = teamClient.getTeamMembers(teamId)
+                    .stream()
+                    .filter(member -> "PLAYER".equalsIgnoreCase(member.role()))
+                    .toList();
+            for (var player : players) {
+                if (!StringUtils.hasText(player.userId())) {
+                    continue;
+                }
+                UUID previous = teamByPlayer.putIfAbsent(player.userId(), teamId);
+                if (previous != null && !previous.equals(teamId)) {
+                    throw new BadRequestException("A player cannot be on both teams for the same league match");
+                }
+            }
+            playersByTeam.put(teamId, players);
+        }
+        return playersByTeam;
+    }
+
+    private Map<UUID, Set<UUID>> allowedVenuesByTeam(Map<UUID, TeamSummaryResponse> teams,
+                                                     Iterable<Venue> venues) {
+        Map<UUID, Set<UUID>> allowed = new HashMap<>();
+        teams.forEach((teamId, team) -> {
+            Set<UUID> venueIds = new HashSet<>();
+            for (Venue venue : venues) {
+                if (containsIgnoreCase(team.allowedRegions(), trimToNull(venue.getRegion()))) {
+                    venueIds.add(venue.getId());
+                }
+            }
+            allowed.put(teamId, venueIds);
+        });
+        return allowed;
+    }
+
+    private Map<UUID, Set<LocalDate>> unavailableDatesByTeam(List<UUID> teamIds, LocalDate from, LocalDate to) {
+        Map<UUID, Set<LocalDate>> unavailable = new HashMap<>();
+        Set<UUID> leagueTeamIds = new HashSet<>(teamIds);
+        for (LeagueMatch match : leagueMatchRepository.findConfirmedByTeamIdsBetween(teamIds, from, to)) {
+            if (leagueTeamIds.contains(match.getHomeTeamId())) {
+                unavailable.computeIfAbsent(match.getHomeTeamId(), ignored -> new HashSet<>()).add(match.getScheduledDate());
+            }
+            if (leagueTeamIds.contains(match.getAwayTeamId())) {
+                unavailable.computeIfAbsent(match.getAwayTeamId(), ignored -> new HashSet<>()).add(match.getScheduledDate());
+            }
+        }
+        for (UUID teamId : teamIds) {
+            for (var match : teamClient.getAllTeamMatch(teamId)) {
+                if (match.scheduledDate() == null
+                        || !"confirmed".equalsIgnoreCase(match.status())
+                        || match.scheduledDate().isBefore(from)
+                        || match.scheduledDate().isAfter(to)) {
+                    continue;
+                }
+                unavailable.computeIfAbsent(teamId, ignored -> new HashSet<>()).add(match.scheduledDate());
+            }
+        }
+        return unavailable;
+    }
+
+    private void validateTimeWindows(List<FixtureTimeWindowRequest> windows) {
+        for (var window : windows) {
+            if (!window.startTime().isBefore(window.endTime())) {
+                throw new BadRequestException("Each time window startTime must be before endTime");
+            }
+        }
+    }
+
+    private ZoneId resolveZone(String timeZone) {
+        if (!StringUtils.hasText(timeZone)) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timeZone.trim());
+        } catch (DateTimeException ex) {
+            throw new BadRequestException("Invalid timeZone");
+        }
+    }
+
+    private String resolveSport(Iterable<TeamSummaryResponse> teams) {
+        String sport = null;
+        for (TeamSummaryResponse team : teams) {
+            String teamSport = trimToNull(team.sport());
+            if (teamSport == null) {
+                throw new BadRequestException("Teams must have a sport configured");
+            }
+            if (sport == null) {
+                sport = teamSport;
+            } else if (!sport.equalsIgnoreCase(teamSport)) {
+                throw new BadRequestException("Teams must have the same sport");
+            }
+        }
+        return sport;
+    }
+
+    private League requireActiveLeague(UUID leagueId) {
+        return leagueRepository.findByIdAndArchivedAtIsNull(leagueId)
+                .orElseThrow(() -> new NotFoundException("League not found"));
+    }
+
+    private void ensureLeagueOwner(League league, String userId) {
+        if (!league.getOwnerUserId().equals(userId)
+                && !organizerRepository.existsByLeague_IdAndUserId(league.getId(), userId)) {
+            throw new ForbiddenException("Only the league owner can perform this action");
+        }
+    }
+
+    private boolean containsIgnoreCase(List<String> values, String target) {
+        if (target == null || values == null) {
+            return false;
+        }
+        return values.stream().anyMatch(value -> value != null && value.trim().equalsIgnoreCase(target));
+    }
+
+    private String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+}
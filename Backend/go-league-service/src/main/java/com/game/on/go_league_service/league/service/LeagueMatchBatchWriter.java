@@ -0,0 +1,53 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.client.dto.TeamMemberProfileResponse;
+import com.game.on.go_league_service.league.model.AttendanceStatus;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchMember;
+import com.game.on.go_league_service.league.repository.LeagueMatchMemberRepository;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class LeagueMatchBatchWriter {
+
+    private final LeagueMatchRepository leagueMatchRepository;
+    private final LeagueMatchMemberRepository leagueMatchMemberRepository;
+
+    @Transactional
+    public List<LeagueMatch> write(List<LeagueMatch> matches,
+                                   Map<UUID, List<TeamMemberProfileResponse>> playersByTeam) {
+        var saved = leagueMatchRepository.saveAll(matches);
+
+        List<LeagueMatchMember> members = new ArrayList<>();
+        for (LeagueMatch match : saved) {
+            addRoster(members, match, match.getHomeTeamId(), playersByTeam);
+            addRoster(members, match, match.getAwayTeamId(), playersByTeam);
+        }
+        leagueMatchMemberRepository.saveAll(members);
+        return saved;
+    }
+
+    private void addRoster(List<LeagueMatchMember> members,
+                           LeagueMatch match,
+                           UUID teamId,
+                           Map<UUID, List<TeamMemberProfileResponse>> playersByTeam) {
+        for (var player : playersByTeam.getOrDefault(teamId, List.of())) {
+            members.add(LeagueMatchMember.builder()
+                    .match(match)
+                    .userId(player.userId())
+                    .teamId(teamId)
+                    .role(player.role())
+                    .status(AttendanceStatus.CONFIRMED)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.game.on.go_league_service.league.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamMemberProfileResponse;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.ForbiddenException;
+import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.league.dto.LeagueMatchImportResponse;
+import com.game.on.go_league_service.league.dto.LeagueMatchImportRow;
+import com.game.on.go_league_service.league.dto.LeagueMatchImportRowError;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchStatus;
+import com.game.on.go_league_service.league.model.LeagueTeam;
+import com.game.on.go_league_service.league.model.Venue;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
+import com.game.on.go_league_service.league.repository.LeagueRepository;
+import com.game.on.go_league_service.league.repository.LeagueTeamRepository;
+import com.game.on.go_league_service.league.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeagueMatchImportService {
+    private static final int IMPORT_BATCH_SIZE = 200;
+    private static final int MAX_REPORTED_ERRORS = 500;
+    // a quoted field may span lines, but an unclosed quote must not swallow the rest of the file
+    private static final int MAX_CSV_RECORD_LINES = 20;
+    private static final int MAX_CSV_RECORD_LENGTH = 16 * 1024;
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of(
+            "homeTeamId", "awayTeamId", "scheduledDate", "startTime", "endTime", "venueId"
+    );
+
+    private final LeagueRepository leagueRepository;
+    private final LeagueOrganizerRepository organizerRepository;
+    private final LeagueTeamRepository leagueTeamRepository;
+    private final LeagueMatchRepository leagueMatchRepository;
+    private final VenueRepository venueRepository;
+    private final LeagueMatchBatchWriter leagueMatchBatchWriter;
+    private final TeamClient teamClient;
+    private final CurrentUserProvider userProvider;
+    private final ObjectMapper objectMapper;
+
+    public LeagueMatchImportResponse importMatches(UUID leagueId, String contentType, InputStream body) {
+        String userId = userProvider.clerkUserId();
+        League league = leagueRepository.findByIdAndArchivedAtIsNull(leagueId)
+                .orElseThrow(() -> new NotFoundException("League not found"));
+        if (!league.getOwnerUserId().equals(userId)
+                && !organizerRepository.existsByLeague_IdAndUserId(leagueId, userId)) {
+            throw new ForbiddenException("Only the league owner can perform this action");
+        }
+
+        boolean csv = contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv");
+        var context = new ImportContext(league, userId,
+                leagueTeamRepository.findByLeague_IdOrderByCreatedAtDesc(leagueId)
+                        .stream()
+                        .map(LeagueTeam::getTeamId)
+                        .collect(Collectors.toSet()));
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = csv ? readCsvHeader(reader) : null;
+            long lineNumber = csv ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!StringUtils.hasText(line)) {
+                    continue;
+                }
+                long rowLineNumber = lineNumber;
+                String record = line;
+                boolean quoteOpen = csv && countQuotes(line) % 2 == 1;
+                if (quoteOpen) {
+                    // a quoted CSV field may carry line breaks, so the record runs on until its quotes close
+                    var builder = new StringBuilder(line);
+                    for (int extraLines = 0; quoteOpen
+                            && extraLines < MAX_CSV_RECORD_LINES
+                            && builder.length() <= MAX_CSV_RECORD_LENGTH
+                            && (line = reader.readLine()) != null; extraLines++) {
+                        lineNumber++;
+                        builder.append('\n').append(line);
+                        quoteOpen = countQuotes(line) % 2 == 0;
+                    }
+                    record = builder.toString();
+                }
+                context.totalRows++;
+                try {
+                    if (quoteOpen) {
+                        throw new RowRejectedException("INVALID_ROW", "Quoted field is not closed within "
+                                + MAX_CSV_RECORD_LINES + " lines or " + MAX_CSV_RECORD_LENGTH + " characters");
+                    }
+                    LeagueMatchImportRow row = csv ? parseCsvRow(header, record) : parseJsonRow(record);
+                    context.accept(validate(context, row));
+                } catch (RowRejectedException ex) {
+                    context.reject(rowLineNumber, ex.code, ex.getMessage());
+                }
+                if (context.pending.size() >= IMPORT_BATCH_SIZE) {
+                    context.flush();
+                }
+            }
+        } catch (IOException ex) {
+            throw new BadRequestException("Unable to read import file");
+        }
+        context.flush();
+
+        log.info("league_matches_imported leagueId={} rows={} imported={} failed={} byUser={}",
+                leagueId, context.totalRows, context.imported, context.failed, userId);
+        return new LeagueMatchImportResponse(
+                leagueId,
+                context.totalRows,
+                context.imported,
+                context.failed,
+                context.failed > context.errors.size(),
+                context.errors
+        );
+    }
+
+    private LeagueMatch validate(ImportContext context, LeagueMatchImportRow row) {
+        if (row.homeTeamId() == null || row.awayTeamId() == null) {
+            throw new RowRejectedException("INVALID_ROW", "homeTeamId and awayTeamId are required");
+        }
+        if (row.scheduledDate() == null || row.startTime() == null || row.endTime() == null) {
+            throw new RowRejectedException("INVALID_ROW", "scheduledDate, startTime and endTime are required");
+        }
+        if (row.venueId() == null) {
+            throw new RowRejectedException("INVALID_ROW", "venueId is required");
+        }
+        if (row.homeTeamId().equals(row.awayTeamId())) {
+            throw new RowRejectedException("INVALID_ROW", "homeTeamId and awayTeamId must be different");
+        }
+        if (!context.leagueTeamIds.contains(row.homeTeamId()) || !context.leagueTeamIds.contains(row.awayTeamId())) {
+            throw new RowRejectedException("TEAM_NOT_IN_LEAGUE", "Both teams must be part of the league");
+        }
+        if (!row.startTime().isBefore(row.endTime())) {
+            throw new RowRejectedException("INVALID_ROW", "startTime must be before endTime");
+        }
+
+        Venue venue = context.venue(row.venueId())
+                .orElseThrow(() -> new RowRejectedException("VENUE_NOT_FOUND", "Venue not found"));
+        TeamSummaryResponse homeTeam = context.team(row.homeTeamId());
+        TeamSummaryResponse awayTeam = context.team(row.awayTeamId());
+        String sport = resolveMatchSport(homeTeam.sport(), awayTeam.sport());
+        String region = trimToNull(venue.getRegion());
+        if (!containsIgnoreCase(homeTeam.allowedRegions(), region)
+                || !containsIgnoreCase(awayTeam.allowedRegions(), region)) {
+            throw new RowRejectedException("VENUE_REGION_NOT_ALLOWED",
+                    "Selected venue is outside allowed regions for the teams");
+        }
+        if (context.isBusy(row.homeTeamId(), row.scheduledDate())
+                || context.isBusy(row.awayTeamId(), row.scheduledDate())) {
+            throw new RowRejectedException("LEAGUE_TEAM_SAME_DAY_CONFLICT",
+                    "One of these teams already has a confirmed match on this day. League teams are limited to one match per day.");
+        }
+        Set<String> sharedPlayers = new HashSet<>(context.playerIds(row.homeTeamId()));
+        sharedPlayers.retainAll(context.playerIds(row.awayTeamId()));
+        if (!sharedPlayers.isEmpty()) {
+            throw new RowRejectedException("PLAYER_ON_BOTH_TEAMS",
+                    "A player cannot be on both teams for the same league match");
+        }
+
+        return LeagueMatch.builder()
+                .league(context.league)
+                .homeTeamId(row.homeTeamId())
+                .awayTeamId(row.awayTeamId())
+                .sport(sport)
+                .startTime(row.startTime())
+                .endTime(row.endTime())
+                .scheduledDate(row.scheduledDate())
+                .matchLocation(venue.getName())
+                .venueId(venue.getId())
+                .requiresReferee(Boolean.TRUE.equals(row.requiresReferee()))
+                .status(LeagueMatchStatus.CONFIRMED)
+                .createdByUserId(context.userId)
+                .build();
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (!StringUtils.hasText(headerLine)) {
+            throw new BadRequestException("CSV header row is required");
+        }
+        List<String> columns;
+        try {
+            columns = splitCsv(headerLine);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("CSV header row is not valid CSV: " + ex.getMessage());
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_CSV_COLUMNS) {
+            if (!header.containsKey(column.toLowerCase(Locale.ROOT))) {
+                throw new BadRequestException("CSV header is missing column " + column);
+            }
+        }
+        return header;
+    }
+
+    private LeagueMatchImportRow parseCsvRow(Map<String, Integer> header, String record) {
+        try {
+            List<String> values = splitCsv(record);
+            return new LeagueMatchImportRow(
+                    parseUuid(column(header, values, "homeTeamId")),
+                    parseUuid(column(header, values, "awayTeamId")),
+                    parseDate(column(header, values, "scheduledDate")),
+                    parseDateTime(column(header, values, "startTime")),
+                    parseDateTime(column(header, values, "endTime")),
+                    parseUuid(column(header, values, "venueId")),
+                    Boolean.parseBoolean(column(header, values, "requiresReferee"))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new RowRejectedException("INVALID_ROW", "Row could not be parsed: " + ex.getMessage());
+        }
+    }
+
+    private LeagueMatchImportRow parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, LeagueMatchImportRow.class);
+        } catch (JsonProcessingException ex) {
+            throw new RowRejectedException("INVALID_ROW", "Row is not a valid JSON object");
+        }
+    }
+
+    /**
+     * Splits one RFC 4180 record. A field in double quotes may hold commas and line breaks, and a
+     * doubled quote inside it stands for one quote. Spaces around a quoted field are ignored.
+     */
+    private List<String> splitCsv(String record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int length = record.length();
+        int i = 0;
+        while (true) {
+            int fieldStart = i;
+            while (i < length && record.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < length && record.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("unterminated quoted field");
+                    }
+                    char c = record.charAt(i++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i < length && record.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < length && record.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < length && record.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected text after quoted field");
+                }
+            } else {
+                i = fieldStart;
+                while (i < length && record.charAt(i) != ',') {
+                    value.append(record.charAt(i++));
+                }
+            }
+            values.add(value.toString());
+            value.setLength(0);
+            if (i >= length) {
+                return values;
+            }
+            i++;
+        }
+    }
+
+    // quotes only come in pairs in a complete record, escaped ones included
+    private static int countQuotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    private String column(Map<String, Integer> header, List<String> values, String name) {
+        Integer index = header.get(name.toLowerCase(Locale.ROOT));
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return trimToNull(values.get(index));
+    }
+
+    private UUID parseUuid(String value) {
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    private LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    private OffsetDateTime parseDateTime(String value) {
+        return value == null ? null : OffsetDateTime.parse(value);
+    }
+
+    private String resolveMatchSport(String homeSport, String awaySport) {
+        String normalizedHome = trimToNull(homeSport);
+        String normalizedAway = trimToNull(awaySport);
+        if (normalizedHome == null || normalizedAway == null) {
+            throw new RowRejectedException("INVALID_TEAM_SPORT", "Teams must have a sport configured");
+        }
+        if (!normalizedHome.equalsIgnoreCase(normalizedAway)) {
+            throw new RowRejectedException("INVALID_TEAM_SPORT", "Teams must have the same sport");
+        }
+        return normalizedHome;
+    }
+
+    private boolean containsIgnoreCase(List<String> values, String target) {
+        if (target == null || values == null) {
+            return false;
+        }
+        return values.stream().anyMatch(value -> value != null && value.trim().equalsIgnoreCase(target));
+    }
+
+    private String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    private final class ImportContext {
+        private final League league;
+        private final String userId;
+        private final Set<UUID> leagueTeamIds;
+        private final Map<UUID, Optional<Venue>> venues = new HashMap<>();
+        private final Map<UUID, TeamSummaryResponse> teams = new HashMap<>();
+        private final Map<UUID, List<TeamMemberProfileResponse>> playersByTeam = new HashMap<>();
+        private final Map<UUID, Set<String>> playerIdsByTeam = new HashMap<>();
+        private final Map<UUID, Set<LocalDate>> busyDatesByTeam = new HashMap<>();
+        private final List<LeagueMatch> pending = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<LeagueMatchImportRowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        private ImportContext(League league, String userId, Set<UUID> leagueTeamIds) {
+            this.league = league;
+            this.userId = userId;
+            this.leagueTeamIds = leagueTeamIds;
+        }
+
+        private Optional<Venue> venue(UUID venueId) {
+            return venues.computeIfAbsent(venueId, venueRepository::findById);
+        }
+
+        private TeamSummaryResponse team(UUID teamId) {
+            return teams.computeIfAbsent(teamId, teamClient::getTeam);
+        }
+
+        private Set<String> playerIds(UUID teamId) {
+            return playerIdsByTeam.computeIfAbsent(teamId, id -> {
+                var players = teamClient.getTeamMembers(id)
+                        .stream()
+                        .filter(member -> "PLAYER".equalsIgnoreCase(member.role()))
+                        .toList();
+                playersByTeam.put(id, players);
+                return players.stream()
+                        .map(TeamMemberProfileResponse::userId)
+                        .filter(StringUtils::hasText)
+                        .collect(Collectors.toSet());
+            });
+        }
+
+        private boolean isBusy(UUID teamId, LocalDate date) {
+            return busyDatesByTeam.computeIfAbsent(teamId, this::loadBusyDates).contains(date);
+        }
+
+        private Set<LocalDate> loadBusyDates(UUID teamId) {
+            Set<LocalDate> dates = new HashSet<>();
+            for (var match : leagueMatchRepository.findByHomeTeamIdOrAwayTeamId(teamId, teamId)) {
+                if (match.getStatus() == LeagueMatchStatus.CONFIRMED && match.getScheduledDate() != null) {
+                    dates.add(match.getScheduledDate());
+                }
+            }
+            for (var match : teamClient.getAllTeamMatch(teamId)) {
+                if (match.scheduledDate() != null && "confirmed".equalsIgnoreCase(match.status())) {
+                    dates.add(match.scheduledDate());
+                }
+            }
+            return dates;
+        }
+
+        private void accept(LeagueMatch match) {
+            busyDatesByTeam.get(match.getHomeTeamId()).add(match.getScheduledDate());
+            busyDatesByTeam.get(match.getAwayTeamId()).add(match.getScheduledDate());
+            pending.add(match);
+        }
+
+        private void reject(long lineNumber, String code, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new LeagueMatchImportRowError(lineNumber, code, message));
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            leagueMatchBatchWriter.write(List.copyOf(pending), playersByTeam);
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+
+    private static final class RowRejectedException extends RuntimeException {
+        private final String code;
+
+        private RowRejectedException(String code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.game.on.go_league_service.league.service;
 
 import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.TeamMembershipCache;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
 import com.game.on.go_league_service.client.dto.TeamPostCreateRequest;
 import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
 import com.game.on.go_league_service.config.CurrentUserProvider;
@@ -58,10 +60,13 @@ public class LeagueMatchService {
     private final LeagueMatchRepository leagueMatchRepository;
     private final LeagueMatchScoreRepository leagueMatchScoreRepository;
     private final RefereeProfileRepository refereeProfileRepository;
+    private final RefereeAvailabilityService availabilityService;
     private final VenueService venueService;
     private final TeamClient teamClient;
+    private final TeamMembershipCache membershipCache;
     private final CurrentUserProvider userProvider;
     private final LeagueMatchMemberRepository leagueMatchMemberRepository;
+    private final PlayoffOddsService playoffOddsService;
 
     @Transactional(readOnly = true)
     public LeagueMatchScheduleValidationResponse validateMatch(UUID leagueId, LeagueMatchCreateRequest request) {
@@ -181,7 +186,6 @@ public class LeagueMatchService {
 
         homePlayers.forEach(p -> members.add(
                 LeagueMatchMember.builder()
-                        .id(UUID.randomUUID())
                         .match(saved)
                         .userId(p.userId())
                         .teamId(request.homeTeamId())
@@ -192,7 +196,6 @@ public class LeagueMatchService {
 
         awayPlayers.forEach(p -> members.add(
                 LeagueMatchMember.builder()
-                        .id(UUID.randomUUID())
                         .match(saved)
                         .userId(p.userId())
                         .teamId(request.awayTeamId())
@@ -298,6 +301,7 @@ public class LeagueMatchService {
                 .submittedByUserId(userId)
                 .build();
         leagueMatchScoreRepository.save(score);
+        playoffOddsService.invalidate(leagueId);
     }
 
     @Transactional(readOnly = true)
@@ -409,11 +413,20 @@ public class LeagueMatchService {
             }
         }
 
-        boolean isMemberHome = Boolean.TRUE.equals(teamClient.isMember(match.getHomeTeamId(), referee.getUserId()));
-        boolean isMemberAway = Boolean.TRUE.equals(teamClient.isMember(match.getAwayTeamId(), referee.getUserId()));
-        if (isMemberHome || isMemberAway) {
+        var teamMembers = teamClient.findMembers(new TeamMembershipCheckRequest(
+                List.of(match.getHomeTeamId(), match.getAwayTeamId()),
+                List.of(referee.getUserId())
+        ));
+        if (teamMembers != null && teamMembers.memberUserIds() != null
+                && teamMembers.memberUserIds().contains(referee.getUserId())) {
             throw new BadRequestException("Referee cannot be a member of either team");
         }
+
+        var availability = availabilityService.loadIndex(
+                List.of(referee.getUserId()), match.getStartTime(), match.getEndTime(), match.getId());
+        if (!availability.isFree(referee.getUserId(), match.getStartTime(), match.getEndTime())) {
+            throw new BadRequestException("Referee is not available during this match");
+        }
     }
 
     private League requireActiveLeague(UUID leagueId) {
@@ -434,11 +447,10 @@ public class LeagueMatchService {
         }
 
         try {
-            var memberships = teamClient.listTeams(true).items();
-            if (memberships == null || memberships.isEmpty()) {
+            var teamIds = membershipCache.teamIdsFor(userId);
+            if (teamIds.isEmpty()) {
                 return false;
             }
-            var teamIds = memberships.stream().map(item -> item.id()).toList();
             return leagueTeamRepository.existsByLeague_IdAndTeamIdIn(league.getId(), teamIds);
         } catch (Exception ex) {
             log.error("Failed to fetch current user teams while checking league visibility", ex);
@@ -667,7 +679,6 @@ public class LeagueMatchService {
                         }
 
                         return LeagueMatchMember.builder()
-                                .id(UUID.randomUUID())
                                 .match(member.getMatch())
                                 .teamId(member.getTeamId())
                                 .userId(teamMember.userId())
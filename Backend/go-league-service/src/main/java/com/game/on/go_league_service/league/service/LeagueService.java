@@ -1,10 +1,11 @@
 package com.game.on.go_league_service.league.service;
 
 import com.game.on.go_league_service.client.TeamClient;
-import com.game.on.go_league_service.client.dto.TeamListItem;
+import com.game.on.go_league_service.client.TeamMembershipCache;
 import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
 import com.game.on.go_league_service.config.CurrentUserProvider;
 import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.ConflictException;
 import com.game.on.go_league_service.exception.ForbiddenException;
 import com.game.on.go_league_service.exception.NotFoundException;
 import com.game.on.go_league_service.league.dto.*;
@@ -18,6 +19,7 @@ import com.game.on.go_league_service.league.util.SlugGenerator;
 import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -42,6 +44,7 @@ import static com.game.on.go_league_service.league.service.LeagueSpecifications.
 @Service
 @RequiredArgsConstructor
 public class LeagueService {
+    private static final int MAX_SLUG_ATTEMPTS = 3;
 
     private final LeagueOrganizerRepository organizerRepository;
     private final LeagueRepository leagueRepository;
@@ -50,22 +53,34 @@ public class LeagueService {
     private final LeagueTeamRepository leagueTeamRepository;
     private final LeagueTeamMapper leagueTeamMapper;
     private final TeamClient teamClient;
+    private final TeamMembershipCache membershipCache;
     private final CurrentUserProvider userProvider;
     private final LeagueMetricsPublisher metricsPublisher;
     private final LeagueMatchRepository leagueMatchRepository;
     private final LeagueMatchScoreRepository leagueMatchScoreRepository;
 
-    @Transactional
+    // Not @Transactional: each attempt inserts in its own transaction so a slug collision can be retried.
     public LeagueDetailResponse createLeague(LeagueCreateRequest request) {
         String ownerUserId = userProvider.clerkUserId();
 
-        League league = leagueMapper.toLeague(request, ownerUserId);
-
-        var saved = leagueRepository.save(league);
-        log.info("league_created leagueId={} ownerId={}", saved.getId(), ownerUserId);
-        metricsPublisher.leagueCreated();
-
-        return leagueMapper.toDetail(saved, 0);
+        for (int attempt = 1; ; attempt++) {
+            League league = leagueMapper.toLeague(request, ownerUserId);
+            try {
+                var saved = leagueRepository.saveAndFlush(league);
+                log.info("league_created leagueId={} ownerId={}", saved.getId(), ownerUserId);
+                metricsPublisher.leagueCreated();
+
+                return leagueMapper.toDetail(saved, 0);
+            } catch (DataIntegrityViolationException ex) {
+                if (!SlugGenerator.isSlugConflict(ex)) {
+                    throw ex;
+                }
+                if (attempt >= MAX_SLUG_ATTEMPTS) {
+                    throw new ConflictException("Unable to allocate a unique league slug");
+                }
+                log.info("league_slug_conflict slug={} attempt={}", league.getSlug(), attempt);
+            }
+        }
     }
 
     @Transactional
@@ -99,6 +114,9 @@ public class LeagueService {
         if (request.privacy() != null) {
             league.setPrivacy(request.privacy());
         }
+        if (request.tieBreakers() != null) {
+            league.setStandingsTieBreakers(TieBreaker.format(request.tieBreakers()));
+        }
 
         var saved = leagueRepository.save(league);
         metricsPublisher.leagueUpdated();
@@ -345,7 +363,8 @@ public class LeagueService {
                         Function.identity()
                 ));
 
-        StandingStrategy strategy = StandingStrategyFactory.createStandingStrategy(league.getSport());
+        StandingStrategy strategy = StandingStrategyFactory.createStandingStrategy(
+                league.getSport(), TieBreaker.parseList(league.getStandingsTieBreakers()));
 
         return strategy.calculateStanding(teams, matches, scoresByMatchId);
     }
@@ -423,26 +442,14 @@ public class LeagueService {
         log.info("League logo updated for league ID {}", leagueId);
     }
 
-    private String generateUniqueSlug(String name) {
-        var baseSlug = SlugGenerator.from(name);
-        if (!StringUtils.hasText(baseSlug)) {
-            throw new BadRequestException("Unable to generate league slug");
-        }
-        var slug = baseSlug;
-        int suffix = 1;
-        while (leagueRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + suffix++;
-        }
-        return slug;
-    }
-
     private String trimToNull(String value) {
         return StringUtils.hasText(value) ? value.trim() : null;
     }
 
     private boolean isNoop(LeagueUpdateRequest request) {
         return request.name() == null && request.sport() == null && request.region() == null
-                && request.location() == null && request.level() == null && request.privacy() == null;
+                && request.location() == null && request.level() == null && request.privacy() == null
+                && request.tieBreakers() == null;
     }
 
     private boolean isNoop(LeagueSeasonUpdateRequest request) {
@@ -503,14 +510,7 @@ public class LeagueService {
 
     public List<UUID> fetchTeamIdsForUser() {
         try {
-            var response = teamClient.listTeams(true);
-            if (response == null || response.items() == null) {
-                return List.of();
-            }
-            return response.items().stream()
-                    .map(TeamListItem::id)
-                    .filter(Objects::nonNull)
-                    .toList();
+            return membershipCache.teamIdsFor(userProvider.clerkUserId());
         } catch (Exception ex) {
             log.error("Failed to fetch user teams from team service", ex);
             return List.of();
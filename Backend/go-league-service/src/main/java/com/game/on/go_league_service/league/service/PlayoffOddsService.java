@@ -0,0 +1,231 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.league.dto.PlayoffOddsResponse;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchScore;
+import com.game.on.go_league_service.league.model.LeagueMatchStatus;
+import com.game.on.go_league_service.league.model.LeagueTeam;
+import com.game.on.go_league_service.league.model.StandingScore;
+import com.game.on.go_league_service.league.model.StandingStrategy;
+import com.game.on.go_league_service.league.model.StandingStrategyFactory;
+import com.game.on.go_league_service.league.model.StandingsRules;
+import com.game.on.go_league_service.league.model.TieBreaker;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueMatchScoreRepository;
+import com.game.on.go_league_service.league.repository.LeagueTeamRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "Chance to make the playoffs" for each team, from Monte Carlo simulations of the league's
+ * remaining fixtures. Results are cached per league and playoff size until the next score is
+ * submitted; concurrent requests for the same league share a single computation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlayoffOddsService {
+
+    private final LeagueService leagueService;
+    private final LeagueTeamRepository leagueTeamRepository;
+    private final LeagueMatchRepository leagueMatchRepository;
+    private final LeagueMatchScoreRepository leagueMatchScoreRepository;
+    private final TeamClient teamClient;
+    private final CurrentUserProvider userProvider;
+    private final ConcurrentMap<OddsKey, CompletableFuture<PlayoffOddsResponse>> cache = new ConcurrentHashMap<>();
+
+    @Value("${league.playoff-odds.simulations:20000}")
+    private int simulations;
+
+    @Value("${league.playoff-odds.default-spots:4}")
+    private int defaultPlayoffSpots;
+
+    @Value("${league.playoff-odds.parallelism:0}")
+    private int parallelism;
+
+    @Value("${league.playoff-odds.max-cached-leagues:1000}")
+    private int maxCachedLeagues;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void startPool() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stopPool() {
+        pool.shutdownNow();
+    }
+
+    public PlayoffOddsResponse getPlayoffOdds(UUID leagueId, Integer playoffSpots) {
+        String userId = userProvider.clerkUserId();
+        League league = leagueService.requireActiveLeague(leagueId);
+        leagueService.ensureCanView(league, userId);
+
+        int spots = playoffSpots == null ? defaultPlayoffSpots : playoffSpots;
+        if (spots < 1) {
+            throw new BadRequestException("playoffSpots must be at least 1");
+        }
+
+        OddsKey key = new OddsKey(leagueId, spots);
+        CompletableFuture<PlayoffOddsResponse> pending = new CompletableFuture<>();
+        CompletableFuture<PlayoffOddsResponse> existing = cache.putIfAbsent(key, pending);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        if (cache.size() > maxCachedLeagues) {
+            cache.keySet().removeIf(other -> !other.equals(key));
+        }
+        try {
+            pending.complete(compute(league, spots));
+        } catch (RuntimeException e) {
+            cache.remove(key, pending);
+            pending.completeExceptionally(e);
+        }
+        return join(pending);
+    }
+
+    /**
+     * Drops the cached odds of a league once the current transaction commits, so a reader can not
+     * re-cache odds computed from the table as it was before the new score.
+     */
+    public void invalidate(UUID leagueId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(leagueId);
+                }
+            });
+        } else {
+            evict(leagueId);
+        }
+    }
+
+    private void evict(UUID leagueId) {
+        cache.keySet().removeIf(key -> key.leagueId().equals(leagueId));
+    }
+
+    private PlayoffOddsResponse compute(League league, int playoffSpots) {
+        UUID leagueId = league.getId();
+        List<TeamSummaryResponse> teams = leagueTeamRepository.findByLeague_IdOrderByCreatedAtDesc(leagueId)
+                .stream()
+                .map(LeagueTeam::getTeamId)
+                .distinct()
+                .map(teamClient::getTeam)
+                .filter(Objects::nonNull)
+                .toList();
+        List<LeagueMatch> matches = leagueMatchRepository.findByLeague_IdOrderByStartTimeDesc(leagueId);
+        Map<UUID, LeagueMatchScore> scoresByMatchId = leagueMatchScoreRepository.findByMatch_League_Id(leagueId)
+                .stream()
+                .collect(Collectors.toMap(score -> score.getMatch().getId(), Function.identity()));
+
+        List<TieBreaker> tieBreakers = TieBreaker.parseList(league.getStandingsTieBreakers());
+        StandingStrategy strategy = StandingStrategyFactory.createStandingStrategy(league.getSport(), tieBreakers);
+        List<StandingScore> standings = strategy.calculateStanding(teams, matches, scoresByMatchId);
+
+        int teamCount = standings.size();
+        Map<UUID, Integer> position = new HashMap<>();
+        int[] played = new int[teamCount];
+        int[] wins = new int[teamCount];
+        int[] draws = new int[teamCount];
+        int[] goalsFor = new int[teamCount];
+        int[] goalsAgainst = new int[teamCount];
+        int[] points = new int[teamCount];
+        for (int t = 0; t < teamCount; t++) {
+            StandingScore score = standings.get(t);
+            position.put(score.getTeamId(), t);
+            played[t] = score.getPlayed();
+            wins[t] = score.getWins();
+            draws[t] = score.getDraws();
+            goalsFor[t] = score.getGoalsFor();
+            goalsAgainst[t] = score.getGoalsAgainst();
+            points[t] = score.getPoints();
+        }
+
+        List<int[]> remaining = new ArrayList<>();
+        for (LeagueMatch match : matches) {
+            Integer home = position.get(match.getHomeTeamId());
+            Integer away = position.get(match.getAwayTeamId());
+            if (match.getStatus() == LeagueMatchStatus.CONFIRMED && !scoresByMatchId.containsKey(match.getId())
+                    && home != null && away != null) {
+                remaining.add(new int[]{home, away});
+            }
+        }
+        int[] remainingHome = remaining.stream().mapToInt(pair -> pair[0]).toArray();
+        int[] remainingAway = remaining.stream().mapToInt(pair -> pair[1]).toArray();
+
+        StandingsRules rules = StandingsRules.forSport(league.getSport()).withTieBreakers(tieBreakers);
+        var season = new SeasonSimulator.Season(rules, played, wins, draws, goalsFor, goalsAgainst, points,
+                remainingHome, remainingAway);
+
+        long started = System.nanoTime();
+        var result = SeasonSimulator.simulate(season, simulations, playoffSpots, System.nanoTime(), pool);
+        log.info("league_playoff_odds_computed leagueId={} teams={} remaining={} simulations={} tookMs={}",
+                leagueId, teamCount, remainingHome.length, simulations, (System.nanoTime() - started) / 1_000_000);
+
+        List<PlayoffOddsResponse.TeamOdds> odds = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) {
+            StandingScore score = standings.get(t);
+            odds.add(new PlayoffOddsResponse.TeamOdds(
+                    score.getTeamId(),
+                    score.getTeamName(),
+                    score.getPoints(),
+                    round((double) result.playoffCounts()[t] / simulations),
+                    round((double) result.firstPlaceCounts()[t] / simulations),
+                    round((double) result.rankSums()[t] / simulations)
+            ));
+        }
+        odds.sort(Comparator.comparingDouble(PlayoffOddsResponse.TeamOdds::playoffProbability).reversed()
+                .thenComparingDouble(PlayoffOddsResponse.TeamOdds::expectedRank));
+
+        return new PlayoffOddsResponse(leagueId, simulations, playoffSpots, remainingHome.length, OffsetDateTime.now(), odds);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+
+    private static PlayoffOddsResponse join(CompletableFuture<PlayoffOddsResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record OddsKey(UUID leagueId, int playoffSpots) {
+    }
+}
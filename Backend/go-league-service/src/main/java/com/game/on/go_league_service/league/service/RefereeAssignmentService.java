@@ -0,0 +1,209 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.ForbiddenException;
+import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.league.dto.RefereeAssignmentResponse;
+import com.game.on.go_league_service.league.dto.RefereeAutoAssignRequest;
+import com.game.on.go_league_service.league.dto.RefereeAutoAssignResponse;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.RefereeProfile;
+import com.game.on.go_league_service.league.model.Venue;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
+import com.game.on.go_league_service.league.repository.LeagueRepository;
+import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
+import com.game.on.go_league_service.league.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefereeAssignmentService {
+    private static final int MEMBERSHIP_CHECK_BATCH_SIZE = 1000;
+
+    private final LeagueRepository leagueRepository;
+    private final LeagueOrganizerRepository organizerRepository;
+    private final LeagueMatchRepository leagueMatchRepository;
+    private final RefereeProfileRepository refereeProfileRepository;
+    private final VenueRepository venueRepository;
+    private final RefereeAvailabilityService availabilityService;
+    private final TeamClient teamClient;
+    private final CurrentUserProvider userProvider;
+
+    @Transactional
+    public RefereeAutoAssignResponse autoAssign(UUID leagueId, RefereeAutoAssignRequest request) {
+        String userId = userProvider.clerkUserId();
+        League league = requireActiveLeague(leagueId);
+        ensureLeagueOwner(league, userId);
+
+        if (request.from().isAfter(request.to())) {
+            throw new BadRequestException("from must be on or before to");
+        }
+
+        List<LeagueMatch> matches = leagueMatchRepository.findUnrefereedByLeagueBetween(leagueId, request.from(), request.to());
+        if (matches.isEmpty()) {
+            return new RefereeAutoAssignResponse(leagueId, 0, 0, List.of(), List.of());
+        }
+
+        Set<String> sportKeys = matches.stream()
+                .map(match -> RefereeProfile.searchKey(match.getSport()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<RefereeProfile> pool = sportKeys.isEmpty()
+                ? List.of()
+                : refereeProfileRepository.findActiveBySportKeys(sportKeys);
+        List<String> poolIds = pool.stream().map(RefereeProfile::getUserId).toList();
+
+        Map<UUID, Set<String>> regionKeysByMatch = resolveRegionKeys(matches);
+        Map<UUID, Set<String>> membersByTeam = fetchMembersByTeam(matches, poolIds);
+        RefereeAvailabilityIndex availability = loadAvailability(matches, poolIds);
+
+        List<RefereeAssignmentSolver.MatchSlot> slots = new ArrayList<>(matches.size());
+        for (LeagueMatch match : matches) {
+            String sportKey = RefereeProfile.searchKey(match.getSport());
+            Set<String> regionKeys = regionKeysByMatch.get(match.getId());
+            Set<String> homeMembers = membersByTeam.getOrDefault(match.getHomeTeamId(), Set.of());
+            Set<String> awayMembers = membersByTeam.getOrDefault(match.getAwayTeamId(), Set.of());
+
+            List<String> eligible = pool.stream()
+                    .filter(referee -> sportKey != null && referee.getSportKeys().contains(sportKey))
+                    .filter(referee -> referee.getRegionKeys().stream().anyMatch(regionKeys::contains))
+                    .map(RefereeProfile::getUserId)
+                    .filter(refereeId -> !homeMembers.contains(refereeId) && !awayMembers.contains(refereeId))
+                    .filter(refereeId -> availability.isAvailable(refereeId, match.getStartTime(), match.getEndTime()))
+                    .toList();
+            slots.add(new RefereeAssignmentSolver.MatchSlot(match.getId(), match.getStartTime(), match.getEndTime(), eligible));
+        }
+
+        int maxMatchesPerReferee = request.maxMatchesPerReferee() == null ? 0 : request.maxMatchesPerReferee();
+        var result = RefereeAssignmentSolver.solve(slots, availability.busyIntervals(), maxMatchesPerReferee);
+
+        List<LeagueMatch> assigned = new ArrayList<>(result.assignments().size());
+        for (LeagueMatch match : matches) {
+            String refereeUserId = result.assignments().get(match.getId());
+            if (refereeUserId != null) {
+                match.setRefereeUserId(refereeUserId);
+                assigned.add(match);
+            }
+        }
+        leagueMatchRepository.saveAll(assigned);
+
+        log.info("referee_auto_assign leagueId={} byUser={} matches={} referees={} assigned={} unassigned={}",
+                leagueId, userId, matches.size(), pool.size(), assigned.size(), result.unassigned().size());
+
+        List<RefereeAssignmentResponse> assignments = assigned.stream()
+                .map(match -> new RefereeAssignmentResponse(
+                        match.getId(),
+                        match.getRefereeUserId(),
+                        match.getStartTime(),
+                        match.getEndTime()
+                ))
+                .toList();
+        return new RefereeAutoAssignResponse(leagueId, matches.size(), assignments.size(), assignments, result.unassigned());
+    }
+
+    private Map<UUID, Set<String>> resolveRegionKeys(List<LeagueMatch> matches) {
+        Set<UUID> venueIds = matches.stream()
+                .map(LeagueMatch::getVenueId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, Venue> venuesById = venueIds.isEmpty()
+                ? Map.of()
+                : venueRepository.findAllById(venueIds).stream()
+                .collect(Collectors.toMap(Venue::getId, Function.identity()));
+
+        Map<UUID, TeamSummaryResponse> teamsById = new HashMap<>();
+        Map<UUID, Set<String>> regionKeysByMatch = new HashMap<>();
+        for (LeagueMatch match : matches) {
+            String region = match.getVenueId() != null
+                    ? Optional.ofNullable(venuesById.get(match.getVenueId())).map(Venue::getRegion).orElse(null)
+                    : match.getMatchLocation();
+            String regionKey = RefereeProfile.searchKey(region);
+            if (regionKey != null) {
+                regionKeysByMatch.put(match.getId(), Set.of(regionKey));
+                continue;
+            }
+            var homeTeam = teamsById.computeIfAbsent(match.getHomeTeamId(), teamClient::getTeam);
+            var awayTeam = teamsById.computeIfAbsent(match.getAwayTeamId(), teamClient::getTeam);
+            regionKeysByMatch.put(match.getId(), Stream.of(homeTeam.allowedRegions(), awayTeam.allowedRegions())
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .map(RefereeProfile::searchKey)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+        }
+        return regionKeysByMatch;
+    }
+
+    private Map<UUID, Set<String>> fetchMembersByTeam(List<LeagueMatch> matches, List<String> poolIds) {
+        if (poolIds.isEmpty()) {
+            return Map.of();
+        }
+        Set<UUID> teamIds = matches.stream()
+                .flatMap(match -> Stream.of(match.getHomeTeamId(), match.getAwayTeamId()))
+                .collect(Collectors.toSet());
+
+        Map<UUID, Set<String>> membersByTeam = new HashMap<>();
+        for (UUID teamId : teamIds) {
+            Set<String> members = new HashSet<>();
+            for (int from = 0; from < poolIds.size(); from += MEMBERSHIP_CHECK_BATCH_SIZE) {
+                var chunk = poolIds.subList(from, Math.min(from + MEMBERSHIP_CHECK_BATCH_SIZE, poolIds.size()));
+                var response = teamClient.findMembers(new TeamMembershipCheckRequest(List.of(teamId), chunk));
+                if (response != null && response.memberUserIds() != null) {
+                    members.addAll(response.memberUserIds());
+                }
+            }
+            membersByTeam.put(teamId, members);
+        }
+        return membersByTeam;
+    }
+
+    private RefereeAvailabilityIndex loadAvailability(List<LeagueMatch> matches, Collection<String> poolIds) {
+        OffsetDateTime windowStart = matches.stream()
+                .map(LeagueMatch::getStartTime)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        OffsetDateTime windowEnd = matches.stream()
+                .map(LeagueMatch::getEndTime)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        return availabilityService.loadIndex(poolIds, windowStart, windowEnd, null);
+    }
+
+    private League requireActiveLeague(UUID leagueId) {
+        return leagueRepository.findByIdAndArchivedAtIsNull(leagueId)
+                .orElseThrow(() -> new NotFoundException("League not found"));
+    }
+
+    private void ensureLeagueOwner(League league, String userId) {
+        if (!league.getOwnerUserId().equals(userId)
+                && !organizerRepository.existsByLeague_IdAndUserId(league.getId(), userId)) {
+            throw new ForbiddenException("Only the league owner can perform this action");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.game.on.go_league_service.league.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory referee assignment solver. Matches are taken most-constrained first and given to the
+ * least-loaded eligible referee who is free for the whole match; a repair pass then moves already
+ * assigned matches along short augmenting chains to make room for the ones left over.
+ */
+public final class RefereeAssignmentSolver {
+
+    private static final int MAX_REPAIR_DEPTH = 3;
+
+    private RefereeAssignmentSolver() {
+    }
+
+    public record MatchSlot(UUID matchId, OffsetDateTime startTime, OffsetDateTime endTime, List<String> eligibleRefereeIds) {
+    }
+
+    public record Result(Map<UUID, String> assignments, List<UUID> unassigned) {
+    }
+
+    public static Result solve(List<MatchSlot> matches,
+                               Map<String, List<TimeInterval>> commitmentsByReferee,
+                               int maxMatchesPerReferee) {
+        var state = new State(matches, commitmentsByReferee, maxMatchesPerReferee);
+
+        Integer[] order = new Integer[matches.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer m) -> state.eligible[m].length)
+                .thenComparingLong(m -> state.matchStart[m]));
+
+        List<Integer> pending = new ArrayList<>();
+        for (int m : order) {
+            if (!state.tryAssign(m, 0, null)) {
+                pending.add(m);
+            }
+        }
+        for (int m : pending) {
+            state.tryAssign(m, MAX_REPAIR_DEPTH, new boolean[state.refereeIds.size()]);
+        }
+
+        Map<UUID, String> assignments = new LinkedHashMap<>();
+        List<UUID> unassigned = new ArrayList<>();
+        for (int m = 0; m < matches.size(); m++) {
+            int referee = state.assignedReferee[m];
+            if (referee < 0) {
+                unassigned.add(matches.get(m).matchId());
+            } else {
+                assignments.put(matches.get(m).matchId(), state.refereeIds.get(referee));
+            }
+        }
+        return new Result(assignments, unassigned);
+    }
+
+    private static final class State {
+        private final List<String> refereeIds = new ArrayList<>();
+        private final long[] matchStart;
+        private final long[] matchEnd;
+        private final int[][] eligible;
+        private final int[] assignedReferee;
+        private final List<long[]> commitments = new ArrayList<>();
+        private final List<List<Integer>> assignedMatches = new ArrayList<>();
+        private final int[] load;
+        private final int capacity;
+
+        private State(List<MatchSlot> matches, Map<String, List<TimeInterval>> commitmentsByReferee, int maxMatchesPerReferee) {
+            Map<String, Integer> refereeIndex = new HashMap<>();
+            int matchCount = matches.size();
+            this.matchStart = new long[matchCount];
+            this.matchEnd = new long[matchCount];
+            this.eligible = new int[matchCount][];
+            this.assignedReferee = new int[matchCount];
+
+            for (int m = 0; m < matchCount; m++) {
+                MatchSlot match = matches.get(m);
+                matchStart[m] = match.startTime().toEpochSecond();
+                matchEnd[m] = match.endTime().toEpochSecond();
+                assignedReferee[m] = -1;
+                eligible[m] = match.eligibleRefereeIds().stream()
+                        .distinct()
+                        .mapToInt(refereeId -> refereeIndex.computeIfAbsent(refereeId, id -> {
+                            refereeIds.add(id);
+                            return refereeIds.size() - 1;
+                        }))
+                        .toArray();
+            }
+
+            this.load = new int[refereeIds.size()];
+            for (int r = 0; r < refereeIds.size(); r++) {
+                List<TimeInterval> busy = commitmentsByReferee.getOrDefault(refereeIds.get(r), List.of());
+                long[] intervals = new long[busy.size() * 2];
+                for (int i = 0; i < busy.size(); i++) {
+                    intervals[2 * i] = busy.get(i).startTime().toEpochSecond();
+                    intervals[2 * i + 1] = busy.get(i).endTime().toEpochSecond();
+                }
+                commitments.add(intervals);
+                assignedMatches.add(new ArrayList<>());
+                load[r] = busy.size();
+            }
+            this.capacity = maxMatchesPerReferee <= 0 ? Integer.MAX_VALUE : maxMatchesPerReferee;
+        }
+
+        private boolean tryAssign(int match, int depth, boolean[] visited) {
+            int[] candidates = byLoad(eligible[match]);
+
+            for (int referee : candidates) {
+                if (load[referee] < capacity && !isCommitted(referee, match) && conflicts(referee, match).isEmpty()) {
+                    assign(match, referee);
+                    return true;
+                }
+            }
+            if (depth == 0) {
+                return false;
+            }
+
+            for (int referee : candidates) {
+                if (visited[referee] || isCommitted(referee, match)) {
+                    continue;
+                }
+                List<Integer> conflicts = conflicts(referee, match);
+                if (conflicts.size() != 1) {
+                    continue;
+                }
+                visited[referee] = true;
+                int displaced = conflicts.get(0);
+                unassign(displaced);
+                assign(match, referee);
+                if (tryAssign(displaced, depth - 1, visited)) {
+                    return true;
+                }
+                unassign(match);
+                assign(displaced, referee);
+            }
+            return false;
+        }
+
+        private int[] byLoad(int[] referees) {
+            return Arrays.stream(referees)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingInt(r -> load[r]).thenComparingInt(r -> r))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        private boolean isCommitted(int referee, int match) {
+            long[] intervals = commitments.get(referee);
+            for (int i = 0; i < intervals.length; i += 2) {
+                if (overlaps(intervals[i], intervals[i + 1], matchStart[match], matchEnd[match])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Integer> conflicts(int referee, int match) {
+            List<Integer> conflicts = new ArrayList<>(1);
+            for (int other : assignedMatches.get(referee)) {
+                if (overlaps(matchStart[other], matchEnd[other], matchStart[match], matchEnd[match])) {
+                    conflicts.add(other);
+                }
+            }
+            return conflicts;
+        }
+
+        private void assign(int match, int referee) {
+            assignedReferee[match] = referee;
+            assignedMatches.get(referee).add(match);
+            load[referee]++;
+        }
+
+        private void unassign(int match) {
+            int referee = assignedReferee[match];
+            assignedReferee[match] = -1;
+            assignedMatches.get(referee).remove(Integer.valueOf(match));
+            load[referee]--;
+        }
+
+        private static boolean overlaps(long startA, long endA, long startB, long endB) {
+            return startA < endB && startB < endA;
+        }
+    }
+}
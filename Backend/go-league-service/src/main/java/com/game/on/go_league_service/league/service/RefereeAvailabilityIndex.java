@@ -0,0 +1,139 @@
+package com.game.on.go_league_service.league.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-referee interval index over a bounded time window. Availability windows are merged into
+ * disjoint sorted runs and busy intervals keep a running max of their end times, so both
+ * "covered by availability" and "overlaps a commitment" are answered with a binary search.
+ * Referees that never published availability are treated as available at any time.
+ */
+public final class RefereeAvailabilityIndex {
+
+    private final Map<String, long[]> availableRuns;
+    private final Map<String, Timeline> busyTimelines;
+    private final Map<String, List<TimeInterval>> busyIntervals;
+
+    private RefereeAvailabilityIndex(Map<String, long[]> availableRuns,
+                                     Map<String, Timeline> busyTimelines,
+                                     Map<String, List<TimeInterval>> busyIntervals) {
+        this.availableRuns = availableRuns;
+        this.busyTimelines = busyTimelines;
+        this.busyIntervals = busyIntervals;
+    }
+
+    public static RefereeAvailabilityIndex build(Map<String, List<TimeInterval>> availabilityByReferee,
+                                                 Map<String, List<TimeInterval>> busyByReferee) {
+        Map<String, long[]> availableRuns = new HashMap<>();
+        availabilityByReferee.forEach((refereeId, windows) -> availableRuns.put(refereeId, merge(windows)));
+
+        Map<String, Timeline> busyTimelines = new HashMap<>();
+        busyByReferee.forEach((refereeId, intervals) -> busyTimelines.put(refereeId, Timeline.of(intervals)));
+
+        return new RefereeAvailabilityIndex(availableRuns, busyTimelines, Map.copyOf(busyByReferee));
+    }
+
+    public boolean isFree(String refereeId, OffsetDateTime start, OffsetDateTime end) {
+        return isAvailable(refereeId, start, end) && !isBusy(refereeId, start, end);
+    }
+
+    public boolean isAvailable(String refereeId, OffsetDateTime start, OffsetDateTime end) {
+        long[] runs = availableRuns.get(refereeId);
+        if (runs == null) {
+            return true;
+        }
+        long from = start.toEpochSecond();
+        long to = end.toEpochSecond();
+        // last run starting at or before the match start
+        int low = 0;
+        int high = runs.length / 2 - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (runs[2 * mid] <= from) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found >= 0 && runs[2 * found + 1] >= to;
+    }
+
+    public boolean isBusy(String refereeId, OffsetDateTime start, OffsetDateTime end) {
+        Timeline timeline = busyTimelines.get(refereeId);
+        return timeline != null && timeline.overlaps(start.toEpochSecond(), end.toEpochSecond());
+    }
+
+    public List<TimeInterval> busyIntervals(String refereeId) {
+        return busyIntervals.getOrDefault(refereeId, List.of());
+    }
+
+    public Map<String, List<TimeInterval>> busyIntervals() {
+        return busyIntervals;
+    }
+
+    private static long[] merge(List<TimeInterval> windows) {
+        List<long[]> sorted = new ArrayList<>(windows.size());
+        for (TimeInterval window : windows) {
+            sorted.add(new long[]{window.startTime().toEpochSecond(), window.endTime().toEpochSecond()});
+        }
+        sorted.sort(Comparator.comparingLong(window -> window[0]));
+
+        List<long[]> merged = new ArrayList<>();
+        for (long[] window : sorted) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && window[0] <= last[1]) {
+                last[1] = Math.max(last[1], window[1]);
+            } else {
+                merged.add(window);
+            }
+        }
+
+        long[] runs = new long[merged.size() * 2];
+        for (int i = 0; i < merged.size(); i++) {
+            runs[2 * i] = merged.get(i)[0];
+            runs[2 * i + 1] = merged.get(i)[1];
+        }
+        return runs;
+    }
+
+    private record Timeline(long[] starts, long[] maxEnds) {
+
+        private static Timeline of(List<TimeInterval> intervals) {
+            List<TimeInterval> sorted = new ArrayList<>(intervals);
+            sorted.sort(Comparator.comparing(TimeInterval::startTime));
+            long[] starts = new long[sorted.size()];
+            long[] maxEnds = new long[sorted.size()];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < sorted.size(); i++) {
+                starts[i] = sorted.get(i).startTime().toEpochSecond();
+                maxEnd = Math.max(maxEnd, sorted.get(i).endTime().toEpochSecond());
+                maxEnds[i] = maxEnd;
+            }
+            return new Timeline(starts, maxEnds);
+        }
+
+        private boolean overlaps(long from, long to) {
+            // last interval starting before the query ends; any earlier one ending after the query start overlaps
+            int low = 0;
+            int high = starts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < to) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found >= 0 && maxEnds[found] > from;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.RefereeCommitmentResponse;
+import com.game.on.go_league_service.client.dto.RefereeCommitmentsRequest;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.league.dto.RefereeAvailabilityRequest;
+import com.game.on.go_league_service.league.dto.RefereeAvailabilityResponse;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.RefereeAvailability;
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.RefereeAvailabilityRepository;
+import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefereeAvailabilityService {
+    private static final int COMMITMENT_BATCH_SIZE = 1000;
+
+    private final RefereeAvailabilityRepository availabilityRepository;
+    private final RefereeProfileRepository refereeProfileRepository;
+    private final LeagueMatchRepository leagueMatchRepository;
+    private final TeamClient teamClient;
+    private final CurrentUserProvider userProvider;
+
+    @Transactional(readOnly = true)
+    public List<RefereeAvailabilityResponse> listMine() {
+        String userId = userProvider.clerkUserId();
+        return availabilityRepository.findByRefereeUserIdOrderByCreatedAtAsc(userId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public RefereeAvailabilityResponse create(RefereeAvailabilityRequest request) {
+        String userId = userProvider.clerkUserId();
+        if (!refereeProfileRepository.existsByUserId(userId)) {
+            throw new NotFoundException("Referee not found");
+        }
+
+        RefereeAvailability availability = request.type() == RefereeAvailabilityType.WEEKLY
+                ? weeklyWindow(userId, request)
+                : oneOffWindow(userId, request);
+
+        var saved = availabilityRepository.save(availability);
+        log.info("referee_availability_created id={} refereeUserId={} type={}", saved.getId(), userId, saved.getType());
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public void delete(UUID availabilityId) {
+        String userId = userProvider.clerkUserId();
+        var availability = availabilityRepository.findByIdAndRefereeUserId(availabilityId, userId)
+                .orElseThrow(() -> new NotFoundException("Availability not found"));
+        availabilityRepository.delete(availability);
+        log.info("referee_availability_deleted id={} refereeUserId={}", availabilityId, userId);
+    }
+
+    /**
+     * Loads availability windows and league/team commitments for the given referees over [from, to).
+     * The match being evaluated, if any, is left out of the commitments so a referee is not counted
+     * as busy with the match they are being checked for.
+     */
+    @Transactional(readOnly = true)
+    public RefereeAvailabilityIndex loadIndex(Collection<String> refereeUserIds,
+                                              OffsetDateTime from,
+                                              OffsetDateTime to,
+                                              UUID excludeMatchId) {
+        if (refereeUserIds.isEmpty()) {
+            return RefereeAvailabilityIndex.build(Map.of(), Map.of());
+        }
+
+        Map<String, List<TimeInterval>> availability = new HashMap<>();
+        for (RefereeAvailability window : availabilityRepository.findByRefereeUserIdIn(refereeUserIds)) {
+            availability.computeIfAbsent(window.getRefereeUserId(), ignored -> new ArrayList<>())
+                    .addAll(expand(window, from, to));
+        }
+
+        Map<String, List<TimeInterval>> busy = new HashMap<>();
+        for (LeagueMatch match : leagueMatchRepository.findRefereeCommitmentsBetween(refereeUserIds, from, to)) {
+            if (!Objects.equals(match.getId(), excludeMatchId)) {
+                busy.computeIfAbsent(match.getRefereeUserId(), ignored -> new ArrayList<>())
+                        .add(new TimeInterval(match.getStartTime(), match.getEndTime()));
+            }
+        }
+        addTeamCommitments(busy, refereeUserIds, from, to, excludeMatchId);
+
+        return RefereeAvailabilityIndex.build(availability, busy);
+    }
+
+    /**
+     * [from, to) as it reads in every zone weekly windows are stored in, split at midnight into one
+     * slot per day, for finding overlapping windows in the referee search query.
+     */
+    @Transactional(readOnly = true)
+    public List<WeeklySlot> weeklySlots(OffsetDateTime from, OffsetDateTime to) {
+        List<WeeklySlot> slots = new ArrayList<>();
+        for (String timeZone : availabilityRepository.findDistinctTimeZonesByType(RefereeAvailabilityType.WEEKLY)) {
+            ZoneId zone = ZoneId.of(timeZone);
+            ZonedDateTime start = from.atZoneSameInstant(zone);
+            ZonedDateTime end = to.atZoneSameInstant(zone);
+            LocalDate lastDay = end.toLocalDate();
+            if (end.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                lastDay = lastDay.minusDays(1);
+            }
+            // a week of days already matches every weekly window
+            LocalDate day = start.toLocalDate();
+            for (int days = 0; !day.isAfter(lastDay) && days < 7; day = day.plusDays(1), days++) {
+                slots.add(new WeeklySlot(timeZone, day.getDayOfWeek(),
+                        day.equals(start.toLocalDate()) ? start.toLocalTime() : null,
+                        day.equals(end.toLocalDate()) ? end.toLocalTime() : null));
+            }
+        }
+        return slots;
+    }
+
+    private void addTeamCommitments(Map<String, List<TimeInterval>> busy,
+                                    Collection<String> refereeUserIds,
+                                    OffsetDateTime from,
+                                    OffsetDateTime to,
+                                    UUID excludeMatchId) {
+        List<String> ids = List.copyOf(refereeUserIds);
+        for (int start = 0; start < ids.size(); start += COMMITMENT_BATCH_SIZE) {
+            var chunk = ids.subList(start, Math.min(start + COMMITMENT_BATCH_SIZE, ids.size()));
+            List<RefereeCommitmentResponse> commitments =
+                    teamClient.getRefereeCommitments(new RefereeCommitmentsRequest(chunk, from, to));
+            if (commitments == null) {
+                continue;
+            }
+            for (RefereeCommitmentResponse commitment : commitments) {
+                if (!Objects.equals(commitment.matchId(), excludeMatchId)) {
+                    busy.computeIfAbsent(commitment.refereeUserId(), ignored -> new ArrayList<>())
+                            .add(new TimeInterval(commitment.startTime(), commitment.endTime()));
+                }
+            }
+        }
+    }
+
+    private RefereeAvailability weeklyWindow(String userId, RefereeAvailabilityRequest request) {
+        if (request.dayOfWeek() == null || request.startTime() == null || request.endTime() == null) {
+            throw new BadRequestException("dayOfWeek, startTime and endTime are required for weekly availability");
+        }
+        if (!request.endTime().isAfter(request.startTime())) {
+            throw new BadRequestException("endTime must be after startTime");
+        }
+        String timeZone = StringUtils.hasText(request.timeZone()) ? request.timeZone().trim() : "UTC";
+        try {
+            ZoneId.of(timeZone);
+        } catch (DateTimeException ex) {
+            throw new BadRequestException("Invalid timeZone");
+        }
+
+        return RefereeAvailability.builder()
+                .refereeUserId(userId)
+                .type(RefereeAvailabilityType.WEEKLY)
+                .dayOfWeek(request.dayOfWeek())
+                .startTime(request.startTime())
+                .endTime(request.endTime())
+                .timeZone(timeZone)
+                .build();
+    }
+
+    private RefereeAvailability oneOffWindow(String userId, RefereeAvailabilityRequest request) {
+        if (request.startsAt() == null || request.endsAt() == null) {
+            throw new BadRequestException("startsAt and endsAt are required for one-off availability");
+        }
+        if (!request.endsAt().isAfter(request.startsAt())) {
+            throw new BadRequestException("endsAt must be after startsAt");
+        }
+
+        return RefereeAvailability.builder()
+                .refereeUserId(userId)
+                .type(RefereeAvailabilityType.ONE_OFF)
+                .startsAt(request.startsAt())
+                .endsAt(request.endsAt())
+                .build();
+    }
+
+    private List<TimeInterval> expand(RefereeAvailability window, OffsetDateTime from, OffsetDateTime to) {
+        if (window.getType() == RefereeAvailabilityType.ONE_OFF) {
+            return List.of(new TimeInterval(window.getStartsAt(), window.getEndsAt()));
+        }
+
+        ZoneId zone = ZoneId.of(window.getTimeZone());
+        LocalDate day = from.atZoneSameInstant(zone).toLocalDate().minusDays(1)
+                .with(TemporalAdjusters.nextOrSame(window.getDayOfWeek()));
+        LocalDate lastDay = to.atZoneSameInstant(zone).toLocalDate().plusDays(1);
+
+        List<TimeInterval> occurrences = new ArrayList<>();
+        for (; !day.isAfter(lastDay); day = day.plusWeeks(1)) {
+            ZonedDateTime start = ZonedDateTime.of(day, window.getStartTime(), zone);
+            ZonedDateTime end = ZonedDateTime.of(day, window.getEndTime(), zone);
+            occurrences.add(new TimeInterval(start.toOffsetDateTime(), end.toOffsetDateTime()));
+        }
+        return occurrences;
+    }
+
+    private RefereeAvailabilityResponse toResponse(RefereeAvailability availability) {
+        return new RefereeAvailabilityResponse(
+                availability.getId(),
+                availability.getType(),
+                availability.getDayOfWeek(),
+                availability.getStartTime(),
+                availability.getEndTime(),
+                availability.getTimeZone(),
+                availability.getStartsAt(),
+                availability.getEndsAt(),
+                availability.getCreatedAt()
+        );
+    }
+}
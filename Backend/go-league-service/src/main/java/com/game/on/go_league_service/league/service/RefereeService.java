@@ -2,6 +2,7 @@ package com.game.on.go_league_service.league.service;
 
 import com.game.on.go_league_service.client.TeamClient;
 import com.game.on.go_league_service.client.dto.TeamMatchDetailResponse;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
 import com.game.on.go_league_service.config.CurrentUserProvider;
 import com.game.on.go_league_service.exception.BadRequestException;
 import com.game.on.go_league_service.exception.ConflictException;
@@ -26,6 +27,8 @@ import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -34,21 +37,30 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefereeService {
 
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int SEARCH_SCAN_CHUNK = 100;
+    private static final int MAX_SEARCH_SCAN = 2000;
+
     private final RefereeProfileRepository refereeProfileRepository;
     private final RefInviteRepository refInviteRepository;
     private final LeagueMatchRepository leagueMatchRepository;
     private final LeagueMatchScoreRepository leagueMatchScoreRepository;
     private final VenueRepository venueRepository;
+    private final RefereeAvailabilityService availabilityService;
     private final TeamClient teamClient;
     private final CurrentUserProvider userProvider;
 
@@ -80,46 +92,112 @@ public class RefereeService {
     }
 
     @Transactional(readOnly = true)
-    public List<RefereeProfileResponse> search(String sport, String region, Boolean active, UUID matchId) {
-        List<RefereeProfile> profiles = (active == null)
-                ? refereeProfileRepository.findAll()
-                : refereeProfileRepository.findByIsActive(active);
-
-        String sportFilter = trimToNull(sport);
-        String regionFilter = trimToNull(region);
-
-        if (sportFilter != null) {
-            profiles = profiles.stream()
-                    .filter(profile -> containsIgnoreCase(profile.getSports(), sportFilter))
-                    .toList();
-        }
-        if (regionFilter != null) {
-            profiles = profiles.stream()
-                    .filter(profile -> containsIgnoreCase(profile.getAllowedRegions(), regionFilter))
-                    .toList();
-        }
+    public List<RefereeProfileResponse> search(String sport, String region, Boolean active, UUID matchId, int page, int size) {
+        String sportKey = RefereeProfile.searchKey(sport);
+        String regionKey = RefereeProfile.searchKey(region);
+        Set<String> anyRegionKeys = Set.of();
 
+        MatchContext matchContext = null;
         if (matchId != null) {
-            MatchContext matchContext = resolveMatchContext(matchId);
-            String matchSport = matchContext.sport();
-            String matchRegion = matchContext.matchRegion();
+            matchContext = resolveMatchContext(matchId);
+            String matchSportKey = RefereeProfile.searchKey(matchContext.sport());
+            String matchRegionKey = RefereeProfile.searchKey(matchContext.matchRegion());
 
-            profiles = profiles.stream()
-                    .filter(profile -> containsIgnoreCase(profile.getSports(), matchSport))
-                    .filter(profile -> matchRegion == null || containsIgnoreCase(profile.getAllowedRegions(), matchRegion))
-                    .filter(profile -> !isRefereeInTeams(profile.getUserId(), matchContext.homeTeamId(), matchContext.awayTeamId()))
-                    .toList();
-
-            if (matchRegion == null) {
+            if (matchSportKey == null || (sportKey != null && !sportKey.equals(matchSportKey))) {
+                return List.of();
+            }
+            sportKey = matchSportKey;
+
+            if (matchRegionKey != null) {
+                if (regionKey != null && !regionKey.equals(matchRegionKey)) {
+                    return List.of();
+                }
+                regionKey = matchRegionKey;
+            } else {
                 var homeTeam = teamClient.getTeam(matchContext.homeTeamId());
                 var awayTeam = teamClient.getTeam(matchContext.awayTeamId());
-                profiles = profiles.stream()
-                        .filter(profile -> hasRegionOverlap(profile, homeTeam.allowedRegions(), awayTeam.allowedRegions()))
-                        .toList();
+                anyRegionKeys = Stream.of(homeTeam.allowedRegions(), awayTeam.allowedRegions())
+                        .filter(Objects::nonNull)
+                        .flatMap(List::stream)
+                        .map(RefereeProfile::searchKey)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                if (anyRegionKeys.isEmpty()) {
+                    return List.of();
+                }
             }
         }
 
-        return profiles.stream().map(this::toResponse).toList();
+        int safePage = Math.max(page, 0);
+        int effectiveSize = size <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, MAX_SEARCH_PAGE_SIZE);
+        var spec = Specification.allOf(
+                RefereeSpecifications.active(active),
+                RefereeSpecifications.hasSport(sportKey),
+                RefereeSpecifications.hasRegion(regionKey),
+                RefereeSpecifications.inAnyRegion(anyRegionKeys)
+        );
+
+        if (matchContext == null) {
+            var slice = refereeProfileRepository.search(
+                    spec, PageRequest.of(safePage, effectiveSize, RefereeSpecifications.SEARCH_ORDER));
+            log.info("referee_search_query returned={} page={} size={} filters={{sport={},region={},active={},matchId={}}}",
+                    slice.getNumberOfElements(), safePage, effectiveSize, sportKey, regionKey, active, null);
+            return slice.map(this::toResponse).getContent();
+        }
+
+        spec = spec.and(RefereeSpecifications.hasAvailabilityOverlapping(matchContext.startTime(), matchContext.endTime(),
+                        availabilityService.weeklySlots(matchContext.startTime(), matchContext.endTime())))
+                .and(RefereeSpecifications.freeOfLeagueMatchesBetween(
+                        matchContext.startTime(), matchContext.endTime(), matchId));
+
+        // team membership and team-match commitments live in the team service, and availability is
+        // settled by the same index assignment uses, so they are checked on fetched rows: scan from the
+        // first row, skipping the eligible referees that belong to earlier pages, until this page is full
+        int toSkip = safePage * effectiveSize;
+        List<RefereeProfile> eligible = new ArrayList<>(effectiveSize);
+        int scanned = 0;
+        boolean exhausted = false;
+        for (int chunk = 0; eligible.size() < effectiveSize && !exhausted; chunk++) {
+            if (scanned >= MAX_SEARCH_SCAN) {
+                log.warn("referee_search_scan_truncated matchId={} scanned={}", matchId, scanned);
+                break;
+            }
+            var slice = refereeProfileRepository.search(
+                    spec, PageRequest.of(chunk, SEARCH_SCAN_CHUNK, RefereeSpecifications.SEARCH_ORDER));
+            scanned += slice.getNumberOfElements();
+            exhausted = !slice.hasNext();
+            for (RefereeProfile profile : eligibleForMatch(slice.getContent(), matchContext, matchId)) {
+                if (toSkip > 0) {
+                    toSkip--;
+                } else if (eligible.size() < effectiveSize) {
+                    eligible.add(profile);
+                }
+            }
+        }
+
+        log.info("referee_search_query returned={} scanned={} page={} size={} filters={{sport={},region={},active={},matchId={}}}",
+                eligible.size(), scanned, safePage, effectiveSize, sportKey, regionKey, active, matchId);
+        return eligible.stream().map(this::toResponse).toList();
+    }
+
+    private List<RefereeProfile> eligibleForMatch(List<RefereeProfile> candidates, MatchContext match, UUID matchId) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<String> teamMembers = findTeamMembers(
+                candidates.stream().map(RefereeProfile::getUserId).toList(),
+                match.homeTeamId(),
+                match.awayTeamId()
+        );
+        List<String> candidateIds = candidates.stream()
+                .map(RefereeProfile::getUserId)
+                .filter(candidateId -> !teamMembers.contains(candidateId))
+                .toList();
+        var availability = availabilityService.loadIndex(candidateIds, match.startTime(), match.endTime(), matchId);
+        return candidates.stream()
+                .filter(profile -> !teamMembers.contains(profile.getUserId()))
+                .filter(profile -> availability.isFree(profile.getUserId(), match.startTime(), match.endTime()))
+                .toList();
     }
 
     @Transactional
@@ -216,7 +294,9 @@ public class RefereeService {
                     leagueMatch.getHomeTeamId(),
                     leagueMatch.getAwayTeamId(),
                     leagueMatch.getSport(),
-                    resolveLeagueMatchRegion(leagueMatch.getVenueId(), leagueMatch.getMatchLocation())
+                    resolveLeagueMatchRegion(leagueMatch.getVenueId(), leagueMatch.getMatchLocation()),
+                    leagueMatch.getStartTime(),
+                    leagueMatch.getEndTime()
             );
         }
 
@@ -225,7 +305,9 @@ public class RefereeService {
                 teamMatch.homeTeamId(),
                 teamMatch.awayTeamId(),
                 teamMatch.sport(),
-                resolveTeamMatchRegion(teamMatch.venueId(), teamMatch.matchLocation())
+                resolveTeamMatchRegion(teamMatch.venueId(), teamMatch.matchLocation()),
+                teamMatch.startTime(),
+                teamMatch.endTime()
         );
     }
 
@@ -258,15 +340,24 @@ public class RefereeService {
             }
         }
 
-        if (isRefereeInTeams(referee.getUserId(), match.homeTeamId(), match.awayTeamId())) {
+        if (findTeamMembers(List.of(referee.getUserId()), match.homeTeamId(), match.awayTeamId())
+                .contains(referee.getUserId())) {
             throw new BadRequestException("Referee cannot be a member of either team");
         }
+
+        var availability = availabilityService.loadIndex(
+                List.of(referee.getUserId()), match.startTime(), match.endTime(), match.id());
+        if (!availability.isFree(referee.getUserId(), match.startTime(), match.endTime())) {
+            throw new BadRequestException("Referee is not available during this match");
+        }
     }
 
-    private boolean isRefereeInTeams(String refereeUserId, UUID homeTeamId, UUID awayTeamId) {
-        boolean isMemberHome = Boolean.TRUE.equals(teamClient.isMember(homeTeamId, refereeUserId));
-        boolean isMemberAway = Boolean.TRUE.equals(teamClient.isMember(awayTeamId, refereeUserId));
-        return isMemberHome || isMemberAway;
+    private Set<String> findTeamMembers(List<String> userIds, UUID homeTeamId, UUID awayTeamId) {
+        var response = teamClient.findMembers(new TeamMembershipCheckRequest(List.of(homeTeamId, awayTeamId), userIds));
+        if (response == null || response.memberUserIds() == null) {
+            return Set.of();
+        }
+        return Set.copyOf(response.memberUserIds());
     }
 
     private RefereeProfileResponse toResponse(RefereeProfile profile) {
@@ -346,7 +437,8 @@ public class RefereeService {
         return trimToNull(fallback);
     }
 
-    private record MatchContext(UUID homeTeamId, UUID awayTeamId, String sport, String matchRegion) {
+    private record MatchContext(UUID homeTeamId, UUID awayTeamId, String sport, String matchRegion,
+                                OffsetDateTime startTime, OffsetDateTime endTime) {
     }
 
     public boolean isReferee() {
@@ -0,0 +1,134 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchStatus;
+import com.game.on.go_league_service.league.model.RefereeAvailability;
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+import com.game.on.go_league_service.league.model.RefereeProfile;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public final class RefereeSpecifications {
+
+    public static final Sort SEARCH_ORDER = Sort.by(
+            Sort.Order.desc("isActive"),
+            Sort.Order.desc("updatedAt"),
+            Sort.Order.asc("userId")
+    );
+
+    private RefereeSpecifications() {
+    }
+
+    public static Specification<RefereeProfile> active(Boolean active) {
+        return (root, query, builder) -> active == null
+                ? null
+                : builder.equal(root.get("isActive"), active);
+    }
+
+    public static Specification<RefereeProfile> hasSport(String sportKey) {
+        return (root, query, builder) -> sportKey == null
+                ? null
+                : builder.isMember(sportKey, root.<Collection<String>>get("sportKeys"));
+    }
+
+    public static Specification<RefereeProfile> hasRegion(String regionKey) {
+        return (root, query, builder) -> regionKey == null
+                ? null
+                : builder.isMember(regionKey, root.<Collection<String>>get("regionKeys"));
+    }
+
+    public static Specification<RefereeProfile> inAnyRegion(Collection<String> regionKeys) {
+        return (root, query, builder) -> {
+            if (regionKeys == null || regionKeys.isEmpty()) {
+                return null;
+            }
+            Subquery<String> regions = query.subquery(String.class);
+            Root<RefereeProfile> profile = regions.from(RefereeProfile.class);
+            Join<RefereeProfile, String> regionKey = profile.join("regionKeys");
+            regions.select(profile.get("userId"))
+                    .where(builder.equal(profile, root), regionKey.in(regionKeys));
+            return builder.exists(regions);
+        };
+    }
+
+    /**
+     * Referees who published no availability, or a window overlapping [from, to). This only narrows
+     * the rows fetched: whether the windows cover the whole range is decided on those rows by
+     * {@link RefereeAvailabilityIndex}, which merges adjacent windows, so search and assignment apply
+     * the same rule. Weekly windows are matched through {@code weeklySlots}, the range as it reads in
+     * each zone windows are stored in.
+     */
+    public static Specification<RefereeProfile> hasAvailabilityOverlapping(OffsetDateTime from,
+                                                                          OffsetDateTime to,
+                                                                          List<WeeklySlot> weeklySlots) {
+        return (root, query, builder) -> {
+            Subquery<UUID> anyWindow = query.subquery(UUID.class);
+            Root<RefereeAvailability> published = anyWindow.from(RefereeAvailability.class);
+            anyWindow.select(published.get("id"))
+                    .where(builder.equal(published.get("refereeUserId"), root.get("userId")));
+
+            Subquery<UUID> overlapping = query.subquery(UUID.class);
+            Root<RefereeAvailability> window = overlapping.from(RefereeAvailability.class);
+            List<Predicate> overlaps = new ArrayList<>();
+            overlaps.add(builder.and(
+                    builder.equal(window.get("type"), RefereeAvailabilityType.ONE_OFF),
+                    builder.lessThan(window.get("startsAt"), to),
+                    builder.greaterThan(window.get("endsAt"), from)
+            ));
+            for (WeeklySlot slot : weeklySlots) {
+                List<Predicate> weekly = new ArrayList<>(List.of(
+                        builder.equal(window.get("type"), RefereeAvailabilityType.WEEKLY),
+                        builder.equal(window.get("timeZone"), slot.timeZone()),
+                        builder.equal(window.get("dayOfWeek"), slot.dayOfWeek())
+                ));
+                if (slot.endTime() != null) {
+                    weekly.add(builder.lessThan(window.get("startTime"), slot.endTime()));
+                }
+                if (slot.startTime() != null) {
+                    weekly.add(builder.greaterThan(window.get("endTime"), slot.startTime()));
+                }
+                overlaps.add(builder.and(weekly.toArray(Predicate[]::new)));
+            }
+            overlapping.select(window.get("id")).where(
+                    builder.equal(window.get("refereeUserId"), root.get("userId")),
+                    builder.or(overlaps.toArray(Predicate[]::new))
+            );
+
+            return builder.or(builder.not(builder.exists(anyWindow)), builder.exists(overlapping));
+        };
+    }
+
+    /**
+     * Referees not assigned to a non-cancelled league match overlapping [from, to), other than
+     * {@code excludeMatchId}.
+     */
+    public static Specification<RefereeProfile> freeOfLeagueMatchesBetween(OffsetDateTime from,
+                                                                          OffsetDateTime to,
+                                                                          UUID excludeMatchId) {
+        return (root, query, builder) -> {
+            Subquery<UUID> overlapping = query.subquery(UUID.class);
+            Root<LeagueMatch> match = overlapping.from(LeagueMatch.class);
+            List<Predicate> predicates = new ArrayList<>(List.of(
+                    builder.equal(match.get("refereeUserId"), root.get("userId")),
+                    builder.notEqual(match.get("status"), LeagueMatchStatus.CANCELLED),
+                    builder.lessThan(match.get("startTime"), to),
+                    builder.greaterThan(match.get("endTime"), from)
+            ));
+            if (excludeMatchId != null) {
+                predicates.add(builder.notEqual(match.get("id"), excludeMatchId));
+            }
+            overlapping.select(match.get("id")).where(predicates.toArray(Predicate[]::new));
+            return builder.not(builder.exists(overlapping));
+        };
+    }
+}
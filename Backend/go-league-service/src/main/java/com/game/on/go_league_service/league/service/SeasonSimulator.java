@@ -0,0 +1,285 @@
+package com.game.on.go_league_service.league.service;
+
+import com.game.on.go_league_service.league.model.StandingsRules;
+import com.game.on.go_league_service.league.model.StandingsScoring;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo season simulator. Remaining fixtures are played out with a Poisson scoring model whose
+ * rates come from each team's attack and defence so far, shrunk towards the league average so a
+ * team with few games is not judged on them alone. Seasons are split across a fork/join pool; each
+ * leaf task allocates its working arrays once and reuses them for every season it plays, so the
+ * hot loop allocates nothing.
+ *
+ * <p>Simulated tables are ranked on the primary scoring, then goal difference, then goals for, and
+ * remaining ties are settled at random; head-to-head is not modelled.
+ */
+public final class SeasonSimulator {
+
+    private static final int SEASONS_PER_TASK = 1024;
+    // games of league-average form mixed into every team's rates
+    private static final double PRIOR_GAMES = 3.0;
+    private static final double NORMAL_APPROXIMATION_ABOVE = 30.0;
+
+    private SeasonSimulator() {
+    }
+
+    /**
+     * Current table totals by team position and the fixtures still to play as pairs of positions.
+     */
+    public record Season(StandingsRules rules,
+                         int[] played,
+                         int[] wins,
+                         int[] draws,
+                         int[] goalsFor,
+                         int[] goalsAgainst,
+                         int[] points,
+                         int[] remainingHome,
+                         int[] remainingAway) {
+
+        public int teamCount() {
+            return played.length;
+        }
+    }
+
+    public record Result(int simulations, long[] playoffCounts, long[] firstPlaceCounts, long[] rankSums) {
+    }
+
+    public static Result simulate(Season season, int simulations, int playoffSpots, long seed, ForkJoinPool pool) {
+        Model model = Model.of(season);
+        Counts counts = pool.invoke(new SimulationTask(season, model, playoffSpots, simulations, new SplittableRandom(seed)));
+        return new Result(simulations, counts.playoff, counts.firstPlace, counts.rankSum);
+    }
+
+    // expected goals per remaining fixture, fixed for the whole run
+    private record Model(double[] homeRate, double[] awayRate, double[] homeExp, double[] awayExp) {
+
+        private static Model of(Season season) {
+            int teams = season.teamCount();
+            long totalGoals = 0;
+            long totalGames = 0;
+            for (int t = 0; t < teams; t++) {
+                totalGoals += season.goalsFor()[t];
+                totalGames += season.played()[t];
+            }
+            double average = totalGames == 0 || totalGoals == 0 ? 1.0 : (double) totalGoals / totalGames;
+
+            double[] attack = new double[teams];
+            double[] defence = new double[teams];
+            for (int t = 0; t < teams; t++) {
+                double games = season.played()[t] + PRIOR_GAMES;
+                attack[t] = (season.goalsFor()[t] + PRIOR_GAMES * average) / games / average;
+                defence[t] = (season.goalsAgainst()[t] + PRIOR_GAMES * average) / games / average;
+            }
+
+            int fixtures = season.remainingHome().length;
+            double[] homeRate = new double[fixtures];
+            double[] awayRate = new double[fixtures];
+            double[] homeExp = new double[fixtures];
+            double[] awayExp = new double[fixtures];
+            for (int f = 0; f < fixtures; f++) {
+                int home = season.remainingHome()[f];
+                int away = season.remainingAway()[f];
+                homeRate[f] = average * attack[home] * defence[away];
+                awayRate[f] = average * attack[away] * defence[home];
+                homeExp[f] = Math.exp(-homeRate[f]);
+                awayExp[f] = Math.exp(-awayRate[f]);
+            }
+            return new Model(homeRate, awayRate, homeExp, awayExp);
+        }
+    }
+
+    private static final class Counts {
+        private final long[] playoff;
+        private final long[] firstPlace;
+        private final long[] rankSum;
+
+        private Counts(int teams) {
+            this.playoff = new long[teams];
+            this.firstPlace = new long[teams];
+            this.rankSum = new long[teams];
+        }
+
+        private Counts add(Counts other) {
+            for (int t = 0; t < playoff.length; t++) {
+                playoff[t] += other.playoff[t];
+                firstPlace[t] += other.firstPlace[t];
+                rankSum[t] += other.rankSum[t];
+            }
+            return this;
+        }
+    }
+
+    private static final class SimulationTask extends RecursiveTask<Counts> {
+        private final Season season;
+        private final Model model;
+        private final int playoffSpots;
+        private final int simulations;
+        private final SplittableRandom random;
+
+        private SimulationTask(Season season, Model model, int playoffSpots, int simulations, SplittableRandom random) {
+            this.season = season;
+            this.model = model;
+            this.playoffSpots = playoffSpots;
+            this.simulations = simulations;
+            this.random = random;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (simulations <= SEASONS_PER_TASK) {
+                return new Worker(season, model, random).run(simulations, playoffSpots);
+            }
+            int half = simulations / 2;
+            // split the generator before forking so a seed always produces the same numbers
+            var right = new SimulationTask(season, model, playoffSpots, simulations - half, random.split());
+            var left = new SimulationTask(season, model, playoffSpots, half, random);
+            right.fork();
+            return left.compute().add(right.join());
+        }
+    }
+
+    private static final class Worker {
+        private final Season season;
+        private final Model model;
+        private final SplittableRandom random;
+        private final boolean drawsAllowed;
+        private final boolean winPercentage;
+
+        private final int[] played;
+        private final int[] wins;
+        private final int[] draws;
+        private final int[] goalDifference;
+        private final int[] goalsFor;
+        private final int[] points;
+        private final double[] primary;
+        private final double[] coin;
+        private final int[] order;
+
+        private Worker(Season season, Model model, SplittableRandom random) {
+            int teams = season.teamCount();
+            this.season = season;
+            this.model = model;
+            this.random = random;
+            this.drawsAllowed = season.rules().scoring() == StandingsScoring.POINTS;
+            this.winPercentage = season.rules().scoring() == StandingsScoring.WIN_PERCENTAGE;
+            this.played = new int[teams];
+            this.wins = new int[teams];
+            this.draws = new int[teams];
+            this.goalDifference = new int[teams];
+            this.goalsFor = new int[teams];
+            this.points = new int[teams];
+            this.primary = new double[teams];
+            this.coin = new double[teams];
+            this.order = new int[teams];
+        }
+
+        private Counts run(int simulations, int playoffSpots) {
+            int teams = season.teamCount();
+            Counts counts = new Counts(teams);
+            for (int s = 0; s < simulations; s++) {
+                playSeason();
+                rank();
+                for (int position = 0; position < teams; position++) {
+                    int team = order[position];
+                    if (position < playoffSpots) {
+                        counts.playoff[team]++;
+                    }
+                    counts.rankSum[team] += position + 1;
+                }
+                if (teams > 0) {
+                    counts.firstPlace[order[0]]++;
+                }
+            }
+            return counts;
+        }
+
+        private void playSeason() {
+            int teams = season.teamCount();
+            for (int t = 0; t < teams; t++) {
+                played[t] = season.played()[t];
+                wins[t] = season.wins()[t];
+                draws[t] = season.draws()[t];
+                goalsFor[t] = season.goalsFor()[t];
+                goalDifference[t] = season.goalsFor()[t] - season.goalsAgainst()[t];
+                points[t] = season.points()[t];
+            }
+
+            StandingsRules rules = season.rules();
+            int[] homes = season.remainingHome();
+            int[] aways = season.remainingAway();
+            for (int f = 0; f < homes.length; f++) {
+                int home = homes[f];
+                int away = aways[f];
+                int homeGoals = poisson(model.homeRate()[f], model.homeExp()[f]);
+                int awayGoals = poisson(model.awayRate()[f], model.awayExp()[f]);
+                if (homeGoals == awayGoals && !drawsAllowed) {
+                    double homeShare = model.homeRate()[f] / (model.homeRate()[f] + model.awayRate()[f]);
+                    if (random.nextDouble() < homeShare) homeGoals++; else awayGoals++;
+                }
+
+                played[home]++;
+                played[away]++;
+                goalsFor[home] += homeGoals;
+                goalsFor[away] += awayGoals;
+                goalDifference[home] += homeGoals - awayGoals;
+                goalDifference[away] += awayGoals - homeGoals;
+                points[home] += rules.pointsFor(homeGoals, awayGoals);
+                points[away] += rules.pointsFor(awayGoals, homeGoals);
+                if (homeGoals > awayGoals) {
+                    wins[home]++;
+                } else if (awayGoals > homeGoals) {
+                    wins[away]++;
+                } else {
+                    draws[home]++;
+                    draws[away]++;
+                }
+            }
+        }
+
+        // insertion sort of team positions; tables are small and this keeps the loop allocation-free
+        private void rank() {
+            int teams = season.teamCount();
+            for (int t = 0; t < teams; t++) {
+                primary[t] = winPercentage
+                        ? (played[t] == 0 ? 0 : (wins[t] + draws[t] / 2.0) / played[t])
+                        : points[t];
+                coin[t] = random.nextDouble();
+                order[t] = t;
+            }
+            for (int i = 1; i < teams; i++) {
+                int team = order[i];
+                int j = i - 1;
+                while (j >= 0 && ranksAbove(team, order[j])) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = team;
+            }
+        }
+
+        private boolean ranksAbove(int a, int b) {
+            if (primary[a] != primary[b]) return primary[a] > primary[b];
+            if (goalDifference[a] != goalDifference[b]) return goalDifference[a] > goalDifference[b];
+            if (goalsFor[a] != goalsFor[b]) return goalsFor[a] > goalsFor[b];
+            return coin[a] > coin[b];
+        }
+
+        private int poisson(double rate, double expMinusRate) {
+            if (rate > NORMAL_APPROXIMATION_ABOVE) {
+                return (int) Math.max(0, Math.round(rate + Math.sqrt(rate) * random.nextGaussian()));
+            }
+            // Knuth: multiply uniforms until the product drops below e^-rate
+            int goals = -1;
+            double product = 1.0;
+            do {
+                goals++;
+                product *= random.nextDouble();
+            } while (product > expMinusRate);
+            return goals;
+        }
+    }
+}
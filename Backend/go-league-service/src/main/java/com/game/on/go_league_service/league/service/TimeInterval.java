@@ -0,0 +1,6 @@
+package com.game.on.go_league_service.league.service;
+
+import java.time.OffsetDateTime;
+
+public record TimeInterval(OffsetDateTime startTime, OffsetDateTime endTime) {
+}
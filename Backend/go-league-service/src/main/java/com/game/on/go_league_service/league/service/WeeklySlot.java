@@ -0,0 +1,12 @@
+package com.game.on.go_league_service.league.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * The part of a time range that falls on one day, as it reads on the wall clock of one time zone,
+ * used to match weekly availability windows stored in that zone. A {@code null} start or end means
+ * the range runs on from the previous day or into the next one.
+ */
+public record WeeklySlot(String timeZone, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+}
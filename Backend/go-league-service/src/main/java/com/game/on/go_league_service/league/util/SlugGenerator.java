@@ -5,16 +5,23 @@ import com.game.on.go_league_service.league.repository.LeagueRepository;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public final class SlugGenerator {
 
+    private static final Pattern NUMERIC_SUFFIX = Pattern.compile("[1-9]\\d{0,8}");
+
     private final LeagueRepository leagueRepository;
 
 
@@ -31,16 +38,51 @@ public final class SlugGenerator {
         return normalized.toLowerCase(Locale.ENGLISH);
     }
 
+    /**
+     * Picks the first free slug for the name with a single prefix query over existing league slugs.
+     * Concurrent creators can still pick the same slug; the unique constraint on leagues.slug decides
+     * and callers retry on {@link #isSlugConflict(Throwable)}.
+     */
     public String generateUniqueSlug(String name) {
         var baseSlug = SlugGenerator.from(name);
         if (!StringUtils.hasText(baseSlug)) {
             throw new BadRequestException("Unable to generate league slug");
         }
-        var slug = baseSlug;
+        return nextFreeSlug(baseSlug, leagueRepository.findSlugsByBase(baseSlug));
+    }
+
+    public static String nextFreeSlug(String baseSlug, Collection<String> takenSlugs) {
+        boolean baseTaken = false;
+        Set<Integer> takenSuffixes = new HashSet<>();
+        String prefix = baseSlug + "-";
+        for (String taken : takenSlugs) {
+            if (baseSlug.equals(taken)) {
+                baseTaken = true;
+            } else if (taken.startsWith(prefix)) {
+                String suffix = taken.substring(prefix.length());
+                if (NUMERIC_SUFFIX.matcher(suffix).matches()) {
+                    takenSuffixes.add(Integer.parseInt(suffix));
+                }
+            }
+        }
+        if (!baseTaken) {
+            return baseSlug;
+        }
         int suffix = 1;
-        while (leagueRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + suffix++;
+        while (takenSuffixes.contains(suffix)) {
+            suffix++;
+        }
+        return prefix + suffix;
+    }
+
+    public static boolean isSlugConflict(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains("slug")) {
+                return true;
+            }
         }
-        return slug;
+        return false;
     }
 }
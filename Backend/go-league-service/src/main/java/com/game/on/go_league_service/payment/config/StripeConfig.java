@@ -4,7 +4,11 @@ import com.stripe.Stripe;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
 
 @Slf4j
 @Configuration
@@ -13,6 +17,24 @@ public class StripeConfig {
     @Value("${stripe.secret-key}")
     private String secretKey;
 
+    @Value("${stripe.client.connect-timeout:PT5S}")
+    private Duration connectTimeout;
+
+    @Value("${stripe.client.read-timeout:PT20S}")
+    private Duration readTimeout;
+
+    @Value("${stripe.client.max-network-retries:2}")
+    private int maxNetworkRetries;
+
+    @Value("${stripe.client.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${payment.intent.pool-size:8}")
+    private int poolSize;
+
+    @Value("${payment.intent.queue-capacity:500}")
+    private int queueCapacity;
+
     @PostConstruct
     public void init() {
         if (secretKey == null || secretKey.isBlank()) {
@@ -20,6 +42,30 @@ public class StripeConfig {
         }
 
         Stripe.apiKey = secretKey;
-        log.info("Stripe initialized (secret key configured: {})", !secretKey.isBlank());
+        Stripe.setConnectTimeout((int) connectTimeout.toMillis());
+        Stripe.setReadTimeout((int) readTimeout.toMillis());
+        Stripe.setMaxNetworkRetries(maxNetworkRetries);
+        // stripe-java talks HttpURLConnection, whose keep-alive pool keeps only 5 idle connections per host by default
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(maxConnections));
+        }
+        log.info("Stripe initialized (connectTimeout={} readTimeout={} maxNetworkRetries={})",
+                connectTimeout, readTimeout, maxNetworkRetries);
+    }
+
+    /**
+     * Bounded pool for background Stripe calls; when the queue is full submissions are rejected
+     * rather than piling up, and the payment is picked up again by the sweeper.
+     */
+    @Bean(name = "stripeExecutor")
+    public ThreadPoolTaskExecutor stripeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("stripe-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds((int) readTimeout.toSeconds());
+        return executor;
     }
 }
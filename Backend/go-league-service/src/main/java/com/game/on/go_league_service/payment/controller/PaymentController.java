@@ -24,13 +24,22 @@ public class PaymentController {
     private final PaymentQueryService paymentQueryService;
 
     @PostMapping("/intent")
-    public ResponseEntity<CreatePaymentIntentResponse> createPaymentIntent( @Valid @RequestBody CreatePaymentIntentRequest request) {
+    public ResponseEntity<CreatePaymentIntentResponse> createPaymentIntent( @Valid @RequestBody CreatePaymentIntentRequest request,
+                                                                            @RequestParam(defaultValue = "false") boolean async) {
 
-        log.info("create_payment_intent_request leagueId={} amount={} currency={}", request.leagueId(), request.amount(), request.currency());
+        log.info("create_payment_intent_request leagueId={} amount={} currency={} async={}", request.leagueId(), request.amount(), request.currency(), async);
 
+        if (async) {
+            return ResponseEntity.accepted().body(stripePaymentService.requestPaymentIntent(request));
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(stripePaymentService.createPaymentIntent(request));
     }
 
+    @GetMapping("/{paymentId}/intent")
+    public ResponseEntity<CreatePaymentIntentResponse> getPaymentIntent(@PathVariable UUID paymentId) {
+        return ResponseEntity.ok(paymentQueryService.getPaymentIntent(paymentId));
+    }
+
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentResponse> getPayment(@PathVariable UUID paymentId) {
         PaymentResponse response = paymentQueryService.getPayment(paymentId);
@@ -0,0 +1,54 @@
+package com.game.on.go_league_service.payment.controller;
+
+import com.game.on.go_league_service.payment.dto.PaymentReconciliationReport;
+import com.game.on.go_league_service.payment.service.PaymentReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Operator tooling for payment reconciliation: {@code GET /actuator/paymentreconciliation} returns the
+ * latest run and its first findings, {@code POST} starts a run (or resumes an interrupted one) in the
+ * background, applying corrections only when {@code autoFix} is true.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "paymentreconciliation")
+public class PaymentReconciliationEndpoint {
+
+    private static final int REPORT_FINDING_LIMIT = 200;
+
+    private final PaymentReconciliationService reconciliationService;
+    // a run is long-lived and at most one is active, so it gets its own thread rather than a pool slot
+    private final TaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("payment-reconciliation-");
+
+    @ReadOperation
+    public PaymentReconciliationReport report() {
+        return reconciliationService.latestReport(REPORT_FINDING_LIMIT).orElse(null);
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable Boolean autoFix) {
+        if (reconciliationService.isRunning()) {
+            return Map.of("started", false, "reason", "already running");
+        }
+        boolean fix = Boolean.TRUE.equals(autoFix);
+        taskExecutor.execute(() -> {
+            try {
+                reconciliationService.run(fix);
+            } catch (RuntimeException e) {
+                log.warn("payment_reconciliation_manual_run_failed", e);
+            }
+        });
+        return Map.of("started", true, "autoFix", fix);
+    }
+}
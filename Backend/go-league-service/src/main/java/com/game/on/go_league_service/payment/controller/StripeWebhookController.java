@@ -1,6 +1,7 @@
 package com.game.on.go_league_service.payment.controller;
 
 import com.game.on.go_league_service.exception.ErrorResponse;
+import com.game.on.go_league_service.payment.service.StripeWebhookInboxService;
 import com.game.on.go_league_service.payment.service.StripeWebhookService;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Event;
@@ -17,10 +18,12 @@ import org.springframework.web.bind.annotation.*;
 public class StripeWebhookController {
 
     private final StripeWebhookService stripeWebhookService;
+    private final StripeWebhookInboxService webhookInboxService;
 
     /**
      * Stripe calls this endpoint. Do NOT protect it with Clerk auth.
-     * Verifies signature using STRIPE_WEBHOOK_SECRET.
+     * Verifies signature using STRIPE_WEBHOOK_SECRET, then records the event in the inbox and
+     * acknowledges it; the payment update happens in StripeWebhookInboxWorker.
      */
     @PostMapping("/webhook")
     public ResponseEntity<Object> handleWebhook(
@@ -31,7 +34,7 @@ public class StripeWebhookController {
             Event event = stripeWebhookService.verifyAndConstructEvent(payload, sigHeader);
             log.info("stripe_webhook_received type={} id={}", event.getType(), event.getId());
 
-            stripeWebhookService.handleEvent(event);
+            webhookInboxService.accept(event, payload);
 
             return ResponseEntity.ok().build();
         } catch (SignatureVerificationException e) {
@@ -0,0 +1,39 @@
+package com.game.on.go_league_service.payment.controller;
+
+import com.game.on.go_league_service.payment.model.StripeWebhookEventStatus;
+import com.game.on.go_league_service.payment.service.StripeWebhookInboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Operator tooling for the Stripe webhook inbox: {@code GET /actuator/stripewebhooks} shows the
+ * queue by status, {@code POST /actuator/stripewebhooks} with an {@code eventId} replays that event,
+ * and without one requeues every FAILED event.
+ */
+@Component
+@Endpoint(id = "stripewebhooks")
+@RequiredArgsConstructor
+public class StripeWebhookInboxEndpoint {
+
+    private final StripeWebhookInboxService inboxService;
+
+    @ReadOperation
+    public Map<StripeWebhookEventStatus, Long> summary() {
+        return inboxService.countByStatus();
+    }
+
+    @WriteOperation
+    public Map<String, Object> replay(@Nullable String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return Map.of("requeued", inboxService.replayFailed());
+        }
+        inboxService.replay(eventId);
+        return Map.of("requeued", 1, "eventId", eventId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.game.on.go_league_service.payment.dto;
+
+import com.game.on.go_league_service.payment.model.PaymentDriftKind;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationStatus;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record PaymentReconciliationReport(
+        UUID runId,
+        PaymentReconciliationStatus status,
+        boolean autoFix,
+        long scanned,
+        long mismatches,
+        long fixed,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt,
+        String lastError,
+        List<Finding> findings
+) {
+    public record Finding(
+            UUID paymentId,
+            String stripePaymentIntentId,
+            PaymentDriftKind kind,
+            PaymentStatus localStatus,
+            String stripeStatus,
+            String detail,
+            boolean fixed
+    ) {}
+}
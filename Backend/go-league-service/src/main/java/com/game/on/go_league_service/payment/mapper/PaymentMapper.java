@@ -19,6 +19,7 @@ public class PaymentMapper {
                 .amount(req.amount())
                 .currency(req.currency().toLowerCase())
                 .status(PaymentStatus.CREATED)
+                .description(req.description() != null && !req.description().isBlank() ? req.description() : null)
                 .build();
     }
 
@@ -33,6 +34,18 @@ public class PaymentMapper {
         );
     }
 
+    // client secret and intent id stay null until the background PaymentIntent creation has finished
+    public CreatePaymentIntentResponse toPaymentIntentResponse(Payment payment) {
+        return new CreatePaymentIntentResponse(
+                payment.getId(),
+                payment.getStripePaymentIntentId(),
+                payment.getStripeClientSecret(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getStatus()
+        );
+    }
+
     public PaymentResponse toPaymentResponse(Payment payment) {
         return new PaymentResponse(
                 payment.getId(),
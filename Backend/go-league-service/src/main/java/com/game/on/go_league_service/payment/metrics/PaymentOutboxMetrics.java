@@ -0,0 +1,36 @@
+package com.game.on.go_league_service.payment.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class PaymentOutboxMetrics {
+
+    private final Counter published;
+    private final Counter publishFailed;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public PaymentOutboxMetrics(MeterRegistry meterRegistry) {
+        this.published = meterRegistry.counter("payment_outbox_published");
+        this.publishFailed = meterRegistry.counter("payment_outbox_publish_failed");
+        meterRegistry.gauge("payment_outbox_pending", pending);
+        meterRegistry.gauge("payment_outbox_lag_seconds", lagSeconds);
+    }
+
+    public void published(int count) {
+        this.published.increment(count);
+    }
+
+    public void publishFailed(int count) {
+        this.publishFailed.increment(count);
+    }
+
+    public void backlog(long pendingMessages, long oldestAgeSeconds) {
+        this.pending.set(pendingMessages);
+        this.lagSeconds.set(oldestAgeSeconds);
+    }
+}
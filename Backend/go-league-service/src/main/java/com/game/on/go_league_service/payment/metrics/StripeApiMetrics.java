@@ -0,0 +1,48 @@
+package com.game.on.go_league_service.payment.metrics;
+
+import com.stripe.exception.StripeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency histogram for outbound Stripe API calls, tagged by operation and a coarse outcome so
+ * slow or failing calls show up per endpoint without unbounded tag values.
+ */
+@Component
+@RequiredArgsConstructor
+public class StripeApiMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @FunctionalInterface
+    public interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
+    public <T> T record(String operation, StripeCall<T> call) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.execute();
+        } catch (StripeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("stripe_api_latency")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcome(StripeException e) {
+        Integer status = e.getStatusCode();
+        if (status == null) {
+            return "network_error";
+        }
+        return status >= 500 ? "server_error" : "client_error";
+    }
+}
@@ -50,6 +50,20 @@ public class Payment {
     @Column(name = "stripe_payment_intent_id", unique = true, length = 100)
     private String stripePaymentIntentId;
 
+    @Column(length = 500)
+    private String description;
+
+    // Handed back to the client that created the payment so it can confirm the intent
+    @Column(name = "stripe_client_secret")
+    private String stripeClientSecret;
+
+    // Attempts at creating the Stripe PaymentIntent in the background, and when the next one is due
+    @Column(name = "intent_attempts", nullable = false)
+    private int intentAttempts;
+
+    @Column(name = "intent_next_attempt_at")
+    private OffsetDateTime intentNextAttemptAt;
+
     @Column(name = "succeeded_at")
     private OffsetDateTime succeededAt;
 
@@ -59,6 +73,10 @@ public class Payment {
     @Column(name = "canceled_at")
     private OffsetDateTime canceledAt;
 
+    // Creation time of the newest Stripe event applied, so late or replayed events cannot roll the status back
+    @Column(name = "last_stripe_event_at")
+    private OffsetDateTime lastStripeEventAt;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -0,0 +1,11 @@
+package com.game.on.go_league_service.payment.model;
+
+public enum PaymentDriftKind {
+    // Stripe reports a different outcome than the local payment
+    STATUS_MISMATCH,
+    AMOUNT_MISMATCH,
+    // the local payment references an intent Stripe does not know
+    MISSING_IN_STRIPE,
+    // the payment row was created but no intent was ever attached
+    INTENT_NEVER_CREATED
+}
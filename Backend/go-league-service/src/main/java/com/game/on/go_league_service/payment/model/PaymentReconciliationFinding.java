@@ -0,0 +1,52 @@
+package com.game.on.go_league_service.payment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_reconciliation_findings")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PaymentReconciliationFinding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(name = "payment_id", nullable = false)
+    private UUID paymentId;
+
+    @Column(name = "stripe_payment_intent_id", length = 100)
+    private String stripePaymentIntentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private PaymentDriftKind kind;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "local_status", length = 30)
+    private PaymentStatus localStatus;
+
+    @Column(name = "stripe_status", length = 40)
+    private String stripeStatus;
+
+    @Column(length = 500)
+    private String detail;
+
+    @Column(nullable = false)
+    private boolean fixed;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,61 @@
+package com.game.on.go_league_service.payment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One pass of the payment reconciliation job. The keyset cursor (created_at, id) of the last
+ * payment checked is saved after every batch so an interrupted run resumes where it stopped.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_reconciliation_runs")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PaymentReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentReconciliationStatus status;
+
+    @Column(name = "auto_fix", nullable = false)
+    private boolean autoFix;
+
+    @Column(name = "cursor_created_at")
+    private OffsetDateTime cursorCreatedAt;
+
+    @Column(name = "cursor_payment_id")
+    private UUID cursorPaymentId;
+
+    @Column(nullable = false)
+    private long scanned;
+
+    @Column(nullable = false)
+    private long mismatches;
+
+    @Column(nullable = false)
+    private long fixed;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private OffsetDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+}
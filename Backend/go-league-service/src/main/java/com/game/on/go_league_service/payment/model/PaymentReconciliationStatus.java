@@ -0,0 +1,7 @@
+package com.game.on.go_league_service.payment.model;
+
+public enum PaymentReconciliationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,56 @@
+package com.game.on.go_league_service.payment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Inbox row for a verified Stripe webhook. The Stripe event id is the primary key, so a retried
+ * delivery of the same event is dropped on insert instead of being applied twice.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stripe_webhook_events")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class StripeWebhookEvent {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private String id;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    @Column(name = "payment_intent_id", length = 100)
+    private String paymentIntentId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StripeWebhookEventStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "event_created_at", nullable = false)
+    private OffsetDateTime eventCreatedAt;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private OffsetDateTime receivedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "processed_at")
+    private OffsetDateTime processedAt;
+}
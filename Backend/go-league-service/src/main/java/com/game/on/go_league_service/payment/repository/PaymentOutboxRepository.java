@@ -0,0 +1,32 @@
+package com.game.on.go_league_service.payment.repository;
+
+import com.game.on.go_league_service.payment.model.PaymentOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxMessage, Long> {
+
+    // SKIP LOCKED lets several relay instances drain disjoint batches
+    @Query(value = """
+            SELECT * FROM payment_outbox
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PaymentOutboxMessage> lockUnpublished(@Param("limit") int limit);
+
+    long countByPublishedAtIsNull();
+
+    Optional<PaymentOutboxMessage> findFirstByPublishedAtIsNullOrderByIdAsc();
+
+    @Modifying
+    @Query("DELETE FROM PaymentOutboxMessage m WHERE m.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
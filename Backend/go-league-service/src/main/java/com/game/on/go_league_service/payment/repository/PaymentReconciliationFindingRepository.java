@@ -0,0 +1,13 @@
+package com.game.on.go_league_service.payment.repository;
+
+import com.game.on.go_league_service.payment.model.PaymentReconciliationFinding;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PaymentReconciliationFindingRepository extends JpaRepository<PaymentReconciliationFinding, UUID> {
+
+    List<PaymentReconciliationFinding> findByRunIdOrderByCreatedAtAsc(UUID runId, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package com.game.on.go_league_service.payment.repository;
+
+import com.game.on.go_league_service.payment.model.PaymentReconciliationRun;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PaymentReconciliationRunRepository extends JpaRepository<PaymentReconciliationRun, UUID> {
+
+    Optional<PaymentReconciliationRun> findFirstByStatusInOrderByStartedAtDesc(Collection<PaymentReconciliationStatus> statuses);
+
+    Optional<PaymentReconciliationRun> findFirstByOrderByStartedAtDesc();
+}
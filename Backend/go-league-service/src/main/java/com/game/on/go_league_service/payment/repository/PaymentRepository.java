@@ -2,8 +2,15 @@ package com.game.on.go_league_service.payment.repository;
 
 import com.game.on.go_league_service.payment.model.Payment;
 import com.game.on.go_league_service.payment.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,10 +18,37 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByStripePaymentIntentId(String stripePaymentIntentId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Payment> findWithLockById(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Payment> findWithLockByStripePaymentIntentId(String stripePaymentIntentId);
+
     Optional<Payment> findTopByLeagueIdOrderByCreatedAtDesc(UUID leagueId);
 
     boolean existsByLeagueIdAndStatus(UUID leagueId, PaymentStatus status);
 
     boolean existsByTeamIdAndStatus(UUID teamId, PaymentStatus status);
 
+    // payments still waiting for their PaymentIntent whose background attempt is due or was abandoned
+    @Query("""
+            SELECT p.id FROM Payment p
+            WHERE p.status = com.game.on.go_league_service.payment.model.PaymentStatus.CREATED
+              AND p.stripePaymentIntentId IS NULL
+              AND p.intentNextAttemptAt <= :now
+            ORDER BY p.intentNextAttemptAt
+            """)
+    List<UUID> findIntentDueIds(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Query("SELECT p FROM Payment p ORDER BY p.createdAt, p.id")
+    List<Payment> findFirstPage(Pageable pageable);
+
+    // keyset page after (createdAt, id); a plain read so reconciliation never blocks payment writes
+    @Query("""
+            SELECT p FROM Payment p
+            WHERE p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)
+            ORDER BY p.createdAt, p.id
+            """)
+    List<Payment> findPageAfter(@Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
 }
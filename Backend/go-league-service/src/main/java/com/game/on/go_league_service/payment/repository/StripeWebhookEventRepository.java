@@ -0,0 +1,57 @@
+package com.game.on.go_league_service.payment.repository;
+
+import com.game.on.go_league_service.payment.model.StripeWebhookEvent;
+import com.game.on.go_league_service.payment.model.StripeWebhookEventStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO stripe_webhook_events
+                (id, type, payment_intent_id, payload, status, attempts, event_created_at, received_at, next_attempt_at)
+            VALUES (:id, :type, :paymentIntentId, :payload, 'PENDING', 0, :eventCreatedAt, :receivedAt, :receivedAt)
+            ON CONFLICT (id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+                       @Param("type") String type,
+                       @Param("paymentIntentId") String paymentIntentId,
+                       @Param("payload") String payload,
+                       @Param("eventCreatedAt") OffsetDateTime eventCreatedAt,
+                       @Param("receivedAt") OffsetDateTime receivedAt);
+
+    @Query(value = """
+            SELECT id FROM stripe_webhook_events
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY event_created_at, received_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findDueIds(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    // lock timeout -2 is SKIP LOCKED: an event another worker is applying is left for that worker
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    Optional<StripeWebhookEvent> findWithLockByIdAndStatus(String id, StripeWebhookEventStatus status);
+
+    long countByStatus(StripeWebhookEventStatus status);
+
+    @Modifying
+    @Query("""
+            UPDATE StripeWebhookEvent e
+            SET e.status = com.game.on.go_league_service.payment.model.StripeWebhookEventStatus.PENDING,
+                e.attempts = 0, e.lastError = null, e.nextAttemptAt = :now, e.processedAt = null
+            WHERE e.status = com.game.on.go_league_service.payment.model.StripeWebhookEventStatus.FAILED
+            """)
+    int requeueFailed(@Param("now") OffsetDateTime now);
+}
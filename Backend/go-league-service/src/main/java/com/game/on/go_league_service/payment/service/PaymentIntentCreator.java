@@ -0,0 +1,75 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.IdempotencyException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * One background attempt at creating a payment's PaymentIntent. Network errors, rate limiting and
+ * Stripe 5xx responses are retried with exponential backoff up to {@code payment.intent.max-attempts};
+ * anything else, or running out of attempts, marks the payment FAILED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentIntentCreator {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final PaymentIntentStore intentStore;
+    private final StripePaymentIntentGateway intentGateway;
+
+    @Value("${payment.intent.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.intent.lease:PT3M}")
+    private Duration lease;
+
+    @Value("${payment.intent.retry-backoff:PT2S}")
+    private Duration retryBackoff;
+
+    public void attempt(UUID paymentId) {
+        var payment = intentStore.claim(paymentId, lease).orElse(null);
+        if (payment == null) {
+            return;
+        }
+
+        try {
+            PaymentIntent intent = intentGateway.create(payment);
+            intentStore.complete(paymentId, intent.getId(), intent.getClientSecret());
+            log.info("payment_intent_created paymentId={} pi={} attempt={}", paymentId, intent.getId(), payment.getIntentAttempts());
+        } catch (StripeException e) {
+            if (isRetryable(e) && payment.getIntentAttempts() < maxAttempts) {
+                Duration delay = backoff(payment.getIntentAttempts());
+                intentStore.retryLater(paymentId, delay);
+                log.warn("payment_intent_retry paymentId={} attempt={} delay={} status={} code={}",
+                        paymentId, payment.getIntentAttempts(), delay, e.getStatusCode(), e.getCode());
+            } else {
+                intentStore.fail(paymentId);
+                log.error("payment_intent_failed paymentId={} attempt={} status={} code={} message={}",
+                        paymentId, payment.getIntentAttempts(), e.getStatusCode(), e.getCode(), e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isRetryable(StripeException e) {
+        if (e instanceof ApiConnectionException || e instanceof RateLimitException || e instanceof IdempotencyException) {
+            return true;
+        }
+        return e.getStatusCode() == null || e.getStatusCode() >= 500;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
@@ -0,0 +1,43 @@
+package com.game.on.go_league_service.payment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Runs PaymentIntent attempts on the bounded Stripe pool. A full queue is not an error for the
+ * caller: the payment stays pending and the sweeper retries it when its lease expires.
+ */
+@Slf4j
+@Component
+public class PaymentIntentDispatcher {
+
+    private final PaymentIntentCreator intentCreator;
+    private final TaskExecutor stripeExecutor;
+
+    public PaymentIntentDispatcher(PaymentIntentCreator intentCreator,
+                                   @Qualifier("stripeExecutor") TaskExecutor stripeExecutor) {
+        this.intentCreator = intentCreator;
+        this.stripeExecutor = stripeExecutor;
+    }
+
+    public boolean dispatch(UUID paymentId) {
+        try {
+            stripeExecutor.execute(() -> {
+                try {
+                    intentCreator.attempt(paymentId);
+                } catch (RuntimeException e) {
+                    log.warn("payment_intent_attempt_error paymentId={}", paymentId, e);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("payment_intent_dispatch_rejected paymentId={} reason=pool_saturated", paymentId);
+            return false;
+        }
+    }
+}
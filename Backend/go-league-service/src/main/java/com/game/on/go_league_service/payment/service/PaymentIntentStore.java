@@ -0,0 +1,81 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short transactions around a background PaymentIntent attempt, so no database connection or row
+ * lock is held while Stripe is being called.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentIntentStore {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentOutboxService paymentOutboxService;
+
+    /**
+     * Takes the payment for one attempt: counts the attempt and pushes the next one out by the lease,
+     * so the sweeper leaves it alone while this attempt runs. Empty when the payment no longer needs
+     * an intent, or when another attempt still holds its lease.
+     */
+    @Transactional
+    public Optional<Payment> claim(UUID paymentId, Duration lease) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return paymentRepository.findWithLockById(paymentId)
+                .filter(payment -> payment.getStatus() == PaymentStatus.CREATED && payment.getStripePaymentIntentId() == null)
+                .filter(payment -> isDue(payment, now))
+                .map(payment -> {
+                    payment.setIntentAttempts(payment.getIntentAttempts() + 1);
+                    payment.setIntentNextAttemptAt(now.plus(lease));
+                    return paymentRepository.save(payment);
+                });
+    }
+
+    // the first attempt is dispatched straight from the request, inside the lease set at creation
+    private static boolean isDue(Payment payment, OffsetDateTime now) {
+        return payment.getIntentAttempts() == 0
+                || payment.getIntentNextAttemptAt() == null
+                || !payment.getIntentNextAttemptAt().isAfter(now);
+    }
+
+    @Transactional
+    public void complete(UUID paymentId, String intentId, String clientSecret) {
+        paymentRepository.findWithLockById(paymentId).ifPresent(payment -> {
+            payment.setStripePaymentIntentId(intentId);
+            payment.setStripeClientSecret(clientSecret);
+            payment.setIntentNextAttemptAt(null);
+            paymentRepository.save(payment);
+        });
+    }
+
+    @Transactional
+    public void retryLater(UUID paymentId, Duration delay) {
+        paymentRepository.findWithLockById(paymentId).ifPresent(payment -> {
+            payment.setIntentNextAttemptAt(OffsetDateTime.now().plus(delay));
+            paymentRepository.save(payment);
+        });
+    }
+
+    @Transactional
+    public void fail(UUID paymentId) {
+        paymentRepository.findWithLockById(paymentId)
+                .filter(payment -> payment.getStatus() == PaymentStatus.CREATED)
+                .ifPresent(payment -> {
+                    payment.setStatus(PaymentStatus.FAILED);
+                    payment.setFailedAt(OffsetDateTime.now());
+                    payment.setIntentNextAttemptAt(null);
+                    paymentRepository.save(payment);
+                    paymentOutboxService.record(payment);
+                });
+    }
+}
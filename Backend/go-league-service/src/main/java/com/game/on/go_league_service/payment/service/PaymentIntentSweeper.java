@@ -0,0 +1,46 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Re-dispatches payments whose PaymentIntent is still missing once their retry time or lease has
+ * passed: backed-off retries, attempts rejected by a saturated pool and attempts lost with an instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.intent.sweeper-enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentIntentSweeper {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentIntentDispatcher intentDispatcher;
+
+    @Value("${payment.intent.sweep-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${payment.intent.sweep-interval:PT5S}")
+    public void sweep() {
+        List<UUID> due = paymentRepository.findIntentDueIds(OffsetDateTime.now(), PageRequest.of(0, batchSize));
+        int dispatched = 0;
+        for (UUID paymentId : due) {
+            if (!intentDispatcher.dispatch(paymentId)) {
+                break;
+            }
+            dispatched++;
+        }
+        if (dispatched > 0) {
+            log.info("payment_intent_sweep dispatched={} due={}", dispatched, due.size());
+        }
+    }
+}
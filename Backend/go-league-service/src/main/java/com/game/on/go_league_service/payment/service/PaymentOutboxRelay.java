@@ -0,0 +1,48 @@
+package com.game.on.go_league_service.payment.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Polls the payment outbox every {@code payment.outbox.linger} and publishes pending messages in
+ * batches of {@code payment.outbox.batch-size}; a full batch is followed immediately by the next.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentOutboxRelay {
+
+    private final PaymentOutboxService outboxService;
+
+    @Value("${payment.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payment.outbox.retention:P7D}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${payment.outbox.linger:PT0.5S}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = outboxService.publishBatch(batchSize);
+            } while (published == batchSize);
+        } catch (Exception e) {
+            log.warn("payment_outbox_relay_failed", e);
+        } finally {
+            outboxService.refreshBacklogMetrics();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.purge-interval:PT1H}")
+    public void purge() {
+        outboxService.purgePublished(retention);
+    }
+}
@@ -0,0 +1,156 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.on.common.dto.PaymentDTO;
+import com.game.on.go_league_service.kafka.PaymentProducer;
+import com.game.on.go_league_service.payment.metrics.PaymentOutboxMetrics;
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentOutboxMessage;
+import com.game.on.go_league_service.payment.repository.PaymentOutboxRepository;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transactional outbox for payment events. State changes write a {@link PaymentOutboxMessage} in the
+ * same transaction as the payment row; {@link PaymentOutboxRelay} publishes pending messages to
+ * Kafka in id order, keyed by payment id, and marks them published once the broker acknowledges.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentOutboxService {
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentProducer paymentProducer;
+    private final PaymentOutboxMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.outbox.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    /**
+     * Records the current state of the payment as an outbound event. Must run inside the
+     * transaction that changed the payment so the event commits or rolls back with it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Payment payment) {
+        var event = new PaymentDTO(
+                payment.getId(),
+                payment.getUserId(),
+                payment.getLeagueId(),
+                payment.getTeamId(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getStatus().name(),
+                LocalDateTime.now(ZoneOffset.UTC)
+        );
+        outboxRepository.save(PaymentOutboxMessage.builder()
+                .paymentId(payment.getId())
+                .topic(PaymentDTO.TOPIC)
+                .payload(write(event))
+                .createdAt(OffsetDateTime.now())
+                .build());
+    }
+
+    @Transactional
+    public Payment saveAndRecord(Payment payment) {
+        Payment saved = paymentRepository.save(payment);
+        record(saved);
+        return saved;
+    }
+
+    /**
+     * Sends up to {@code batchSize} pending messages without waiting between sends, so the producer
+     * can batch them, then waits for the acknowledgements. Messages the broker did not acknowledge
+     * stay pending and are retried by the next run.
+     */
+    @Transactional
+    public int publishBatch(int batchSize) {
+        List<PaymentOutboxMessage> batch = outboxRepository.lockUnpublished(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, PaymentDTO>>> sends = new ArrayList<>(batch.size());
+        for (PaymentOutboxMessage message : batch) {
+            sends.add(paymentProducer.sendEvent(message.getTopic(), read(message.getPayload())));
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        OffsetDateTime now = OffsetDateTime.now();
+        int published = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            PaymentOutboxMessage message = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                message.setPublishedAt(now);
+                published++;
+            } catch (ExecutionException | TimeoutException e) {
+                message.setAttempts(message.getAttempts() + 1);
+                log.warn("payment_outbox_publish_failed id={} paymentId={} attempts={}",
+                        message.getId(), message.getPaymentId(), message.getAttempts(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        metrics.published(published);
+        metrics.publishFailed(batch.size() - published);
+        log.info("payment_outbox_batch_published published={} batch={}", published, batch.size());
+        return published;
+    }
+
+    @Transactional(readOnly = true)
+    public void refreshBacklogMetrics() {
+        long pending = outboxRepository.countByPublishedAtIsNull();
+        long lagSeconds = outboxRepository.findFirstByPublishedAtIsNullOrderByIdAsc()
+                .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), OffsetDateTime.now()).toSeconds()))
+                .orElse(0L);
+        metrics.backlog(pending, lagSeconds);
+    }
+
+    @Transactional
+    public int purgePublished(Duration retention) {
+        int deleted = outboxRepository.deletePublishedBefore(OffsetDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("payment_outbox_purged deleted={}", deleted);
+        }
+        return deleted;
+    }
+
+    private String write(PaymentDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize payment event", e);
+        }
+    }
+
+    private PaymentDTO read(String payload) {
+        try {
+            return objectMapper.readValue(payload, PaymentDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to deserialize payment event", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.game.on.go_league_service.payment.service;
 import com.game.on.go_league_service.config.CurrentUserProvider;
 import com.game.on.go_league_service.exception.ForbiddenException;
 import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.payment.dto.CreatePaymentIntentResponse;
 import com.game.on.go_league_service.payment.dto.PaymentResponse;
 import com.game.on.go_league_service.payment.mapper.PaymentMapper;
 import com.game.on.go_league_service.payment.model.Payment;
@@ -31,6 +32,17 @@ public class PaymentQueryService {
         return paymentMapper.toPaymentResponse(payment);
     }
 
+    public CreatePaymentIntentResponse getPaymentIntent(UUID paymentId) {
+        String callerId = userProvider.clerkUserId();
+
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new NotFoundException("Payment not found: " + paymentId));
+
+        ensureCanView(payment, callerId);
+
+        return paymentMapper.toPaymentIntentResponse(payment);
+    }
+
     private void ensureCanView(Payment payment, String callerId) {
         if (!payment.getUserId().equals(callerId)) {
             throw new ForbiddenException("Access denied");
@@ -0,0 +1,248 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.exception.ConflictException;
+import com.game.on.go_league_service.payment.dto.PaymentReconciliationReport;
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentDriftKind;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationRun;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.repository.PaymentReconciliationFindingRepository;
+import com.game.on.go_league_service.payment.repository.PaymentReconciliationRunRepository;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.StripePaymentIntentSource.IntentSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares local payments with Stripe's payment intents and reports (and optionally corrects) drift,
+ * e.g. a payment left in CREATED because its webhook never arrived.
+ *
+ * <p>Payments are read in keyset order on (created_at, id) with plain, non-locking queries. For each
+ * batch the Stripe intents created in the batch's time window (padded for clock skew) are paged in
+ * and indexed by id; intents outside the window are fetched one by one. Memory is bounded by one
+ * batch plus its window, and the cursor is saved with each batch so a failed run can be resumed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationService {
+
+    private static final int STRIPE_PAGE_SIZE = 100;
+
+    public record PaymentDrift(
+            UUID paymentId,
+            String intentId,
+            PaymentDriftKind kind,
+            PaymentStatus localStatus,
+            String stripeStatus,
+            PaymentStatus fixTo,
+            String detail
+    ) {}
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentReconciliationRunRepository runRepository;
+    private final PaymentReconciliationFindingRepository findingRepository;
+    private final PaymentReconciliationStore store;
+    private final StripePaymentIntentSource intentSource;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${payment.reconciliation.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payment.reconciliation.window-padding:PT10M}")
+    private Duration windowPadding;
+
+    @Value("${payment.reconciliation.stale-intent-after:PT1H}")
+    private Duration staleIntentAfter;
+
+    @Value("${payment.reconciliation.auto-fix:false}")
+    private boolean scheduledAutoFix;
+
+    @Scheduled(cron = "${payment.reconciliation.cron:-}")
+    public void scheduledRun() {
+        try {
+            run(scheduledAutoFix);
+        } catch (ConflictException e) {
+            log.info("payment_reconciliation_skipped reason=already_running");
+        } catch (RuntimeException e) {
+            log.warn("payment_reconciliation_scheduled_run_failed", e);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public PaymentReconciliationRun run(boolean autoFix) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Payment reconciliation is already running");
+        }
+        try {
+            var run = store.startOrResume(autoFix);
+            log.info("payment_reconciliation_started runId={} autoFix={} resumeFrom={}",
+                    run.getId(), autoFix, run.getCursorPaymentId());
+            try {
+                OffsetDateTime cursorCreatedAt = run.getCursorCreatedAt();
+                UUID cursorId = run.getCursorPaymentId();
+                while (true) {
+                    List<Payment> batch = cursorCreatedAt == null
+                            ? paymentRepository.findFirstPage(PageRequest.of(0, batchSize))
+                            : paymentRepository.findPageAfter(cursorCreatedAt, cursorId, PageRequest.of(0, batchSize));
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+
+                    Payment last = batch.get(batch.size() - 1);
+                    run = store.recordBatch(run.getId(), compare(batch), last, batch.size());
+                    cursorCreatedAt = last.getCreatedAt();
+                    cursorId = last.getId();
+                    if (batch.size() < batchSize) {
+                        break;
+                    }
+                }
+                run = store.complete(run.getId());
+                log.info("payment_reconciliation_completed runId={} scanned={} mismatches={} fixed={}",
+                        run.getId(), run.getScanned(), run.getMismatches(), run.getFixed());
+                return run;
+            } catch (RuntimeException e) {
+                store.fail(run.getId(), e);
+                log.error("payment_reconciliation_failed runId={}", run.getId(), e);
+                throw e;
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Optional<PaymentReconciliationReport> latestReport(int findingLimit) {
+        return runRepository.findFirstByOrderByStartedAtDesc().map(run -> new PaymentReconciliationReport(
+                run.getId(),
+                run.getStatus(),
+                run.isAutoFix(),
+                run.getScanned(),
+                run.getMismatches(),
+                run.getFixed(),
+                run.getStartedAt(),
+                run.getFinishedAt(),
+                run.getLastError(),
+                findingRepository.findByRunIdOrderByCreatedAtAsc(run.getId(), PageRequest.of(0, findingLimit)).stream()
+                        .map(finding -> new PaymentReconciliationReport.Finding(
+                                finding.getPaymentId(),
+                                finding.getStripePaymentIntentId(),
+                                finding.getKind(),
+                                finding.getLocalStatus(),
+                                finding.getStripeStatus(),
+                                finding.getDetail(),
+                                finding.isFixed()))
+                        .toList()
+        ));
+    }
+
+    private List<PaymentDrift> compare(List<Payment> batch) {
+        Map<String, IntentSnapshot> intents = loadWindow(batch);
+        OffsetDateTime staleBefore = OffsetDateTime.now().minus(staleIntentAfter);
+
+        List<PaymentDrift> drifts = new ArrayList<>();
+        for (Payment payment : batch) {
+            String intentId = payment.getStripePaymentIntentId();
+            if (intentId == null) {
+                if (payment.getStatus() == PaymentStatus.CREATED && payment.getCreatedAt().isBefore(staleBefore)) {
+                    drifts.add(new PaymentDrift(payment.getId(), null, PaymentDriftKind.INTENT_NEVER_CREATED,
+                            payment.getStatus(), null, null, "No PaymentIntent attached"));
+                }
+                continue;
+            }
+
+            IntentSnapshot intent = intents.get(intentId);
+            if (intent == null) {
+                intent = intentSource.retrieve(intentId).orElse(null);
+            }
+            if (intent == null) {
+                drifts.add(new PaymentDrift(payment.getId(), intentId, PaymentDriftKind.MISSING_IN_STRIPE,
+                        payment.getStatus(), null, null, "PaymentIntent not found in Stripe"));
+                continue;
+            }
+            drifts.addAll(compare(payment, intent));
+        }
+        return drifts;
+    }
+
+    static List<PaymentDrift> compare(Payment payment, IntentSnapshot intent) {
+        List<PaymentDrift> drifts = new ArrayList<>(1);
+        PaymentStatus expected = localStatusFor(intent.status());
+        boolean locallyFinal = payment.getStatus() == PaymentStatus.SUCCEEDED || payment.getStatus() == PaymentStatus.CANCELED;
+        // Stripe is still waiting on the customer; worth reporting, but the webhook settles it
+        boolean awaitingCustomer = "requires_action".equals(intent.status())
+                && payment.getStatus() != PaymentStatus.REQUIRES_ACTION;
+        if ((expected != null && expected != payment.getStatus()) || (expected == null && (locallyFinal || awaitingCustomer))) {
+            drifts.add(new PaymentDrift(payment.getId(), intent.id(), PaymentDriftKind.STATUS_MISMATCH,
+                    payment.getStatus(), intent.status(), expected,
+                    "Local status " + payment.getStatus() + ", Stripe status " + intent.status()));
+        }
+        if (!Objects.equals(payment.getAmount(), intent.amount())
+                || (intent.currency() != null && !intent.currency().equalsIgnoreCase(payment.getCurrency()))) {
+            drifts.add(new PaymentDrift(payment.getId(), intent.id(), PaymentDriftKind.AMOUNT_MISMATCH,
+                    payment.getStatus(), intent.status(), null,
+                    "Local " + payment.getAmount() + " " + payment.getCurrency()
+                            + ", Stripe " + intent.amount() + " " + intent.currency()));
+        }
+        return drifts;
+    }
+
+    // only terminal Stripe states settle the local status; drift against any other state is
+    // reported without a correction, since the intent can still move on its own
+    private static PaymentStatus localStatusFor(String stripeStatus) {
+        if (stripeStatus == null) {
+            return null;
+        }
+        return switch (stripeStatus) {
+            case "succeeded" -> PaymentStatus.SUCCEEDED;
+            case "canceled" -> PaymentStatus.CANCELED;
+            default -> null;
+        };
+    }
+
+    private Map<String, IntentSnapshot> loadWindow(List<Payment> batch) {
+        OffsetDateTime from = null;
+        OffsetDateTime to = null;
+        for (Payment payment : batch) {
+            if (payment.getStripePaymentIntentId() == null) {
+                continue;
+            }
+            if (from == null || payment.getCreatedAt().isBefore(from)) from = payment.getCreatedAt();
+            if (to == null || payment.getCreatedAt().isAfter(to)) to = payment.getCreatedAt();
+        }
+        if (from == null) {
+            return Map.of();
+        }
+
+        Map<String, IntentSnapshot> intents = new HashMap<>();
+        String startingAfter = null;
+        StripePaymentIntentSource.Page page;
+        do {
+            page = intentSource.listCreatedBetween(from.minus(windowPadding), to.plus(windowPadding), startingAfter, STRIPE_PAGE_SIZE);
+            for (IntentSnapshot intent : page.intents()) {
+                intents.put(intent.id(), intent);
+            }
+            if (!page.intents().isEmpty()) {
+                startingAfter = page.intents().get(page.intents().size() - 1).id();
+            }
+        } while (page.hasMore() && !page.intents().isEmpty());
+        return intents;
+    }
+}
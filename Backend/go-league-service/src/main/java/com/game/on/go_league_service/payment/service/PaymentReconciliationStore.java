@@ -0,0 +1,127 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationFinding;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationRun;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationStatus;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.repository.PaymentReconciliationFindingRepository;
+import com.game.on.go_league_service.payment.repository.PaymentReconciliationRunRepository;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.PaymentReconciliationService.PaymentDrift;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short write transactions for {@link PaymentReconciliationService}: one per batch, covering the
+ * findings, any auto-fixes and the advanced cursor, so the cursor never gets ahead of the report.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationStore {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PaymentReconciliationRunRepository runRepository;
+    private final PaymentReconciliationFindingRepository findingRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentOutboxService paymentOutboxService;
+
+    /**
+     * Continues the latest unfinished run from its cursor, or starts a new one from the beginning.
+     */
+    @Transactional
+    public PaymentReconciliationRun startOrResume(boolean autoFix) {
+        OffsetDateTime now = OffsetDateTime.now();
+        var run = runRepository.findFirstByStatusInOrderByStartedAtDesc(
+                        List.of(PaymentReconciliationStatus.RUNNING, PaymentReconciliationStatus.FAILED))
+                .orElseGet(() -> PaymentReconciliationRun.builder().startedAt(now).build());
+        run.setStatus(PaymentReconciliationStatus.RUNNING);
+        run.setAutoFix(autoFix);
+        run.setLastError(null);
+        run.setUpdatedAt(now);
+        return runRepository.save(run);
+    }
+
+    @Transactional
+    public PaymentReconciliationRun recordBatch(UUID runId, List<PaymentDrift> drifts, Payment last, int scanned) {
+        var run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Reconciliation run not found: " + runId));
+        OffsetDateTime now = OffsetDateTime.now();
+
+        int fixed = 0;
+        for (PaymentDrift drift : drifts) {
+            boolean applied = run.isAutoFix() && drift.fixTo() != null && applyFix(drift, now);
+            if (applied) {
+                fixed++;
+            }
+            findingRepository.save(PaymentReconciliationFinding.builder()
+                    .runId(runId)
+                    .paymentId(drift.paymentId())
+                    .stripePaymentIntentId(drift.intentId())
+                    .kind(drift.kind())
+                    .localStatus(drift.localStatus())
+                    .stripeStatus(drift.stripeStatus())
+                    .detail(drift.detail())
+                    .fixed(applied)
+                    .createdAt(now)
+                    .build());
+        }
+
+        run.setCursorCreatedAt(last.getCreatedAt());
+        run.setCursorPaymentId(last.getId());
+        run.setScanned(run.getScanned() + scanned);
+        run.setMismatches(run.getMismatches() + drifts.size());
+        run.setFixed(run.getFixed() + fixed);
+        run.setUpdatedAt(now);
+        return run;
+    }
+
+    @Transactional
+    public PaymentReconciliationRun complete(UUID runId) {
+        var run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Reconciliation run not found: " + runId));
+        OffsetDateTime now = OffsetDateTime.now();
+        run.setStatus(PaymentReconciliationStatus.COMPLETED);
+        run.setUpdatedAt(now);
+        run.setFinishedAt(now);
+        return run;
+    }
+
+    @Transactional
+    public void fail(UUID runId, Exception error) {
+        runRepository.findById(runId).ifPresent(run -> {
+            String message = String.valueOf(error.getMessage());
+            run.setStatus(PaymentReconciliationStatus.FAILED);
+            run.setLastError(message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH));
+            run.setUpdatedAt(OffsetDateTime.now());
+        });
+    }
+
+    // Re-reads the payment under a row lock held only for this batch's transaction and moves it only
+    // if it still has the status the comparison saw, so a webhook applied in the meantime wins.
+    private boolean applyFix(PaymentDrift drift, OffsetDateTime now) {
+        Payment payment = paymentRepository.findWithLockById(drift.paymentId()).orElse(null);
+        if (payment == null || payment.getStatus() != drift.localStatus()) {
+            return false;
+        }
+
+        payment.setStatus(drift.fixTo());
+        if (drift.fixTo() == PaymentStatus.SUCCEEDED) payment.setSucceededAt(now);
+        if (drift.fixTo() == PaymentStatus.FAILED) payment.setFailedAt(now);
+        if (drift.fixTo() == PaymentStatus.CANCELED) payment.setCanceledAt(now);
+
+        paymentRepository.save(payment);
+        paymentOutboxService.record(payment);
+        log.info("payment_reconciliation_fixed paymentId={} pi={} from={} to={}",
+                payment.getId(), drift.intentId(), drift.localStatus(), drift.fixTo());
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.payment.metrics.StripeApiMetrics;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.param.PaymentIntentListParams;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class StripeApiPaymentIntentSource implements StripePaymentIntentSource {
+
+    private final StripeApiMetrics stripeApiMetrics;
+
+    @Override
+    public Page listCreatedBetween(OffsetDateTime from, OffsetDateTime to, String startingAfter, int limit) {
+        PaymentIntentListParams.Builder params = PaymentIntentListParams.builder()
+                .setCreated(PaymentIntentListParams.Created.builder()
+                        .setGte(from.toEpochSecond())
+                        .setLte(to.toEpochSecond())
+                        .build())
+                .setLimit((long) limit);
+        if (startingAfter != null) {
+            params.setStartingAfter(startingAfter);
+        }
+
+        try {
+            PaymentIntentCollection page = stripeApiMetrics.record("payment_intent_list", () -> PaymentIntent.list(params.build()));
+            return new Page(
+                    page.getData().stream().map(StripeApiPaymentIntentSource::snapshot).toList(),
+                    Boolean.TRUE.equals(page.getHasMore())
+            );
+        } catch (StripeException e) {
+            throw new IllegalStateException("Stripe PaymentIntent.list failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<IntentSnapshot> retrieve(String intentId) {
+        try {
+            return Optional.of(snapshot(stripeApiMetrics.record("payment_intent_retrieve", () -> PaymentIntent.retrieve(intentId))));
+        } catch (InvalidRequestException e) {
+            if ("resource_missing".equals(e.getCode())) {
+                return Optional.empty();
+            }
+            throw new IllegalStateException("Stripe PaymentIntent.retrieve failed: " + e.getMessage(), e);
+        } catch (StripeException e) {
+            throw new IllegalStateException("Stripe PaymentIntent.retrieve failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static IntentSnapshot snapshot(PaymentIntent intent) {
+        String paymentId = intent.getMetadata() != null ? intent.getMetadata().get("paymentId") : null;
+        return new IntentSnapshot(intent.getId(), intent.getStatus(), intent.getAmount(), intent.getCurrency(), paymentId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.payment.metrics.StripeApiMetrics;
+import com.game.on.go_league_service.payment.model.Payment;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the Stripe PaymentIntent for a payment. The payment id is the idempotency key, so a
+ * retried or swept attempt gets the intent Stripe already created instead of a second one.
+ */
+@Component
+@RequiredArgsConstructor
+public class StripePaymentIntentGateway {
+
+    private final StripeApiMetrics stripeApiMetrics;
+
+    public PaymentIntent create(Payment payment) throws StripeException {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("paymentId", payment.getId().toString());
+        metadata.put("userId", payment.getUserId());
+        if (payment.getLeagueId() != null) {
+            metadata.put("leagueId", payment.getLeagueId().toString());
+        }
+        if (payment.getTeamId() != null) {
+            metadata.put("teamId", payment.getTeamId().toString());
+        }
+
+        PaymentIntentCreateParams.Builder params = PaymentIntentCreateParams.builder()
+                .setAmount(payment.getAmount())
+                .setCurrency(payment.getCurrency())
+                .putAllMetadata(metadata)
+                .setAutomaticPaymentMethods(
+                        PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
+                                .setEnabled(true)
+                                .setAllowRedirects(PaymentIntentCreateParams.AutomaticPaymentMethods.AllowRedirects.NEVER)
+                                .build()
+                );
+        if (payment.getDescription() != null) {
+            params.setDescription(payment.getDescription());
+        }
+
+        RequestOptions options = RequestOptions.builder()
+                .setIdempotencyKey("payment-intent-" + payment.getId())
+                .build();
+        return stripeApiMetrics.record("payment_intent_create", () -> PaymentIntent.create(params.build(), options));
+    }
+}
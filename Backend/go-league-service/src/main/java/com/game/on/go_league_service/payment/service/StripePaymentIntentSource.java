@@ -0,0 +1,26 @@
+package com.game.on.go_league_service.payment.service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only view of Stripe's payment intents used by reconciliation, so the job can be driven by
+ * the Stripe API in production and by an in-memory stand-in locally and in tests.
+ */
+public interface StripePaymentIntentSource {
+
+    record IntentSnapshot(String id, String status, Long amount, String currency, String paymentId) {
+    }
+
+    record Page(List<IntentSnapshot> intents, boolean hasMore) {
+    }
+
+    /**
+     * One page of intents created in [from, to], newest first as Stripe lists them; pass the id of
+     * the last intent of a page as {@code startingAfter} to get the next one.
+     */
+    Page listCreatedBetween(OffsetDateTime from, OffsetDateTime to, String startingAfter, int limit);
+
+    Optional<IntentSnapshot> retrieve(String intentId);
+}
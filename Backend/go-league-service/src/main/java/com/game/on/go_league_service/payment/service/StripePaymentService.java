@@ -8,17 +8,15 @@ import com.game.on.go_league_service.payment.mapper.PaymentMapper;
 import com.game.on.go_league_service.payment.model.Payment;
 import com.game.on.go_league_service.payment.model.PaymentStatus;
 import com.game.on.go_league_service.payment.repository.PaymentRepository;
-import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
-import com.stripe.param.PaymentIntentCreateParams;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 
 @Slf4j
 @Service
@@ -26,57 +24,33 @@ import lombok.extern.slf4j.Slf4j;
 public class StripePaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final PaymentOutboxService paymentOutboxService;
     private final PaymentMapper paymentMapper;
     private final CurrentUserProvider userProvider;
+    private final StripePaymentIntentGateway intentGateway;
+    private final PaymentIntentDispatcher intentDispatcher;
+
+    @Value("${payment.intent.lease:PT3M}")
+    private Duration lease;
 
     public CreatePaymentIntentResponse createPaymentIntent(CreatePaymentIntentRequest req) {
         String userId = userProvider.clerkUserId();
 
         Payment payment = paymentMapper.toPayment(req, userId);
-        Payment savedPayment = paymentRepository.save(payment);
+        Payment savedPayment = paymentOutboxService.saveAndRecord(payment);
 
         try {
-            Map<String, String> metadata = new HashMap<>();
-            metadata.put("paymentId", savedPayment.getId().toString());
-            metadata.put("userId", userId);
-            if (req.leagueId() != null) {
-                metadata.put("leagueId", req.leagueId().toString());
-            }
-            if (req.teamId() != null) {
-                metadata.put("teamId", req.teamId().toString());
-            }
-
-
-            PaymentIntentCreateParams.Builder paramsBuilder = PaymentIntentCreateParams.builder()
-                    .setAmount(req.amount())
-                    .setCurrency(req.currency().toLowerCase())
-                    .putAllMetadata(metadata)
-                    .setAutomaticPaymentMethods(
-                            PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
-                                    .setEnabled(true)
-                                    .setAllowRedirects(PaymentIntentCreateParams.AutomaticPaymentMethods.AllowRedirects.NEVER)
-                                    .build()
-                    );
-
-            log.info(
-                    "Stripe.apiKey present right before create? {}",
-                    (Stripe.apiKey != null && !Stripe.apiKey.isBlank())
-            );
-
-            if (req.description() != null && !req.description().isBlank()) {
-                paramsBuilder.setDescription(req.description());
-            }
-
-            PaymentIntent intent = PaymentIntent.create(paramsBuilder.build());
+            PaymentIntent intent = intentGateway.create(savedPayment);
 
             savedPayment.setStripePaymentIntentId(intent.getId());
+            savedPayment.setStripeClientSecret(intent.getClientSecret());
             Payment finalSaved = paymentRepository.save(savedPayment);
 
             return paymentMapper.toPaymentIntentResponse(finalSaved, intent);
 
         } catch (StripeException e) {
             savedPayment.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(savedPayment);
+            paymentOutboxService.saveAndRecord(savedPayment);
             log.error(
                     "Stripe PaymentIntent.create failed: status={} code={} message={}",
                     e.getStatusCode(),
@@ -87,4 +61,22 @@ public class StripePaymentService {
             throw new BadRequestException("Stripe error: " + e.getMessage());
         }
     }
+
+    /**
+     * Records the payment and hands the Stripe call to the background pool, returning the pending
+     * payment straight away. The client polls {@code GET /api/v1/payments/{id}/intent} for the client
+     * secret. If the pool is saturated or the instance stops, the sweeper picks the payment up once
+     * its lease runs out.
+     */
+    public CreatePaymentIntentResponse requestPaymentIntent(CreatePaymentIntentRequest req) {
+        String userId = userProvider.clerkUserId();
+
+        Payment payment = paymentMapper.toPayment(req, userId);
+        payment.setIntentNextAttemptAt(OffsetDateTime.now().plus(lease));
+        Payment savedPayment = paymentOutboxService.saveAndRecord(payment);
+
+        intentDispatcher.dispatch(savedPayment.getId());
+        log.info("payment_intent_requested paymentId={} userId={}", savedPayment.getId(), userId);
+        return paymentMapper.toPaymentIntentResponse(savedPayment);
+    }
 }
@@ -0,0 +1,154 @@
+package com.game.on.go_league_service.payment.service;
+
+import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.payment.model.StripeWebhookEventStatus;
+import com.game.on.go_league_service.payment.repository.StripeWebhookEventRepository;
+import com.stripe.model.Event;
+import com.stripe.net.ApiResource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable inbox for verified Stripe webhooks. The controller only records the event and
+ * acknowledges it; {@link StripeWebhookInboxWorker} applies pending events in batches, each in its
+ * own transaction, and failed events are retried with backoff until they are parked as FAILED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StripeWebhookInboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final StripeWebhookEventRepository eventRepository;
+    private final StripeWebhookService stripeWebhookService;
+
+    @Value("${stripe.webhook.inbox.max-attempts:10}")
+    private int maxAttempts;
+
+    /**
+     * Stores the event unless it is already in the inbox. Returns false for duplicates and for
+     * event types this service does not act on.
+     */
+    @Transactional
+    public boolean accept(Event event, String payload) {
+        if (!stripeWebhookService.isHandled(event.getType())) {
+            log.info("stripe_webhook_ignored type={} id={}", event.getType(), event.getId());
+            return false;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime eventAt = StripeWebhookService.eventTime(event);
+        int inserted = eventRepository.insertIfAbsent(
+                event.getId(),
+                event.getType(),
+                stripeWebhookService.extractPaymentIntentId(event),
+                payload,
+                eventAt != null ? eventAt : now,
+                now
+        );
+        if (inserted == 0) {
+            log.info("stripe_webhook_duplicate type={} id={}", event.getType(), event.getId());
+            return false;
+        }
+        log.info("stripe_webhook_queued type={} id={}", event.getType(), event.getId());
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findDue(int limit) {
+        return eventRepository.findDueIds(OffsetDateTime.now(), limit);
+    }
+
+    /**
+     * Applies a pending event and marks it processed in the same transaction. Returns false when the
+     * event is no longer pending or another worker holds it.
+     */
+    @Transactional
+    public boolean process(String eventId) {
+        var inboxEvent = eventRepository.findWithLockByIdAndStatus(eventId, StripeWebhookEventStatus.PENDING)
+                .orElse(null);
+        if (inboxEvent == null) {
+            return false;
+        }
+
+        Event event = ApiResource.GSON.fromJson(inboxEvent.getPayload(), Event.class);
+        stripeWebhookService.handleEvent(event);
+
+        inboxEvent.setStatus(StripeWebhookEventStatus.PROCESSED);
+        inboxEvent.setAttempts(inboxEvent.getAttempts() + 1);
+        inboxEvent.setLastError(null);
+        inboxEvent.setProcessedAt(OffsetDateTime.now());
+        return true;
+    }
+
+    @Transactional
+    public void recordFailure(String eventId, Exception error) {
+        eventRepository.findById(eventId)
+                .filter(inboxEvent -> inboxEvent.getStatus() == StripeWebhookEventStatus.PENDING)
+                .ifPresent(inboxEvent -> {
+                    int attempts = inboxEvent.getAttempts() + 1;
+                    inboxEvent.setAttempts(attempts);
+                    inboxEvent.setLastError(truncate(String.valueOf(error.getMessage())));
+                    if (attempts >= maxAttempts) {
+                        inboxEvent.setStatus(StripeWebhookEventStatus.FAILED);
+                        log.error("stripe_webhook_failed id={} type={} attempts={}", eventId, inboxEvent.getType(), attempts, error);
+                        return;
+                    }
+                    inboxEvent.setNextAttemptAt(OffsetDateTime.now().plus(backoff(attempts)));
+                    log.warn("stripe_webhook_retry_scheduled id={} type={} attempts={} nextAttemptAt={}",
+                            eventId, inboxEvent.getType(), attempts, inboxEvent.getNextAttemptAt());
+                });
+    }
+
+    /**
+     * Puts a single event back in the queue. Replaying a processed event is safe: events older than
+     * the last one applied to the payment are skipped.
+     */
+    @Transactional
+    public void replay(String eventId) {
+        var inboxEvent = eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException("Webhook event not found"));
+        inboxEvent.setStatus(StripeWebhookEventStatus.PENDING);
+        inboxEvent.setAttempts(0);
+        inboxEvent.setLastError(null);
+        inboxEvent.setProcessedAt(null);
+        inboxEvent.setNextAttemptAt(OffsetDateTime.now());
+        log.info("stripe_webhook_replay_requested id={} type={}", eventId, inboxEvent.getType());
+    }
+
+    @Transactional
+    public int replayFailed() {
+        int requeued = eventRepository.requeueFailed(OffsetDateTime.now());
+        log.info("stripe_webhook_failed_requeued count={}", requeued);
+        return requeued;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<StripeWebhookEventStatus, Long> countByStatus() {
+        Map<StripeWebhookEventStatus, Long> counts = new EnumMap<>(StripeWebhookEventStatus.class);
+        for (StripeWebhookEventStatus status : StripeWebhookEventStatus.values()) {
+            counts.put(status, eventRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 10));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,51 @@
+package com.game.on.go_league_service.payment.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drains the Stripe webhook inbox. Due events are taken oldest first (by Stripe creation time) in
+ * batches and applied one transaction each; a full batch is followed immediately by the next one so
+ * a burst is worked off without waiting for the next poll.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stripe.webhook.inbox.worker-enabled", havingValue = "true", matchIfMissing = true)
+public class StripeWebhookInboxWorker {
+
+    private final StripeWebhookInboxService inboxService;
+
+    @Value("${stripe.webhook.inbox.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${stripe.webhook.inbox.poll-interval:PT1S}")
+    public void drain() {
+        while (true) {
+            List<String> due = inboxService.findDue(batchSize);
+            int processed = 0;
+            for (String eventId : due) {
+                try {
+                    if (inboxService.process(eventId)) {
+                        processed++;
+                    }
+                } catch (Exception e) {
+                    log.warn("stripe_webhook_processing_failed id={}", eventId, e);
+                    inboxService.recordFailure(eventId, e);
+                }
+            }
+            if (processed > 0) {
+                log.info("stripe_webhook_batch_processed processed={} due={}", processed, due.size());
+            }
+            if (due.size() < batchSize || processed == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.game.on.go_league_service.payment.service;
 
+import com.game.on.go_league_service.payment.model.Payment;
 import com.game.on.go_league_service.payment.model.PaymentStatus;
 import com.game.on.go_league_service.payment.repository.PaymentRepository;
 import com.google.gson.JsonElement;
@@ -13,8 +14,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -22,19 +27,27 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class StripeWebhookService {
 
+    private static final Set<String> HANDLED_TYPES = Set.of(
+            "payment_intent.succeeded",
+            "payment_intent.payment_failed",
+            "payment_intent.canceled",
+            "payment_intent.requires_action"
+    );
+
     private final PaymentRepository paymentRepository;
+    private final PaymentOutboxService paymentOutboxService;
 
     @Value("${stripe.webhook-secret:}")
     private String webhookSecret;
 
-    private record PaymentIntentData(String intentId, String paymentIdMetadata) {}
+    private record PaymentIntentData(String intentId, String paymentIdMetadata, OffsetDateTime eventAt) {}
 
     private PaymentIntentData extractPaymentIntentData(Event event) {
 
         Object obj = event.getDataObjectDeserializer().getObject().orElse(null);
         if (obj instanceof PaymentIntent pi) {
             String paymentId = (pi.getMetadata() != null) ? pi.getMetadata().get("paymentId") : null;
-            return new PaymentIntentData(pi.getId(), paymentId);
+            return new PaymentIntentData(pi.getId(), paymentId, eventTime(event));
         }
 
 
@@ -65,7 +78,7 @@ public class StripeWebhookService {
                 return null;
             }
 
-            return new PaymentIntentData(intentId, paymentId);
+            return new PaymentIntentData(intentId, paymentId, eventTime(event));
 
         } catch (Exception e) {
             log.warn("stripe_webhook_parse_failed type={} id={} raw={}", event.getType(), event.getId(), raw, e);
@@ -80,6 +93,27 @@ public class StripeWebhookService {
         return Webhook.constructEvent(payload, sigHeader, webhookSecret);
     }
 
+    public boolean isHandled(String type) {
+        return HANDLED_TYPES.contains(type);
+    }
+
+    public String extractPaymentIntentId(Event event) {
+        PaymentIntentData data = extractPaymentIntentData(event);
+        return data == null ? null : data.intentId();
+    }
+
+    public static OffsetDateTime eventTime(Event event) {
+        return event.getCreated() == null
+                ? null
+                : OffsetDateTime.ofInstant(Instant.ofEpochSecond(event.getCreated()), ZoneOffset.UTC);
+    }
+
+    /**
+     * Applies a payment_intent event to its payment. The payment row is locked for the update and
+     * events older than the last one applied are skipped, so concurrent workers, Stripe retries and
+     * replays converge on the state of the newest event regardless of processing order.
+     */
+    @Transactional
     public void handleEvent(Event event) {
         switch (event.getType()) {
             case "payment_intent.succeeded" -> handleSucceeded(event);
@@ -131,28 +165,46 @@ public class StripeWebhookService {
         if (data.paymentIdMetadata() != null && !data.paymentIdMetadata().isBlank()) {
             UUID paymentId = UUID.fromString(data.paymentIdMetadata());
 
-            paymentRepository.findById(paymentId).ifPresentOrElse(payment -> {
-                payment.setStatus(status);
-                if (succeededAt != null) payment.setSucceededAt(succeededAt);
-                if (failedAt != null) payment.setFailedAt(failedAt);
-                if (canceledAt != null) payment.setCanceledAt(canceledAt);
-
-                paymentRepository.save(payment);
-                log.info("payment_updated status={} paymentId={} pi={}", status, paymentId, data.intentId());
+            paymentRepository.findWithLockById(paymentId).ifPresentOrElse(payment -> {
+                if (apply(payment, data, status, succeededAt, failedAt, canceledAt)) {
+                    log.info("payment_updated status={} paymentId={} pi={}", status, paymentId, data.intentId());
+                }
             }, () -> log.warn("payment_not_found_by_metadata paymentId={} pi={}", data.paymentIdMetadata(), data.intentId()));
 
             return;
         }
 
 
-        paymentRepository.findByStripePaymentIntentId(data.intentId()).ifPresentOrElse(payment -> {
-            payment.setStatus(status);
-            if (succeededAt != null) payment.setSucceededAt(succeededAt);
-            if (failedAt != null) payment.setFailedAt(failedAt);
-            if (canceledAt != null) payment.setCanceledAt(canceledAt);
-
-            paymentRepository.save(payment);
-            log.info("payment_updated_by_pi status={} pi={} paymentId={}", status, data.intentId(), payment.getId());
+        paymentRepository.findWithLockByStripePaymentIntentId(data.intentId()).ifPresentOrElse(payment -> {
+            if (apply(payment, data, status, succeededAt, failedAt, canceledAt)) {
+                log.info("payment_updated_by_pi status={} pi={} paymentId={}", status, data.intentId(), payment.getId());
+            }
         }, () -> log.warn("payment_not_found_by_pi pi={}", data.intentId()));
     }
+
+    private boolean apply(
+            Payment payment,
+            PaymentIntentData data,
+            PaymentStatus status,
+            OffsetDateTime succeededAt,
+            OffsetDateTime failedAt,
+            OffsetDateTime canceledAt
+    ) {
+        if (data.eventAt() != null && payment.getLastStripeEventAt() != null
+                && data.eventAt().isBefore(payment.getLastStripeEventAt())) {
+            log.info("payment_stale_event_skipped status={} paymentId={} pi={} eventAt={} lastEventAt={}",
+                    status, payment.getId(), data.intentId(), data.eventAt(), payment.getLastStripeEventAt());
+            return false;
+        }
+
+        payment.setStatus(status);
+        if (succeededAt != null) payment.setSucceededAt(succeededAt);
+        if (failedAt != null) payment.setFailedAt(failedAt);
+        if (canceledAt != null) payment.setCanceledAt(canceledAt);
+        if (data.eventAt() != null) payment.setLastStripeEventAt(data.eventAt());
+
+        paymentRepository.save(payment);
+        paymentOutboxService.record(payment);
+        return true;
+    }
 }
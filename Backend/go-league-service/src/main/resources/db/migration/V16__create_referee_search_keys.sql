@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS referee_sport_keys (
+    referee_user_id VARCHAR(255) NOT NULL REFERENCES referee_profiles(user_id) ON DELETE CASCADE,
+    sport_key VARCHAR(75) NOT NULL,
+    PRIMARY KEY (sport_key, referee_user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_referee_sport_keys_user ON referee_sport_keys(referee_user_id);
+
+CREATE TABLE IF NOT EXISTS referee_region_keys (
+    referee_user_id VARCHAR(255) NOT NULL REFERENCES referee_profiles(user_id) ON DELETE CASCADE,
+    region_key VARCHAR(100) NOT NULL,
+    PRIMARY KEY (region_key, referee_user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_referee_region_keys_user ON referee_region_keys(referee_user_id);
+
+INSERT INTO referee_sport_keys (referee_user_id, sport_key)
+SELECT DISTINCT referee_user_id, LOWER(TRIM(sport))
+FROM referee_sports
+WHERE TRIM(sport) <> '';
+
+INSERT INTO referee_region_keys (referee_user_id, region_key)
+SELECT DISTINCT referee_user_id, LOWER(TRIM(region))
+FROM referee_allowed_regions
+WHERE TRIM(region) <> '';
+
+CREATE INDEX IF NOT EXISTS idx_referee_profiles_active_updated
+    ON referee_profiles(is_active, updated_at DESC, user_id);
@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS referee_availability (
+    id UUID PRIMARY KEY,
+    referee_user_id VARCHAR(255) NOT NULL REFERENCES referee_profiles(user_id) ON DELETE CASCADE,
+    type VARCHAR(20) NOT NULL,
+    day_of_week VARCHAR(10),
+    start_time TIME,
+    end_time TIME,
+    time_zone VARCHAR(64),
+    starts_at TIMESTAMPTZ,
+    ends_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_referee_availability_user ON referee_availability(referee_user_id);
+
+CREATE INDEX IF NOT EXISTS idx_league_matches_referee_start
+    ON league_matches(referee_user_id, start_time);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_leagues_slug_prefix
+    ON leagues(slug varchar_pattern_ops);
@@ -0,0 +1,20 @@
+CREATE TABLE IF NOT EXISTS stripe_webhook_events (
+    id VARCHAR(255) PRIMARY KEY,
+    type VARCHAR(100) NOT NULL,
+    payment_intent_id VARCHAR(100),
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    event_created_at TIMESTAMPTZ NOT NULL,
+    received_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    processed_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_events_due
+    ON stripe_webhook_events(status, next_attempt_at, event_created_at);
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_events_intent
+    ON stripe_webhook_events(payment_intent_id);
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS last_stripe_event_at TIMESTAMPTZ;
@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS payment_reconciliation_runs (
+    id UUID PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    auto_fix BOOLEAN NOT NULL DEFAULT FALSE,
+    cursor_created_at TIMESTAMPTZ,
+    cursor_payment_id UUID,
+    scanned BIGINT NOT NULL DEFAULT 0,
+    mismatches BIGINT NOT NULL DEFAULT 0,
+    fixed BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    started_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    finished_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS payment_reconciliation_findings (
+    id UUID PRIMARY KEY,
+    run_id UUID NOT NULL REFERENCES payment_reconciliation_runs(id) ON DELETE CASCADE,
+    payment_id UUID NOT NULL,
+    stripe_payment_intent_id VARCHAR(100),
+    kind VARCHAR(30) NOT NULL,
+    local_status VARCHAR(30),
+    stripe_status VARCHAR(40),
+    detail VARCHAR(500),
+    fixed BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_reconciliation_findings_run ON payment_reconciliation_findings(run_id);
+CREATE INDEX IF NOT EXISTS idx_payments_created_id ON payments(created_at, id);
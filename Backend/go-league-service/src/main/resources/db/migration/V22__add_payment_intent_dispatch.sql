@@ -0,0 +1,7 @@
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS description VARCHAR(500);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS stripe_client_secret VARCHAR(255);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS intent_attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS intent_next_attempt_at TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_payments_intent_due
+    ON payments(intent_next_attempt_at);
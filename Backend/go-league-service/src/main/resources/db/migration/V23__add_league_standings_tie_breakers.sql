@@ -0,0 +1,2 @@
+-- comma-separated TieBreaker names; NULL keeps the sport's default chain
+ALTER TABLE leagues ADD COLUMN IF NOT EXISTS standings_tie_breakers VARCHAR(200);
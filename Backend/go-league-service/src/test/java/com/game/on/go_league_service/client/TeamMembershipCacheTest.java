@@ -0,0 +1,88 @@
+package com.game.on.go_league_service.client;
+
+import com.game.on.common.dto.TeamMembershipEventDTO;
+import com.game.on.go_league_service.client.dto.TeamListItem;
+import com.game.on.go_league_service.client.dto.TeamListResponse;
+import com.game.on.go_league_service.kafka.TeamMembershipConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamMembershipCacheTest {
+
+    @Mock TeamClient teamClient;
+
+    private final UUID teamA = UUID.randomUUID();
+    private final UUID teamB = UUID.randomUUID();
+    private TeamMembershipCache cache;
+    private TeamMembershipConsumer consumer;
+
+    @BeforeEach
+    void setup() {
+        cache = new TeamMembershipCache(teamClient, Duration.ofMinutes(1), 100);
+        consumer = new TeamMembershipConsumer(cache);
+    }
+
+    @Test
+    void teamIdsFor_servesRepeatLookupsFromCache() {
+        when(teamClient.listTeams(true)).thenReturn(teams(teamA, teamB, teamA));
+
+        assertEquals(List.of(teamA, teamB), cache.teamIdsFor("user_1"));
+        assertEquals(List.of(teamA, teamB), cache.teamIdsFor("user_1"));
+
+        verify(teamClient, times(1)).listTeams(true);
+    }
+
+    @Test
+    void membershipEventForUser_forcesReload() {
+        when(teamClient.listTeams(true)).thenReturn(teams(teamA), teams(teamA, teamB));
+        cache.teamIdsFor("user_1");
+
+        consumer.onMembershipChanged(new TeamMembershipEventDTO(teamB, "user_1", TeamMembershipEventDTO.JOINED, LocalDateTime.now()));
+
+        assertEquals(List.of(teamA, teamB), cache.teamIdsFor("user_1"));
+        verify(teamClient, times(2)).listTeams(true);
+    }
+
+    @Test
+    void teamArchivedEvent_evictsOnlyUsersOfThatTeam() {
+        when(teamClient.listTeams(true)).thenReturn(teams(teamA), teams(teamB), teams());
+        cache.teamIdsFor("user_a");
+        cache.teamIdsFor("user_b");
+
+        consumer.onMembershipChanged(new TeamMembershipEventDTO(teamA, null, TeamMembershipEventDTO.TEAM_ARCHIVED, LocalDateTime.now()));
+
+        assertEquals(List.of(teamB), cache.teamIdsFor("user_b"));
+        assertEquals(List.of(), cache.teamIdsFor("user_a"));
+        verify(teamClient, times(3)).listTeams(true);
+    }
+
+    @Test
+    void expiredEntries_areReloaded() {
+        cache = new TeamMembershipCache(teamClient, Duration.ZERO, 100);
+        when(teamClient.listTeams(true)).thenReturn(teams(teamA));
+
+        cache.teamIdsFor("user_1");
+        cache.teamIdsFor("user_1");
+
+        verify(teamClient, times(2)).listTeams(true);
+    }
+
+    private TeamListResponse teams(UUID... teamIds) {
+        return new TeamListResponse(Arrays.stream(teamIds).map(TeamListItem::new).toList());
+    }
+}
@@ -0,0 +1,244 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamMatchDetailResponse;
+import com.game.on.go_league_service.client.dto.TeamMemberProfileResponse;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.ConflictException;
+import com.game.on.go_league_service.league.dto.FixtureTimeWindowRequest;
+import com.game.on.go_league_service.league.dto.LeagueFixtureGenerateRequest;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchMember;
+import com.game.on.go_league_service.league.model.LeagueSeason;
+import com.game.on.go_league_service.league.model.LeagueTeam;
+import com.game.on.go_league_service.league.model.Venue;
+import com.game.on.go_league_service.league.repository.LeagueMatchMemberRepository;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
+import com.game.on.go_league_service.league.repository.LeagueRepository;
+import com.game.on.go_league_service.league.repository.LeagueSeasonRepository;
+import com.game.on.go_league_service.league.repository.LeagueTeamRepository;
+import com.game.on.go_league_service.league.repository.VenueRepository;
+import com.game.on.go_league_service.league.service.FixtureScheduler;
+import com.game.on.go_league_service.league.service.LeagueFixtureService;
+import com.game.on.go_league_service.league.service.LeagueMatchBatchWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeagueFixtureServiceTest {
+
+    @Mock LeagueRepository leagueRepository;
+    @Mock LeagueOrganizerRepository organizerRepository;
+    @Mock LeagueSeasonRepository leagueSeasonRepository;
+    @Mock LeagueTeamRepository leagueTeamRepository;
+    @Mock LeagueMatchRepository leagueMatchRepository;
+    @Mock LeagueMatchMemberRepository leagueMatchMemberRepository;
+    @Mock VenueRepository venueRepository;
+    @Mock TeamClient teamClient;
+    @Mock CurrentUserProvider userProvider;
+
+    LeagueFixtureService leagueFixtureService;
+
+    private final UUID leagueId = UUID.randomUUID();
+    private final UUID seasonId = UUID.randomUUID();
+    private final UUID venueId = UUID.randomUUID();
+    private final LocalDate seasonStart = LocalDate.now(ZoneOffset.UTC).plusDays(7);
+    private League league;
+    private List<UUID> teamIds;
+
+    @BeforeEach
+    void setup() {
+        leagueFixtureService = new LeagueFixtureService(
+                leagueRepository,
+                organizerRepository,
+                leagueSeasonRepository,
+                leagueTeamRepository,
+                leagueMatchRepository,
+                new LeagueMatchBatchWriter(leagueMatchRepository, leagueMatchMemberRepository),
+                venueRepository,
+                teamClient,
+                userProvider
+        );
+        league = new League();
+        league.setId(leagueId);
+        league.setOwnerUserId("owner_1");
+        lenient().when(userProvider.clerkUserId()).thenReturn("owner_1");
+        lenient().when(leagueRepository.findByIdAndArchivedAtIsNull(leagueId)).thenReturn(Optional.of(league));
+
+        LeagueSeason season = new LeagueSeason();
+        season.setId(seasonId);
+        season.setStartDate(seasonStart);
+        season.setEndDate(seasonStart.plusWeeks(8));
+        lenient().when(leagueSeasonRepository.findByIdAndLeague_IdAndArchivedAtIsNull(seasonId, leagueId))
+                .thenReturn(Optional.of(season));
+
+        teamIds = IntStream.range(0, 4).mapToObj(i -> UUID.randomUUID()).toList();
+        List<LeagueTeam> leagueTeams = new ArrayList<>();
+        for (UUID teamId : teamIds) {
+            LeagueTeam leagueTeam = new LeagueTeam();
+            leagueTeam.setTeamId(teamId);
+            leagueTeams.add(leagueTeam);
+            lenient().when(teamClient.getTeam(teamId))
+                    .thenReturn(new TeamSummaryResponse(teamId, "soccer", List.of("Montreal"), "owner_" + teamId));
+            lenient().when(teamClient.getTeamMembers(teamId)).thenReturn(List.of(
+                    new TeamMemberProfileResponse("player_" + teamId, null, null, null, null, "PLAYER", "ACTIVE", null),
+                    new TeamMemberProfileResponse("coach_" + teamId, null, null, null, null, "COACH", "ACTIVE", null)
+            ));
+            lenient().when(teamClient.getAllTeamMatch(teamId)).thenReturn(List.of());
+        }
+        lenient().when(leagueTeamRepository.findByLeague_IdOrderByCreatedAtDesc(leagueId)).thenReturn(leagueTeams);
+
+        Venue venue = new Venue();
+        venue.setId(venueId);
+        venue.setName("Olympic Stadium");
+        venue.setRegion("Montreal");
+        lenient().when(venueRepository.findAllById(List.of(venueId))).thenReturn(List.of(venue));
+        lenient().when(leagueMatchRepository.findConfirmedByTeamIdsBetween(any(), any(), any())).thenReturn(List.of());
+        lenient().when(leagueMatchRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void roundRobin_doubleLegPairsEveryTeamTwiceWithSwappedHome() {
+        var pairings = FixtureScheduler.roundRobin(teamIds, true);
+
+        assertEquals(12, pairings.size());
+        Set<String> ordered = new HashSet<>();
+        pairings.forEach(p -> ordered.add(p.homeTeamId() + ":" + p.awayTeamId()));
+        assertEquals(12, ordered.size());
+        for (int round = 1; round <= 6; round++) {
+            int currentRound = round;
+            Set<UUID> playing = new HashSet<>();
+            pairings.stream().filter(p -> p.round() == currentRound).forEach(p -> {
+                assertTrue(playing.add(p.homeTeamId()));
+                assertTrue(playing.add(p.awayTeamId()));
+            });
+            assertEquals(4, playing.size());
+        }
+    }
+
+    @Test
+    void schedule_thirtyTwoTeamDoubleRoundRobin_respectsSameDayAndVenueCapacity() {
+        List<UUID> teams = IntStream.range(0, 32).mapToObj(i -> UUID.randomUUID()).toList();
+        List<UUID> venues = IntStream.range(0, 4).mapToObj(i -> UUID.randomUUID()).toList();
+        var windows = List.of(
+                new FixtureTimeWindowRequest(DayOfWeek.SATURDAY, LocalTime.of(9, 0), LocalTime.of(21, 0)),
+                new FixtureTimeWindowRequest(DayOfWeek.SUNDAY, LocalTime.of(9, 0), LocalTime.of(21, 0))
+        );
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        var pairings = FixtureScheduler.roundRobin(teams, true);
+        var slots = FixtureScheduler.buildSlots(
+                start, start.plusWeeks(40), windows, venues, Duration.ofMinutes(90), ZoneOffset.UTC);
+
+        var result = FixtureScheduler.schedule(pairings, slots, Map.of(), Map.of(teams.get(0), Set.of(start.plusDays(4))));
+
+        assertEquals(62, result.rounds());
+        assertTrue(result.unscheduled().isEmpty());
+        assertEquals(32 * 31, result.fixtures().size());
+        // every pairing is placed exactly once
+        assertEquals(Set.copyOf(pairings), result.fixtures().stream().map(FixtureScheduler.Fixture::pairing).collect(Collectors.toSet()));
+
+        Set<String> teamDays = new HashSet<>();
+        Set<String> venueSlots = new HashSet<>();
+        for (var fixture : result.fixtures()) {
+            assertTrue(teamDays.add(fixture.pairing().homeTeamId() + "@" + fixture.slot().date()));
+            assertTrue(teamDays.add(fixture.pairing().awayTeamId() + "@" + fixture.slot().date()));
+            assertTrue(venueSlots.add(fixture.slot().venueId() + "@" + fixture.slot().startTime()));
+        }
+        assertFalse(teamDays.contains(teams.get(0) + "@" + start.plusDays(4)));
+    }
+
+    @Test
+    void generateFixtures_persistsMatchesAndRostersInBatches() {
+        var request = new LeagueFixtureGenerateRequest(
+                List.of(venueId),
+                List.of(new FixtureTimeWindowRequest(DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(14, 0))),
+                90,
+                false,
+                false,
+                "America/Toronto"
+        );
+
+        var response = leagueFixtureService.generateFixtures(leagueId, seasonId, request);
+
+        assertEquals(6, response.matchCount());
+        assertEquals(3, response.rounds());
+        ArgumentCaptor<List<LeagueMatch>> matchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(leagueMatchRepository).saveAll(matchCaptor.capture());
+        assertTrue(matchCaptor.getValue().stream().allMatch(match -> "soccer".equals(match.getSport())));
+        assertTrue(matchCaptor.getValue().stream()
+                .allMatch(match -> match.getStartTime().toLocalDate().getDayOfWeek() == DayOfWeek.SATURDAY));
+
+        ArgumentCaptor<List<LeagueMatchMember>> memberCaptor = ArgumentCaptor.forClass(List.class);
+        verify(leagueMatchMemberRepository).saveAll(memberCaptor.capture());
+        assertEquals(12, memberCaptor.getValue().size());
+        teamIds.forEach(teamId -> verify(teamClient).getTeamMembers(teamId));
+    }
+
+    @Test
+    void generateFixtures_whenSlotsRunOut_throwsConflictWithoutSaving() {
+        LocalDate blocked = seasonStart;
+        when(teamClient.getAllTeamMatch(teamIds.get(0))).thenReturn(List.of(confirmedTeamMatchOn(blocked)));
+        LeagueSeason shortSeason = new LeagueSeason();
+        shortSeason.setId(seasonId);
+        shortSeason.setStartDate(blocked);
+        shortSeason.setEndDate(blocked.plusDays(6));
+        when(leagueSeasonRepository.findByIdAndLeague_IdAndArchivedAtIsNull(seasonId, leagueId))
+                .thenReturn(Optional.of(shortSeason));
+
+        var request = new LeagueFixtureGenerateRequest(
+                List.of(venueId),
+                List.of(new FixtureTimeWindowRequest(blocked.getDayOfWeek(), LocalTime.of(10, 0), LocalTime.of(22, 0))),
+                60,
+                false,
+                false,
+                null
+        );
+
+        var ex = assertThrows(ConflictException.class,
+                () -> leagueFixtureService.generateFixtures(leagueId, seasonId, request));
+        assertEquals("LEAGUE_FIXTURE_SLOTS_EXHAUSTED", ex.getCode());
+        assertTrue(ex.getConflictingTeamIds().contains(teamIds.get(0)));
+        verify(leagueMatchRepository, never()).saveAll(anyList());
+    }
+
+    private TeamMatchDetailResponse confirmedTeamMatchOn(LocalDate date) {
+        OffsetDateTime start = date.atTime(12, 0).atOffset(ZoneOffset.UTC);
+        return new TeamMatchDetailResponse(UUID.randomUUID(), "TEAM", "CONFIRMED", teamIds.get(0), UUID.randomUUID(),
+                null, null, "soccer", start, start.plusHours(1), date, null, null, false, null, null,
+                null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,233 @@
+package com.game.on.go_league_service.league;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamMemberProfileResponse;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.ForbiddenException;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchMember;
+import com.game.on.go_league_service.league.model.LeagueTeam;
+import com.game.on.go_league_service.league.model.Venue;
+import com.game.on.go_league_service.league.repository.LeagueMatchMemberRepository;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
+import com.game.on.go_league_service.league.repository.LeagueRepository;
+import com.game.on.go_league_service.league.repository.LeagueTeamRepository;
+import com.game.on.go_league_service.league.repository.VenueRepository;
+import com.game.on.go_league_service.league.service.LeagueMatchBatchWriter;
+import com.game.on.go_league_service.league.service.LeagueMatchImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeagueMatchImportServiceTest {
+
+    @Mock LeagueRepository leagueRepository;
+    @Mock LeagueOrganizerRepository organizerRepository;
+    @Mock LeagueTeamRepository leagueTeamRepository;
+    @Mock LeagueMatchRepository leagueMatchRepository;
+    @Mock LeagueMatchMemberRepository leagueMatchMemberRepository;
+    @Mock VenueRepository venueRepository;
+    @Mock TeamClient teamClient;
+    @Mock CurrentUserProvider userProvider;
+
+    LeagueMatchImportService importService;
+
+    private final UUID leagueId = UUID.randomUUID();
+    private final UUID homeTeamId = UUID.randomUUID();
+    private final UUID awayTeamId = UUID.randomUUID();
+    private final UUID thirdTeamId = UUID.randomUUID();
+    private final UUID venueId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        importService = new LeagueMatchImportService(
+                leagueRepository,
+                organizerRepository,
+                leagueTeamRepository,
+                leagueMatchRepository,
+                venueRepository,
+                new LeagueMatchBatchWriter(leagueMatchRepository, leagueMatchMemberRepository),
+                teamClient,
+                userProvider,
+                new ObjectMapper().findAndRegisterModules()
+        );
+
+        League league = new League();
+        league.setId(leagueId);
+        league.setOwnerUserId("owner_1");
+        lenient().when(userProvider.clerkUserId()).thenReturn("owner_1");
+        lenient().when(leagueRepository.findByIdAndArchivedAtIsNull(leagueId)).thenReturn(Optional.of(league));
+
+        lenient().when(leagueTeamRepository.findByLeague_IdOrderByCreatedAtDesc(leagueId))
+                .thenReturn(List.of(leagueTeam(homeTeamId), leagueTeam(awayTeamId), leagueTeam(thirdTeamId)));
+        for (UUID teamId : List.of(homeTeamId, awayTeamId, thirdTeamId)) {
+            lenient().when(teamClient.getTeam(teamId))
+                    .thenReturn(new TeamSummaryResponse(teamId, "soccer", List.of("Montreal"), "owner_" + teamId));
+            lenient().when(teamClient.getTeamMembers(teamId)).thenReturn(List.of(
+                    new TeamMemberProfileResponse("player_" + teamId, null, null, null, null, "PLAYER", "ACTIVE", null)
+            ));
+            lenient().when(teamClient.getAllTeamMatch(teamId)).thenReturn(List.of());
+            lenient().when(leagueMatchRepository.findByHomeTeamIdOrAwayTeamId(teamId, teamId)).thenReturn(List.of());
+        }
+
+        Venue venue = new Venue();
+        venue.setId(venueId);
+        venue.setName("Olympic Stadium");
+        venue.setRegion("Montreal");
+        lenient().when(venueRepository.findById(venueId)).thenReturn(Optional.of(venue));
+        lenient().when(leagueMatchRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void importMatches_csv_reportsRowErrorsAndSavesValidRowsOnce() {
+        String csv = String.join("\n",
+                "homeTeamId,awayTeamId,scheduledDate,startTime,endTime,venueId,requiresReferee",
+                row(homeTeamId, awayTeamId, "2030-05-04"),
+                row(homeTeamId, UUID.randomUUID(), "2030-05-05"),
+                row(awayTeamId, thirdTeamId, "2030-05-04"),
+                row(thirdTeamId, homeTeamId, "2030-05-11"),
+                "not-a-uuid,,,,,,"
+        );
+
+        var response = importService.importMatches(leagueId, "text/csv", stream(csv));
+
+        assertEquals(5, response.totalRows());
+        assertEquals(2, response.importedCount());
+        assertEquals(3, response.failedCount());
+        assertEquals(List.of(3L, 4L, 6L), response.errors().stream().map(error -> error.row()).toList());
+        assertEquals("TEAM_NOT_IN_LEAGUE", response.errors().get(0).code());
+        assertEquals("LEAGUE_TEAM_SAME_DAY_CONFLICT", response.errors().get(1).code());
+        assertEquals("INVALID_ROW", response.errors().get(2).code());
+
+        ArgumentCaptor<List<LeagueMatch>> matchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(leagueMatchRepository).saveAll(matchCaptor.capture());
+        assertEquals(2, matchCaptor.getValue().size());
+        ArgumentCaptor<List<LeagueMatchMember>> memberCaptor = ArgumentCaptor.forClass(List.class);
+        verify(leagueMatchMemberRepository).saveAll(memberCaptor.capture());
+        assertEquals(4, memberCaptor.getValue().size());
+        verify(teamClient, times(1)).getTeam(homeTeamId);
+        verify(venueRepository, times(1)).findById(venueId);
+    }
+
+    @Test
+    void importMatches_csv_readsQuotedFieldsWithCommasQuotesAndLineBreaks() {
+        String csv = String.join("\n",
+                "homeTeamName,homeTeamId,awayTeamId,scheduledDate,startTime,endTime,venueId,requiresReferee,notes",
+                "\"Team, FC\"," + row(homeTeamId, awayTeamId, "2030-05-04") + ",\"bring \"\"bibs\"\"\"",
+                "Rovers," + row(thirdTeamId, homeTeamId, "2030-05-11") + ",\"gate opens at 9,",
+                "  use the north entrance\"",
+                "\"Late, FC\"," + row(homeTeamId, UUID.randomUUID(), "2030-05-18") + ","
+        );
+
+        var response = importService.importMatches(leagueId, "text/csv", stream(csv));
+
+        assertEquals(3, response.totalRows());
+        assertEquals(2, response.importedCount());
+        assertEquals(List.of(5L), response.errors().stream().map(error -> error.row()).toList());
+        assertEquals("TEAM_NOT_IN_LEAGUE", response.errors().get(0).code());
+
+        ArgumentCaptor<List<LeagueMatch>> matchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(leagueMatchRepository).saveAll(matchCaptor.capture());
+        assertEquals(List.of(homeTeamId, thirdTeamId),
+                matchCaptor.getValue().stream().map(LeagueMatch::getHomeTeamId).toList());
+    }
+
+    @Test
+    void importMatches_csv_rejectsAnUnclosedQuoteWithoutSwallowingTheRestOfTheFile() {
+        List<String> lines = new ArrayList<>(List.of(
+                "homeTeamId,awayTeamId,scheduledDate,startTime,endTime,venueId,requiresReferee",
+                row(homeTeamId, awayTeamId, "2030-01-01"),
+                "\"" + row(homeTeamId, awayTeamId, "2030-01-02")));
+        for (int day = 0; day < 25; day++) {
+            lines.add(row(homeTeamId, awayTeamId, java.time.LocalDate.of(2030, 2, 1).plusDays(day).toString()));
+        }
+        lines.add("\"" + row(homeTeamId, awayTeamId, "2030-03-01"));
+
+        var response = importService.importMatches(leagueId, "text/csv", stream(String.join("\n", lines)));
+
+        // the quote opened on line 3 takes the next 20 lines with it; line 29 runs into the end of the file
+        assertEquals(8, response.totalRows());
+        assertEquals(6, response.importedCount());
+        assertEquals(List.of(3L, 29L), response.errors().stream().map(error -> error.row()).toList());
+        assertEquals(List.of("INVALID_ROW", "INVALID_ROW"), response.errors().stream().map(error -> error.code()).toList());
+    }
+
+    @Test
+    void importMatches_ndjson_flushesInBatches() {
+        StringBuilder body = new StringBuilder();
+        for (int day = 0; day < 450; day++) {
+            body.append("{\"homeTeamId\":\"").append(homeTeamId)
+                    .append("\",\"awayTeamId\":\"").append(awayTeamId)
+                    .append("\",\"scheduledDate\":\"").append(java.time.LocalDate.of(2030, 1, 1).plusDays(day))
+                    .append("\",\"startTime\":\"").append(java.time.LocalDate.of(2030, 1, 1).plusDays(day)).append("T10:00:00Z")
+                    .append("\",\"endTime\":\"").append(java.time.LocalDate.of(2030, 1, 1).plusDays(day)).append("T11:30:00Z")
+                    .append("\",\"venueId\":\"").append(venueId).append("\"}\n");
+        }
+        body.append("{not json}\n");
+
+        var response = importService.importMatches(leagueId, "application/x-ndjson", stream(body.toString()));
+
+        assertEquals(451, response.totalRows());
+        assertEquals(450, response.importedCount());
+        assertEquals(1, response.failedCount());
+        verify(leagueMatchRepository, times(3)).saveAll(anyList());
+        verify(leagueMatchRepository, times(1)).findByHomeTeamIdOrAwayTeamId(homeTeamId, homeTeamId);
+    }
+
+    @Test
+    void importMatches_csvMissingColumn_throwsBadRequest() {
+        String csv = "homeTeamId,awayTeamId,scheduledDate\n";
+
+        assertThrows(BadRequestException.class,
+                () -> importService.importMatches(leagueId, "text/csv", stream(csv)));
+        verify(leagueMatchRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void importMatches_nonOwner_throwsForbidden() {
+        when(userProvider.clerkUserId()).thenReturn("someone_else");
+
+        assertThrows(ForbiddenException.class,
+                () -> importService.importMatches(leagueId, "text/csv", stream("")));
+    }
+
+    private String row(UUID home, UUID away, String date) {
+        return home + "," + away + "," + date + "," + date + "T10:00:00Z," + date + "T11:30:00Z," + venueId + ",false";
+    }
+
+    private LeagueTeam leagueTeam(UUID teamId) {
+        LeagueTeam leagueTeam = new LeagueTeam();
+        leagueTeam.setTeamId(teamId);
+        return leagueTeam;
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
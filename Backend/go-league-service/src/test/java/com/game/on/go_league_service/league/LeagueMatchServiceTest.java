@@ -1,7 +1,10 @@
 package com.game.on.go_league_service.league;
 
 import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.TeamMembershipCache;
 import com.game.on.go_league_service.client.dto.TeamMatchDetailResponse;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckResponse;
 import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
 import com.game.on.go_league_service.config.CurrentUserProvider;
 import com.game.on.go_league_service.exception.BadRequestException;
@@ -22,6 +25,10 @@ import com.game.on.go_league_service.league.repository.LeagueRepository;
 import com.game.on.go_league_service.league.repository.LeagueTeamRepository;
 import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
 import com.game.on.go_league_service.league.service.LeagueMatchService;
+import com.game.on.go_league_service.league.service.PlayoffOddsService;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityIndex;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityService;
+import com.game.on.go_league_service.league.service.TimeInterval;
 import com.game.on.go_league_service.league.service.VenueService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +41,7 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -50,9 +58,12 @@ class LeagueMatchServiceTest {
     @Mock LeagueMatchRepository leagueMatchRepository;
     @Mock LeagueMatchScoreRepository leagueMatchScoreRepository;
     @Mock RefereeProfileRepository refereeProfileRepository;
+    @Mock RefereeAvailabilityService availabilityService;
     @Mock VenueService venueService;
     @Mock TeamClient teamClient;
+    @Mock TeamMembershipCache membershipCache;
     @Mock CurrentUserProvider userProvider;
+    @Mock PlayoffOddsService playoffOddsService;
 
     @InjectMocks
     LeagueMatchService leagueMatchService;
@@ -68,6 +79,8 @@ class LeagueMatchServiceTest {
         league.setId(leagueId);
         league.setOwnerUserId("owner_1");
                 lenient().when(leagueRepository.findByIdAndArchivedAtIsNull(leagueId)).thenReturn(Optional.of(league));
+        lenient().when(availabilityService.loadIndex(any(), any(), any(), any()))
+                .thenReturn(RefereeAvailabilityIndex.build(Map.of(), Map.of()));
     }
 
     @Test
@@ -303,7 +316,8 @@ class LeagueMatchServiceTest {
         referee.setAllowedRegions(List.of("Montreal"));
 
         when(refereeProfileRepository.findById("ref_1")).thenReturn(Optional.of(referee));
-        when(teamClient.isMember(homeTeamId, "ref_1")).thenReturn(true);
+        when(teamClient.findMembers(new TeamMembershipCheckRequest(List.of(homeTeamId, awayTeamId), List.of("ref_1"))))
+                .thenReturn(new TeamMembershipCheckResponse(List.of("ref_1")));
 
         when(teamClient.getTeam(homeTeamId)).thenReturn(new TeamSummaryResponse(homeTeamId, "soccer", List.of("Montreal"), "owner_1"));
         when(teamClient.getTeam(awayTeamId)).thenReturn(new TeamSummaryResponse(awayTeamId, "soccer", List.of("Montreal"), "owner_2"));
@@ -314,6 +328,41 @@ class LeagueMatchServiceTest {
         verify(leagueMatchRepository, never()).save(any());
     }
 
+    @Test
+    void assignReferee_whenRefereeBusyDuringMatch_throwsBadRequest() {
+        when(userProvider.clerkUserId()).thenReturn("owner_1");
+        OffsetDateTime start = OffsetDateTime.now().plusDays(2);
+
+        LeagueMatch match = new LeagueMatch();
+        match.setId(UUID.randomUUID());
+        match.setLeague(league);
+        match.setHomeTeamId(homeTeamId);
+        match.setAwayTeamId(awayTeamId);
+        match.setSport("soccer");
+        match.setMatchLocation("Montreal");
+        match.setStartTime(start);
+        match.setEndTime(start.plusHours(2));
+        match.setStatus(LeagueMatchStatus.CONFIRMED);
+        when(leagueMatchRepository.findByIdAndLeague_Id(match.getId(), leagueId)).thenReturn(Optional.of(match));
+
+        RefereeProfile referee = new RefereeProfile();
+        referee.setUserId("ref_1");
+        referee.setActive(true);
+        referee.setSports(List.of("soccer"));
+        referee.setAllowedRegions(List.of("Montreal"));
+        when(refereeProfileRepository.findById("ref_1")).thenReturn(Optional.of(referee));
+        when(teamClient.findMembers(any())).thenReturn(new TeamMembershipCheckResponse(List.of()));
+        when(availabilityService.loadIndex(List.of("ref_1"), match.getStartTime(), match.getEndTime(), match.getId()))
+                .thenReturn(RefereeAvailabilityIndex.build(Map.of(), Map.of(
+                        "ref_1", List.of(new TimeInterval(start.plusHours(1), start.plusHours(3)))
+                )));
+
+        var ex = assertThrows(BadRequestException.class,
+                () -> leagueMatchService.assignReferee(leagueId, match.getId(), new AssignRefereeRequest("ref_1")));
+        assertEquals("Referee is not available during this match", ex.getMessage());
+        verify(leagueMatchRepository, never()).save(any());
+    }
+
     @Test
     void submitScore_whenNoReferee_ownerAllowed() {
         when(userProvider.clerkUserId()).thenReturn("owner_1");
@@ -341,6 +390,7 @@ class LeagueMatchServiceTest {
 
         leagueMatchService.submitScore(leagueId, match.getId(), request);
         verify(leagueMatchScoreRepository).save(any(LeagueMatchScore.class));
+        verify(playoffOddsService).invalidate(leagueId);
     }
 
         @Test
@@ -1,8 +1,10 @@
 package com.game.on.go_league_service.league;
 
 import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.TeamMembershipCache;
 import com.game.on.go_league_service.config.CurrentUserProvider;
 import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.ConflictException;
 import com.game.on.go_league_service.exception.ForbiddenException;
 import com.game.on.go_league_service.exception.NotFoundException;
 import com.game.on.go_league_service.league.dto.LeagueCreateRequest;
@@ -16,16 +18,19 @@ import com.game.on.go_league_service.league.model.*;
 import com.game.on.go_league_service.league.repository.*;
 import com.game.on.go_league_service.league.service.LeagueService;
 import com.game.on.go_league_service.league.util.SlugGenerator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -67,6 +72,9 @@ class LeagueServiceTest {
     @Mock
     private TeamClient client;
 
+    @Mock
+    private TeamMembershipCache membershipCache;
+
     @Mock
     private LeagueMatchRepository leagueMatchRepository;
 
@@ -89,6 +97,7 @@ class LeagueServiceTest {
                 leagueTeamRepository,
                 leagueTeamMapper,
                 client,
+                membershipCache,
                 currentUserProvider,
                 metricsPublisher,
                 leagueMatchRepository,
@@ -101,7 +110,7 @@ class LeagueServiceTest {
         when(currentUserProvider.clerkUserId()).thenReturn("user_123");
         when(slugGenerator.generateUniqueSlug("Downtown League")).thenReturn("downtown-league");
 
-        when(leagueRepository.save(any())).thenAnswer(invocation -> {
+        when(leagueRepository.saveAndFlush(any())).thenAnswer(invocation -> {
             League league = invocation.getArgument(0);
             league.setId(UUID.randomUUID());
             league.setCreatedAt(OffsetDateTime.now());
@@ -151,10 +160,55 @@ class LeagueServiceTest {
         assertThatThrownBy(() -> leagueService.createLeague(request))
                 .isInstanceOf(BadRequestException.class);
 
-        verify(leagueRepository, never()).save(any());
+        verify(leagueRepository, never()).saveAndFlush(any());
+        verify(metricsPublisher, never()).leagueCreated();
+    }
+
+    @Test
+    void createLeagueRetriesWithNextSlugWhenSlugTakenConcurrently() {
+        when(currentUserProvider.clerkUserId()).thenReturn("user_1");
+        when(slugGenerator.generateUniqueSlug("FC United")).thenReturn("fc-united-4", "fc-united-5");
+        var slugViolation = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(), "leagues_slug_key"));
+        when(leagueRepository.saveAndFlush(any()))
+                .thenThrow(slugViolation)
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        LeagueCreateRequest request = new LeagueCreateRequest(
+                "FC United", "soccer", null, "Montreal", null, null, null);
+
+        var response = leagueService.createLeague(request);
+
+        assertThat(response.slug()).isEqualTo("fc-united-5");
+        verify(leagueRepository, times(2)).saveAndFlush(any());
+        verify(metricsPublisher, times(1)).leagueCreated();
+    }
+
+    @Test
+    void createLeagueGivesUpWithConflictAfterRepeatedSlugCollisions() {
+        when(currentUserProvider.clerkUserId()).thenReturn("user_1");
+        when(slugGenerator.generateUniqueSlug("FC United")).thenReturn("fc-united");
+        when(leagueRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(), "leagues_slug_key")));
+
+        LeagueCreateRequest request = new LeagueCreateRequest(
+                "FC United", "soccer", null, "Montreal", null, null, null);
+
+        assertThatThrownBy(() -> leagueService.createLeague(request))
+                .isInstanceOf(ConflictException.class);
+        verify(leagueRepository, times(3)).saveAndFlush(any());
         verify(metricsPublisher, never()).leagueCreated();
     }
 
+    @Test
+    void nextFreeSlugFillsFirstGapAndIgnoresNonNumericSuffixes() {
+        assertThat(SlugGenerator.nextFreeSlug("fc-united", List.of("fc-united-1", "fc-united-2")))
+                .isEqualTo("fc-united");
+        assertThat(SlugGenerator.nextFreeSlug("fc-united",
+                List.of("fc-united", "fc-united-1", "fc-united-3", "fc-united-women", "fc-united-02")))
+                .isEqualTo("fc-united-2");
+    }
+
     @Test
     void updateLeagueAppliesChangesAndReturnsSeasonCount() {
         UUID leagueId = UUID.randomUUID();
@@ -187,7 +241,8 @@ class LeagueServiceTest {
                 "Toronto",
                 "Updated description",
                 LeagueLevel.RECREATIONAL,
-                LeaguePrivacy.PRIVATE
+                LeaguePrivacy.PRIVATE,
+                List.of(TieBreaker.HEAD_TO_HEAD, TieBreaker.SCORE_RATIO)
         );
 
 
@@ -200,6 +255,8 @@ class LeagueServiceTest {
         assertThat(response.level()).isEqualTo(LeagueLevel.RECREATIONAL);
         assertThat(response.privacy()).isEqualTo(LeaguePrivacy.PRIVATE);
         assertThat(response.seasonCount()).isEqualTo(2L);
+        assertThat(response.tieBreakers()).containsExactly(TieBreaker.HEAD_TO_HEAD, TieBreaker.SCORE_RATIO);
+        assertThat(league.getStandingsTieBreakers()).isEqualTo("HEAD_TO_HEAD,SCORE_RATIO");
 
         verify(metricsPublisher).leagueUpdated();
     }
@@ -226,7 +283,7 @@ class LeagueServiceTest {
         assertThatThrownBy(() ->
                 leagueService.updateLeague(
                         leagueId,
-                        new LeagueUpdateRequest(null, null, null, null, null, null, null)
+                        new LeagueUpdateRequest(null, null, null, null, null, null, null, null)
 
                 )
         ).isInstanceOf(BadRequestException.class);
@@ -257,7 +314,7 @@ class LeagueServiceTest {
         assertThatThrownBy(() ->
                 leagueService.updateLeague(
                         leagueId,
-                        new LeagueUpdateRequest("New", null, null, null, null, null, null)
+                        new LeagueUpdateRequest("New", null, null, null, null, null, null, null)
 
                 )
         ).isInstanceOf(ForbiddenException.class);
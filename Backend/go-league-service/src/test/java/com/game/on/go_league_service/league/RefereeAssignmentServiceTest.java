@@ -0,0 +1,248 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.league.dto.RefereeAutoAssignRequest;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchStatus;
+import com.game.on.go_league_service.league.model.RefereeProfile;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.LeagueOrganizerRepository;
+import com.game.on.go_league_service.league.repository.LeagueRepository;
+import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
+import com.game.on.go_league_service.league.repository.VenueRepository;
+import com.game.on.go_league_service.league.service.RefereeAssignmentService;
+import com.game.on.go_league_service.league.service.RefereeAssignmentSolver;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityIndex;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityService;
+import com.game.on.go_league_service.league.service.TimeInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefereeAssignmentServiceTest {
+
+    @Mock LeagueRepository leagueRepository;
+    @Mock LeagueOrganizerRepository organizerRepository;
+    @Mock LeagueMatchRepository leagueMatchRepository;
+    @Mock RefereeProfileRepository refereeProfileRepository;
+    @Mock VenueRepository venueRepository;
+    @Mock RefereeAvailabilityService availabilityService;
+    @Mock TeamClient teamClient;
+    @Mock CurrentUserProvider userProvider;
+
+    @InjectMocks
+    RefereeAssignmentService refereeAssignmentService;
+
+    private final UUID leagueId = UUID.randomUUID();
+    private final UUID homeTeamId = UUID.randomUUID();
+    private final UUID awayTeamId = UUID.randomUUID();
+    private final OffsetDateTime kickoff = OffsetDateTime.of(2030, 5, 4, 10, 0, 0, 0, ZoneOffset.UTC);
+    private League league;
+
+    @BeforeEach
+    void setup() {
+        league = new League();
+        league.setId(leagueId);
+        league.setOwnerUserId("owner_1");
+        lenient().when(userProvider.clerkUserId()).thenReturn("owner_1");
+        lenient().when(leagueRepository.findByIdAndArchivedAtIsNull(leagueId)).thenReturn(Optional.of(league));
+        lenient().when(teamClient.findMembers(any())).thenReturn(new TeamMembershipCheckResponse(List.of()));
+        lenient().when(availabilityService.loadIndex(any(), any(), any(), any()))
+                .thenReturn(RefereeAvailabilityIndex.build(Map.of(), Map.of()));
+    }
+
+    @Test
+    void autoAssign_respectsSportRegionMembershipAndOverlap() {
+        LeagueMatch early = match(kickoff, "Montreal");
+        LeagueMatch overlapping = match(kickoff.plusMinutes(30), "Montreal");
+        LeagueMatch laval = match(kickoff, "Laval");
+        when(leagueMatchRepository.findUnrefereedByLeagueBetween(leagueId, kickoff.toLocalDate(), kickoff.toLocalDate()))
+                .thenReturn(List.of(early, overlapping, laval));
+
+        RefereeProfile montreal1 = referee("ref_mtl_1", "Soccer", "Montreal");
+        RefereeProfile montreal2 = referee("ref_mtl_2", "soccer", "MONTREAL");
+        RefereeProfile lavalMember = referee("ref_laval_member", "soccer", "Laval");
+        RefereeProfile hockey = referee("ref_hockey", "hockey", "Laval");
+        when(refereeProfileRepository.findActiveBySportKeys(any()))
+                .thenReturn(List.of(montreal1, montreal2, lavalMember, hockey));
+        when(teamClient.findMembers(new TeamMembershipCheckRequest(List.of(homeTeamId),
+                List.of("ref_mtl_1", "ref_mtl_2", "ref_laval_member", "ref_hockey"))))
+                .thenReturn(new TeamMembershipCheckResponse(List.of("ref_laval_member")));
+
+        var response = refereeAssignmentService.autoAssign(leagueId, request(null));
+
+        assertEquals(3, response.candidateMatches());
+        assertEquals(2, response.assignedCount());
+        assertEquals(List.of(laval.getId()), response.unassignedMatchIds());
+        assertTrue(List.of("ref_mtl_1", "ref_mtl_2").contains(early.getRefereeUserId()));
+        assertTrue(List.of("ref_mtl_1", "ref_mtl_2").contains(overlapping.getRefereeUserId()));
+        assertFalse(early.getRefereeUserId().equals(overlapping.getRefereeUserId()));
+        verify(leagueMatchRepository).saveAll(List.of(early, overlapping));
+    }
+
+    @Test
+    void autoAssign_skipsRefereesWithExistingCommitments() {
+        LeagueMatch match = match(kickoff, "Montreal");
+        when(leagueMatchRepository.findUnrefereedByLeagueBetween(any(), any(), any())).thenReturn(List.of(match));
+        when(refereeProfileRepository.findActiveBySportKeys(any()))
+                .thenReturn(List.of(referee("ref_busy", "soccer", "Montreal"), referee("ref_free", "soccer", "Montreal")));
+
+        when(availabilityService.loadIndex(List.of("ref_busy", "ref_free"), match.getStartTime(), match.getEndTime(), null))
+                .thenReturn(RefereeAvailabilityIndex.build(Map.of(), Map.of(
+                        "ref_busy", List.of(new TimeInterval(kickoff.minusMinutes(30), kickoff.plusMinutes(30)))
+                )));
+
+        refereeAssignmentService.autoAssign(leagueId, request(null));
+
+        assertEquals("ref_free", match.getRefereeUserId());
+    }
+
+    @Test
+    void autoAssign_skipsRefereesOutsideTheirAvailabilityWindows() {
+        LeagueMatch match = match(kickoff, "Montreal");
+        when(leagueMatchRepository.findUnrefereedByLeagueBetween(any(), any(), any())).thenReturn(List.of(match));
+        when(refereeProfileRepository.findActiveBySportKeys(any()))
+                .thenReturn(List.of(referee("ref_evenings", "soccer", "Montreal"), referee("ref_mornings", "soccer", "Montreal")));
+        when(availabilityService.loadIndex(any(), any(), any(), any()))
+                .thenReturn(RefereeAvailabilityIndex.build(Map.of(
+                        "ref_evenings", List.of(new TimeInterval(kickoff.plusHours(8), kickoff.plusHours(12))),
+                        "ref_mornings", List.of(new TimeInterval(kickoff.minusHours(2), kickoff.plusHours(1)),
+                                new TimeInterval(kickoff.plusHours(1), kickoff.plusHours(2)))
+                ), Map.of()));
+
+        refereeAssignmentService.autoAssign(leagueId, request(null));
+
+        assertEquals("ref_mornings", match.getRefereeUserId());
+    }
+
+    @Test
+    void autoAssign_whenRangeInverted_throwsBadRequest() {
+        var request = new RefereeAutoAssignRequest(kickoff.toLocalDate(), kickoff.toLocalDate().minusDays(1), null);
+
+        assertThrows(BadRequestException.class, () -> refereeAssignmentService.autoAssign(leagueId, request));
+        verify(leagueMatchRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void solver_repairPassReassignsToFreeUpConstrainedMatch() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        // "first" goes to the less-loaded referee b; "second" can then only use b (c is busy elsewhere),
+        // so the repair pass has to move "first" over to a.
+        var result = RefereeAssignmentSolver.solve(List.of(
+                new RefereeAssignmentSolver.MatchSlot(first, kickoff, kickoff.plusHours(2), List.of("a", "b")),
+                new RefereeAssignmentSolver.MatchSlot(second, kickoff.plusHours(1), kickoff.plusHours(3), List.of("b", "c"))
+        ), Map.of(
+                "a", List.of(new TimeInterval(kickoff.minusDays(1), kickoff.minusDays(1).plusHours(1))),
+                "c", List.of(new TimeInterval(kickoff.plusHours(1), kickoff.plusHours(2)))
+        ), 0);
+
+        assertEquals(List.of(), result.unassigned());
+        assertEquals("a", result.assignments().get(first));
+        assertEquals("b", result.assignments().get(second));
+    }
+
+    @Test
+    void solver_balancesLoadAndScalesToAWeekendOfMatches() {
+        List<RefereeAssignmentSolver.MatchSlot> slots = new ArrayList<>();
+        List<String> referees = new ArrayList<>();
+        for (int r = 0; r < 60; r++) {
+            referees.add("ref_" + r);
+        }
+        for (int day = 0; day < 2; day++) {
+            for (int hour = 0; hour < 10; hour++) {
+                for (int field = 0; field < 20; field++) {
+                    OffsetDateTime start = kickoff.plusDays(day).plusHours(hour);
+                    List<String> eligible = referees.subList((field * 3) % 45, (field * 3) % 45 + 15);
+                    slots.add(new RefereeAssignmentSolver.MatchSlot(UUID.randomUUID(), start, start.plusMinutes(90), eligible));
+                }
+            }
+        }
+
+        long started = System.nanoTime();
+        var result = RefereeAssignmentSolver.solve(slots, Map.of(), 10);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(400, slots.size());
+        assertTrue(elapsedMillis < 2000, "solver took " + elapsedMillis + "ms");
+
+        Map<String, List<RefereeAssignmentSolver.MatchSlot>> byReferee = new HashMap<>();
+        for (var slot : slots) {
+            String referee = result.assignments().get(slot.matchId());
+            if (referee != null) {
+                assertTrue(slot.eligibleRefereeIds().contains(referee));
+                byReferee.computeIfAbsent(referee, ignored -> new ArrayList<>()).add(slot);
+            }
+        }
+        for (var assigned : byReferee.values()) {
+            assertTrue(assigned.size() <= 10);
+            for (int i = 0; i < assigned.size(); i++) {
+                for (int j = i + 1; j < assigned.size(); j++) {
+                    var left = assigned.get(i);
+                    var right = assigned.get(j);
+                    assertFalse(left.startTime().isBefore(right.endTime()) && right.startTime().isBefore(left.endTime()),
+                            "referee double-booked");
+                }
+            }
+        }
+        assertTrue(result.assignments().size() >= 300, "assigned " + result.assignments().size());
+    }
+
+    private LeagueMatch match(OffsetDateTime start, String location) {
+        LeagueMatch match = new LeagueMatch();
+        match.setId(UUID.randomUUID());
+        match.setLeague(league);
+        match.setHomeTeamId(homeTeamId);
+        match.setAwayTeamId(awayTeamId);
+        match.setSport("soccer");
+        match.setStatus(LeagueMatchStatus.CONFIRMED);
+        match.setRequiresReferee(true);
+        match.setStartTime(start);
+        match.setEndTime(start.plusMinutes(90));
+        match.setScheduledDate(start.toLocalDate());
+        match.setMatchLocation(location);
+        return match;
+    }
+
+    private RefereeProfile referee(String userId, String sport, String region) {
+        RefereeProfile referee = RefereeProfile.builder().userId(userId).isActive(true).build();
+        referee.setSports(List.of(sport));
+        referee.setAllowedRegions(List.of(region));
+        return referee;
+    }
+
+    private RefereeAutoAssignRequest request(Integer maxMatchesPerReferee) {
+        LocalDate day = kickoff.toLocalDate();
+        return new RefereeAutoAssignRequest(day, day, maxMatchesPerReferee);
+    }
+}
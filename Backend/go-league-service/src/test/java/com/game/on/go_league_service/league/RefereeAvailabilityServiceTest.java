@@ -0,0 +1,122 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.client.dto.RefereeCommitmentResponse;
+import com.game.on.go_league_service.config.CurrentUserProvider;
+import com.game.on.go_league_service.exception.BadRequestException;
+import com.game.on.go_league_service.exception.NotFoundException;
+import com.game.on.go_league_service.league.dto.RefereeAvailabilityRequest;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.RefereeAvailability;
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.RefereeAvailabilityRepository;
+import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefereeAvailabilityServiceTest {
+
+    @Mock RefereeAvailabilityRepository availabilityRepository;
+    @Mock RefereeProfileRepository refereeProfileRepository;
+    @Mock LeagueMatchRepository leagueMatchRepository;
+    @Mock TeamClient teamClient;
+    @Mock CurrentUserProvider userProvider;
+
+    @InjectMocks
+    RefereeAvailabilityService availabilityService;
+
+    // Saturday
+    private final OffsetDateTime kickoff = OffsetDateTime.of(2030, 5, 4, 14, 0, 0, 0, ZoneOffset.UTC);
+
+    @BeforeEach
+    void setup() {
+        lenient().when(userProvider.clerkUserId()).thenReturn("ref_1");
+        lenient().when(refereeProfileRepository.existsByUserId("ref_1")).thenReturn(true);
+        lenient().when(leagueMatchRepository.findRefereeCommitmentsBetween(any(), any(), any())).thenReturn(List.of());
+        lenient().when(teamClient.getRefereeCommitments(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void loadIndex_expandsWeeklyWindowsInTheirTimeZone() {
+        // Saturdays 09:00-13:00 in Montreal (UTC-4 in May) covers 13:00-17:00 UTC
+        RefereeAvailability weekly = RefereeAvailability.builder()
+                .refereeUserId("ref_1")
+                .type(RefereeAvailabilityType.WEEKLY)
+                .dayOfWeek(DayOfWeek.SATURDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(13, 0))
+                .timeZone("America/Montreal")
+                .build();
+        when(availabilityRepository.findByRefereeUserIdIn(List.of("ref_1", "ref_2"))).thenReturn(List.of(weekly));
+
+        var index = availabilityService.loadIndex(List.of("ref_1", "ref_2"), kickoff, kickoff.plusDays(8), null);
+
+        assertTrue(index.isFree("ref_1", kickoff, kickoff.plusHours(2)));
+        assertTrue(index.isFree("ref_1", kickoff.plusWeeks(1), kickoff.plusWeeks(1).plusHours(3)));
+        assertFalse(index.isFree("ref_1", kickoff.plusHours(2), kickoff.plusHours(4)));
+        assertFalse(index.isFree("ref_1", kickoff.plusDays(1), kickoff.plusDays(1).plusHours(1)));
+        assertTrue(index.isFree("ref_2", kickoff.plusDays(1), kickoff.plusDays(1).plusHours(1)));
+    }
+
+    @Test
+    void loadIndex_mergesLeagueAndTeamCommitmentsExceptTheEvaluatedMatch() {
+        UUID evaluatedMatchId = UUID.randomUUID();
+        LeagueMatch sameMatch = new LeagueMatch();
+        sameMatch.setId(evaluatedMatchId);
+        sameMatch.setRefereeUserId("ref_1");
+        sameMatch.setStartTime(kickoff);
+        sameMatch.setEndTime(kickoff.plusHours(2));
+        when(leagueMatchRepository.findRefereeCommitmentsBetween(any(), any(), any())).thenReturn(List.of(sameMatch));
+        when(teamClient.getRefereeCommitments(any())).thenReturn(List.of(
+                new RefereeCommitmentResponse("ref_2", UUID.randomUUID(), kickoff.plusHours(1), kickoff.plusHours(3))
+        ));
+
+        var index = availabilityService.loadIndex(List.of("ref_1", "ref_2"), kickoff, kickoff.plusHours(2), evaluatedMatchId);
+
+        assertTrue(index.isFree("ref_1", kickoff, kickoff.plusHours(2)));
+        assertFalse(index.isFree("ref_2", kickoff, kickoff.plusHours(2)));
+        assertTrue(index.isFree("ref_2", kickoff.minusHours(2), kickoff.plusHours(1)));
+    }
+
+    @Test
+    void create_weeklyWithInvalidTimeZone_throwsBadRequest() {
+        var request = new RefereeAvailabilityRequest(RefereeAvailabilityType.WEEKLY, DayOfWeek.MONDAY,
+                LocalTime.of(18, 0), LocalTime.of(22, 0), "Mars/Olympus", null, null);
+
+        assertThrows(BadRequestException.class, () -> availabilityService.create(request));
+        verify(availabilityRepository, never()).save(any());
+    }
+
+    @Test
+    void create_whenNotAReferee_throwsNotFound() {
+        when(refereeProfileRepository.existsByUserId("ref_1")).thenReturn(false);
+        var request = new RefereeAvailabilityRequest(RefereeAvailabilityType.ONE_OFF, null, null, null, null,
+                kickoff, kickoff.plusHours(4));
+
+        assertThrows(NotFoundException.class, () -> availabilityService.create(request));
+        verify(availabilityRepository, never()).save(any());
+    }
+}
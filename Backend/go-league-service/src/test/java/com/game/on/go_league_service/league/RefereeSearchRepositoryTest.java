@@ -0,0 +1,210 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.client.TeamClient;
+import com.game.on.go_league_service.config.JpaConfig;
+import com.game.on.go_league_service.league.model.League;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchStatus;
+import com.game.on.go_league_service.league.model.LeaguePrivacy;
+import com.game.on.go_league_service.league.model.RefereeAvailability;
+import com.game.on.go_league_service.league.model.RefereeAvailabilityType;
+import com.game.on.go_league_service.league.model.RefereeProfile;
+import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
+import com.game.on.go_league_service.league.repository.RefereeAvailabilityRepository;
+import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityService;
+import com.game.on.go_league_service.league.service.RefereeSpecifications;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        // the migrations are PostgreSQL-only, so the schema comes from the entities here
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class RefereeSearchRepositoryTest {
+
+    // Saturday 06:00-08:00 in Toronto
+    private static final OffsetDateTime START = OffsetDateTime.of(2030, 5, 4, 10, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime END = START.plusHours(2);
+
+    @Autowired TestEntityManager entityManager;
+    @Autowired RefereeProfileRepository refereeProfileRepository;
+    @Autowired RefereeAvailabilityRepository availabilityRepository;
+    @Autowired LeagueMatchRepository leagueMatchRepository;
+
+    @Test
+    void search_matchesCaseFoldedSportAndRegionKeys() {
+        referee("ref_montreal", true, "Soccer", "Montreal");
+        referee("ref_laval", true, " SOCCER", "Laval");
+        referee("ref_inactive", false, "soccer", "Montreal");
+        referee("ref_hockey", true, "Hockey", "Montreal");
+        entityManager.flush();
+
+        assertEquals(Set.of("ref_montreal"), searchIds(Specification.allOf(
+                RefereeSpecifications.active(true),
+                RefereeSpecifications.hasSport("soccer"),
+                RefereeSpecifications.hasRegion("montreal"))));
+        assertEquals(Set.of("ref_montreal", "ref_laval"), searchIds(Specification.allOf(
+                RefereeSpecifications.active(true),
+                RefereeSpecifications.hasSport("soccer"),
+                RefereeSpecifications.inAnyRegion(Set.of("laval", "montreal")))));
+    }
+
+    @Test
+    void search_keepsOnlyRefereesAvailableAndFreeOfLeagueMatchesDuringTheMatch() {
+        League league = entityManager.persist(League.builder()
+                .name("Sunday League")
+                .sport("soccer")
+                .slug("sunday-league")
+                .ownerUserId("owner_1")
+                .privacy(LeaguePrivacy.PUBLIC)
+                .seasonCount(1)
+                .build());
+        UUID thisMatchId = leagueMatch(league, "ref_this_match", START, END, LeagueMatchStatus.CONFIRMED).getId();
+
+        referee("ref_no_windows", true, "soccer", "montreal");
+        referee("ref_weekly", true, "soccer", "montreal");
+        weekly("ref_weekly", DayOfWeek.SATURDAY, LocalTime.of(5, 0), LocalTime.of(9, 0), "America/Toronto");
+        referee("ref_weekly_other_zone", true, "soccer", "montreal");
+        weekly("ref_weekly_other_zone", DayOfWeek.SATURDAY, LocalTime.of(10, 0), LocalTime.of(12, 0), "Asia/Tokyo");
+        referee("ref_weekly_wrong_day", true, "soccer", "montreal");
+        weekly("ref_weekly_wrong_day", DayOfWeek.SUNDAY, LocalTime.of(5, 0), LocalTime.of(9, 0), "America/Toronto");
+        referee("ref_one_off", true, "soccer", "montreal");
+        oneOff("ref_one_off", START.minusHours(1), END.plusHours(1));
+        referee("ref_one_off_short", true, "soccer", "montreal");
+        oneOff("ref_one_off_short", START.minusHours(1), END.minusMinutes(30));
+        referee("ref_busy", true, "soccer", "montreal");
+        leagueMatch(league, "ref_busy", START.plusMinutes(90), END.plusHours(1), LeagueMatchStatus.CONFIRMED);
+        referee("ref_cancelled", true, "soccer", "montreal");
+        leagueMatch(league, "ref_cancelled", START, END, LeagueMatchStatus.CANCELLED);
+        referee("ref_this_match", true, "soccer", "montreal");
+        entityManager.flush();
+
+        var spec = Specification.allOf(
+                RefereeSpecifications.hasSport("soccer"),
+                RefereeSpecifications.hasAvailabilityOverlapping(START, END, availabilityService().weeklySlots(START, END)),
+                RefereeSpecifications.freeOfLeagueMatchesBetween(START, END, thisMatchId));
+
+        // ref_one_off_short only overlaps the match; the index drops it, see the test below
+        assertEquals(Set.of("ref_no_windows", "ref_weekly", "ref_one_off", "ref_one_off_short", "ref_cancelled",
+                        "ref_this_match"),
+                searchIds(spec));
+
+        var firstPage = refereeProfileRepository.search(spec, PageRequest.of(0, 3, RefereeSpecifications.SEARCH_ORDER));
+        assertEquals(3, firstPage.getNumberOfElements());
+        assertTrue(firstPage.hasNext());
+    }
+
+    @Test
+    void searchAndAssignment_acceptAdjacentWindowsAndRejectGaps() {
+        // 18:30-19:30 UTC on a Saturday; 23:00-01:00 in Toronto that night
+        OffsetDateTime evening = OffsetDateTime.of(2030, 5, 4, 18, 30, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime lateStart = OffsetDateTime.of(2030, 5, 5, 3, 0, 0, 0, ZoneOffset.UTC);
+
+        referee("ref_adjacent", true, "soccer", "montreal");
+        oneOff("ref_adjacent", evening.withHour(18).withMinute(0), evening.withHour(19).withMinute(0));
+        oneOff("ref_adjacent", evening.withHour(19).withMinute(0), evening.withHour(20).withMinute(0));
+        referee("ref_gap", true, "soccer", "montreal");
+        oneOff("ref_gap", evening.withHour(18).withMinute(0), evening.withHour(19).withMinute(0));
+        oneOff("ref_gap", evening.withHour(19).withMinute(15), evening.withHour(20).withMinute(0));
+        referee("ref_across_midnight", true, "soccer", "montreal");
+        oneOff("ref_across_midnight", lateStart.minusHours(1), lateStart.plusHours(1));
+        weekly("ref_across_midnight", DayOfWeek.SUNDAY, LocalTime.MIDNIGHT, LocalTime.of(2, 0), "America/Toronto");
+        referee("ref_after_midnight_only", true, "soccer", "montreal");
+        weekly("ref_after_midnight_only", DayOfWeek.SUNDAY, LocalTime.MIDNIGHT, LocalTime.of(2, 0), "America/Toronto");
+        entityManager.flush();
+
+        var availabilityService = availabilityService();
+        assertEquals(Set.of("ref_adjacent", "ref_gap"), searchIds(RefereeSpecifications.hasAvailabilityOverlapping(
+                evening, evening.plusHours(1), availabilityService.weeklySlots(evening, evening.plusHours(1)))));
+        assertEquals(Set.of("ref_across_midnight", "ref_after_midnight_only"), searchIds(
+                RefereeSpecifications.hasAvailabilityOverlapping(lateStart, lateStart.plusHours(2),
+                        availabilityService.weeklySlots(lateStart, lateStart.plusHours(2)))));
+
+        var eveningIndex = availabilityService.loadIndex(List.of("ref_adjacent", "ref_gap"),
+                evening, evening.plusHours(1), null);
+        assertTrue(eveningIndex.isFree("ref_adjacent", evening, evening.plusHours(1)));
+        assertFalse(eveningIndex.isFree("ref_gap", evening, evening.plusHours(1)));
+        var lateIndex = availabilityService.loadIndex(List.of("ref_across_midnight", "ref_after_midnight_only"),
+                lateStart, lateStart.plusHours(2), null);
+        assertTrue(lateIndex.isFree("ref_across_midnight", lateStart, lateStart.plusHours(2)));
+        assertFalse(lateIndex.isFree("ref_after_midnight_only", lateStart, lateStart.plusHours(2)));
+    }
+
+    private RefereeAvailabilityService availabilityService() {
+        return new RefereeAvailabilityService(availabilityRepository, refereeProfileRepository,
+                leagueMatchRepository, mock(TeamClient.class), null);
+    }
+
+    private Set<String> searchIds(Specification<RefereeProfile> spec) {
+        var slice = refereeProfileRepository.search(spec, PageRequest.of(0, 20, RefereeSpecifications.SEARCH_ORDER));
+        return Set.copyOf(slice.map(RefereeProfile::getUserId).getContent());
+    }
+
+    private void referee(String userId, boolean active, String sport, String region) {
+        RefereeProfile profile = RefereeProfile.builder().userId(userId).isActive(active).build();
+        profile.setSports(List.of(sport));
+        profile.setAllowedRegions(List.of(region));
+        entityManager.persist(profile);
+    }
+
+    private void weekly(String userId, DayOfWeek day, LocalTime from, LocalTime to, String timeZone) {
+        entityManager.persist(RefereeAvailability.builder()
+                .refereeUserId(userId)
+                .type(RefereeAvailabilityType.WEEKLY)
+                .dayOfWeek(day)
+                .startTime(from)
+                .endTime(to)
+                .timeZone(timeZone)
+                .build());
+    }
+
+    private void oneOff(String userId, OffsetDateTime from, OffsetDateTime to) {
+        entityManager.persist(RefereeAvailability.builder()
+                .refereeUserId(userId)
+                .type(RefereeAvailabilityType.ONE_OFF)
+                .startsAt(from)
+                .endsAt(to)
+                .build());
+    }
+
+    private LeagueMatch leagueMatch(League league, String refereeUserId, OffsetDateTime start, OffsetDateTime end,
+                                    LeagueMatchStatus status) {
+        return entityManager.persist(LeagueMatch.builder()
+                .league(league)
+                .homeTeamId(UUID.randomUUID())
+                .awayTeamId(UUID.randomUUID())
+                .sport("soccer")
+                .startTime(start)
+                .endTime(end)
+                .scheduledDate(start.toLocalDate())
+                .refereeUserId(refereeUserId)
+                .status(status)
+                .createdByUserId("owner_1")
+                .build());
+    }
+}
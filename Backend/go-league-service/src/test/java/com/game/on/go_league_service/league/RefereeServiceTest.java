@@ -4,27 +4,44 @@ import com.game.on.go_league_service.client.TeamClient;
 import com.game.on.go_league_service.config.CurrentUserProvider;
 import com.game.on.go_league_service.exception.BadRequestException;
 import com.game.on.go_league_service.league.dto.RefInviteRequest;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckRequest;
+import com.game.on.go_league_service.client.dto.TeamMembershipCheckResponse;
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.league.model.League;
 import com.game.on.go_league_service.league.model.LeagueMatch;
 import com.game.on.go_league_service.league.model.RefInvite;
 import com.game.on.go_league_service.league.model.RefInviteStatus;
+import com.game.on.go_league_service.league.model.RefereeProfile;
 import com.game.on.go_league_service.league.repository.LeagueMatchRepository;
 import com.game.on.go_league_service.league.repository.RefInviteRepository;
 import com.game.on.go_league_service.league.repository.RefereeProfileRepository;
 import com.game.on.go_league_service.league.repository.VenueRepository;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityIndex;
+import com.game.on.go_league_service.league.service.RefereeAvailabilityService;
 import com.game.on.go_league_service.league.service.RefereeService;
+import com.game.on.go_league_service.league.service.RefereeSpecifications;
+import com.game.on.go_league_service.league.service.TimeInterval;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +51,7 @@ class RefereeServiceTest {
     @Mock RefInviteRepository refInviteRepository;
     @Mock LeagueMatchRepository leagueMatchRepository;
     @Mock VenueRepository venueRepository;
+    @Mock RefereeAvailabilityService availabilityService;
     @Mock TeamClient teamClient;
     @Mock CurrentUserProvider userProvider;
 
@@ -44,7 +62,9 @@ class RefereeServiceTest {
 
     @BeforeEach
     void setup() {
-        when(userProvider.clerkUserId()).thenReturn("ref_1");
+        lenient().when(userProvider.clerkUserId()).thenReturn("ref_1");
+        lenient().when(availabilityService.loadIndex(any(), any(), any(), any()))
+                .thenReturn(RefereeAvailabilityIndex.build(Map.of(), Map.of()));
     }
 
     @Test
@@ -78,4 +98,125 @@ class RefereeServiceTest {
         verify(refInviteRepository).save(invite);
         assertEquals(RefInviteStatus.ACCEPTED, invite.getStatus());
     }
+
+    @Test
+    void search_pushesFiltersAndPagingToRepository() {
+        RefereeProfile profile = RefereeProfile.builder().userId("ref_2").isActive(true).build();
+        profile.setSports(List.of("Soccer"));
+        when(refereeProfileRepository.search(any(), eq(PageRequest.of(1, 100, RefereeSpecifications.SEARCH_ORDER))))
+                .thenReturn(new PageImpl<>(List.of(profile)));
+
+        var results = refereeService.search(" Soccer ", "MONTREAL", true, null, 1, 500);
+
+        assertEquals(1, results.size());
+        assertEquals("ref_2", results.get(0).userId());
+        verify(refereeProfileRepository, never()).findAll();
+        verifyNoInteractions(teamClient);
+    }
+
+    @Test
+    void search_withMatchWithoutRegion_filtersByTeamRegionsAndMembership() {
+        UUID homeTeamId = UUID.randomUUID();
+        UUID awayTeamId = UUID.randomUUID();
+        LeagueMatch match = new LeagueMatch();
+        match.setId(matchId);
+        match.setLeague(new League());
+        match.setHomeTeamId(homeTeamId);
+        match.setAwayTeamId(awayTeamId);
+        match.setSport("Soccer");
+        when(leagueMatchRepository.findById(matchId)).thenReturn(Optional.of(match));
+        when(teamClient.getTeam(homeTeamId)).thenReturn(new TeamSummaryResponse(homeTeamId, "soccer", List.of("Montreal"), "owner_1"));
+        when(teamClient.getTeam(awayTeamId)).thenReturn(new TeamSummaryResponse(awayTeamId, "soccer", List.of("Laval "), "owner_2"));
+
+        RefereeProfile eligible = RefereeProfile.builder().userId("ref_2").build();
+        RefereeProfile teamMember = RefereeProfile.builder().userId("ref_3").build();
+        when(refereeProfileRepository.search(any(), any()))
+                .thenReturn(new PageImpl<>(List.of(eligible, teamMember)));
+        when(teamClient.findMembers(new TeamMembershipCheckRequest(List.of(homeTeamId, awayTeamId), List.of("ref_2", "ref_3"))))
+                .thenReturn(new TeamMembershipCheckResponse(List.of("ref_3")));
+
+        var results = refereeService.search(null, null, true, matchId, 0, 0);
+
+        assertEquals(List.of("ref_2"), results.stream().map(r -> r.userId()).toList());
+        verify(teamClient, never()).isMember(any(), any());
+    }
+
+    @Test
+    void search_withMatch_dropsRefereesTheAvailabilityIndexRejects() {
+        OffsetDateTime start = OffsetDateTime.of(2030, 5, 4, 10, 0, 0, 0, ZoneOffset.UTC);
+        LeagueMatch match = new LeagueMatch();
+        match.setId(matchId);
+        match.setLeague(new League());
+        match.setHomeTeamId(UUID.randomUUID());
+        match.setAwayTeamId(UUID.randomUUID());
+        match.setSport("Soccer");
+        match.setMatchLocation("Montreal");
+        match.setStartTime(start);
+        match.setEndTime(start.plusHours(2));
+        when(leagueMatchRepository.findById(matchId)).thenReturn(Optional.of(match));
+
+        // the query only narrows by overlapping windows, see RefereeSearchRepositoryTest; the index
+        // assignment uses decides coverage and commitments
+        var adjacent = RefereeProfile.builder().userId("ref_adjacent").build();
+        var gap = RefereeProfile.builder().userId("ref_gap").build();
+        var busy = RefereeProfile.builder().userId("ref_busy").build();
+        when(refereeProfileRepository.search(any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(adjacent, gap, busy)));
+        when(teamClient.findMembers(any())).thenReturn(new TeamMembershipCheckResponse(List.of()));
+        when(availabilityService.loadIndex(List.of("ref_adjacent", "ref_gap", "ref_busy"), start, start.plusHours(2), matchId))
+                .thenReturn(RefereeAvailabilityIndex.build(
+                        Map.of("ref_adjacent", List.of(new TimeInterval(start.minusHours(1), start.plusHours(1)),
+                                        new TimeInterval(start.plusHours(1), start.plusHours(3))),
+                                "ref_gap", List.of(new TimeInterval(start.minusHours(1), start.plusHours(1)),
+                                        new TimeInterval(start.plusMinutes(75), start.plusHours(3)))),
+                        Map.of("ref_busy", List.of(new TimeInterval(start.plusMinutes(90), start.plusHours(3))))));
+
+        var results = refereeService.search(null, null, null, matchId, 0, 20);
+
+        assertEquals(List.of("ref_adjacent"), results.stream().map(r -> r.userId()).toList());
+        verify(availabilityService).weeklySlots(start, start.plusHours(2));
+    }
+
+    @Test
+    void search_withMatch_fillsThePageFromLaterRowsWhenTeamMembersAreFilteredOut() {
+        LeagueMatch match = new LeagueMatch();
+        match.setId(matchId);
+        match.setLeague(new League());
+        match.setHomeTeamId(UUID.randomUUID());
+        match.setAwayTeamId(UUID.randomUUID());
+        match.setSport("Soccer");
+        match.setMatchLocation("Montreal");
+        when(leagueMatchRepository.findById(matchId)).thenReturn(Optional.of(match));
+
+        var member = RefereeProfile.builder().userId("ref_member").build();
+        var first = RefereeProfile.builder().userId("ref_1").build();
+        var second = RefereeProfile.builder().userId("ref_2").build();
+        var third = RefereeProfile.builder().userId("ref_3").build();
+        when(refereeProfileRepository.search(any(), eq(PageRequest.of(0, 100, RefereeSpecifications.SEARCH_ORDER))))
+                .thenReturn(new SliceImpl<>(List.of(member, first), PageRequest.of(0, 100), true));
+        when(refereeProfileRepository.search(any(), eq(PageRequest.of(1, 100, RefereeSpecifications.SEARCH_ORDER))))
+                .thenReturn(new SliceImpl<>(List.of(second, third), PageRequest.of(1, 100), false));
+        when(teamClient.findMembers(any())).thenReturn(new TeamMembershipCheckResponse(List.of("ref_member")));
+
+        var results = refereeService.search(null, null, null, matchId, 1, 2);
+
+        // page 0 holds ref_1 and ref_2 once the team member is dropped, so page 1 starts at ref_3
+        assertEquals(List.of("ref_3"), results.stream().map(r -> r.userId()).toList());
+    }
+
+    @Test
+    void search_whenSportDiffersFromMatch_returnsEmptyWithoutQuerying() {
+        LeagueMatch match = new LeagueMatch();
+        match.setLeague(new League());
+        match.setHomeTeamId(UUID.randomUUID());
+        match.setAwayTeamId(UUID.randomUUID());
+        match.setSport("Soccer");
+        match.setMatchLocation("Montreal");
+        when(leagueMatchRepository.findById(matchId)).thenReturn(Optional.of(match));
+
+        var results = refereeService.search("hockey", null, null, matchId, 0, 20);
+
+        assertEquals(0, results.size());
+        verify(refereeProfileRepository, never()).search(any(), any());
+    }
 }
@@ -0,0 +1,72 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.league.model.StandingsRules;
+import com.game.on.go_league_service.league.service.SeasonSimulator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SeasonSimulatorTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static SeasonSimulator.Season season(int[] points, int[] goalsFor, int[] goalsAgainst, int[] home, int[] away) {
+        int teams = points.length;
+        int[] played = new int[teams];
+        int[] wins = new int[teams];
+        for (int t = 0; t < teams; t++) {
+            played[t] = 10;
+            wins[t] = points[t] / 3;
+        }
+        return new SeasonSimulator.Season(StandingsRules.SOCCER, played, wins, new int[teams], goalsFor, goalsAgainst,
+                points, home, away);
+    }
+
+    @Test
+    void simulate_withNoFixturesLeft_reproducesTheCurrentTable() {
+        var season = season(new int[]{30, 21, 12, 3}, new int[]{30, 20, 10, 5}, new int[]{5, 10, 20, 30},
+                new int[0], new int[0]);
+
+        var result = SeasonSimulator.simulate(season, 5000, 2, 42L, pool);
+
+        assertThat(result.playoffCounts()).containsExactly(5000, 5000, 0, 0);
+        assertThat(result.firstPlaceCounts()).containsExactly(5000, 0, 0, 0);
+        assertThat(result.rankSums()).containsExactly(5000, 10000, 15000, 20000);
+    }
+
+    @Test
+    void simulate_teamOutOfReachIsEliminatedAndLeaderUsuallyQualifies() {
+        // team 3 is 9 points behind with one game left; teams 1 and 2 meet for the last spot
+        var season = season(new int[]{24, 15, 15, 6}, new int[]{25, 15, 15, 8}, new int[]{8, 15, 15, 25},
+                new int[]{1, 0}, new int[]{2, 3});
+
+        var result = SeasonSimulator.simulate(season, 20000, 2, 7L, pool);
+
+        assertThat(result.playoffCounts()[0]).isEqualTo(20000);
+        assertThat(result.playoffCounts()[3]).isZero();
+        assertThat(result.playoffCounts()[1] + result.playoffCounts()[2]).isEqualTo(20000);
+        // evenly matched, so the last spot is close to a coin toss
+        assertThat((double) result.playoffCounts()[1] / 20000).isCloseTo(0.5, within(0.05));
+    }
+
+    @Test
+    void simulate_isDeterministicForASeed() {
+        var season = season(new int[]{10, 10, 10, 10}, new int[]{12, 9, 10, 11}, new int[]{10, 11, 10, 11},
+                new int[]{0, 2, 0, 1}, new int[]{1, 3, 2, 3});
+
+        var first = SeasonSimulator.simulate(season, 10000, 2, 99L, pool);
+        var second = SeasonSimulator.simulate(season, 10000, 2, 99L, pool);
+
+        assertThat(first.playoffCounts()).containsExactly(second.playoffCounts());
+        assertThat(first.rankSums()).containsExactly(second.rankSums());
+    }
+}
@@ -0,0 +1,138 @@
+package com.game.on.go_league_service.league;
+
+import com.game.on.go_league_service.client.dto.TeamSummaryResponse;
+import com.game.on.go_league_service.league.model.LeagueMatch;
+import com.game.on.go_league_service.league.model.LeagueMatchScore;
+import com.game.on.go_league_service.league.model.StandingScore;
+import com.game.on.go_league_service.league.model.StandingStrategy;
+import com.game.on.go_league_service.league.model.StandingStrategyFactory;
+import com.game.on.go_league_service.league.model.TieBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StandingStrategyTest {
+
+    private final Map<String, TeamSummaryResponse> teams = new HashMap<>();
+    private final List<LeagueMatch> matches = new ArrayList<>();
+    private final Map<UUID, LeagueMatchScore> scores = new HashMap<>();
+
+    private TeamSummaryResponse team(String name) {
+        return teams.computeIfAbsent(name, ignored ->
+                new TeamSummaryResponse(UUID.randomUUID(), "any", List.of(), "owner", name, null));
+    }
+
+    private void result(String home, String away, int homeScore, int awayScore) {
+        LeagueMatch match = LeagueMatch.builder()
+                .id(UUID.randomUUID())
+                .homeTeamId(team(home).id())
+                .awayTeamId(team(away).id())
+                .build();
+        matches.add(match);
+        scores.put(match.getId(), LeagueMatchScore.builder().match(match).homeScore(homeScore).awayScore(awayScore).build());
+    }
+
+    private List<String> rank(StandingStrategy strategy) {
+        List<StandingScore> standings = strategy.calculateStanding(List.copyOf(teams.values()), matches, scores);
+        for (int i = 0; i < standings.size(); i++) {
+            assertThat(standings.get(i).getRank()).isEqualTo(i + 1);
+        }
+        return standings.stream().map(StandingScore::getTeamName).toList();
+    }
+
+    @Test
+    void soccer_breaksPointsTiesOnGoalDifferenceThenGoalsFor() {
+        result("A", "D", 3, 0);
+        result("B", "D", 4, 1);
+        result("C", "D", 1, 0);
+        result("A", "B", 1, 1);
+        result("C", "A", 1, 1);
+        result("B", "C", 1, 1);
+
+        // A, B and C all have 5 points; A and B have +3, B scored more
+        assertThat(rank(StandingStrategyFactory.createStandingStrategy("Soccer")))
+                .containsExactly("B", "A", "C", "D");
+    }
+
+    @Test
+    void headToHead_onlyCountsMatchesBetweenTheTiedTeams() {
+        result("A", "B", 1, 0);
+        result("B", "C", 1, 0);
+        result("C", "A", 1, 0);
+        result("A", "D", 1, 0);
+        result("B", "D", 5, 0);
+        result("D", "C", 0, 1);
+        result("D", "A", 2, 0);
+
+        // A, B, C on 6 points; their mini-league is a cycle, so the chain moves on to goal difference
+        var strategy = StandingStrategyFactory.createStandingStrategy("soccer",
+                List.of(TieBreaker.HEAD_TO_HEAD, TieBreaker.GOAL_DIFFERENCE));
+        assertThat(rank(strategy)).containsExactly("B", "C", "A", "D");
+    }
+
+    @Test
+    void headToHead_ordersTwoTeamsLevelOnPointsByTheirMeeting() {
+        result("Z", "A", 1, 0);
+        result("A", "P", 5, 0);
+        result("Z", "Q", 0, 1);
+        result("P", "Q", 0, 0);
+
+        // A and Z both have 3 points; A has the better goal difference (+4 to 0) and the earlier
+        // name, so only Z's win over A can put Z ahead
+        assertThat(rank(StandingStrategyFactory.createStandingStrategy("soccer",
+                List.of(TieBreaker.HEAD_TO_HEAD, TieBreaker.GOAL_DIFFERENCE))))
+                .containsExactly("Q", "Z", "A", "P");
+        assertThat(rank(StandingStrategyFactory.createStandingStrategy("soccer", List.of(TieBreaker.GOAL_DIFFERENCE))))
+                .containsExactly("Q", "A", "Z", "P");
+    }
+
+    @Test
+    void basketball_ranksByWinPercentage() {
+        for (int i = 0; i < 3; i++) result("A", "X", 80, 70);
+        result("A", "X", 60, 70);
+        for (int i = 0; i < 5; i++) result("B", "Y", 80, 70);
+        for (int i = 0; i < 3; i++) result("B", "Y", 60, 70);
+
+        List<StandingScore> standings = StandingStrategyFactory.createStandingStrategy("basketball")
+                .calculateStanding(List.copyOf(teams.values()), matches, scores);
+
+        // A is 3-1 (.750), B is 5-3 (.625) despite more wins
+        assertThat(standings.stream().map(StandingScore::getTeamName).toList()).startsWith("A", "B");
+        assertThat(standings.get(0).getWinPercentage()).isEqualTo(0.75);
+    }
+
+    @Test
+    void volleyball_breaksMatchWinTiesOnSetRatio() {
+        result("A", "C", 3, 2);
+        result("B", "C", 3, 0);
+        result("C", "A", 3, 2);
+        result("C", "B", 3, 1);
+
+        // A and B each 1-1 in matches; B took 4 sets for 3 against, A 5 for 5
+        assertThat(rank(StandingStrategyFactory.createStandingStrategy("Volleyball")))
+                .containsExactly("C", "B", "A");
+    }
+
+    @Test
+    void factory_reusesCompiledStrategyPerRuleSet() {
+        assertThat(StandingStrategyFactory.createStandingStrategy("soccer"))
+                .isSameAs(StandingStrategyFactory.createStandingStrategy("SOCCER"))
+                .isSameAs(StandingStrategyFactory.createStandingStrategy("unknown sport"))
+                .isNotSameAs(StandingStrategyFactory.createStandingStrategy("soccer", List.of(TieBreaker.WINS)));
+    }
+
+    @Test
+    void parseList_rejectsUnknownTieBreakers() {
+        assertThat(TieBreaker.parseList("head_to_head, GOALS_FOR"))
+                .containsExactly(TieBreaker.HEAD_TO_HEAD, TieBreaker.GOALS_FOR);
+        assertThatThrownBy(() -> TieBreaker.parseList("COIN_TOSS"))
+                .hasMessageContaining("COIN_TOSS");
+    }
+}
@@ -0,0 +1,116 @@
+package com.game.on.go_league_service.payment;
+
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.service.PaymentIntentCreator;
+import com.game.on.go_league_service.payment.service.PaymentIntentStore;
+import com.game.on.go_league_service.payment.service.StripePaymentIntentGateway;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.CardException;
+import com.stripe.model.PaymentIntent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIntentCreatorTest {
+
+    @Mock
+    private PaymentIntentStore intentStore;
+
+    @Mock
+    private StripePaymentIntentGateway intentGateway;
+
+    @InjectMocks
+    private PaymentIntentCreator intentCreator;
+
+    private final UUID paymentId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(intentCreator, "maxAttempts", 3);
+        ReflectionTestUtils.setField(intentCreator, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(intentCreator, "retryBackoff", Duration.ofSeconds(2));
+    }
+
+    private Payment claimed(int attempts) {
+        Payment payment = Payment.builder()
+                .id(paymentId)
+                .userId("user_1")
+                .amount(2500L)
+                .currency("cad")
+                .status(PaymentStatus.CREATED)
+                .intentAttempts(attempts)
+                .build();
+        when(intentStore.claim(paymentId, Duration.ofMinutes(1))).thenReturn(Optional.of(payment));
+        return payment;
+    }
+
+    @Test
+    void attempt_storesIntentIdAndClientSecret() throws Exception {
+        Payment payment = claimed(1);
+        PaymentIntent intent = new PaymentIntent();
+        intent.setId("pi_1");
+        intent.setClientSecret("secret_1");
+        when(intentGateway.create(payment)).thenReturn(intent);
+
+        intentCreator.attempt(paymentId);
+
+        verify(intentStore).complete(paymentId, "pi_1", "secret_1");
+        verify(intentStore, never()).fail(any());
+    }
+
+    @Test
+    void attempt_networkError_schedulesRetryWithBackoff() throws Exception {
+        Payment payment = claimed(2);
+        when(intentGateway.create(payment)).thenThrow(new ApiConnectionException("timeout"));
+
+        intentCreator.attempt(paymentId);
+
+        verify(intentStore).retryLater(paymentId, Duration.ofSeconds(4));
+        verify(intentStore, never()).fail(any());
+    }
+
+    @Test
+    void attempt_networkErrorOnLastAttempt_failsPayment() throws Exception {
+        Payment payment = claimed(3);
+        when(intentGateway.create(payment)).thenThrow(new ApiConnectionException("timeout"));
+
+        intentCreator.attempt(paymentId);
+
+        verify(intentStore).fail(paymentId);
+        verify(intentStore, never()).retryLater(any(), any());
+    }
+
+    @Test
+    void attempt_requestRejectedByStripe_failsWithoutRetry() throws Exception {
+        Payment payment = claimed(1);
+        when(intentGateway.create(payment))
+                .thenThrow(new CardException("declined", null, "card_declined", null, null, null, 402, null));
+
+        intentCreator.attempt(paymentId);
+
+        verify(intentStore).fail(paymentId);
+        verify(intentStore, never()).retryLater(any(), any());
+    }
+
+    @Test
+    void attempt_paymentNoLongerPending_doesNotCallStripe() {
+        when(intentStore.claim(paymentId, Duration.ofMinutes(1))).thenReturn(Optional.empty());
+
+        intentCreator.attempt(paymentId);
+
+        verifyNoInteractions(intentGateway);
+    }
+}
@@ -0,0 +1,82 @@
+package com.game.on.go_league_service.payment;
+
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.PaymentIntentStore;
+import com.game.on.go_league_service.payment.service.PaymentOutboxService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIntentStoreTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(3);
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
+    @InjectMocks
+    private PaymentIntentStore intentStore;
+
+    private final UUID paymentId = UUID.randomUUID();
+
+    private Payment pending(int attempts, OffsetDateTime nextAttemptAt) {
+        Payment payment = Payment.builder()
+                .id(paymentId)
+                .userId("user_1")
+                .amount(2500L)
+                .currency("cad")
+                .status(PaymentStatus.CREATED)
+                .intentAttempts(attempts)
+                .intentNextAttemptAt(nextAttemptAt)
+                .build();
+        when(paymentRepository.findWithLockById(paymentId)).thenReturn(Optional.of(payment));
+        return payment;
+    }
+
+    @Test
+    void claim_firstAttemptRunsInsideTheCreationLease() {
+        pending(0, OffsetDateTime.now().plus(LEASE));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Payment claimed = intentStore.claim(paymentId, LEASE).orElseThrow();
+
+        assertEquals(1, claimed.getIntentAttempts());
+        assertTrue(claimed.getIntentNextAttemptAt().isAfter(OffsetDateTime.now().plus(LEASE).minusSeconds(5)));
+    }
+
+    @Test
+    void claim_skipsAPaymentWhoseLeaseIsStillHeld() {
+        Payment payment = pending(1, OffsetDateTime.now().plusMinutes(2));
+
+        assertTrue(intentStore.claim(paymentId, LEASE).isEmpty());
+        assertEquals(1, payment.getIntentAttempts());
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void claim_takesAPaymentOnceItsLeaseHasRunOut() {
+        pending(1, OffsetDateTime.now().minusSeconds(1));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Payment claimed = intentStore.claim(paymentId, LEASE).orElseThrow();
+
+        assertEquals(2, claimed.getIntentAttempts());
+    }
+}
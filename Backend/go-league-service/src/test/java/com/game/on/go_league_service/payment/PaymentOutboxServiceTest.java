@@ -0,0 +1,159 @@
+package com.game.on.go_league_service.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.on.common.dto.PaymentDTO;
+import com.game.on.go_league_service.kafka.PaymentProducer;
+import com.game.on.go_league_service.payment.metrics.PaymentOutboxMetrics;
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentOutboxMessage;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.repository.PaymentOutboxRepository;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.PaymentOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentOutboxServiceTest {
+
+    @Mock
+    private PaymentOutboxRepository outboxRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockProducer<String, PaymentDTO> producer;
+    private PaymentOutboxService outboxService;
+
+    @BeforeEach
+    void setup() {
+        producer = new MockProducer<>(false, new StringSerializer(), new JsonSerializer<>(objectMapper));
+        var kafkaTemplate = new KafkaTemplate<String, PaymentDTO>(() -> producer);
+        outboxService = new PaymentOutboxService(
+                outboxRepository,
+                paymentRepository,
+                new PaymentProducer(kafkaTemplate),
+                new PaymentOutboxMetrics(meterRegistry),
+                objectMapper
+        );
+        ReflectionTestUtils.setField(outboxService, "sendTimeout", Duration.ofMillis(200));
+    }
+
+    private Payment payment(PaymentStatus status) {
+        return Payment.builder()
+                .id(UUID.randomUUID())
+                .userId("user_1")
+                .leagueId(UUID.randomUUID())
+                .amount(2500L)
+                .currency("cad")
+                .status(status)
+                .build();
+    }
+
+    private PaymentOutboxMessage recorded(Payment payment) {
+        outboxService.record(payment);
+        ArgumentCaptor<PaymentOutboxMessage> captor = ArgumentCaptor.forClass(PaymentOutboxMessage.class);
+        verify(outboxRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void record_writesPaymentSnapshotToOutbox() throws Exception {
+        Payment payment = payment(PaymentStatus.SUCCEEDED);
+
+        PaymentOutboxMessage message = recorded(payment);
+
+        assertEquals(payment.getId(), message.getPaymentId());
+        assertEquals(PaymentDTO.TOPIC, message.getTopic());
+        assertNull(message.getPublishedAt());
+        PaymentDTO event = objectMapper.readValue(message.getPayload(), PaymentDTO.class);
+        assertEquals("SUCCEEDED", event.status());
+        assertEquals(2500L, event.amount());
+        assertEquals("user_1", event.userId());
+    }
+
+    @Test
+    void publishBatch_sendsKeyedMessagesInOrderAndMarksThemPublished() {
+        Payment first = payment(PaymentStatus.CREATED);
+        Payment second = payment(PaymentStatus.SUCCEEDED);
+        PaymentOutboxMessage firstMessage = recorded(first);
+        PaymentOutboxMessage secondMessage = recorded(second);
+        when(outboxRepository.lockUnpublished(10)).thenReturn(List.of(firstMessage, secondMessage));
+
+        CompletableFuture<Integer> published = CompletableFuture.supplyAsync(() -> outboxService.publishBatch(10));
+        while (producer.history().size() < 2) {
+            Thread.onSpinWait();
+        }
+        producer.completeNext();
+        producer.completeNext();
+
+        assertEquals(2, published.join());
+        List<ProducerRecord<String, PaymentDTO>> sent = producer.history();
+        assertEquals(PaymentDTO.TOPIC, sent.get(0).topic());
+        assertEquals(first.getId().toString(), sent.get(0).key());
+        assertEquals(second.getId().toString(), sent.get(1).key());
+        assertEquals("SUCCEEDED", sent.get(1).value().status());
+        assertNotNull(firstMessage.getPublishedAt());
+        assertNotNull(secondMessage.getPublishedAt());
+        assertEquals(2.0, meterRegistry.counter("payment_outbox_published").count());
+    }
+
+    @Test
+    void publishBatch_leavesUnacknowledgedMessagesPending() {
+        PaymentOutboxMessage ok = recorded(payment(PaymentStatus.CREATED));
+        PaymentOutboxMessage rejected = recorded(payment(PaymentStatus.FAILED));
+        when(outboxRepository.lockUnpublished(10)).thenReturn(List.of(ok, rejected));
+
+        CompletableFuture<Integer> published = CompletableFuture.supplyAsync(() -> outboxService.publishBatch(10));
+        while (producer.history().size() < 2) {
+            Thread.onSpinWait();
+        }
+        producer.completeNext();
+        producer.errorNext(new RuntimeException("broker unavailable"));
+
+        assertEquals(1, published.join());
+        assertNotNull(ok.getPublishedAt());
+        assertNull(rejected.getPublishedAt());
+        assertEquals(1, rejected.getAttempts());
+        assertEquals(1.0, meterRegistry.counter("payment_outbox_publish_failed").count());
+    }
+
+    @Test
+    void refreshBacklogMetrics_reportsPendingCountAndOldestAge() {
+        PaymentOutboxMessage oldest = PaymentOutboxMessage.builder()
+                .id(1L)
+                .createdAt(OffsetDateTime.now().minusSeconds(42))
+                .build();
+        when(outboxRepository.countByPublishedAtIsNull()).thenReturn(7L);
+        when(outboxRepository.findFirstByPublishedAtIsNullOrderByIdAsc()).thenReturn(Optional.of(oldest));
+
+        outboxService.refreshBacklogMetrics();
+
+        assertEquals(7.0, meterRegistry.get("payment_outbox_pending").gauge().value());
+        assertTrue(meterRegistry.get("payment_outbox_lag_seconds").gauge().value() >= 42.0);
+    }
+}
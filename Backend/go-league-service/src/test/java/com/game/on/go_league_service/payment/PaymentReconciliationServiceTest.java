@@ -0,0 +1,272 @@
+package com.game.on.go_league_service.payment;
+
+import com.game.on.go_league_service.exception.ConflictException;
+import com.game.on.go_league_service.payment.model.Payment;
+import com.game.on.go_league_service.payment.model.PaymentDriftKind;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationRun;
+import com.game.on.go_league_service.payment.model.PaymentReconciliationStatus;
+import com.game.on.go_league_service.payment.model.PaymentStatus;
+import com.game.on.go_league_service.payment.repository.PaymentReconciliationFindingRepository;
+import com.game.on.go_league_service.payment.repository.PaymentReconciliationRunRepository;
+import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.PaymentOutboxService;
+import com.game.on.go_league_service.payment.service.PaymentReconciliationService;
+import com.game.on.go_league_service.payment.service.PaymentReconciliationService.PaymentDrift;
+import com.game.on.go_league_service.payment.service.PaymentReconciliationStore;
+import com.game.on.go_league_service.payment.service.StripePaymentIntentSource;
+import com.game.on.go_league_service.payment.service.StripePaymentIntentSource.IntentSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentReconciliationRunRepository runRepository;
+
+    @Mock
+    private PaymentReconciliationFindingRepository findingRepository;
+
+    @Mock
+    private PaymentReconciliationStore store;
+
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
+    private final InMemoryIntents stripe = new InMemoryIntents();
+    private final OffsetDateTime base = OffsetDateTime.now().minusDays(1);
+    private PaymentReconciliationRun run;
+    private PaymentReconciliationService service;
+
+    @BeforeEach
+    void setup() {
+        service = new PaymentReconciliationService(paymentRepository, runRepository, findingRepository, store, stripe);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "windowPadding", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(service, "staleIntentAfter", Duration.ofHours(1));
+
+        run = PaymentReconciliationRun.builder()
+                .id(UUID.randomUUID())
+                .status(PaymentReconciliationStatus.RUNNING)
+                .build();
+        lenient().when(store.startOrResume(anyBoolean())).thenReturn(run);
+        lenient().when(store.recordBatch(any(), anyList(), any(), anyInt())).thenReturn(run);
+        lenient().when(store.complete(any())).thenReturn(run);
+    }
+
+    private Payment payment(PaymentStatus status, String intentId, int minutes) {
+        return Payment.builder()
+                .id(UUID.randomUUID())
+                .userId("user_1")
+                .amount(2500L)
+                .currency("cad")
+                .status(status)
+                .stripePaymentIntentId(intentId)
+                .createdAt(base.plusMinutes(minutes))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<PaymentDrift>> recordedBatches(int times) {
+        ArgumentCaptor<List<PaymentDrift>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store, times(times)).recordBatch(eq(run.getId()), captor.capture(), any(), anyInt());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void run_walksPaymentsInKeysetBatchesAndReportsDrift() {
+        var stuck = payment(PaymentStatus.CREATED, "pi_stuck", 0);
+        var ok = payment(PaymentStatus.SUCCEEDED, "pi_ok", 1);
+        var wrongAmount = payment(PaymentStatus.SUCCEEDED, "pi_amount", 2);
+        stripe.add(new IntentSnapshot("pi_stuck", "succeeded", 2500L, "cad", null), stuck.getCreatedAt());
+        stripe.add(new IntentSnapshot("pi_ok", "succeeded", 2500L, "cad", null), ok.getCreatedAt());
+        stripe.add(new IntentSnapshot("pi_amount", "succeeded", 3000L, "cad", null), wrongAmount.getCreatedAt());
+
+        when(paymentRepository.findFirstPage(any())).thenReturn(List.of(stuck, ok));
+        when(paymentRepository.findPageAfter(eq(ok.getCreatedAt()), eq(ok.getId()), any())).thenReturn(List.of(wrongAmount));
+
+        service.run(false);
+
+        var batches = recordedBatches(2);
+        assertEquals(1, batches.get(0).size());
+        PaymentDrift statusDrift = batches.get(0).get(0);
+        assertEquals(PaymentDriftKind.STATUS_MISMATCH, statusDrift.kind());
+        assertEquals(stuck.getId(), statusDrift.paymentId());
+        assertEquals(PaymentStatus.SUCCEEDED, statusDrift.fixTo());
+        assertEquals(PaymentDriftKind.AMOUNT_MISMATCH, batches.get(1).get(0).kind());
+        assertNull(batches.get(1).get(0).fixTo());
+        verify(store).complete(run.getId());
+        assertEquals(0, stripe.retrieved, "all intents were found through the windowed listing");
+    }
+
+    @Test
+    void run_reportsButNeverCorrectsDriftAgainstANonTerminalStripeState() {
+        var awaiting = payment(PaymentStatus.CREATED, "pi_3ds", 0);
+        var settledTooEarly = payment(PaymentStatus.SUCCEEDED, "pi_processing", 1);
+        stripe.add(new IntentSnapshot("pi_3ds", "requires_action", 2500L, "cad", null), awaiting.getCreatedAt());
+        stripe.add(new IntentSnapshot("pi_processing", "processing", 2500L, "cad", null), settledTooEarly.getCreatedAt());
+        when(paymentRepository.findFirstPage(any())).thenReturn(List.of(awaiting, settledTooEarly));
+        when(paymentRepository.findPageAfter(eq(settledTooEarly.getCreatedAt()), eq(settledTooEarly.getId()), any()))
+                .thenReturn(List.of());
+
+        service.run(true);
+
+        var drifts = recordedBatches(1).get(0);
+        assertEquals(List.of(awaiting.getId(), settledTooEarly.getId()), drifts.stream().map(PaymentDrift::paymentId).toList());
+        assertTrue(drifts.stream().allMatch(drift -> drift.kind() == PaymentDriftKind.STATUS_MISMATCH));
+        assertTrue(drifts.stream().allMatch(drift -> drift.fixTo() == null));
+    }
+
+    @Test
+    void run_resumesFromTheSavedCursor() {
+        var cursorAt = base.plusMinutes(5);
+        var cursorId = UUID.randomUUID();
+        run.setCursorCreatedAt(cursorAt);
+        run.setCursorPaymentId(cursorId);
+        when(paymentRepository.findPageAfter(eq(cursorAt), eq(cursorId), any())).thenReturn(List.of());
+
+        service.run(false);
+
+        verify(paymentRepository, never()).findFirstPage(any());
+        verify(store, never()).recordBatch(any(), anyList(), any(), anyInt());
+        verify(store).complete(run.getId());
+    }
+
+    @Test
+    void run_reportsIntentsMissingInStripeAndPaymentsThatNeverGotOne() {
+        var missing = payment(PaymentStatus.CREATED, "pi_gone", 0);
+        var noIntent = payment(PaymentStatus.CREATED, null, 1);
+        var outsideWindow = payment(PaymentStatus.REQUIRES_ACTION, "pi_late", 2);
+        stripe.add(new IntentSnapshot("pi_late", "requires_action", 2500L, "cad", null), base.plusDays(3));
+        when(paymentRepository.findFirstPage(any())).thenReturn(List.of(missing, noIntent));
+        when(paymentRepository.findPageAfter(eq(noIntent.getCreatedAt()), eq(noIntent.getId()), any()))
+                .thenReturn(List.of(outsideWindow));
+
+        service.run(false);
+
+        var batches = recordedBatches(2);
+        assertEquals(List.of(PaymentDriftKind.MISSING_IN_STRIPE, PaymentDriftKind.INTENT_NEVER_CREATED),
+                batches.get(0).stream().map(PaymentDrift::kind).toList());
+        assertTrue(batches.get(1).isEmpty());
+        assertEquals(2, stripe.retrieved);
+    }
+
+    @Test
+    void run_marksTheRunFailedWhenStripeErrors() {
+        var payment = payment(PaymentStatus.CREATED, "pi_1", 0);
+        when(paymentRepository.findFirstPage(any())).thenReturn(List.of(payment));
+        stripe.failure = new IllegalStateException("stripe down");
+
+        assertThrows(IllegalStateException.class, () -> service.run(false));
+
+        verify(store).fail(eq(run.getId()), any(IllegalStateException.class));
+        verify(store, never()).complete(any());
+        assertFalse(service.isRunning());
+    }
+
+    @Test
+    void run_whileAnotherRunIsInProgress_throwsConflict() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(store.startOrResume(anyBoolean())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return run;
+        });
+        when(paymentRepository.findFirstPage(any())).thenReturn(List.of());
+
+        Thread first = new Thread(() -> service.run(false));
+        first.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ConflictException.class, () -> service.run(true));
+
+        release.countDown();
+        first.join(5000);
+        assertFalse(service.isRunning());
+    }
+
+    @Test
+    void recordBatch_skipsFixWhenPaymentChangedSinceComparison() {
+        var realStore = new PaymentReconciliationStore(runRepository, findingRepository, paymentRepository, paymentOutboxService);
+        run.setAutoFix(true);
+        when(runRepository.findById(run.getId())).thenReturn(Optional.of(run));
+        var moved = payment(PaymentStatus.SUCCEEDED, "pi_moved", 0);
+        var stuck = payment(PaymentStatus.CREATED, "pi_stuck", 1);
+        when(paymentRepository.findWithLockById(moved.getId())).thenReturn(Optional.of(moved));
+        when(paymentRepository.findWithLockById(stuck.getId())).thenReturn(Optional.of(stuck));
+
+        var drifts = List.of(
+                new PaymentDrift(moved.getId(), "pi_moved", PaymentDriftKind.STATUS_MISMATCH,
+                        PaymentStatus.CREATED, "canceled", PaymentStatus.CANCELED, "changed"),
+                new PaymentDrift(stuck.getId(), "pi_stuck", PaymentDriftKind.STATUS_MISMATCH,
+                        PaymentStatus.CREATED, "succeeded", PaymentStatus.SUCCEEDED, "stuck"));
+
+        var updated = realStore.recordBatch(run.getId(), drifts, stuck, 2);
+
+        assertEquals(PaymentStatus.SUCCEEDED, moved.getStatus());
+        assertEquals(PaymentStatus.SUCCEEDED, stuck.getStatus());
+        assertNotNull(stuck.getSucceededAt());
+        verify(paymentOutboxService).record(stuck);
+        verify(paymentOutboxService, never()).record(moved);
+        assertEquals(1, updated.getFixed());
+        assertEquals(2, updated.getMismatches());
+        assertEquals(stuck.getId(), updated.getCursorPaymentId());
+    }
+
+    private static final class InMemoryIntents implements StripePaymentIntentSource {
+        private final Map<String, IntentSnapshot> intents = new HashMap<>();
+        private final Map<String, OffsetDateTime> createdAt = new HashMap<>();
+        private RuntimeException failure;
+        private int retrieved;
+
+        void add(IntentSnapshot intent, OffsetDateTime created) {
+            intents.put(intent.id(), intent);
+            createdAt.put(intent.id(), created);
+        }
+
+        @Override
+        public Page listCreatedBetween(OffsetDateTime from, OffsetDateTime to, String startingAfter, int limit) {
+            if (failure != null) {
+                throw failure;
+            }
+            List<IntentSnapshot> page = new ArrayList<>();
+            for (var intent : intents.values()) {
+                var created = createdAt.get(intent.id());
+                if (!created.isBefore(from) && !created.isAfter(to)) {
+                    page.add(intent);
+                }
+            }
+            return new Page(page, false);
+        }
+
+        @Override
+        public Optional<IntentSnapshot> retrieve(String intentId) {
+            retrieved++;
+            return Optional.ofNullable(intents.get(intentId));
+        }
+    }
+}
@@ -8,18 +8,20 @@ import com.game.on.go_league_service.payment.mapper.PaymentMapper;
 import com.game.on.go_league_service.payment.model.Payment;
 import com.game.on.go_league_service.payment.model.PaymentStatus;
 import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.PaymentOutboxService;
+import com.game.on.go_league_service.payment.service.PaymentIntentDispatcher;
+import com.game.on.go_league_service.payment.service.StripePaymentIntentGateway;
 import com.game.on.go_league_service.payment.service.StripePaymentService;
 import com.stripe.exception.ApiException;
 import com.stripe.model.PaymentIntent;
-import com.stripe.param.PaymentIntentCreateParams;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,16 +34,25 @@ class StripePaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
     @Mock
     private PaymentMapper paymentMapper;
 
     @Mock
     private CurrentUserProvider userProvider;
 
+    @Mock
+    private StripePaymentIntentGateway intentGateway;
+
+    @Mock
+    private PaymentIntentDispatcher intentDispatcher;
+
     @Test
-    void createPaymentIntent_success_createsStripeIntent_savesPayment_andReturnsResponse() {
+    void createPaymentIntent_success_createsStripeIntent_savesPayment_andReturnsResponse() throws Exception {
         StripePaymentService service =
-                new StripePaymentService(paymentRepository, paymentMapper, userProvider);
+                new StripePaymentService(paymentRepository, paymentOutboxService, paymentMapper, userProvider, intentGateway, intentDispatcher);
 
         String userId = "user_123";
         UUID leagueId = UUID.randomUUID();
@@ -102,40 +113,38 @@ class StripePaymentServiceTest {
 
         when(userProvider.clerkUserId()).thenReturn(userId);
         when(paymentMapper.toPayment(req, userId)).thenReturn(mappedPayment);
+        when(paymentOutboxService.saveAndRecord(mappedPayment)).thenReturn(savedPayment);
         when(paymentRepository.save(any(Payment.class)))
-                .thenReturn(savedPayment, finalSavedPayment);
+                .thenReturn(finalSavedPayment);
         when(paymentMapper.toPaymentIntentResponse(finalSavedPayment, stripeIntent))
                 .thenReturn(expectedResponse);
 
-        try (MockedStatic<PaymentIntent> mocked = Mockito.mockStatic(PaymentIntent.class)) {
-            mocked.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)))
-                    .thenReturn(stripeIntent);
+        when(intentGateway.create(savedPayment)).thenReturn(stripeIntent);
 
-            CreatePaymentIntentResponse actual =
-                    service.createPaymentIntent(req);
+        CreatePaymentIntentResponse actual =
+                service.createPaymentIntent(req);
 
-            assertNotNull(actual);
-            assertEquals(expectedResponse, actual);
+        assertNotNull(actual);
+        assertEquals(expectedResponse, actual);
 
-            verify(paymentRepository, times(2)).save(any(Payment.class));
-            mocked.verify(
-                    () -> PaymentIntent.create(any(PaymentIntentCreateParams.class)),
-                    times(1)
-            );
+        verify(paymentOutboxService, times(1)).saveAndRecord(any(Payment.class));
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(intentGateway, times(1)).create(any(Payment.class));
+        verifyNoInteractions(intentDispatcher);
 
-            ArgumentCaptor<Payment> captor =
-                    ArgumentCaptor.forClass(Payment.class);
-            verify(paymentRepository, times(2)).save(captor.capture());
+        ArgumentCaptor<Payment> captor =
+                ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(captor.capture());
 
-            Payment secondSave = captor.getAllValues().get(1);
-            assertEquals("pi_123", secondSave.getStripePaymentIntentId());
-        }
+        Payment secondSave = captor.getValue();
+        assertEquals("pi_123", secondSave.getStripePaymentIntentId());
+        assertEquals("secret_abc", secondSave.getStripeClientSecret());
     }
 
     @Test
-    void createPaymentIntent_stripeFailure_marksPaymentFailed_andThrowsBadRequest() {
+    void createPaymentIntent_stripeFailure_marksPaymentFailed_andThrowsBadRequest() throws Exception {
         StripePaymentService service =
-                new StripePaymentService(paymentRepository, paymentMapper, userProvider);
+                new StripePaymentService(paymentRepository, paymentOutboxService, paymentMapper, userProvider, intentGateway, intentDispatcher);
 
         String userId = "user_123";
         UUID leagueId = UUID.randomUUID();
@@ -171,29 +180,64 @@ class StripePaymentServiceTest {
 
         when(userProvider.clerkUserId()).thenReturn(userId);
         when(paymentMapper.toPayment(req, userId)).thenReturn(mappedPayment);
-        when(paymentRepository.save(any(Payment.class)))
+        when(paymentOutboxService.saveAndRecord(any(Payment.class)))
                 .thenReturn(savedPayment);
 
         ApiException stripeError =
                 new ApiException("boom", null, null, Integer.valueOf(400), null);
 
-        try (MockedStatic<PaymentIntent> mocked = Mockito.mockStatic(PaymentIntent.class)) {
-            mocked.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)))
-                    .thenThrow(stripeError);
+        when(intentGateway.create(savedPayment)).thenThrow(stripeError);
+
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> service.createPaymentIntent(req)
+        );
+
+        assertTrue(ex.getMessage().startsWith("Stripe error:"));
+
+        ArgumentCaptor<Payment> captor =
+                ArgumentCaptor.forClass(Payment.class);
+        verify(paymentOutboxService, times(2)).saveAndRecord(captor.capture());
+
+        Payment failedPayment = captor.getAllValues().get(1);
+        assertEquals(PaymentStatus.FAILED, failedPayment.getStatus());
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void requestPaymentIntent_savesPendingPayment_dispatchesAndReturnsWithoutCallingStripe() throws Exception {
+        StripePaymentService service =
+                new StripePaymentService(paymentRepository, paymentOutboxService, paymentMapper, userProvider, intentGateway, intentDispatcher);
+        ReflectionTestUtils.setField(service, "lease", Duration.ofMinutes(1));
 
-            BadRequestException ex = assertThrows(
-                    BadRequestException.class,
-                    () -> service.createPaymentIntent(req)
-            );
+        UUID paymentId = UUID.randomUUID();
+        CreatePaymentIntentRequest req = new CreatePaymentIntentRequest(500L, "CAD", UUID.randomUUID(), null, null);
+        Payment mappedPayment = Payment.builder()
+                .userId("user_123")
+                .amount(500L)
+                .currency("cad")
+                .status(PaymentStatus.CREATED)
+                .build();
+        Payment savedPayment = Payment.builder()
+                .id(paymentId)
+                .userId("user_123")
+                .amount(500L)
+                .currency("cad")
+                .status(PaymentStatus.CREATED)
+                .build();
+        CreatePaymentIntentResponse pending =
+                new CreatePaymentIntentResponse(paymentId, null, null, 500L, "cad", PaymentStatus.CREATED);
 
-            assertTrue(ex.getMessage().startsWith("Stripe error:"));
+        when(userProvider.clerkUserId()).thenReturn("user_123");
+        when(paymentMapper.toPayment(req, "user_123")).thenReturn(mappedPayment);
+        when(paymentOutboxService.saveAndRecord(mappedPayment)).thenReturn(savedPayment);
+        when(paymentMapper.toPaymentIntentResponse(savedPayment)).thenReturn(pending);
 
-            ArgumentCaptor<Payment> captor =
-                    ArgumentCaptor.forClass(Payment.class);
-            verify(paymentRepository, times(2)).save(captor.capture());
+        CreatePaymentIntentResponse actual = service.requestPaymentIntent(req);
 
-            Payment failedPayment = captor.getAllValues().get(1);
-            assertEquals(PaymentStatus.FAILED, failedPayment.getStatus());
-        }
+        assertEquals(pending, actual);
+        assertNotNull(mappedPayment.getIntentNextAttemptAt(), "the sweeper needs a lease to pick up abandoned attempts");
+        verify(intentDispatcher).dispatch(paymentId);
+        verifyNoInteractions(intentGateway, paymentRepository);
     }
 }
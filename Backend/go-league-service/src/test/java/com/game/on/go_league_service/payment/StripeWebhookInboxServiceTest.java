@@ -0,0 +1,154 @@
+package com.game.on.go_league_service.payment;
+
+import com.game.on.go_league_service.payment.model.StripeWebhookEvent;
+import com.game.on.go_league_service.payment.model.StripeWebhookEventStatus;
+import com.game.on.go_league_service.payment.repository.StripeWebhookEventRepository;
+import com.game.on.go_league_service.payment.service.StripeWebhookInboxService;
+import com.game.on.go_league_service.payment.service.StripeWebhookService;
+import com.stripe.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripeWebhookInboxServiceTest {
+
+    private static final String PAYLOAD = """
+            {
+              "id": "evt_1",
+              "object": "event",
+              "type": "payment_intent.succeeded",
+              "created": 1700000000,
+              "data": { "object": { "id": "pi_1", "object": "payment_intent", "metadata": { } } }
+            }
+            """;
+
+    @Mock
+    private StripeWebhookEventRepository eventRepository;
+
+    @Mock
+    private StripeWebhookService stripeWebhookService;
+
+    @InjectMocks
+    private StripeWebhookInboxService inboxService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(inboxService, "maxAttempts", 3);
+    }
+
+    private static Event event(String id, String type) {
+        Event event = new Event();
+        event.setId(id);
+        event.setType(type);
+        event.setCreated(1_700_000_000L);
+        return event;
+    }
+
+    private static StripeWebhookEvent pending(int attempts) {
+        return StripeWebhookEvent.builder()
+                .id("evt_1")
+                .type("payment_intent.succeeded")
+                .payload(PAYLOAD)
+                .status(StripeWebhookEventStatus.PENDING)
+                .attempts(attempts)
+                .eventCreatedAt(OffsetDateTime.now())
+                .receivedAt(OffsetDateTime.now())
+                .nextAttemptAt(OffsetDateTime.now())
+                .build();
+    }
+
+    @Test
+    void accept_queuesHandledEventOnce() {
+        Event event = event("evt_1", "payment_intent.succeeded");
+        when(stripeWebhookService.isHandled("payment_intent.succeeded")).thenReturn(true);
+        when(stripeWebhookService.extractPaymentIntentId(event)).thenReturn("pi_1");
+        when(eventRepository.insertIfAbsent(eq("evt_1"), eq("payment_intent.succeeded"), eq("pi_1"), eq(PAYLOAD), any(), any()))
+                .thenReturn(1, 0);
+
+        assertTrue(inboxService.accept(event, PAYLOAD));
+        assertFalse(inboxService.accept(event, PAYLOAD));
+        verify(stripeWebhookService, never()).handleEvent(any());
+    }
+
+    @Test
+    void accept_ignoresUnhandledTypes() {
+        when(stripeWebhookService.isHandled("charge.refunded")).thenReturn(false);
+
+        assertFalse(inboxService.accept(event("evt_2", "charge.refunded"), "{}"));
+        verify(eventRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void process_appliesEventAndMarksItProcessed() {
+        StripeWebhookEvent inboxEvent = pending(0);
+        when(eventRepository.findWithLockByIdAndStatus("evt_1", StripeWebhookEventStatus.PENDING))
+                .thenReturn(Optional.of(inboxEvent));
+
+        assertTrue(inboxService.process("evt_1"));
+
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        verify(stripeWebhookService).handleEvent(captor.capture());
+        assertEquals("evt_1", captor.getValue().getId());
+        assertEquals(StripeWebhookEventStatus.PROCESSED, inboxEvent.getStatus());
+        assertEquals(1, inboxEvent.getAttempts());
+        assertNotNull(inboxEvent.getProcessedAt());
+    }
+
+    @Test
+    void process_whenAlreadyTakenOrProcessed_doesNothing() {
+        when(eventRepository.findWithLockByIdAndStatus("evt_1", StripeWebhookEventStatus.PENDING))
+                .thenReturn(Optional.empty());
+
+        assertFalse(inboxService.process("evt_1"));
+        verify(stripeWebhookService, never()).handleEvent(any());
+    }
+
+    @Test
+    void recordFailure_backsOffThenParksAfterMaxAttempts() {
+        StripeWebhookEvent inboxEvent = pending(0);
+        when(eventRepository.findById("evt_1")).thenReturn(Optional.of(inboxEvent));
+
+        inboxService.recordFailure("evt_1", new IllegalStateException("db down"));
+
+        assertEquals(StripeWebhookEventStatus.PENDING, inboxEvent.getStatus());
+        assertEquals(1, inboxEvent.getAttempts());
+        assertEquals("db down", inboxEvent.getLastError());
+        assertTrue(inboxEvent.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+
+        inboxService.recordFailure("evt_1", new IllegalStateException("db down"));
+        inboxService.recordFailure("evt_1", new IllegalStateException("db down"));
+
+        assertEquals(StripeWebhookEventStatus.FAILED, inboxEvent.getStatus());
+        assertEquals(3, inboxEvent.getAttempts());
+    }
+
+    @Test
+    void replay_resetsEventToPending() {
+        StripeWebhookEvent inboxEvent = pending(3);
+        inboxEvent.setStatus(StripeWebhookEventStatus.FAILED);
+        inboxEvent.setLastError("boom");
+        when(eventRepository.findById("evt_1")).thenReturn(Optional.of(inboxEvent));
+
+        inboxService.replay("evt_1");
+
+        assertEquals(StripeWebhookEventStatus.PENDING, inboxEvent.getStatus());
+        assertEquals(0, inboxEvent.getAttempts());
+        assertNull(inboxEvent.getLastError());
+        verify(eventRepository, never()).insertIfAbsent(anyString(), any(), any(), any(), any(), any());
+    }
+}
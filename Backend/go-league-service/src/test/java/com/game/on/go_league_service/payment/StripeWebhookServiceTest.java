@@ -3,6 +3,7 @@ package com.game.on.go_league_service.payment;
 import com.game.on.go_league_service.payment.model.Payment;
 import com.game.on.go_league_service.payment.model.PaymentStatus;
 import com.game.on.go_league_service.payment.repository.PaymentRepository;
+import com.game.on.go_league_service.payment.service.PaymentOutboxService;
 import com.game.on.go_league_service.payment.service.StripeWebhookService;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Event;
@@ -18,6 +19,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,6 +35,9 @@ class StripeWebhookServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
     private static void setWebhookSecret(StripeWebhookService service, String secret) {
         try {
             Field f = StripeWebhookService.class.getDeclaredField("webhookSecret");
@@ -68,7 +75,7 @@ class StripeWebhookServiceTest {
 
     @Test
     void verifyAndConstructEvent_throwsIllegalState_whenWebhookSecretMissing() {
-        StripeWebhookService service = new StripeWebhookService(paymentRepository);
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
         setWebhookSecret(service, ""); // blank secret
 
         assertThrows(IllegalStateException.class,
@@ -79,7 +86,7 @@ class StripeWebhookServiceTest {
     void verifyAndConstructEvent_callsStripeWebhookConstructEvent_whenSecretConfigured()
             throws SignatureVerificationException {
 
-        StripeWebhookService service = new StripeWebhookService(paymentRepository);
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
         setWebhookSecret(service, "whsec_test");
 
         String payload = "{\"id\":\"evt_1\"}";
@@ -104,7 +111,7 @@ class StripeWebhookServiceTest {
 
     @Test
     void handleEvent_succeeded_updatesPaymentByMetadata_setsSucceededAt() {
-        StripeWebhookService service = new StripeWebhookService(paymentRepository);
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
 
         UUID paymentId = UUID.randomUUID();
 
@@ -122,7 +129,7 @@ class StripeWebhookServiceTest {
                 .status(PaymentStatus.CREATED)
                 .build();
 
-        when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(existing));
+        when(paymentRepository.findWithLockById(paymentId)).thenReturn(Optional.of(existing));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
 
         service.handleEvent(event);
@@ -136,12 +143,13 @@ class StripeWebhookServiceTest {
         assertNull(saved.getFailedAt());
         assertNull(saved.getCanceledAt());
 
-        verify(paymentRepository, never()).findByStripePaymentIntentId(anyString());
+        verify(paymentRepository, never()).findWithLockByStripePaymentIntentId(anyString());
+        verify(paymentOutboxService).record(saved);
     }
 
     @Test
     void handleEvent_failed_updatesPaymentByPi_whenNoMetadata_setsFailedAt() {
-        StripeWebhookService service = new StripeWebhookService(paymentRepository);
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
 
         String raw = """
                 {
@@ -158,7 +166,7 @@ class StripeWebhookServiceTest {
                 .status(PaymentStatus.CREATED)
                 .build();
 
-        when(paymentRepository.findByStripePaymentIntentId("pi_456")).thenReturn(Optional.of(existing));
+        when(paymentRepository.findWithLockByStripePaymentIntentId("pi_456")).thenReturn(Optional.of(existing));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
 
         service.handleEvent(event);
@@ -172,12 +180,12 @@ class StripeWebhookServiceTest {
         assertNotNull(saved.getFailedAt());
         assertNull(saved.getCanceledAt());
 
-        verify(paymentRepository, never()).findById(any());
+        verify(paymentRepository, never()).findWithLockById(any());
     }
 
     @Test
     void handleEvent_canceled_updatesPaymentByPi_setsCanceledAt() {
-        StripeWebhookService service = new StripeWebhookService(paymentRepository);
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
 
         String raw = """
                 {
@@ -194,7 +202,7 @@ class StripeWebhookServiceTest {
                 .status(PaymentStatus.CREATED)
                 .build();
 
-        when(paymentRepository.findByStripePaymentIntentId("pi_cancel")).thenReturn(Optional.of(existing));
+        when(paymentRepository.findWithLockByStripePaymentIntentId("pi_cancel")).thenReturn(Optional.of(existing));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
 
         service.handleEvent(event);
@@ -211,7 +219,7 @@ class StripeWebhookServiceTest {
 
     @Test
     void handleEvent_requiresAction_updatesPaymentByPi_setsStatusOnly() {
-        StripeWebhookService service = new StripeWebhookService(paymentRepository);
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
 
         String raw = """
                 {
@@ -228,7 +236,7 @@ class StripeWebhookServiceTest {
                 .status(PaymentStatus.CREATED)
                 .build();
 
-        when(paymentRepository.findByStripePaymentIntentId("pi_action")).thenReturn(Optional.of(existing));
+        when(paymentRepository.findWithLockByStripePaymentIntentId("pi_action")).thenReturn(Optional.of(existing));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
 
         service.handleEvent(event);
@@ -242,4 +250,64 @@ class StripeWebhookServiceTest {
         assertNull(saved.getFailedAt());
         assertNull(saved.getCanceledAt());
     }
+
+    @Test
+    void handleEvent_olderThanLastAppliedEvent_isSkipped() {
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
+
+        String raw = """
+                {
+                  "id": "pi_late",
+                  "metadata": { }
+                }
+                """;
+
+        Event event = mockEventWithRawJson("payment_intent.requires_action", raw);
+        when(event.getCreated()).thenReturn(1_700_000_000L);
+
+        Payment existing = Payment.builder()
+                .id(UUID.randomUUID())
+                .stripePaymentIntentId("pi_late")
+                .status(PaymentStatus.SUCCEEDED)
+                .lastStripeEventAt(OffsetDateTime.ofInstant(Instant.ofEpochSecond(1_700_000_060L), ZoneOffset.UTC))
+                .build();
+
+        when(paymentRepository.findWithLockByStripePaymentIntentId("pi_late")).thenReturn(Optional.of(existing));
+
+        service.handleEvent(event);
+
+        assertEquals(PaymentStatus.SUCCEEDED, existing.getStatus());
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(paymentOutboxService, never()).record(any());
+    }
+
+    @Test
+    void handleEvent_newerEvent_recordsItsCreationTime() {
+        StripeWebhookService service = new StripeWebhookService(paymentRepository, paymentOutboxService);
+
+        String raw = """
+                {
+                  "id": "pi_new",
+                  "metadata": { }
+                }
+                """;
+
+        Event event = mockEventWithRawJson("payment_intent.succeeded", raw);
+        when(event.getCreated()).thenReturn(1_700_000_120L);
+
+        Payment existing = Payment.builder()
+                .id(UUID.randomUUID())
+                .stripePaymentIntentId("pi_new")
+                .status(PaymentStatus.REQUIRES_ACTION)
+                .lastStripeEventAt(OffsetDateTime.ofInstant(Instant.ofEpochSecond(1_700_000_060L), ZoneOffset.UTC))
+                .build();
+
+        when(paymentRepository.findWithLockByStripePaymentIntentId("pi_new")).thenReturn(Optional.of(existing));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.handleEvent(event);
+
+        assertEquals(PaymentStatus.SUCCEEDED, existing.getStatus());
+        assertEquals(Instant.ofEpochSecond(1_700_000_120L), existing.getLastStripeEventAt().toInstant());
+    }
 }
@@ -0,0 +1,173 @@
+package com.game.on.go_messaging_service.message;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages persisted per second by the synchronous send path against the write-behind batch path,
+ * for {@link #BATCH} messages spread over {@code conversations} chats. Both run the statements the
+ * real paths issue: the synchronous path checks the sender, inserts and moves the conversation
+ * summary in one transaction per message; the write-behind path checks each sender, then skips
+ * stored ids, inserts the batch as one JDBC batch and moves each conversation's summary once.
+ * Point {@code jdbcUrl} at a scratch PostgreSQL database for numbers that mean anything in
+ * production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessagePersistenceBenchmark {
+
+    private static final int BATCH = 500;
+
+    private static final String CHECK_PARTICIPANT = """
+            SELECT COUNT(*) FROM conversation_participants WHERE conversation_id = ? AND user_id = ?
+            """;
+    private static final String INSERT_MESSAGE = """
+            INSERT INTO messages (id, conversation_id, sender_id, content, created_at) VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String RECORD_LAST_MESSAGE = """
+            UPDATE conversations
+            SET last_message_at = ?, last_message_id = ?, last_message_sender_id = ?, last_message_preview = ?, updated_at = ?
+            WHERE id = ? AND (last_message_at IS NULL OR last_message_at <= ?)
+            """;
+
+    // a game day is a handful of very busy chats; an ordinary day spreads the same load thinly
+    @Param({"5", "500"})
+    int conversations;
+
+    @Param({"jdbc:h2:mem:messaging-benchmark;DB_CLOSE_DELAY=-1"})
+    String jdbcUrl;
+
+    @Param({""})
+    String username;
+
+    @Param({""})
+    String password;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UUID[] conversationIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        conversationIds = new UUID[conversations];
+        for (int i = 0; i < conversations; i++) {
+            var conversationId = UUID.randomUUID();
+            conversationIds[i] = conversationId;
+            jdbcTemplate.update("INSERT INTO conversations (id, type, name, created_by_user_id) VALUES (?, 'GROUP', ?, ?)",
+                    conversationId, "Benchmark " + i, sender(0));
+            for (int s = 0; s < 4; s++) {
+                jdbcTemplate.update("INSERT INTO conversation_participants (id, conversation_id, user_id, role) VALUES (?, ?, ?, 'MEMBER')",
+                        UUID.randomUUID(), conversationId, sender(s));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void synchronous() {
+        for (var message : nextBatch()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                checkParticipant(message);
+                jdbcTemplate.update(INSERT_MESSAGE, message.id(), message.conversationId(), message.senderId(),
+                        message.content(), message.createdAt());
+                recordLastMessage(message);
+            });
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void writeBehind() {
+        var batch = nextBatch();
+        // still checked one by one on the sending request, ahead of the enqueue
+        batch.forEach(this::checkParticipant);
+        transactionTemplate.executeWithoutResult(status -> {
+            // the redelivery check
+            namedJdbcTemplate.queryForList("SELECT id FROM messages WHERE id IN (:ids)",
+                    Map.of("ids", batch.stream().map(Row::id).toList()), UUID.class);
+            jdbcTemplate.batchUpdate(INSERT_MESSAGE, batch, batch.size(), (statement, message) -> {
+                statement.setObject(1, message.id());
+                statement.setObject(2, message.conversationId());
+                statement.setString(3, message.senderId());
+                statement.setString(4, message.content());
+                statement.setTimestamp(5, message.createdAt());
+            });
+            Map<UUID, Row> latest = new LinkedHashMap<>();
+            batch.forEach(message -> latest.put(message.conversationId(), message));
+            latest.values().forEach(this::recordLastMessage);
+        });
+    }
+
+    private void checkParticipant(Row message) {
+        jdbcTemplate.queryForObject(CHECK_PARTICIPANT, Integer.class, message.conversationId(), message.senderId());
+    }
+
+    private void recordLastMessage(Row message) {
+        jdbcTemplate.update(RECORD_LAST_MESSAGE, message.createdAt(), message.id(), message.senderId(),
+                message.content(), message.createdAt(), message.conversationId(), message.createdAt());
+    }
+
+    private List<Row> nextBatch() {
+        List<Row> batch = new ArrayList<>(BATCH);
+        var now = Instant.now();
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(new Row(UUID.randomUUID(), conversationIds[i % conversations], sender(i),
+                    "Game day message " + i, Timestamp.from(now.plusNanos(i * 1_000L))));
+        }
+        return batch;
+    }
+
+    private static String sender(int index) {
+        return "user-" + (index % 4);
+    }
+
+    private record Row(UUID id, UUID conversationId, String senderId, String content, Timestamp createdAt) {
+    }
+}
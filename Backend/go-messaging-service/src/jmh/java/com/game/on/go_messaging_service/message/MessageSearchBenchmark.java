@@ -0,0 +1,149 @@
+package com.game.on.go_messaging_service.message;
+
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
+import com.game.on.go_messaging_service.message.dto.MessageSearchResult;
+import com.game.on.go_messaging_service.message.repository.MessageSearchRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of search results with {@code messages} rows in the table, for a term in
+ * about one message in ten, one in ten thousand, and none. Needs a scratch PostgreSQL database
+ * ({@code -p jdbcUrl=...}); the data is seeded once per size and reused by later runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageSearchBenchmark {
+
+    private static final String USER = "bench-user";
+    private static final int CONVERSATIONS = 2_000;
+
+    @Param({"1000000", "5000000"})
+    int messages;
+
+    @Param({"jdbc:postgresql://localhost:5432/gameon_bench"})
+    String jdbcUrl;
+
+    @Param({"username"})
+    String username;
+
+    @Param({"password"})
+    String password;
+
+    private HikariDataSource dataSource;
+    private MessageSearchRepository searchRepository;
+    private UUID busiestConversation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate);
+        searchRepository = new MessageSearchRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+        busiestConversation = jdbcTemplate.queryForObject("""
+                SELECT cp.conversation_id FROM conversation_participants cp
+                WHERE cp.user_id = ? ORDER BY cp.conversation_id LIMIT 1
+                """, UUID.class, USER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<MessageSearchResult> commonTerm() {
+        return searchRepository.search(USER, "practice", null, null, 20);
+    }
+
+    @Benchmark
+    public List<MessageSearchResult> commonTermSecondPage() {
+        var first = searchRepository.search(USER, "practice", null, null, 20);
+        var last = first.get(first.size() - 1);
+        return searchRepository.search(USER, "practice", null, new HistoryCursor(last.createdAt(), last.id()), 20);
+    }
+
+    @Benchmark
+    public List<MessageSearchResult> rareTerm() {
+        return searchRepository.search(USER, "zamboni", null, null, 20);
+    }
+
+    @Benchmark
+    public List<MessageSearchResult> missingTerm() {
+        return searchRepository.search(USER, "quidditch", null, null, 20);
+    }
+
+    @Benchmark
+    public List<MessageSearchResult> withinOneConversation() {
+        return searchRepository.search(USER, "practice", busiestConversation, null, 20);
+    }
+
+    // the benchmark user is in one conversation out of ten; messages spread over the last year
+    private void seed(JdbcTemplate jdbcTemplate) {
+        var marker = "bench-" + messages;
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM conversations WHERE name = ?", Integer.class, marker);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        jdbcTemplate.execute("TRUNCATE messages, conversation_participants, conversations CASCADE");
+        jdbcTemplate.queryForObject("SELECT ensure_message_partitions(CAST(CURRENT_DATE - INTERVAL '1 year' AS DATE), CURRENT_DATE)",
+                Integer.class);
+        jdbcTemplate.update("""
+                INSERT INTO conversations (id, type, name, created_by_user_id)
+                SELECT gen_random_uuid(), 'GROUP', ?, 'bench-owner' FROM generate_series(1, ?)
+                """, marker, CONVERSATIONS);
+        jdbcTemplate.update("""
+                INSERT INTO conversation_participants (id, conversation_id, user_id, role)
+                SELECT gen_random_uuid(), id, ?, 'MEMBER'
+                FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM conversations) c
+                WHERE c.n % 10 = 0
+                """, USER);
+        jdbcTemplate.update("""
+                INSERT INTO messages (id, conversation_id, sender_id, content, created_at)
+                SELECT gen_random_uuid(),
+                       ids.list[1 + (g % array_length(ids.list, 1))],
+                       'user-' || (g % 50),
+                       (ARRAY['bring', 'water', 'moved', 'field', 'tonight', 'great', 'pass', 'coach', 'bus', 'late'])[1 + (g % 10)]
+                           || ' ' || (ARRAY['see', 'you', 'at', 'the', 'game', 'warmups', 'start', 'early'])[1 + (g % 8)]
+                           || CASE WHEN g % 10 = 0 THEN ' practice' ELSE '' END
+                           || CASE WHEN g % 10000 = 0 THEN ' zamboni' ELSE '' END,
+                       now() - make_interval(secs => (g::double precision * 31536000 / ?))
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(id ORDER BY id) AS list FROM conversations) ids
+                """, messages, messages);
+        jdbcTemplate.execute("ANALYZE messages");
+        jdbcTemplate.execute("ANALYZE conversation_participants");
+    }
+}
@@ -21,9 +21,14 @@ import java.util.stream.Collectors;
 public class TeamDirectoryService {
 
     private final TeamDirectoryClient teamDirectoryClient;
+    private final TeamSnapshotCache snapshotCache;
     private static final int TEAM_LIST_PAGE_SIZE = 50;
 
     public TeamSnapshot fetchSnapshot(UUID teamId) {
+        return snapshotCache.get(teamId, this::loadSnapshot);
+    }
+
+    private TeamSnapshot loadSnapshot(UUID teamId) {
         try {
             RemoteTeamDetail detail = teamDirectoryClient.fetchTeam(teamId);
             List<RemoteTeamMember> members = teamDirectoryClient.fetchMembers(teamId);
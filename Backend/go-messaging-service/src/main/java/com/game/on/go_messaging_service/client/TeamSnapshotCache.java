@@ -0,0 +1,110 @@
+package com.game.on.go_messaging_service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-limited cache of team snapshots so sending to or subscribing on a team chat does not
+ * call the team service each time. Entries are evicted early by membership events from
+ * go-team-service. Concurrent misses for the same team share one load, which runs on the first
+ * caller's thread so it keeps that caller's forwarded credentials.
+ */
+@Slf4j
+@Component
+public class TeamSnapshotCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TeamSnapshotCache(MeterRegistry meterRegistry,
+                             @Value("${team-snapshot.cache.ttl:PT5M}") Duration ttl,
+                             @Value("${team-snapshot.cache.max-entries:5000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("team_snapshot_cache_requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("team_snapshot_cache_requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("team_snapshot_cache_evictions").register(meterRegistry);
+        Gauge.builder("team_snapshot_cache_size", entries, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    public TeamSnapshot get(UUID teamId, Function<UUID, TeamSnapshot> loader) {
+        long now = System.nanoTime();
+        Entry cached = entries.get(teamId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            hits.increment();
+            return join(cached.snapshot());
+        }
+
+        misses.increment();
+        var loading = new Entry(new CompletableFuture<>(), now);
+        Entry winner = cached == null
+                ? entries.putIfAbsent(teamId, loading)
+                : entries.replace(teamId, cached, loading) ? null : entries.putIfAbsent(teamId, loading);
+        if (winner != null) {
+            // another caller is already loading or has just loaded this team
+            return join(winner.snapshot());
+        }
+
+        trimIfFull(now);
+        try {
+            TeamSnapshot snapshot = loader.apply(teamId);
+            loading.snapshot().complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException ex) {
+            entries.remove(teamId, loading);
+            loading.snapshot().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops the team's snapshot. A load already in flight still answers its waiters but is not
+     * kept, so the next caller reads the team again.
+     */
+    public void evict(UUID teamId) {
+        if (entries.remove(teamId) != null) {
+            evictions.increment();
+        }
+    }
+
+    private void trimIfFull(long now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.snapshot().isDone() && now - entry.loadedAt() >= ttlNanos);
+        if (entries.size() > maxEntries) {
+            log.info("team_snapshot_cache_cleared size={} maxEntries={}", entries.size(), maxEntries);
+            entries.values().removeIf(entry -> entry.snapshot().isDone());
+        }
+    }
+
+    private static TeamSnapshot join(CompletableFuture<TeamSnapshot> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry(CompletableFuture<TeamSnapshot> snapshot, long loadedAt) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.game.on.go_messaging_service.config;
+
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+
+/**
+ * Batch listener setup for the write-behind writer. A batch that fails (the database is down, a
+ * lock times out) is retried whole with exponential backoff, and messages already stored are
+ * skipped on redelivery. Only once retries run out, or for a message the database rejects
+ * outright, is a record published to {@code go-messaging-messages.DLT}; nothing is dropped.
+ */
+@Slf4j
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String MESSAGES_DLT = QueuedMessage.TOPIC + ".DLT";
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> messageWriterListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaOperations<String, QueuedMessage> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.write-behind.retry.initial-interval:PT1S}") Duration initialInterval,
+            @Value("${messaging.write-behind.retry.max-interval:PT1M}") Duration maxInterval,
+            @Value("${messaging.write-behind.retry.max-elapsed:PT15M}") Duration maxElapsed) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(
+                messageWriterErrorHandler(kafkaTemplate, meterRegistry, initialInterval, maxInterval, maxElapsed));
+        factory.getContainerProperties().setMicrometerEnabled(true);
+        return factory;
+    }
+
+    // not a bean: Boot would also hand a lone CommonErrorHandler bean to the default listener factory
+    public static DefaultErrorHandler messageWriterErrorHandler(KafkaOperations<String, QueuedMessage> kafkaTemplate,
+                                                                MeterRegistry meterRegistry,
+                                                                Duration initialInterval,
+                                                                Duration maxInterval,
+                                                                Duration maxElapsed) {
+        Counter deadLettered = Counter.builder("message_write_behind_dead_lettered")
+                .description("Queued messages published to the dead-letter topic instead of being stored")
+                .register(meterRegistry);
+        var recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate, (record, ex) -> {
+            deadLettered.increment();
+            log.error("message_write_behind_dead_lettered topic={} partition={} offset={} key={}",
+                    record.topic(), record.partition(), record.offset(), record.key(), ex);
+            return new TopicPartition(MESSAGES_DLT, -1);
+        });
+
+        var backOff = new ExponentialBackOff(initialInterval.toMillis(), 2.0);
+        backOff.setMaxInterval(maxInterval.toMillis());
+        backOff.setMaxElapsedTime(maxElapsed.toMillis());
+        var errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        // retrying cannot fix a message whose conversation is gone
+        errorHandler.addNotRetryableExceptions(DataIntegrityViolationException.class);
+        return errorHandler;
+    }
+}
@@ -1,32 +1,132 @@
 package com.game.on.go_messaging_service.config;
 
+import com.game.on.go_messaging_service.websocket.ClientOutboundMonitor;
 import com.game.on.go_messaging_service.websocket.GatewayHandshakeHandler;
+import com.game.on.go_messaging_service.websocket.PresenceActivityInterceptor;
 import com.game.on.go_messaging_service.websocket.SubscriptionAuthorizationInterceptor;
 import com.game.on.go_messaging_service.websocket.WebSocketAuthorizationChannelInterceptor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    /**
+     * Broker topic that /user messages are re-published to when no local session matches, so the
+     * instance holding the user's session can deliver them.
+     */
+    public static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    /**
+     * Broker topic each instance periodically publishes its local user sessions to, giving every
+     * instance a cluster-wide view of who is connected where.
+     */
+    public static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+    /**
+     * The only destinations clients may SEND to; everything under /topic and /queue is published
+     * by the server alone.
+     */
+    public static final String APPLICATION_PREFIX = "/app";
+
+    private static final String REACTOR_NETTY_TCP_CLIENT = "reactor.netty.tcp.TcpClient";
+
     private final GatewayHandshakeHandler handshakeHandler;
     private final SubscriptionAuthorizationInterceptor subscriptionAuthorizationInterceptor;
     private final WebSocketAuthorizationChannelInterceptor webSocketAuthorizationChannelInterceptor;
+    private final PresenceActivityInterceptor presenceActivityInterceptor;
+    private final ClientOutboundMonitor clientOutboundMonitor;
+    private TaskScheduler heartbeatScheduler;
+
+    @Value("${messaging.broker.heartbeat-interval:10000}")
+    private long heartbeatInterval;
+
+    @Value("${messaging.websocket.send-time-limit:PT10S}")
+    private Duration sendTimeLimit;
+
+    @Value("${messaging.websocket.send-buffer-size-limit:512KB}")
+    private DataSize sendBufferSizeLimit;
+
+    @Value("${messaging.broker.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${messaging.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${messaging.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${messaging.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${messaging.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${messaging.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${messaging.broker.relay.heartbeat-interval:10000}")
+    private long relayHeartbeatInterval;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue");
-        registry.setApplicationDestinationPrefixes("/app");
+        if (relayEnabled) {
+            enableBrokerRelay(registry);
+        } else {
+            // clients that send heartbeats keep their presence alive with them
+            registry.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeatInterval, heartbeatInterval})
+                    .setTaskScheduler(heartbeatScheduler);
+        }
+        registry.setApplicationDestinationPrefixes(APPLICATION_PREFIX);
         registry.setUserDestinationPrefix("/user");
     }
 
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
+    private void enableBrokerRelay(MessageBrokerRegistry registry) {
+        if (!ClassUtils.isPresent(REACTOR_NETTY_TCP_CLIENT, getClass().getClassLoader())) {
+            throw new IllegalStateException(
+                    "messaging.broker.relay.enabled requires reactor-netty-core; build with -Pbroker-relay");
+        }
+        var relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode)
+                .setSystemHeartbeatSendInterval(relayHeartbeatInterval)
+                .setSystemHeartbeatReceiveInterval(relayHeartbeatInterval)
+                .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+        if (StringUtils.hasText(relayVirtualHost)) {
+            relay.setVirtualHost(relayVirtualHost);
+        }
+        log.info("stomp_broker_relay_enabled host={} port={}", relayHost, relayPort);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -37,6 +137,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(webSocketAuthorizationChannelInterceptor, subscriptionAuthorizationInterceptor);
+        registration.interceptors(webSocketAuthorizationChannelInterceptor, subscriptionAuthorizationInterceptor,
+                presenceActivityInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(clientOutboundMonitor.executor());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // a client that cannot keep up within these limits is disconnected rather than buffered for
+        registration.setSendTimeLimit(Math.toIntExact(sendTimeLimit.toMillis()))
+                .setSendBufferSizeLimit(Math.toIntExact(sendBufferSizeLimit.toBytes()))
+                .addDecoratorFactory(clientOutboundMonitor::decorate);
     }
 }
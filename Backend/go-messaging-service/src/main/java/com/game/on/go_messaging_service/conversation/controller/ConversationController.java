@@ -4,6 +4,7 @@ import com.game.on.go_messaging_service.auth.CurrentUserProvider;
 import com.game.on.go_messaging_service.conversation.dto.ConversationListResponse;
 import com.game.on.go_messaging_service.conversation.dto.ConversationResponse;
 import com.game.on.go_messaging_service.conversation.dto.DirectConversationRequest;
+import com.game.on.go_messaging_service.conversation.dto.MarkReadRequest;
 import com.game.on.go_messaging_service.conversation.dto.TeamConversationRequest;
 import com.game.on.go_messaging_service.conversation.service.ConversationService;
 import jakarta.validation.Valid;
@@ -40,4 +41,11 @@ public class ConversationController {
         var response = conversationService.listConversations(currentUserProvider.requireUserId());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/conversations/{conversationId}/read")
+    public ResponseEntity<Void> markRead(@PathVariable UUID conversationId,
+                                         @Valid @RequestBody MarkReadRequest request) {
+        conversationService.markRead(conversationId, currentUserProvider.requireUserId(), request.messageId());
+        return ResponseEntity.noContent().build();
+    }
 }
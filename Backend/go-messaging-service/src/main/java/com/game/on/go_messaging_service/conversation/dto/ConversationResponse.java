@@ -17,6 +17,7 @@ public record ConversationResponse(
         OffsetDateTime createdAt,
         OffsetDateTime lastMessageAt,
         List<ConversationParticipantResponse> participants,
-        MessageResponse lastMessage
+        MessageResponse lastMessage,
+        long unreadCount
 ) {
 }
@@ -0,0 +1,8 @@
+package com.game.on.go_messaging_service.conversation.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record MarkReadRequest(@NotNull(message = "messageId is required") UUID messageId) {
+}
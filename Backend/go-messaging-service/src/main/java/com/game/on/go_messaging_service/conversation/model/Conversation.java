@@ -29,6 +29,8 @@ import java.util.UUID;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Conversation {
 
+    public static final int PREVIEW_LENGTH = 280;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @EqualsAndHashCode.Include
@@ -67,6 +69,16 @@ public class Conversation {
     @Column(name = "last_message_at")
     private OffsetDateTime lastMessageAt;
 
+    // summary of the latest message, kept in step by ConversationRepository.recordLastMessage
+    @Column(name = "last_message_id")
+    private UUID lastMessageId;
+
+    @Column(name = "last_message_sender_id", length = 128)
+    private String lastMessageSenderId;
+
+    @Column(name = "last_message_preview", length = Conversation.PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
     public boolean isDirect() {
         return type == ConversationType.DIRECT;
     }
@@ -74,4 +86,16 @@ public class Conversation {
     public boolean isGroup() {
         return type == ConversationType.GROUP;
     }
+
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = PREVIEW_LENGTH;
+        // do not split a surrogate pair
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
 }
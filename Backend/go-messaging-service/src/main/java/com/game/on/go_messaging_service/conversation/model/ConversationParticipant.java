@@ -45,4 +45,11 @@ public class ConversationParticipant {
 
     @Column(name = "joined_at", nullable = false, updatable = false)
     private OffsetDateTime joinedAt;
+
+    // the newest message this participant has read; messages after it count as unread
+    @Column(name = "last_read_message_id")
+    private UUID lastReadMessageId;
+
+    @Column(name = "last_read_at")
+    private OffsetDateTime lastReadAt;
 }
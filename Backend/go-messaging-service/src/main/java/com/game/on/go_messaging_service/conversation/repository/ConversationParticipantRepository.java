@@ -2,9 +2,11 @@ package com.game.on.go_messaging_service.conversation.repository;
 
 import com.game.on.go_messaging_service.conversation.model.ConversationParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +22,30 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
 
     boolean existsByConversationIdAndUserId(UUID conversationId, String userId);
 
+    @Query("""
+            select cp from ConversationParticipant cp join fetch cp.conversation c
+            where cp.userId = :userId and c.teamId is not null
+            """)
+    List<ConversationParticipant> findTeamParticipations(@Param("userId") String userId);
+
     @Query("select cp.userId from ConversationParticipant cp where cp.conversation.id = :conversationId")
     List<String> findParticipantIds(@Param("conversationId") UUID conversationId);
+
+    /**
+     * Moves a participant's read cursor forward; a cursor for an older message than the stored one
+     * is ignored, so flushes arriving out of order cannot move it back.
+     */
+    @Modifying
+    @Query("""
+            update ConversationParticipant cp
+            set cp.lastReadMessageId = :messageId,
+                cp.lastReadAt = :readAt
+            where cp.conversation.id = :conversationId
+              and cp.userId = :userId
+              and (cp.lastReadAt is null or cp.lastReadAt < :readAt)
+            """)
+    int advanceReadCursor(@Param("conversationId") UUID conversationId,
+                          @Param("userId") String userId,
+                          @Param("messageId") UUID messageId,
+                          @Param("readAt") OffsetDateTime readAt);
 }
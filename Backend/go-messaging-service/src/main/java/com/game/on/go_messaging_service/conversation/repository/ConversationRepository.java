@@ -2,9 +2,11 @@ package com.game.on.go_messaging_service.conversation.repository;
 
 import com.game.on.go_messaging_service.conversation.model.Conversation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -36,4 +38,25 @@ public interface ConversationRepository extends JpaRepository<Conversation, UUID
     List<UUID> findConversationIdsForUser(@Param("userId") String userId);
 
     List<Conversation> findByIdIn(Collection<UUID> ids);
+
+    /**
+     * Moves the last-message summary forward. The row lock taken by the update orders concurrent
+     * senders, and the guard keeps a slower transaction from replacing a newer message.
+     */
+    @Modifying
+    @Query("""
+            update Conversation c
+            set c.lastMessageAt = :sentAt,
+                c.lastMessageId = :messageId,
+                c.lastMessageSenderId = :senderId,
+                c.lastMessagePreview = :preview,
+                c.updatedAt = :sentAt
+            where c.id = :conversationId
+              and (c.lastMessageAt is null or c.lastMessageAt <= :sentAt)
+            """)
+    int recordLastMessage(@Param("conversationId") UUID conversationId,
+                          @Param("messageId") UUID messageId,
+                          @Param("senderId") String senderId,
+                          @Param("preview") String preview,
+                          @Param("sentAt") OffsetDateTime sentAt);
 }
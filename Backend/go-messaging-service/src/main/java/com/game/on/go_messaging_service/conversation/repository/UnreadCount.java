@@ -0,0 +1,6 @@
+package com.game.on.go_messaging_service.conversation.repository;
+
+import java.util.UUID;
+
+public record UnreadCount(UUID conversationId, long unread) {
+}
@@ -15,11 +15,18 @@ public class ConversationMapper {
 
     public ConversationResponse toConversationResponse(Conversation conversation,
                                                         List<ConversationParticipant> participants,
-                                                        Message lastMessage) {
+                                                        long unreadCount) {
         List<ConversationParticipantResponse> participantResponses = participants.stream()
                 .map(this::toParticipantResponse)
                 .toList();
-        MessageResponse lastMessageResponse = lastMessage == null ? null : toMessageResponse(lastMessage);
+        // content is the stored preview, not the full message
+        MessageResponse lastMessageResponse = conversation.getLastMessageId() == null ? null : new MessageResponse(
+                conversation.getLastMessageId(),
+                conversation.getId(),
+                conversation.getLastMessageSenderId(),
+                conversation.getLastMessagePreview(),
+                conversation.getLastMessageAt()
+        );
         return new ConversationResponse(
                 conversation.getId(),
                 conversation.getType(),
@@ -30,7 +37,8 @@ public class ConversationMapper {
                 conversation.getCreatedAt(),
                 conversation.getLastMessageAt(),
                 participantResponses,
-                lastMessageResponse
+                lastMessageResponse,
+                unreadCount
         );
     }
 
@@ -12,11 +12,11 @@ import com.game.on.go_messaging_service.conversation.model.ConversationParticipa
 import com.game.on.go_messaging_service.conversation.model.ConversationType;
 import com.game.on.go_messaging_service.conversation.repository.ConversationParticipantRepository;
 import com.game.on.go_messaging_service.conversation.repository.ConversationRepository;
+import com.game.on.go_messaging_service.conversation.repository.UnreadCount;
 import com.game.on.go_messaging_service.exception.BadRequestException;
 import com.game.on.go_messaging_service.exception.ConflictException;
 import com.game.on.go_messaging_service.exception.ForbiddenException;
 import com.game.on.go_messaging_service.exception.NotFoundException;
-import com.game.on.go_messaging_service.message.model.Message;
 import com.game.on.go_messaging_service.message.repository.MessageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,9 +36,10 @@ public class ConversationService {
 
     private final ConversationRepository conversationRepository;
     private final ConversationParticipantRepository participantRepository;
-    private final MessageRepository messageRepository;
     private final TeamDirectoryService teamDirectoryService;
     private final ConversationMapper conversationMapper;
+    private final MessageRepository messageRepository;
+    private final ReadCursorBuffer readCursorBuffer;
 
     private static final int MAX_GROUP_NAME = 120;
 
@@ -54,7 +55,7 @@ public class ConversationService {
         var second = ordered.get(1);
         var existing = conversationRepository.findByDirectUserOneIdAndDirectUserTwoId(first, second);
         if (existing.isPresent()) {
-            return buildResponse(existing.get());
+            return buildResponse(existing.get(), callerId);
         }
         try {
             var conversation = Conversation.builder()
@@ -70,11 +71,11 @@ public class ConversationService {
                     buildParticipant(saved, targetUserId, ConversationParticipantRole.MEMBER)
             );
             participantRepository.saveAll(participants);
-            return buildResponse(saved, participants, null);
+            return conversationMapper.toConversationResponse(saved, participants, 0);
         } catch (DataIntegrityViolationException ex) {
             var existingConversation = conversationRepository.findByDirectUserOneIdAndDirectUserTwoId(first, second)
                     .orElseThrow(() -> new ConflictException("Unable to create conversation"));
-            return buildResponse(existingConversation);
+            return buildResponse(existingConversation, callerId);
         }
     }
 
@@ -111,34 +112,32 @@ public class ConversationService {
             participants.add(buildParticipant(saved, snapshot.ownerUserId(), ConversationParticipantRole.OWNER));
         }
         participantRepository.saveAll(participants);
-        return buildResponse(saved, participants, null);
+        return conversationMapper.toConversationResponse(saved, participants, 0);
     }
 
     @Transactional
     public ConversationListResponse listConversations(String callerId) {
         var conversationIds = new ArrayList<>(conversationRepository.findConversationIdsForUser(callerId));
         var conversationIdSet = new HashSet<>(conversationIds);
+        Map<UUID, TeamSnapshot> teamSnapshots = new HashMap<>();
 
         var teamIds = teamDirectoryService.fetchActiveTeamIdsForUser();
         if (!teamIds.isEmpty()) {
-            var teamConversations = conversationRepository.findByTeamIdInAndEventFalse(teamIds);
-            if (!teamConversations.isEmpty()) {
-                Map<UUID, TeamSnapshot> teamSnapshots = new HashMap<>();
-                for (var conversation : teamConversations) {
-                    if (!conversationIdSet.add(conversation.getId())) {
-                        continue;
-                    }
-                    try {
-                        var snapshot = teamSnapshots.computeIfAbsent(
-                                conversation.getTeamId(),
-                                teamDirectoryService::fetchSnapshot
-                        );
-                        ensureParticipantForTeamConversation(conversation, callerId, snapshot);
-                        conversationIds.add(conversation.getId());
-                    } catch (ForbiddenException ex) {
-                        log.debug("conversation_access_denied conversationId={} userId={}",
-                                conversation.getId(), callerId);
-                    }
+            for (var conversation : conversationRepository.findByTeamIdInAndEventFalse(teamIds)) {
+                if (!conversationIdSet.add(conversation.getId())) {
+                    continue;
+                }
+                try {
+                    var snapshot = teamSnapshots.computeIfAbsent(
+                            conversation.getTeamId(),
+                            teamDirectoryService::fetchSnapshot
+                    );
+                    // not a participant yet, otherwise it would have been listed above
+                    ensureParticipantForTeamConversation(conversation, callerId, snapshot, null);
+                    conversationIds.add(conversation.getId());
+                } catch (ForbiddenException ex) {
+                    log.debug("conversation_access_denied conversationId={} userId={}",
+                            conversation.getId(), callerId);
                 }
             }
         }
@@ -147,56 +146,60 @@ public class ConversationService {
             return new ConversationListResponse(List.of());
         }
 
-        var conversations = conversationRepository.findByIdIn(conversationIds);
-        Map<UUID, Conversation> conversationMap = conversations.stream()
+        // one query each for conversations, participants and unread counts; the last message is denormalized
+        // on the conversation
+        readCursorBuffer.flush(callerId);
+        Map<UUID, Long> unreadCounts = messageRepository.countUnread(callerId, conversationIds).stream()
+                .collect(Collectors.toMap(UnreadCount::conversationId, UnreadCount::unread));
+        Map<UUID, Conversation> conversationMap = conversationRepository.findByIdIn(conversationIds).stream()
                 .collect(Collectors.toMap(Conversation::getId, c -> c));
+        Map<UUID, List<ConversationParticipant>> participantMap = participantRepository.findByConversationIdIn(conversationIds)
+                .stream()
+                .collect(Collectors.groupingBy(participant -> participant.getConversation().getId()));
 
-        Map<UUID, TeamSnapshot> teamSnapshots = new HashMap<>();
-        var filteredIds = new ArrayList<UUID>();
-        for (var conversationId : conversationIds) {
+        List<ConversationResponse> responses = new ArrayList<>();
+        for (UUID conversationId : conversationIds) {
             var conversation = conversationMap.get(conversationId);
             if (conversation == null) {
                 continue;
             }
+            var participantList = participantMap.getOrDefault(conversationId, List.of());
             if (conversation.isGroup() && conversation.getTeamId() != null) {
+                var participant = participantList.stream()
+                        .filter(candidate -> callerId.equals(candidate.getUserId()))
+                        .findFirst()
+                        .orElse(null);
                 try {
                     var snapshot = teamSnapshots.computeIfAbsent(
                             conversation.getTeamId(),
                             teamDirectoryService::fetchSnapshot
                     );
-                    ensureParticipantForTeamConversation(conversation, callerId, snapshot);
-                    filteredIds.add(conversationId);
+                    ensureParticipantForTeamConversation(conversation, callerId, snapshot, participant);
                 } catch (ForbiddenException ex) {
                     log.debug("conversation_access_revoked conversationId={} userId={}",
                             conversationId, callerId);
+                    continue;
                 }
-            } else {
-                filteredIds.add(conversationId);
             }
-        }
-
-        if (filteredIds.isEmpty()) {
-            return new ConversationListResponse(List.of());
-        }
-
-        var participants = participantRepository.findByConversationIdIn(filteredIds);
-        Map<UUID, List<ConversationParticipant>> participantMap = participants.stream()
-                .collect(Collectors.groupingBy(participant -> participant.getConversation().getId()));
-
-        List<ConversationResponse> responses = new ArrayList<>();
-        for (UUID conversationId : filteredIds) {
-            var conversation = conversationMap.get(conversationId);
-            if (conversation == null) {
-                continue;
-            }
-            var lastMessage = messageRepository.findTopByConversationIdOrderByCreatedAtDesc(conversationId)
-                    .orElse(null);
-            var participantList = participantMap.getOrDefault(conversationId, List.of());
-            responses.add(conversationMapper.toConversationResponse(conversation, participantList, lastMessage));
+            responses.add(conversationMapper.toConversationResponse(conversation, participantList,
+                    unreadCounts.getOrDefault(conversationId, 0L)));
         }
         return new ConversationListResponse(responses);
     }
 
+    /**
+     * Moves the caller's read cursor to {@code messageId}. The write is coalesced with the caller's
+     * other marks and lands within one flush interval; a cursor older than the stored one is ignored.
+     */
+    @Transactional
+    public void markRead(UUID conversationId, String callerId, UUID messageId) {
+        requireParticipant(conversationId, callerId);
+        var message = messageRepository.findById(messageId)
+                .filter(candidate -> candidate.getConversation().getId().equals(conversationId))
+                .orElseThrow(() -> new NotFoundException("Message not found"));
+        readCursorBuffer.record(conversationId, callerId, message.getId(), message.getCreatedAt());
+    }
+
     @Transactional(readOnly = true)
     public Conversation requireConversation(UUID conversationId) {
         return conversationRepository.findById(conversationId)
@@ -209,6 +212,24 @@ public class ConversationService {
         return ensureParticipant(conversation, userId);
     }
 
+    /**
+     * Drops the user's rows in chats of teams they are no longer an active member of. Those rows are
+     * otherwise only removed when the user next opens the chat, and queries that authorize by joining
+     * conversation_participants, such as message search, must not see the chat in the meantime.
+     */
+    @Transactional
+    public void revokeStaleTeamParticipation(String userId) {
+        Map<UUID, TeamSnapshot> teamSnapshots = new HashMap<>();
+        for (var participant : participantRepository.findTeamParticipations(userId)) {
+            var conversation = participant.getConversation();
+            var snapshot = teamSnapshots.computeIfAbsent(conversation.getTeamId(), teamDirectoryService::fetchSnapshot);
+            if (!snapshot.isActiveMember(userId)) {
+                participantRepository.delete(participant);
+                log.debug("conversation_access_revoked conversationId={} userId={}", conversation.getId(), userId);
+            }
+        }
+    }
+
     private ConversationParticipant ensureParticipant(Conversation conversation, String userId) {
         var participant = participantRepository.findByConversationIdAndUserId(conversation.getId(), userId)
                 .orElse(null);
@@ -233,14 +254,6 @@ public class ConversationService {
         return ensureParticipantForTeamConversation(conversation, userId, snapshot, participant);
     }
 
-    private ConversationParticipant ensureParticipantForTeamConversation(Conversation conversation,
-                                                                         String userId,
-                                                                         TeamSnapshot snapshot) {
-        var participant = participantRepository.findByConversationIdAndUserId(conversation.getId(), userId)
-                .orElse(null);
-        return ensureParticipantForTeamConversation(conversation, userId, snapshot, participant);
-    }
-
     private ConversationParticipant ensureParticipantForTeamConversation(Conversation conversation,
                                                                          String userId,
                                                                          TeamSnapshot snapshot,
@@ -261,17 +274,13 @@ public class ConversationService {
         return participant;
     }
 
-    private ConversationResponse buildResponse(Conversation conversation) {
+    private ConversationResponse buildResponse(Conversation conversation, String callerId) {
         var participants = participantRepository.findByConversationId(conversation.getId());
-        var lastMessage = messageRepository.findTopByConversationIdOrderByCreatedAtDesc(conversation.getId())
-                .orElse(null);
-        return conversationMapper.toConversationResponse(conversation, participants, lastMessage);
-    }
-
-    private ConversationResponse buildResponse(Conversation conversation,
-                                               List<ConversationParticipant> participants,
-                                               Message lastMessage) {
-        return conversationMapper.toConversationResponse(conversation, participants, lastMessage);
+        readCursorBuffer.flush(callerId);
+        long unread = messageRepository.countUnread(callerId, List.of(conversation.getId())).stream()
+                .mapToLong(UnreadCount::unread)
+                .sum();
+        return conversationMapper.toConversationResponse(conversation, participants, unread);
     }
 
     private ConversationParticipant buildParticipant(Conversation conversation,
@@ -0,0 +1,117 @@
+package com.game.on.go_messaging_service.conversation.service;
+
+import com.game.on.go_messaging_service.conversation.repository.ConversationParticipantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalesces read-cursor updates. A client scrolling through a conversation marks many messages
+ * read in quick succession; only the newest cursor per participant is kept and written once every
+ * {@code messaging.read-cursor.flush-interval}. Pending cursors live in this instance only, so a
+ * crash loses at most one interval of read state.
+ */
+@Slf4j
+@Component
+public class ReadCursorBuffer {
+
+    private final ConversationParticipantRepository participantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Key, Cursor> pending = new ConcurrentHashMap<>();
+    private final Counter marks;
+    private final Counter writes;
+
+    public ReadCursorBuffer(ConversationParticipantRepository participantRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.participantRepository = participantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.marks = Counter.builder("read_cursor_marks")
+                .description("Mark-read calls received")
+                .register(meterRegistry);
+        this.writes = Counter.builder("read_cursor_writes")
+                .description("Read cursors written after coalescing")
+                .register(meterRegistry);
+        Gauge.builder("read_cursor_pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void record(UUID conversationId, String userId, UUID messageId, OffsetDateTime readAt) {
+        marks.increment();
+        pending.merge(new Key(conversationId, userId), new Cursor(messageId, readAt), Cursor::newer);
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.read-cursor.flush-interval:PT2S}")
+    @PreDestroy
+    public void flush() {
+        try {
+            write(drain(null));
+        } catch (RuntimeException ex) {
+            log.warn("read_cursor_flush_failed", ex);
+        }
+    }
+
+    /**
+     * Writes one user's pending cursors now, joining the caller's transaction, so counts read
+     * straight afterwards reflect them.
+     */
+    public void flush(String userId) {
+        write(drain(userId));
+    }
+
+    private List<Map.Entry<Key, Cursor>> drain(String userId) {
+        List<Map.Entry<Key, Cursor>> drained = new ArrayList<>();
+        for (var entry : pending.entrySet()) {
+            var key = entry.getKey();
+            if (userId != null && !userId.equals(key.userId())) {
+                continue;
+            }
+            if (pending.remove(key, entry.getValue())) {
+                drained.add(Map.entry(key, entry.getValue()));
+            }
+        }
+        return drained;
+    }
+
+    private void write(List<Map.Entry<Key, Cursor>> drained) {
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> drained.forEach(entry -> {
+                var key = entry.getKey();
+                var cursor = entry.getValue();
+                participantRepository.advanceReadCursor(key.conversationId(), key.userId(),
+                        cursor.messageId(), cursor.readAt());
+            }));
+            writes.increment(drained.size());
+        } catch (RuntimeException ex) {
+            // put them back so the next flush retries, unless a newer cursor has arrived meanwhile
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Cursor::newer));
+            throw ex;
+        }
+    }
+
+    private record Key(UUID conversationId, String userId) {
+    }
+
+    private record Cursor(UUID messageId, OffsetDateTime readAt) {
+
+        private static Cursor newer(Cursor current, Cursor candidate) {
+            return candidate.readAt().isAfter(current.readAt()) ? candidate : current;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.game.on.go_messaging_service.kafka;
+
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
+import com.game.on.go_messaging_service.message.service.MessageBatchWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Persists queued messages in micro-batches of up to {@code messaging.write-behind.batch-size}.
+ * All instances share one consumer group so each message is written once; a conversation maps to
+ * one partition, so its messages arrive in send order on a single thread. Failures are left to the
+ * listener factory's error handler, which retries with backoff and dead-letters what cannot be
+ * stored (see {@link com.game.on.go_messaging_service.config.KafkaConsumerConfig}).
+ */
+@Slf4j
+@Service
+public class QueuedMessageConsumer {
+
+    private final MessageBatchWriter batchWriter;
+    private final DistributionSummary batchSizes;
+
+    public QueuedMessageConsumer(MessageBatchWriter batchWriter, MeterRegistry meterRegistry) {
+        this.batchWriter = batchWriter;
+        this.batchSizes = DistributionSummary.builder("message_write_behind_batch_size")
+                .description("Messages persisted per write-behind batch")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = QueuedMessage.TOPIC,
+            groupId = "go-messaging-service-writer",
+            batch = "true",
+            containerFactory = "messageWriterListenerContainerFactory",
+            autoStartup = "${messaging.write-behind.enabled:false}",
+            properties = {
+                    "max.poll.records=${messaging.write-behind.batch-size:500}",
+                    "spring.json.trusted.packages=com.game.on.go_messaging_service.message.dto",
+                    "spring.json.value.default.type=com.game.on.go_messaging_service.message.dto.QueuedMessage"
+            }
+    )
+    public void onMessages(List<QueuedMessage> batch) {
+        try {
+            batchSizes.record(batchWriter.write(batch));
+        } catch (DataIntegrityViolationException ex) {
+            // one bad message (e.g. its conversation was deleted) must not hold back the rest: store
+            // the messages ahead of it and let the error handler dead-letter it and redeliver the tail
+            log.warn("message_write_behind_batch_rejected size={}", batch.size(), ex);
+            for (int i = 0; i < batch.size(); i++) {
+                writeAlone(batch, i);
+            }
+        }
+    }
+
+    private void writeAlone(List<QueuedMessage> batch, int index) {
+        QueuedMessage message = batch.get(index);
+        try {
+            batchWriter.write(List.of(message));
+        } catch (DataIntegrityViolationException ex) {
+            throw new BatchListenerFailedException("message_write_behind_rejected messageId=" + message.id()
+                    + " conversationId=" + message.conversationId(), ex, index);
+        }
+    }
+}
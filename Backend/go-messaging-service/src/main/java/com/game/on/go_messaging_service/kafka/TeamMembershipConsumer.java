@@ -0,0 +1,38 @@
+package com.game.on.go_messaging_service.kafka;
+
+import com.game.on.common.dto.TeamMembershipEventDTO;
+import com.game.on.go_messaging_service.client.TeamSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamMembershipConsumer {
+    private final TeamSnapshotCache snapshotCache;
+
+    // Fan-out reads team snapshots from this instance's cache, so every instance must see every
+    // eviction. The group is named after the host (each container gets its own HOSTNAME), which keeps
+    // instances apart and lets a restart rejoin its old group instead of leaving one behind; a fresh
+    // cache is empty, so starting from the latest offset misses nothing.
+    @KafkaListener(
+            topics = TeamMembershipEventDTO.TOPIC,
+            groupId = "${team-snapshot.cache.listener-group:${spring.application.name}-membership-${HOSTNAME:localhost}}",
+            autoStartup = "${team-snapshot.cache.listener-enabled:true}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.game.on.common.dto.TeamMembershipEventDTO"
+            }
+    )
+    public void onMembershipChanged(TeamMembershipEventDTO event) {
+        if (event == null || event.teamId() == null) {
+            return;
+        }
+        // the event does not carry the member's details, so the next send reloads the team
+        snapshotCache.evict(event.teamId());
+        log.debug("team_snapshot_cache_evicted teamId={} userId={} change={}",
+                event.teamId(), event.userId(), event.change());
+    }
+}
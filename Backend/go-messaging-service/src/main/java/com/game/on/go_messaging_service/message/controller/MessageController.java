@@ -2,9 +2,12 @@ package com.game.on.go_messaging_service.message.controller;
 
 import com.game.on.go_messaging_service.auth.CurrentUserProvider;
 import com.game.on.go_messaging_service.exception.BadRequestException;
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
 import com.game.on.go_messaging_service.message.dto.MessageCreateRequest;
 import com.game.on.go_messaging_service.message.dto.MessageHistoryResponse;
 import com.game.on.go_messaging_service.message.dto.MessageResponse;
+import com.game.on.go_messaging_service.message.dto.MessageSearchResponse;
+import com.game.on.go_messaging_service.message.service.MessageSearchService;
 import com.game.on.go_messaging_service.message.service.MessageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +25,7 @@ import java.util.UUID;
 public class MessageController {
 
     private final MessageService messageService;
+    private final MessageSearchService messageSearchService;
     private final CurrentUserProvider currentUserProvider;
 
     @PostMapping("/conversations/{conversationId}/messages")
@@ -36,7 +40,8 @@ public class MessageController {
     @GetMapping("/conversations/{conversationId}/messages")
     public ResponseEntity<MessageHistoryResponse> getHistory(@PathVariable UUID conversationId,
                                                              @RequestParam(value = "limit", required = false) Integer limit,
-                                                             @RequestParam(value = "before", required = false) String before) {
+                                                             @RequestParam(value = "before", required = false) String before,
+                                                             @RequestParam(value = "cursor", required = false) String cursor) {
         OffsetDateTime beforeTimestamp = null;
         if (before != null) {
             try {
@@ -48,6 +53,30 @@ public class MessageController {
         return ResponseEntity.ok(messageService.fetchHistory(conversationId,
                 currentUserProvider.requireUserId(),
                 limit,
-                beforeTimestamp));
+                beforeTimestamp,
+                parseCursor(cursor)));
+    }
+
+    @GetMapping("/messages/search")
+    public ResponseEntity<MessageSearchResponse> search(@RequestParam("q") String query,
+                                                        @RequestParam(value = "conversationId", required = false) UUID conversationId,
+                                                        @RequestParam(value = "limit", required = false) Integer limit,
+                                                        @RequestParam(value = "cursor", required = false) String cursor) {
+        return ResponseEntity.ok(messageSearchService.search(currentUserProvider.requireUserId(),
+                query,
+                conversationId,
+                limit,
+                parseCursor(cursor)));
+    }
+
+    private HistoryCursor parseCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return HistoryCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
     }
 }
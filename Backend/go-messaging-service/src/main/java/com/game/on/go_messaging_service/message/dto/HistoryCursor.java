@@ -0,0 +1,39 @@
+package com.game.on.go_messaging_service.message.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a conversation's history: the oldest message of the previous page. Ties on
+ * {@code createdAt} are broken by id, so no message is skipped or repeated between pages.
+ */
+public record HistoryCursor(OffsetDateTime createdAt, UUID id) {
+
+    public static HistoryCursor of(MessageResponse message) {
+        return new HistoryCursor(message.createdAt(), message.id());
+    }
+
+    public String encode() {
+        var raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static HistoryCursor decode(String token) {
+        var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed history cursor");
+        }
+        try {
+            return new HistoryCursor(OffsetDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Malformed history cursor", ex);
+        }
+    }
+}
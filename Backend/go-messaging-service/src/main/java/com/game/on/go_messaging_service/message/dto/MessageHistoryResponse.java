@@ -2,5 +2,6 @@ package com.game.on.go_messaging_service.message.dto;
 
 import java.util.List;
 
-public record MessageHistoryResponse(List<MessageResponse> messages, boolean hasMore) {
+// nextCursor fetches the page before this one and is null once hasMore is false
+public record MessageHistoryResponse(List<MessageResponse> messages, boolean hasMore, String nextCursor) {
 }
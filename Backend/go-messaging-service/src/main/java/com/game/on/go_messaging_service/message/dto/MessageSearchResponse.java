@@ -0,0 +1,7 @@
+package com.game.on.go_messaging_service.message.dto;
+
+import java.util.List;
+
+// newest first; nextCursor is null on the last page
+public record MessageSearchResponse(List<MessageSearchResult> results, String nextCursor) {
+}
@@ -0,0 +1,17 @@
+package com.game.on.go_messaging_service.message.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One search hit. {@code snippet} is HTML-escaped message text with each match wrapped in
+ * {@code <mark>...</mark>}, so it can be rendered as HTML as is.
+ */
+public record MessageSearchResult(
+        UUID id,
+        UUID conversationId,
+        String senderId,
+        String snippet,
+        OffsetDateTime createdAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.game.on.go_messaging_service.message.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A sent message that has been acknowledged to the sender but not yet written to the database.
+ * Keyed by conversation on the topic, so one conversation's messages stay in order.
+ */
+public record QueuedMessage(
+        UUID id,
+        UUID conversationId,
+        String senderId,
+        String content,
+        OffsetDateTime createdAt
+) {
+    public static final String TOPIC = "go-messaging-messages";
+}
@@ -1,5 +1,6 @@
 package com.game.on.go_messaging_service.message.repository;
 
+import com.game.on.go_messaging_service.conversation.repository.UnreadCount;
 import com.game.on.go_messaging_service.message.model.Message;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,8 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 public interface MessageRepository extends JpaRepository<Message, UUID> {
@@ -17,7 +18,7 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
             select m from Message m
             where m.conversation.id = :conversationId
               and m.deletedAt is null
-            order by m.createdAt desc
+            order by m.createdAt desc, m.id desc
             """)
     List<Message> findMessages(@Param("conversationId") UUID conversationId,
                                Pageable pageable);
@@ -27,11 +28,44 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
             where m.conversation.id = :conversationId
               and m.deletedAt is null
               and m.createdAt < :before
-            order by m.createdAt desc
+            order by m.createdAt desc, m.id desc
             """)
     List<Message> findMessagesBefore(@Param("conversationId") UUID conversationId,
                                      @Param("before") OffsetDateTime before,
                                      Pageable pageable);
 
-    Optional<Message> findTopByConversationIdOrderByCreatedAtDesc(UUID conversationId);
+    // keyset page: everything strictly older than (createdAt, id), walked down idx_messages_conversation_created
+    @Query("""
+            select m from Message m
+            where m.conversation.id = :conversationId
+              and m.deletedAt is null
+              and (m.createdAt, m.id) < (:createdAt, :id)
+            order by m.createdAt desc, m.id desc
+            """)
+    List<Message> findMessagesBeforeCursor(@Param("conversationId") UUID conversationId,
+                                           @Param("createdAt") OffsetDateTime createdAt,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    @Query("select m.id from Message m where m.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Unread counts for one user across many conversations in a single aggregate. Each conversation
+     * is a range scan of idx_messages_conversation_created from the user's read cursor (or the time
+     * they joined, before they have read anything); their own messages never count.
+     */
+    @Query("""
+            select new com.game.on.go_messaging_service.conversation.repository.UnreadCount(m.conversation.id, count(m))
+            from Message m, ConversationParticipant cp
+            where cp.userId = :userId
+              and cp.conversation.id in :conversationIds
+              and m.conversation.id = cp.conversation.id
+              and m.createdAt > coalesce(cp.lastReadAt, cp.joinedAt)
+              and m.deletedAt is null
+              and m.senderId <> :userId
+            group by m.conversation.id
+            """)
+    List<UnreadCount> countUnread(@Param("userId") String userId,
+                                  @Param("conversationIds") Collection<UUID> conversationIds);
 }
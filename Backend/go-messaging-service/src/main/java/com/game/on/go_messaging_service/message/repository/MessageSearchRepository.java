@@ -0,0 +1,72 @@
+package com.game.on.go_messaging_service.message.repository;
+
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
+import com.game.on.go_messaging_service.message.dto.MessageSearchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search over the {@code search_vector} column added by the PostgreSQL search migration.
+ * Only conversations the user is a participant of are searched; callers revoke stale team chat
+ * participation first (see {@code MessageSearchService}). Hits come newest first and page
+ * with the same (created_at, id) keyset as history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageSearchRepository {
+
+    private static final String HEADLINE_OPTIONS = "StartSel=<mark>, StopSel=</mark>, MaxWords=24, MinWords=8, MaxFragments=2";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<MessageSearchResult> search(String userId,
+                                            String query,
+                                            UUID conversationId,
+                                            HistoryCursor cursor,
+                                            int limit) {
+        // ts_headline copies markup in the text through untouched, so the content is HTML-escaped
+        // first and the <mark> tags it adds are the only markup in a snippet
+        var sql = new StringBuilder("""
+                SELECT m.id, m.conversation_id, m.sender_id, m.created_at,
+                       ts_headline('simple',
+                                   replace(replace(replace(replace(replace(m.content,
+                                       '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'), '''', '&#39;'),
+                                   q.query, :headlineOptions) AS snippet
+                FROM messages m
+                JOIN conversation_participants cp
+                  ON cp.conversation_id = m.conversation_id AND cp.user_id = :userId
+                CROSS JOIN websearch_to_tsquery('simple', :query) AS q(query)
+                WHERE m.search_vector @@ q.query
+                  AND m.deleted_at IS NULL
+                """);
+        var params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("query", query)
+                .addValue("headlineOptions", HEADLINE_OPTIONS)
+                .addValue("limit", limit);
+        if (conversationId != null) {
+            sql.append("  AND m.conversation_id = :conversationId\n");
+            params.addValue("conversationId", conversationId);
+        }
+        if (cursor != null) {
+            sql.append("  AND (m.created_at, m.id) < (:cursorCreatedAt, :cursorId)\n");
+            params.addValue("cursorCreatedAt", Timestamp.from(cursor.createdAt().toInstant()));
+            params.addValue("cursorId", cursor.id());
+        }
+        sql.append("ORDER BY m.created_at DESC, m.id DESC\nLIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new MessageSearchResult(
+                rs.getObject("id", UUID.class),
+                rs.getObject("conversation_id", UUID.class),
+                rs.getString("sender_id"),
+                rs.getString("snippet"),
+                rs.getTimestamp("created_at").toInstant().atZone(ZoneId.systemDefault()).toOffsetDateTime()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.game.on.go_messaging_service.message.service;
+
+import com.game.on.go_messaging_service.conversation.model.Conversation;
+import com.game.on.go_messaging_service.conversation.repository.ConversationRepository;
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
+import com.game.on.go_messaging_service.message.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Back half of the write-behind pipeline. Inserts a batch of queued messages with one JDBC batch
+ * and moves each conversation's last-message summary once per batch rather than once per message.
+ * Messages already stored are skipped, so a batch redelivered after a failure is harmless.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageBatchWriter {
+
+    private static final String INSERT = """
+            INSERT INTO messages (id, conversation_id, sender_id, content, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageRepository messageRepository;
+    private final ConversationRepository conversationRepository;
+
+    /**
+     * Writes the batch and returns how many messages were new. The batch must be in send order
+     * for each conversation.
+     */
+    @Transactional
+    public int write(List<QueuedMessage> batch) {
+        var stored = new HashSet<>(messageRepository.findExistingIds(batch.stream().map(QueuedMessage::id).toList()));
+        List<QueuedMessage> pending = batch.stream()
+                .filter(message -> !stored.contains(message.id()))
+                .toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, pending, pending.size(), (statement, message) -> {
+            statement.setObject(1, message.id());
+            statement.setObject(2, message.conversationId());
+            statement.setString(3, message.senderId());
+            statement.setString(4, message.content());
+            statement.setTimestamp(5, Timestamp.from(message.createdAt().toInstant()));
+        });
+
+        Map<UUID, QueuedMessage> latest = new LinkedHashMap<>();
+        pending.forEach(message -> latest.put(message.conversationId(), message));
+        latest.values().forEach(message -> conversationRepository.recordLastMessage(message.conversationId(),
+                message.id(), message.senderId(), Conversation.preview(message.content()), message.createdAt()));
+        return pending.size();
+    }
+}
@@ -1,38 +1,154 @@
 package com.game.on.go_messaging_service.message.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.on.go_messaging_service.conversation.service.ConversationMapper;
+import com.game.on.go_messaging_service.message.dto.MessageResponse;
 import com.game.on.go_messaging_service.message.model.Message;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Pushes committed messages to WebSocket subscribers. The payload is serialized once per message
+ * and the same bytes are sent to every recipient; fan-out runs off the committing request thread,
+ * which only pays for the mapping. Each conversation is hashed to one of a fixed set of
+ * single-threaded lanes, so its messages go out in the order they were committed while different
+ * conversations fan out in parallel. When a lane's queue is full the caller waits for room rather
+ * than dropping the message or sending it ahead of older ones.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class MessageBroadcastGateway {
 
+    private static final String USER_QUEUE = "/queue/messages";
+
     private final SimpMessagingTemplate messagingTemplate;
     private final ConversationMapper conversationMapper;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor[] lanes;
+    private final Timer fanoutLatency;
+    private final DistributionSummary fanoutRecipients;
+    private final Counter fanoutFailures;
+
+    public MessageBroadcastGateway(SimpMessagingTemplate messagingTemplate,
+                                   ConversationMapper conversationMapper,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${messaging.fanout.lanes:4}") int laneCount,
+                                   @Value("${messaging.fanout.queue-capacity:1000}") int queueCapacity) {
+        this.messagingTemplate = messagingTemplate;
+        this.conversationMapper = conversationMapper;
+        this.objectMapper = objectMapper;
+
+        this.lanes = new ThreadPoolTaskExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            var lane = new ThreadPoolTaskExecutor();
+            lane.setCorePoolSize(1);
+            lane.setMaxPoolSize(1);
+            lane.setQueueCapacity(queueCapacity);
+            lane.setThreadNamePrefix("message-fanout-" + i + "-");
+            lane.setRejectedExecutionHandler(MessageBroadcastGateway::waitForRoom);
+            lane.setWaitForTasksToCompleteOnShutdown(true);
+            lane.setAwaitTerminationSeconds(10);
+            lane.initialize();
+            lanes[i] = lane;
+        }
+
+        this.fanoutLatency = Timer.builder("message_fanout_latency")
+                .description("Time from commit until a message has been handed to every recipient")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fanoutRecipients = DistributionSummary.builder("message_fanout_recipients")
+                .description("Recipients per fanned-out message")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fanoutFailures = Counter.builder("message_fanout_failed").register(meterRegistry);
+    }
 
     public void publishToUsers(Collection<String> userIds, Message message) {
-        Runnable action = () -> userIds.forEach(userId -> messagingTemplate.convertAndSendToUser(
-                userId,
-                "/queue/messages",
-                conversationMapper.toMessageResponse(message)
-        ));
-        runAfterCommit(action);
+        List<String> destinations = userIds.stream()
+                .map(userId -> "/user/" + StringUtils.replace(userId, "/", "%2F") + USER_QUEUE)
+                .toList();
+        runAfterCommit(() -> fanOut(message.getConversation().getId(), destinations,
+                conversationMapper.toMessageResponse(message)));
     }
 
     public void publishToConversation(UUID conversationId, Message message) {
-        Runnable action = () -> messagingTemplate.convertAndSend(
-                "/topic/chatrooms/" + conversationId,
-                conversationMapper.toMessageResponse(message)
-        );
-        runAfterCommit(action);
+        List<String> destinations = List.of("/topic/chatrooms/" + conversationId);
+        runAfterCommit(() -> fanOut(conversationId, destinations, conversationMapper.toMessageResponse(message)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ThreadPoolTaskExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    // mapping happens on the committing thread while the entity is at hand; encoding and sends do not
+    private void fanOut(UUID conversationId, List<String> destinations, MessageResponse response) {
+        if (destinations.isEmpty()) {
+            return;
+        }
+        long queuedAt = System.nanoTime();
+        lanes[Math.floorMod(conversationId.hashCode(), lanes.length)].execute(() -> {
+            try {
+                var payload = encode(response);
+                destinations.forEach(destination -> messagingTemplate.send(destination, payload));
+                fanoutRecipients.record(destinations.size());
+            } catch (RuntimeException ex) {
+                fanoutFailures.increment();
+                log.error("message_fanout_failed messageId={} recipients={}", response.id(), destinations.size(), ex);
+            } finally {
+                fanoutLatency.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Fan-out lane is shut down");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a fan-out lane", ex);
+        }
+    }
+
+    private org.springframework.messaging.Message<byte[]> encode(MessageResponse response) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize message " + response.id(), ex);
+        }
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
     }
 
     private void runAfterCommit(Runnable action) {
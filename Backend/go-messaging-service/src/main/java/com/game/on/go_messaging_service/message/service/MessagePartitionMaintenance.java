@@ -0,0 +1,59 @@
+package com.game.on.go_messaging_service.message.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps {@code messages} partitioned ahead of time: on startup and daily it makes sure monthly
+ * partitions exist {@code messaging.partitions.months-ahead} months out, so new rows never land in
+ * the default partition. With {@code messaging.partitions.detach-after-months} set, months older
+ * than that are detached and left as plain tables for archiving. The SQL functions it calls come
+ * from the PostgreSQL-only partitioning migration.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "messaging.partitions.maintenance-enabled", havingValue = "true")
+public class MessagePartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${messaging.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${messaging.partitions.detach-after-months:0}")
+    private int detachAfterMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${messaging.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT ensure_message_partitions(CURRENT_DATE, CAST(CURRENT_DATE + make_interval(months => ?) AS DATE))",
+                    Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("message_partitions_created count={} monthsAhead={}", created, monthsAhead);
+            }
+            if (detachAfterMonths > 0) {
+                List<String> detached = jdbcTemplate.queryForList(
+                        "SELECT detach_message_partitions_before(CAST(date_trunc('month', CURRENT_DATE) - make_interval(months => ?) AS DATE))",
+                        String.class, detachAfterMonths);
+                if (!detached.isEmpty()) {
+                    log.info("message_partitions_detached partitions={}", detached);
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("message_partition_maintenance_failed", ex);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.game.on.go_messaging_service.message.service;
+
+import com.game.on.go_messaging_service.conversation.service.ConversationService;
+import com.game.on.go_messaging_service.exception.BadRequestException;
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
+import com.game.on.go_messaging_service.message.dto.MessageSearchResponse;
+import com.game.on.go_messaging_service.message.repository.MessageSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class MessageSearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final MessageSearchRepository searchRepository;
+    private final ConversationService conversationService;
+
+    /**
+     * Searches the requester's conversations, or only {@code conversationId} when given. Access is
+     * re-checked first, either for that conversation or for every team chat the requester is in, so
+     * a member who has left a team cannot search its chats.
+     */
+    @Transactional
+    public MessageSearchResponse search(String requesterId,
+                                        String query,
+                                        UUID conversationId,
+                                        Integer limit,
+                                        HistoryCursor cursor) {
+        if (!StringUtils.hasText(query)) {
+            throw new BadRequestException("Search query cannot be empty");
+        }
+        var trimmed = query.trim();
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query exceeds the maximum length");
+        }
+        if (conversationId != null) {
+            conversationService.requireParticipant(conversationId, requesterId);
+        } else {
+            conversationService.revokeStaleTeamParticipation(requesterId);
+        }
+        int pageSize = sanitizeLimit(limit);
+        var results = searchRepository.search(requesterId, trimmed, conversationId, cursor, pageSize);
+        String nextCursor = null;
+        if (results.size() == pageSize) {
+            var last = results.get(results.size() - 1);
+            nextCursor = new HistoryCursor(last.createdAt(), last.id()).encode();
+        }
+        return new MessageSearchResponse(results, nextCursor);
+    }
+
+    private int sanitizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
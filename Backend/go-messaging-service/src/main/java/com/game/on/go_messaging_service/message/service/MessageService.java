@@ -7,17 +7,21 @@ import com.game.on.go_messaging_service.conversation.service.ConversationMapper;
 import com.game.on.go_messaging_service.conversation.service.ConversationService;
 import com.game.on.go_messaging_service.client.TeamDirectoryService;
 import com.game.on.go_messaging_service.exception.BadRequestException;
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
 import com.game.on.go_messaging_service.message.dto.MessageHistoryResponse;
 import com.game.on.go_messaging_service.message.dto.MessageResponse;
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
 import com.game.on.go_messaging_service.message.model.Message;
 import com.game.on.go_messaging_service.message.repository.MessageRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -37,42 +41,79 @@ public class MessageService {
     private final MessageRepository messageRepository;
     private final MessageBroadcastGateway broadcastGateway;
     private final TeamDirectoryService teamDirectoryService;
+    private final MessageWriteBehind messageWriteBehind;
+    private final MessageBatchWriter messageBatchWriter;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /**
+     * Not transactional as a whole: the checks and the write each take a short transaction of their
+     * own, so no connection is held while write-behind waits for the broker or while fanning out.
+     */
     public MessageResponse sendMessage(UUID conversationId, String senderId, String content) {
         var sanitized = sanitizeContent(content);
         var conversation = conversationService.requireConversation(conversationId);
         conversationService.requireParticipant(conversationId, senderId);
+        if (messageWriteBehind.isEnabled()) {
+            return sendWriteBehind(conversation, senderId, sanitized);
+        }
+        var saved = transactionTemplate.execute(status -> {
+            var message = messageRepository.save(Message.builder()
+                    .conversation(conversation)
+                    .senderId(senderId)
+                    .content(sanitized)
+                    .build());
+            conversationRepository.recordLastMessage(conversation.getId(), message.getId(), senderId,
+                    Conversation.preview(sanitized), message.getCreatedAt());
+            return message;
+        });
+        dispatch(conversation, saved);
+        return conversationMapper.toMessageResponse(saved);
+    }
+
+    // acknowledged once queued; history shows the message after the next batch is written. The
+    // direct write when the broker is unavailable runs in MessageBatchWriter's own transaction
+    private MessageResponse sendWriteBehind(Conversation conversation, String senderId, String content) {
+        var queued = new QueuedMessage(UUID.randomUUID(), conversation.getId(), senderId, content,
+                OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        if (!messageWriteBehind.enqueue(queued)) {
+            messageBatchWriter.write(List.of(queued));
+        }
         var message = Message.builder()
+                .id(queued.id())
                 .conversation(conversation)
                 .senderId(senderId)
-                .content(sanitized)
+                .content(content)
+                .createdAt(queued.createdAt())
                 .build();
-        var saved = messageRepository.save(message);
-        conversation.setLastMessageAt(saved.getCreatedAt());
-        conversationRepository.save(conversation);
-        dispatch(conversation, saved);
-        return conversationMapper.toMessageResponse(saved);
+        dispatch(conversation, message);
+        return conversationMapper.toMessageResponse(message);
     }
 
     @Transactional(readOnly = true)
     public MessageHistoryResponse fetchHistory(UUID conversationId,
                                                String requesterId,
                                                Integer limit,
-                                               OffsetDateTime before) {
+                                               OffsetDateTime before,
+                                               HistoryCursor cursor) {
         conversationService.requireParticipant(conversationId, requesterId);
         int pageSize = sanitizeLimit(limit);
         var pageable = PageRequest.of(0, pageSize);
-        var results = before == null
-                ? messageRepository.findMessages(conversationId, pageable)
-                : messageRepository.findMessagesBefore(conversationId, before, pageable);
+        List<Message> results;
+        if (cursor != null) {
+            results = messageRepository.findMessagesBeforeCursor(conversationId, cursor.createdAt(), cursor.id(), pageable);
+        } else if (before != null) {
+            results = messageRepository.findMessagesBefore(conversationId, before, pageable);
+        } else {
+            results = messageRepository.findMessages(conversationId, pageable);
+        }
         var messages = results.isEmpty() ? List.<Message>of() : new java.util.ArrayList<>(results);
         Collections.reverse(messages);
         List<MessageResponse> payload = messages.stream()
                 .map(conversationMapper::toMessageResponse)
                 .toList();
         boolean hasMore = results.size() == pageSize;
-        return new MessageHistoryResponse(payload, hasMore);
+        var nextCursor = hasMore ? HistoryCursor.of(payload.get(0)).encode() : null;
+        return new MessageHistoryResponse(payload, hasMore, nextCursor);
     }
 
     private void dispatch(Conversation conversation, Message saved) {
@@ -0,0 +1,56 @@
+package com.game.on.go_messaging_service.message.service;
+
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Front half of the write-behind pipeline: a message is acknowledged once the broker has durably
+ * accepted it, and {@link MessageBatchWriter} persists it later in a micro-batch. Off unless
+ * {@code messaging.write-behind.enabled} is set.
+ */
+@Slf4j
+@Component
+public class MessageWriteBehind {
+
+    private final KafkaTemplate<String, QueuedMessage> kafkaTemplate;
+    private final boolean enabled;
+    private final Duration enqueueTimeout;
+
+    public MessageWriteBehind(KafkaTemplate<String, QueuedMessage> kafkaTemplate,
+                              @Value("${messaging.write-behind.enabled:false}") boolean enabled,
+                              @Value("${messaging.write-behind.enqueue-timeout:PT5S}") Duration enqueueTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.enabled = enabled;
+        this.enqueueTimeout = enqueueTimeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blocks until the broker acknowledges the message. Returns false when it could not be queued,
+     * in which case the caller persists it directly instead.
+     */
+    public boolean enqueue(QueuedMessage message) {
+        try {
+            kafkaTemplate.send(QueuedMessage.TOPIC, message.conversationId().toString(), message)
+                    .get(enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException ex) {
+            log.warn("message_enqueue_failed messageId={} conversationId={}",
+                    message.id(), message.conversationId(), ex);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.game.on.go_messaging_service.presence.controller;
+
+import com.game.on.go_messaging_service.presence.dto.TypingRequest;
+import com.game.on.go_messaging_service.presence.service.PresenceRegistry;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class PresenceWebSocketController {
+
+    private final PresenceRegistry presenceRegistry;
+
+    @MessageMapping("/presence/typing")
+    public void typing(@Valid TypingRequest request, SimpMessageHeaderAccessor headers) {
+        presenceRegistry.typing(headers.getSessionId(), request.conversationId(), request.typing());
+    }
+}
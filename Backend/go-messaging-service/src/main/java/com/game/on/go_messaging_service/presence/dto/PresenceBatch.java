@@ -0,0 +1,7 @@
+package com.game.on.go_messaging_service.presence.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PresenceBatch(UUID conversationId, List<PresenceUpdate> updates) {
+}
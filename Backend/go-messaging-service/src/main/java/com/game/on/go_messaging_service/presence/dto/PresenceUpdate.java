@@ -0,0 +1,7 @@
+package com.game.on.go_messaging_service.presence.dto;
+
+/**
+ * A user's state in one conversation as of the tick that published it.
+ */
+public record PresenceUpdate(String userId, boolean online, boolean typing) {
+}
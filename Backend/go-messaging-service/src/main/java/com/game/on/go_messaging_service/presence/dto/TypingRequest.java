@@ -0,0 +1,11 @@
+package com.game.on.go_messaging_service.presence.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record TypingRequest(
+        @NotNull(message = "conversationId is required") UUID conversationId,
+        boolean typing
+) {
+}
@@ -0,0 +1,80 @@
+package com.game.on.go_messaging_service.presence.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Publishes the presence batches that built up in {@link PresenceRegistry} once every
+ * {@code messaging.presence.tick}, one broker message per conversation with changes, however many
+ * events fed it. Only the server publishes to these topics; clients report typing through
+ * {@code /app/presence/typing} and cannot SEND to the broker directly.
+ */
+@Slf4j
+@Component
+public class PresenceBroadcaster {
+
+    public static final String DESTINATION_PREFIX = "/topic/chatrooms/";
+    public static final String DESTINATION_SUFFIX = "/presence";
+
+    private final PresenceRegistry presenceRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Counter batchesOut;
+    private final Counter updatesOut;
+    private final Counter failures;
+
+    public PresenceBroadcaster(PresenceRegistry presenceRegistry,
+                               SimpMessagingTemplate messagingTemplate,
+                               MeterRegistry meterRegistry) {
+        this.presenceRegistry = presenceRegistry;
+        this.messagingTemplate = messagingTemplate;
+        this.batchesOut = Counter.builder("presence_batches_out")
+                .description("Presence batches published to the broker")
+                .register(meterRegistry);
+        this.updatesOut = Counter.builder("presence_updates_out")
+                .description("User states carried by published presence batches")
+                .register(meterRegistry);
+        this.failures = Counter.builder("presence_publish_failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.presence.tick:PT0.5S}")
+    public void publish() {
+        for (var batch : presenceRegistry.drain()) {
+            try {
+                messagingTemplate.convertAndSend(destination(batch.conversationId()), batch);
+                batchesOut.increment();
+                updatesOut.increment(batch.updates().size());
+            } catch (RuntimeException ex) {
+                // presence is best effort; the next subscriber to the conversation resyncs it
+                failures.increment();
+                log.warn("presence_publish_failed conversationId={}", batch.conversationId(), ex);
+            }
+        }
+    }
+
+    public static String destination(UUID conversationId) {
+        return DESTINATION_PREFIX + conversationId + DESTINATION_SUFFIX;
+    }
+
+    /**
+     * The conversation a presence topic belongs to, or {@code null} for any other destination.
+     */
+    public static UUID conversationOf(String destination) {
+        if (destination == null
+                || !destination.startsWith(DESTINATION_PREFIX)
+                || !destination.endsWith(DESTINATION_SUFFIX)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(destination.substring(DESTINATION_PREFIX.length(),
+                    destination.length() - DESTINATION_SUFFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
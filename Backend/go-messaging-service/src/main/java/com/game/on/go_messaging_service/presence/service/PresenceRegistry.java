@@ -0,0 +1,441 @@
+package com.game.on.go_messaging_service.presence.service;
+
+import com.game.on.go_messaging_service.presence.dto.PresenceBatch;
+import com.game.on.go_messaging_service.presence.dto.PresenceUpdate;
+import com.game.on.go_messaging_service.websocket.MessagingPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Presence of the sessions connected to this instance. A user is online in a conversation while one
+ * of their sessions is subscribed to its presence topic, and typing there until their last typing
+ * signal expires. Changes are not sent as they happen: they mark the conversation dirty, and
+ * {@link PresenceBroadcaster} drains one batch per dirty conversation each tick holding each
+ * changed user's state as of that tick, so a user who flickers inside one tick costs nothing.
+ * <p>
+ * Counts live in this instance only, so presence is correct for a single instance on the simple
+ * broker. With {@code messaging.broker.relay.enabled} several instances share the broker and each
+ * would announce a user offline when that user's last session on it closed, while sessions on
+ * other instances were still open. Presence is therefore switched off in relay mode: events are
+ * ignored and nothing is published.
+ */
+@Slf4j
+@Component
+public class PresenceRegistry {
+
+    private final boolean enabled;
+    private final long typingTtlNanos;
+    private final long idleTimeoutNanos;
+    private final int maxConversationsPerSession;
+    private final double userEventsPerSecond;
+
+    // read lock-free by touch(); every other change happens under the registry's lock
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, User> users = new HashMap<>();
+    private final Map<UUID, Room> rooms = new HashMap<>();
+    private final Set<UUID> dirty = new LinkedHashSet<>();
+    private final Set<UUID> typingRooms = new HashSet<>();
+
+    private final Counter connects;
+    private final Counter disconnects;
+    private final Counter subscribes;
+    private final Counter unsubscribes;
+    private final Counter heartbeats;
+    private final Counter typingSignals;
+    private final Counter rateLimited;
+    private final Counter notSubscribed;
+    private final Counter sessionLimited;
+    private final Counter evictions;
+
+    public PresenceRegistry(MeterRegistry meterRegistry,
+                            @Value("${messaging.presence.typing-ttl:PT6S}") Duration typingTtl,
+                            @Value("${messaging.presence.idle-timeout:PT45S}") Duration idleTimeout,
+                            @Value("${messaging.presence.max-conversations-per-session:200}") int maxConversationsPerSession,
+                            @Value("${messaging.presence.user-events-per-second:5}") double userEventsPerSecond,
+                            @Value("${messaging.broker.relay.enabled:false}") boolean relayEnabled) {
+        this.enabled = !relayEnabled;
+        this.typingTtlNanos = typingTtl.toNanos();
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxConversationsPerSession = maxConversationsPerSession;
+        this.userEventsPerSecond = userEventsPerSecond;
+        this.connects = eventIn(meterRegistry, "connect");
+        this.disconnects = eventIn(meterRegistry, "disconnect");
+        this.subscribes = eventIn(meterRegistry, "subscribe");
+        this.unsubscribes = eventIn(meterRegistry, "unsubscribe");
+        this.heartbeats = eventIn(meterRegistry, "heartbeat");
+        this.typingSignals = eventIn(meterRegistry, "typing");
+        this.rateLimited = dropped(meterRegistry, "rate_limited");
+        this.notSubscribed = dropped(meterRegistry, "not_subscribed");
+        this.sessionLimited = dropped(meterRegistry, "session_limit");
+        this.evictions = Counter.builder("presence_sessions_evicted")
+                .description("Sessions dropped from presence after missing their heartbeats")
+                .register(meterRegistry);
+        Gauge.builder("presence_sessions", sessions, Map::size).register(meterRegistry);
+        Gauge.builder("presence_conversations", this, PresenceRegistry::conversationCount).register(meterRegistry);
+        if (!enabled) {
+            log.info("presence_disabled reason=broker_relay");
+        }
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        var sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        var userId = userId(event.getUser());
+        if (sessionId != null && userId != null) {
+            connect(sessionId, userId, sendsHeartbeats(event.getMessage()), System.nanoTime());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (!enabled) {
+            return;
+        }
+        disconnect(event.getSessionId());
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        var accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        var conversationId = PresenceBroadcaster.conversationOf(accessor.getDestination());
+        if (conversationId != null && accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            watch(accessor.getSessionId(), accessor.getSubscriptionId(), conversationId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        var accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            unwatch(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+    }
+
+    /**
+     * Notes that a session is still alive. Called for every inbound frame, heartbeats included, so
+     * it takes no lock.
+     */
+    public void touch(String sessionId, boolean heartbeat) {
+        if (heartbeat) {
+            heartbeats.increment();
+        }
+        var session = sessions.get(sessionId);
+        if (session != null) {
+            session.lastSeen = System.nanoTime();
+        }
+    }
+
+    /**
+     * Applies a typing signal from a session. Only conversations the session watches are accepted,
+     * since subscribing to their presence topic is where participation was checked.
+     */
+    public void typing(String sessionId, UUID conversationId, boolean typing) {
+        if (enabled) {
+            typing(sessionId, conversationId, typing, System.nanoTime());
+        }
+    }
+
+    public List<PresenceBatch> drain() {
+        return enabled ? drain(System.nanoTime()) : List.of();
+    }
+
+    synchronized void connect(String sessionId, String userId, boolean sendsHeartbeats, long now) {
+        connects.increment();
+        var previous = sessions.put(sessionId, new Session(userId, sendsHeartbeats, now));
+        if (previous != null) {
+            release(previous);
+        }
+        users.computeIfAbsent(userId, ignored -> new User(userEventsPerSecond, now)).sessions++;
+    }
+
+    synchronized void disconnect(String sessionId) {
+        var session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        disconnects.increment();
+        release(session);
+    }
+
+    synchronized void watch(String sessionId, String subscriptionId, UUID conversationId) {
+        subscribes.increment();
+        var session = sessions.get(sessionId);
+        if (session == null || session.subscriptions.containsKey(subscriptionId)) {
+            return;
+        }
+        if (session.subscriptions.size() >= maxConversationsPerSession) {
+            sessionLimited.increment();
+            return;
+        }
+        session.subscriptions.put(subscriptionId, conversationId);
+        var room = rooms.computeIfAbsent(conversationId, ignored -> new Room());
+        if (room.watchers.merge(session.userId, 1, Integer::sum) == 1) {
+            room.changed.add(session.userId);
+        }
+        // the new subscriber has seen nothing yet, so the next batch carries everyone present here
+        room.resync = true;
+        dirty.add(conversationId);
+    }
+
+    synchronized void unwatch(String sessionId, String subscriptionId) {
+        var session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        var conversationId = session.subscriptions.remove(subscriptionId);
+        if (conversationId != null) {
+            unsubscribes.increment();
+            leave(conversationId, session.userId);
+        }
+    }
+
+    synchronized void typing(String sessionId, UUID conversationId, boolean typing, long now) {
+        typingSignals.increment();
+        var session = sessions.get(sessionId);
+        if (session == null || !session.subscriptions.containsValue(conversationId)) {
+            notSubscribed.increment();
+            return;
+        }
+        if (!users.get(session.userId).tryAcquire(now)) {
+            rateLimited.increment();
+            return;
+        }
+        var room = rooms.get(conversationId);
+        boolean changed = typing
+                ? room.typingUntil.put(session.userId, now + typingTtlNanos) == null
+                : room.typingUntil.remove(session.userId) != null;
+        if (typing) {
+            typingRooms.add(conversationId);
+        }
+        if (changed) {
+            room.changed.add(session.userId);
+            dirty.add(conversationId);
+        }
+    }
+
+    List<PresenceBatch> drain(long now) {
+        // scanned without the lock; sessions that went quiet are released one at a time
+        for (var entry : sessions.entrySet()) {
+            var session = entry.getValue();
+            if (session.sendsHeartbeats && now - session.lastSeen > idleTimeoutNanos) {
+                evict(entry.getKey(), session);
+            }
+        }
+        return collect(now);
+    }
+
+    private synchronized void evict(String sessionId, Session session) {
+        if (sessions.remove(sessionId, session)) {
+            evictions.increment();
+            log.debug("presence_session_evicted sessionId={} userId={}", sessionId, session.userId);
+            release(session);
+        }
+    }
+
+    private synchronized List<PresenceBatch> collect(long now) {
+        expireTyping(now);
+        List<PresenceBatch> batches = new ArrayList<>(dirty.size());
+        for (var conversationId : dirty) {
+            var room = rooms.get(conversationId);
+            if (room == null) {
+                continue;
+            }
+            var updates = room.publish();
+            if (!updates.isEmpty()) {
+                batches.add(new PresenceBatch(conversationId, updates));
+            }
+            if (room.isEmpty()) {
+                rooms.remove(conversationId);
+            }
+        }
+        dirty.clear();
+        return batches;
+    }
+
+    private void expireTyping(long now) {
+        for (Iterator<UUID> it = typingRooms.iterator(); it.hasNext(); ) {
+            var conversationId = it.next();
+            var room = rooms.get(conversationId);
+            if (room == null) {
+                it.remove();
+                continue;
+            }
+            room.typingUntil.entrySet().removeIf(typing -> {
+                if (now - typing.getValue() < 0) {
+                    return false;
+                }
+                room.changed.add(typing.getKey());
+                dirty.add(conversationId);
+                return true;
+            });
+            if (room.typingUntil.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    private void release(Session session) {
+        session.subscriptions.values().forEach(conversationId -> leave(conversationId, session.userId));
+        session.subscriptions.clear();
+        var user = users.get(session.userId);
+        if (user != null && --user.sessions == 0) {
+            users.remove(session.userId);
+        }
+    }
+
+    private void leave(UUID conversationId, String userId) {
+        var room = rooms.get(conversationId);
+        if (room == null) {
+            return;
+        }
+        if (room.watchers.merge(userId, -1, Integer::sum) <= 0) {
+            room.watchers.remove(userId);
+            // typing ends with the user's last session in the room
+            room.typingUntil.remove(userId);
+            room.changed.add(userId);
+            dirty.add(conversationId);
+        }
+    }
+
+    private synchronized int conversationCount() {
+        return rooms.size();
+    }
+
+    private static Counter eventIn(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("presence_events_in")
+                .description("Presence events received from clients")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("presence_events_dropped").tag("reason", reason).register(meterRegistry);
+    }
+
+    private static String userId(Principal principal) {
+        return principal instanceof MessagingPrincipal mp ? mp.userId() : null;
+    }
+
+    // only sessions that promised heartbeats can be judged by their silence
+    private static boolean sendsHeartbeats(Message<?> connectAck) {
+        var connect = connectAck.getHeaders().get(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+        if (!(connect instanceof Message<?> connectMessage)) {
+            return false;
+        }
+        var heartbeat = StompHeaderAccessor.wrap(connectMessage).getHeartbeat();
+        return heartbeat[0] > 0;
+    }
+
+    private static final class Session {
+        private final String userId;
+        private final boolean sendsHeartbeats;
+        // subscription id to conversation, capped at maxConversationsPerSession
+        private final Map<String, UUID> subscriptions = new HashMap<>();
+        private volatile long lastSeen;
+
+        private Session(String userId, boolean sendsHeartbeats, long now) {
+            this.userId = userId;
+            this.sendsHeartbeats = sendsHeartbeats;
+            this.lastSeen = now;
+        }
+    }
+
+    /**
+     * Live sessions and typing allowance of one user. Typing signals spend from a token bucket
+     * shared by all of the user's sessions.
+     */
+    private static final class User {
+        private final double perSecond;
+        private int sessions;
+        private double tokens;
+        private long refilledAt;
+
+        private User(double perSecond, long now) {
+            this.perSecond = perSecond;
+            this.tokens = perSecond;
+            this.refilledAt = now;
+        }
+
+        private boolean tryAcquire(long now) {
+            tokens = Math.min(perSecond, tokens + (now - refilledAt) * perSecond / 1_000_000_000d);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    private static final class Room {
+        // user id to the number of that user's subscriptions here, across sessions
+        private final Map<String, Integer> watchers = new HashMap<>();
+        private final Map<String, Long> typingUntil = new HashMap<>();
+        // last state sent for every user announced online and not yet announced offline
+        private final Map<String, PresenceUpdate> published = new HashMap<>();
+        private final Set<String> changed = new LinkedHashSet<>();
+        private boolean resync;
+
+        private List<PresenceUpdate> publish() {
+            Set<String> candidates = changed;
+            if (resync) {
+                candidates = new LinkedHashSet<>(changed);
+                candidates.addAll(watchers.keySet());
+            }
+            List<PresenceUpdate> updates = new ArrayList<>(candidates.size());
+            for (var userId : candidates) {
+                var state = new PresenceUpdate(userId, watchers.containsKey(userId), typingUntil.containsKey(userId));
+                if (state.online()) {
+                    var previous = published.put(userId, state);
+                    if (resync || !state.equals(previous)) {
+                        updates.add(state);
+                    }
+                } else if (published.remove(userId) != null) {
+                    updates.add(state);
+                }
+            }
+            changed.clear();
+            resync = false;
+            return updates;
+        }
+
+        private boolean isEmpty() {
+            return watchers.isEmpty() && typingUntil.isEmpty() && published.isEmpty() && changed.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.game.on.go_messaging_service.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the executor behind the client outbound channel and watches what leaves through it. Each
+ * session's sends are bounded by the transport's send time and buffer limits; a session that
+ * overruns them is closed with {@link CloseStatus#SESSION_NOT_RELIABLE} instead of buffering
+ * without end, and is counted here so slow consumers show up on a dashboard rather than as
+ * everyone else's delivery lag.
+ */
+@Slf4j
+@Component
+public class ClientOutboundMonitor {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer sendLatency;
+    private final Counter droppedSessions;
+
+    public ClientOutboundMonitor(MeterRegistry meterRegistry,
+                                 @Value("${messaging.websocket.outbound.pool-size:8}") int poolSize,
+                                 @Value("${messaging.websocket.outbound.queue-capacity:2147483647}") int queueCapacity) {
+        this.sendLatency = Timer.builder("websocket_outbound_send_latency")
+                .description("Time from a frame entering the client outbound channel until it is handed to its session")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedSessions = Counter.builder("websocket_sessions_dropped")
+                .description("Sessions closed for exceeding their send time or buffer limit")
+                .tag("reason", "slow_consumer")
+                .register(meterRegistry);
+
+        // initialised by the broker configuration, which exposes it as clientOutboundChannelExecutor
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("clientOutboundChannel-");
+        executor.setTaskDecorator(task -> {
+            long queuedAt = System.nanoTime();
+            return () -> {
+                try {
+                    task.run();
+                } finally {
+                    sendLatency.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        Gauge.builder("websocket_outbound_queue_depth", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Frames waiting for an outbound channel thread")
+                .register(meterRegistry);
+    }
+
+    public ThreadPoolTaskExecutor executor() {
+        return executor;
+    }
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                if (closeStatus.getCode() == CloseStatus.SESSION_NOT_RELIABLE.getCode()) {
+                    droppedSessions.increment();
+                    log.warn("websocket_session_dropped sessionId={} user={}", session.getId(),
+                            session.getPrincipal() == null ? null : session.getPrincipal().getName());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.game.on.go_messaging_service.websocket;
+
+import com.game.on.go_messaging_service.presence.service.PresenceRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PresenceActivityInterceptor implements ChannelInterceptor {
+
+    private final PresenceRegistry presenceRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        var headers = message.getHeaders();
+        var sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (sessionId != null) {
+            presenceRegistry.touch(sessionId, SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.HEARTBEAT);
+        }
+        return message;
+    }
+}
@@ -1,5 +1,6 @@
 package com.game.on.go_messaging_service.websocket;
 
+import com.game.on.go_messaging_service.config.WebSocketConfig;
 import com.game.on.go_messaging_service.conversation.service.ConversationService;
 import com.game.on.go_messaging_service.exception.ForbiddenException;
 import lombok.RequiredArgsConstructor;
@@ -11,11 +12,21 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+/**
+ * Guards what clients may do with the broker. Clients only SEND to application destinations; the
+ * broker topics, including the relay's cluster-internal ones, are published by the server. They may
+ * SUBSCRIBE to their own queues and to the chatrooms they take part in, and nothing else, so broker
+ * wildcards such as {@code /topic/>} are refused along with every other unknown destination.
+ */
 @Component
 @RequiredArgsConstructor
 public class SubscriptionAuthorizationInterceptor implements ChannelInterceptor {
 
+    private static final Pattern USER_QUEUE = Pattern.compile("/user/queue(/[A-Za-z0-9._-]+)+");
+    private static final Pattern CHATROOM = Pattern.compile("/topic/chatrooms/([0-9a-fA-F-]{36})(/presence)?");
+
     private final ConversationService conversationService;
 
     @Override
@@ -25,12 +36,21 @@ public class SubscriptionAuthorizationInterceptor implements ChannelInterceptor
         if (command == null) {
             return message;
         }
-        if (command == StompCommand.SUBSCRIBE) {
+        if (command == StompCommand.SEND) {
+            enforceSendRules(accessor);
+        } else if (command == StompCommand.SUBSCRIBE) {
             enforceSubscriptionRules(accessor);
         }
         return message;
     }
 
+    private void enforceSendRules(StompHeaderAccessor accessor) {
+        var destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(WebSocketConfig.APPLICATION_PREFIX + "/")) {
+            throw new ForbiddenException("Cannot send to " + destination);
+        }
+    }
+
     private void enforceSubscriptionRules(StompHeaderAccessor accessor) {
         var destination = accessor.getDestination();
         if (destination == null) {
@@ -40,30 +60,20 @@ public class SubscriptionAuthorizationInterceptor implements ChannelInterceptor
         if (!(principal instanceof MessagingPrincipal mp) || mp.userId() == null) {
             throw new ForbiddenException("User context not found for subscription");
         }
-        // if (destination.startsWith("/user/")) {
-        //     var expectedPrefix = "/user/" + mp.userId();
-        //     if (!destination.startsWith(expectedPrefix)) {
-        //         throw new ForbiddenException("Cannot subscribe to another user's queue");
-        //     }
-        // }
-        if (destination.equals("/user/queue") || destination.startsWith("/user/queue/")) {
-         return;
+        // resolved to this session's own queue by the user destination handler
+        if (USER_QUEUE.matcher(destination).matches()) {
+            return;
         }
-        if (destination.startsWith("/user/")) {
-            var expectedPrefix = "/user/" + mp.userId();
-            if (!destination.startsWith(expectedPrefix)) {
-                throw new ForbiddenException("Cannot subscribe to another user's queue");
-            }
+        var chatroom = CHATROOM.matcher(destination);
+        if (!chatroom.matches()) {
+            throw new ForbiddenException("Cannot subscribe to " + destination);
         }
-
-        if (destination.startsWith("/topic/chatrooms/")) {
-            var idPart = destination.substring("/topic/chatrooms/".length());
-            try {
-                var conversationId = UUID.fromString(idPart);
-                conversationService.requireParticipant(conversationId, mp.userId());
-            } catch (IllegalArgumentException ex) {
-                throw new ForbiddenException("Invalid chatroom destination");
-            }
+        UUID conversationId;
+        try {
+            conversationId = UUID.fromString(chatroom.group(1));
+        } catch (IllegalArgumentException ex) {
+            throw new ForbiddenException("Invalid chatroom destination");
         }
+        conversationService.requireParticipant(conversationId, mp.userId());
     }
 }
@@ -0,0 +1,19 @@
+ALTER TABLE conversations ADD COLUMN last_message_id UUID;
+ALTER TABLE conversations ADD COLUMN last_message_sender_id VARCHAR(128);
+ALTER TABLE conversations ADD COLUMN last_message_preview VARCHAR(280);
+
+UPDATE conversations
+SET last_message_id = (
+    SELECT m.id
+    FROM messages m
+    WHERE m.conversation_id = conversations.id
+      AND m.deleted_at IS NULL
+    ORDER BY m.created_at DESC, m.id DESC
+    LIMIT 1
+);
+
+UPDATE conversations
+SET last_message_sender_id = (SELECT m.sender_id FROM messages m WHERE m.id = conversations.last_message_id),
+    last_message_preview = (SELECT SUBSTRING(m.content, 1, 280) FROM messages m WHERE m.id = conversations.last_message_id),
+    last_message_at = (SELECT m.created_at FROM messages m WHERE m.id = conversations.last_message_id)
+WHERE last_message_id IS NOT NULL;
@@ -0,0 +1,7 @@
+ALTER TABLE conversation_participants ADD COLUMN last_read_message_id UUID;
+ALTER TABLE conversation_participants ADD COLUMN last_read_at TIMESTAMP;
+
+-- existing history starts out read so the first inbox after the upgrade does not light up every badge
+UPDATE conversation_participants
+SET last_read_message_id = (SELECT c.last_message_id FROM conversations c WHERE c.id = conversation_participants.conversation_id),
+    last_read_at = (SELECT c.last_message_at FROM conversations c WHERE c.id = conversation_participants.conversation_id);
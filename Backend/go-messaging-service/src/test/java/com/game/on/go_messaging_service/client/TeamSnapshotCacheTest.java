@@ -0,0 +1,145 @@
+package com.game.on.go_messaging_service.client;
+
+import com.game.on.common.dto.TeamMembershipEventDTO;
+import com.game.on.go_messaging_service.client.dto.RemoteTeamDetail;
+import com.game.on.go_messaging_service.client.dto.RemoteTeamMember;
+import com.game.on.go_messaging_service.client.dto.RemoteTeamMemberRole;
+import com.game.on.go_messaging_service.client.dto.RemoteTeamMemberStatus;
+import com.game.on.go_messaging_service.exception.NotFoundException;
+import com.game.on.go_messaging_service.kafka.TeamMembershipConsumer;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeamSnapshotCacheTest {
+
+    @Mock
+    private TeamDirectoryClient teamDirectoryClient;
+
+    private final UUID teamId = UUID.randomUUID();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TeamSnapshotCache cache;
+    private TeamDirectoryService directoryService;
+    private TeamMembershipConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TeamSnapshotCache(meterRegistry, Duration.ofMinutes(5), 100);
+        directoryService = new TeamDirectoryService(teamDirectoryClient, cache);
+        consumer = new TeamMembershipConsumer(cache);
+    }
+
+    @Test
+    void fetchSnapshot_servesRepeatLookupsWithoutRemoteCalls() {
+        stubTeam("owner-1", "user-1", "user-2");
+
+        var first = directoryService.fetchSnapshot(teamId);
+        var second = directoryService.fetchSnapshot(teamId);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.activeMemberIds()).containsExactlyInAnyOrder("user-1", "user-2");
+        verify(teamDirectoryClient, times(1)).fetchTeam(teamId);
+        verify(teamDirectoryClient, times(1)).fetchMembers(teamId);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void membershipEvent_evictsTheTeamSoTheNextLookupReloads() {
+        stubTeam("owner-1", "user-1");
+        directoryService.fetchSnapshot(teamId);
+
+        stubTeam("owner-1", "user-1", "user-3");
+        consumer.onMembershipChanged(new TeamMembershipEventDTO(
+                teamId, "user-3", TeamMembershipEventDTO.JOINED, LocalDateTime.now()));
+
+        assertThat(directoryService.fetchSnapshot(teamId).isActiveMember("user-3")).isTrue();
+        verify(teamDirectoryClient, times(2)).fetchTeam(teamId);
+        assertThat(meterRegistry.counter("team_snapshot_cache_evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_concurrentMissesShareOneLoad() throws Exception {
+        var release = new CountDownLatch(1);
+        var snapshot = new TeamSnapshot(teamId, "owner-1", List.of());
+        var loads = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TeamSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> cache.get(teamId, id -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return snapshot;
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<TeamSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(snapshot);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void fetchSnapshot_failedLookupIsNotCached() {
+        var request = Request.create(Request.HttpMethod.GET, "/api/v1/teams/" + teamId, new HashMap<>(), null,
+                StandardCharsets.UTF_8, null);
+        when(teamDirectoryClient.fetchTeam(teamId))
+                .thenThrow(new FeignException.NotFound("missing", request, null, null))
+                .thenReturn(new RemoteTeamDetail(teamId, "Team", "owner-1", false, null, null));
+        when(teamDirectoryClient.fetchMembers(teamId)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> directoryService.fetchSnapshot(teamId)).isInstanceOf(NotFoundException.class);
+        assertThat(directoryService.fetchSnapshot(teamId).ownerUserId()).isEqualTo("owner-1");
+    }
+
+    private void stubTeam(String ownerUserId, String... memberIds) {
+        when(teamDirectoryClient.fetchTeam(teamId)).thenReturn(new RemoteTeamDetail(teamId, "Team", ownerUserId, false, null, null));
+        when(teamDirectoryClient.fetchMembers(teamId)).thenReturn(Arrays.stream(memberIds)
+                .map(userId -> new RemoteTeamMember(userId, RemoteTeamMemberRole.PLAYER, RemoteTeamMemberStatus.ACTIVE, null))
+                .toList());
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("team_snapshot_cache_requests", "result", result).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
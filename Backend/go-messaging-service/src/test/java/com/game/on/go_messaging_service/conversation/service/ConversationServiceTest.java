@@ -8,12 +8,19 @@ import com.game.on.go_messaging_service.client.dto.RemoteTeamMemberStatus;
 import com.game.on.go_messaging_service.conversation.dto.DirectConversationRequest;
 import com.game.on.go_messaging_service.conversation.dto.TeamConversationRequest;
 import com.game.on.go_messaging_service.conversation.model.ConversationType;
+import com.game.on.go_messaging_service.conversation.model.Conversation;
 import com.game.on.go_messaging_service.conversation.repository.ConversationParticipantRepository;
+import com.game.on.go_messaging_service.conversation.repository.ConversationRepository;
 import com.game.on.go_messaging_service.exception.BadRequestException;
 import com.game.on.go_messaging_service.exception.ForbiddenException;
+import com.game.on.go_messaging_service.exception.NotFoundException;
+import com.game.on.go_messaging_service.message.model.Message;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +31,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,6 +41,7 @@ import static org.mockito.Mockito.when;
 @Import({
         ConversationService.class,
         ConversationMapper.class,
+        ReadCursorBuffer.class,
         ConversationServiceTest.TestAuditConfig.class
 })
 class ConversationServiceTest {
@@ -43,14 +52,33 @@ class ConversationServiceTest {
     @Autowired
     private ConversationParticipantRepository participantRepository;
 
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private TeamDirectoryService teamDirectoryService;
 
     @TestConfiguration
     static class TestAuditConfig {
+        // strictly increasing, so messages saved back to back keep their order
         @Bean(name = "auditingDateTimeProvider")
         DateTimeProvider auditingDateTimeProvider() {
-            return () -> Optional.of(OffsetDateTime.now());
+            var last = new AtomicReference<>(OffsetDateTime.now());
+            return () -> Optional.of(last.updateAndGet(previous -> {
+                var now = OffsetDateTime.now();
+                return now.isAfter(previous) ? now : previous.plusNanos(1_000);
+            }));
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
     }
 
@@ -115,6 +143,113 @@ class ConversationServiceTest {
                 .hasMessageContaining("Event chat membership is locked");
     }
 
+    @Test
+    void revokeStaleTeamParticipation_removesOnlyChatsOfTeamsTheUserLeft() {
+        UUID leftTeamId = UUID.randomUUID();
+        UUID currentTeamId = UUID.randomUUID();
+        String memberId = "member-960";
+        when(teamDirectoryService.fetchSnapshot(leftTeamId)).thenReturn(teamSnapshot(leftTeamId, "owner-961", "owner-961", memberId));
+        when(teamDirectoryService.fetchSnapshot(currentTeamId)).thenReturn(teamSnapshot(currentTeamId, "owner-962", "owner-962", memberId));
+        var left = conversationService.createTeamConversation(leftTeamId, new TeamConversationRequest("Old squad", false), "owner-961");
+        var current = conversationService.createTeamConversation(currentTeamId, new TeamConversationRequest("New squad", false), "owner-962");
+        var direct = conversationService.createDirectConversation(new DirectConversationRequest("user-963"), memberId);
+
+        // the member left the first team; no one has opened its chat since
+        when(teamDirectoryService.fetchSnapshot(leftTeamId)).thenReturn(teamSnapshot(leftTeamId, "owner-961", "owner-961"));
+        conversationService.revokeStaleTeamParticipation(memberId);
+        entityManager.flush();
+
+        assertThat(participantRepository.existsByConversationIdAndUserId(left.id(), memberId)).isFalse();
+        assertThat(participantRepository.existsByConversationIdAndUserId(left.id(), "owner-961")).isTrue();
+        assertThat(participantRepository.existsByConversationIdAndUserId(current.id(), memberId)).isTrue();
+        assertThat(participantRepository.existsByConversationIdAndUserId(direct.id(), memberId)).isTrue();
+    }
+
+    @Test
+    void listConversations_readsTheLastMessageFromTheConversation() {
+        when(teamDirectoryService.fetchActiveTeamIdsForUser()).thenReturn(List.of());
+        var conversation = conversationService.createDirectConversation(new DirectConversationRequest("user-402"), "user-401");
+        var sentAt = OffsetDateTime.now();
+        var latestId = UUID.randomUUID();
+
+        conversationRepository.recordLastMessage(conversation.id(), latestId, "user-402", "See you at 7", sentAt);
+        // a slower transaction for an earlier message must not win
+        conversationRepository.recordLastMessage(conversation.id(), UUID.randomUUID(), "user-401", "Running late",
+                sentAt.minusSeconds(5));
+        entityManager.clear();
+
+        var listed = conversationService.listConversations("user-401").conversations();
+
+        assertThat(listed).hasSize(1);
+        var lastMessage = listed.get(0).lastMessage();
+        assertThat(lastMessage.id()).isEqualTo(latestId);
+        assertThat(lastMessage.senderId()).isEqualTo("user-402");
+        assertThat(lastMessage.content()).isEqualTo("See you at 7");
+    }
+
+    @Test
+    void listConversations_countsUnreadMessagesFromOthers() {
+        when(teamDirectoryService.fetchActiveTeamIdsForUser()).thenReturn(List.of());
+        var quiet = conversationService.createDirectConversation(new DirectConversationRequest("user-502"), "user-501");
+        var busy = conversationService.createDirectConversation(new DirectConversationRequest("user-503"), "user-501");
+        saveMessage(quiet.id(), "user-501");
+        saveMessage(busy.id(), "user-503");
+        saveMessage(busy.id(), "user-501");
+        saveMessage(busy.id(), "user-503");
+
+        var unread = conversationService.listConversations("user-501").conversations().stream()
+                .collect(java.util.stream.Collectors.toMap(c -> c.id(), c -> c.unreadCount()));
+
+        assertThat(unread).containsEntry(quiet.id(), 0L).containsEntry(busy.id(), 2L);
+    }
+
+    @Test
+    void markRead_coalescesCursorsAndNeverMovesThemBack() {
+        when(teamDirectoryService.fetchActiveTeamIdsForUser()).thenReturn(List.of());
+        var conversation = conversationService.createDirectConversation(new DirectConversationRequest("user-602"), "user-601");
+        var first = saveMessage(conversation.id(), "user-602");
+        var second = saveMessage(conversation.id(), "user-602");
+        saveMessage(conversation.id(), "user-602");
+
+        conversationService.markRead(conversation.id(), "user-601", first.getId());
+        conversationService.markRead(conversation.id(), "user-601", second.getId());
+        conversationService.markRead(conversation.id(), "user-601", first.getId());
+        var listed = conversationService.listConversations("user-601").conversations();
+
+        assertThat(listed.get(0).unreadCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("read_cursor_marks").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("read_cursor_writes").count()).isEqualTo(1);
+        entityManager.clear();
+        assertThat(participantRepository.findByConversationIdAndUserId(conversation.id(), "user-601"))
+                .hasValueSatisfying(participant -> assertThat(participant.getLastReadMessageId()).isEqualTo(second.getId()));
+    }
+
+    @Test
+    void markRead_rejectsMessagesFromAnotherConversation() {
+        var conversation = conversationService.createDirectConversation(new DirectConversationRequest("user-702"), "user-701");
+        var other = conversationService.createDirectConversation(new DirectConversationRequest("user-703"), "user-701");
+        var foreign = saveMessage(other.id(), "user-703");
+
+        assertThatThrownBy(() -> conversationService.markRead(conversation.id(), "user-701", foreign.getId()))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void preview_truncatesLongMessages() {
+        var content = "x".repeat(Conversation.PREVIEW_LENGTH + 50);
+
+        assertThat(Conversation.preview(content)).hasSize(Conversation.PREVIEW_LENGTH);
+        assertThat(Conversation.preview("short")).isEqualTo("short");
+    }
+
+    private Message saveMessage(UUID conversationId, String senderId) {
+        return entityManager.persistAndFlush(Message.builder()
+                .conversation(entityManager.find(Conversation.class, conversationId))
+                .senderId(senderId)
+                .content("Message from " + senderId)
+                .build());
+    }
+
     private TeamSnapshot teamSnapshot(UUID teamId, String ownerId, String... userIds) {
         List<RemoteTeamMember> members = java.util.Arrays.stream(userIds)
                 .distinct()
@@ -0,0 +1,98 @@
+package com.game.on.go_messaging_service.kafka;
+
+import com.game.on.go_messaging_service.config.KafkaConsumerConfig;
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
+import com.game.on.go_messaging_service.message.service.MessageBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueuedMessageConsumerTest {
+
+    private final TopicPartition partition = new TopicPartition(QueuedMessage.TOPIC, 0);
+    private final MessageBatchWriter batchWriter = mock(MessageBatchWriter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueuedMessageConsumer consumer = new QueuedMessageConsumer(batchWriter, meterRegistry);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transientFailure_retriesTheWholeBatchInsteadOfDroppingIt() {
+        var batch = List.of(message(), message());
+        var databaseDown = new TransientDataAccessResourceException("connection refused");
+        when(batchWriter.write(batch)).thenThrow(databaseDown).thenThrow(databaseDown).thenReturn(2);
+        KafkaOperations<String, QueuedMessage> kafkaTemplate = mock(KafkaOperations.class);
+        var errorHandler = KafkaConsumerConfig.messageWriterErrorHandler(kafkaTemplate, meterRegistry,
+                Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMinutes(1));
+        Consumer<String, QueuedMessage> kafkaConsumer = mock(Consumer.class);
+        when(kafkaConsumer.assignment()).thenReturn(Set.of(partition));
+        when(kafkaConsumer.poll(any(Duration.class))).thenReturn(ConsumerRecords.empty());
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.isRunning()).thenReturn(true);
+
+        assertThatThrownBy(() -> consumer.onMessages(batch)).isSameAs(databaseDown);
+        errorHandler.handleBatch(databaseDown, records(batch), kafkaConsumer, container, () -> consumer.onMessages(batch));
+
+        verify(batchWriter, times(3)).write(batch);
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        assertThat(meterRegistry.summary("message_write_behind_batch_size").totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.counter("message_write_behind_dead_lettered").count()).isZero();
+    }
+
+    @Test
+    void rejectedMessage_storesTheMessagesAheadOfItAndReportsItsIndex() {
+        var first = message();
+        var rejected = message();
+        var last = message();
+        var rejection = new DataIntegrityViolationException("conversation is gone");
+        when(batchWriter.write(List.of(first, rejected, last))).thenThrow(rejection);
+        when(batchWriter.write(List.of(rejected))).thenThrow(rejection);
+
+        assertThatThrownBy(() -> consumer.onMessages(List.of(first, rejected, last)))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, ex -> {
+                    assertThat(ex.getIndex()).isEqualTo(1);
+                    assertThat(ex.getCause()).isSameAs(rejection);
+                });
+
+        verify(batchWriter).write(List.of(first));
+        verify(batchWriter, never()).write(List.of(last));
+    }
+
+    private ConsumerRecords<String, QueuedMessage> records(List<QueuedMessage> batch) {
+        List<ConsumerRecord<String, QueuedMessage>> records = new ArrayList<>();
+        for (int offset = 0; offset < batch.size(); offset++) {
+            var message = batch.get(offset);
+            records.add(new ConsumerRecord<>(QueuedMessage.TOPIC, 0, offset, message.conversationId().toString(), message));
+        }
+        return new ConsumerRecords<>(Map.of(partition, records));
+    }
+
+    private static QueuedMessage message() {
+        return new QueuedMessage(UUID.randomUUID(), UUID.randomUUID(), "user-1", "hello", OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,83 @@
+package com.game.on.go_messaging_service.message.repository;
+
+import com.game.on.go_messaging_service.conversation.model.Conversation;
+import com.game.on.go_messaging_service.conversation.model.ConversationType;
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
+import com.game.on.go_messaging_service.message.model.Message;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(MessageRepositoryTest.TestAuditConfig.class)
+class MessageRepositoryTest {
+
+    // every message gets the same timestamp, the case timestamp-only paging cannot handle
+    private static final OffsetDateTime SENT_AT = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @TestConfiguration
+    static class TestAuditConfig {
+        @Bean(name = "auditingDateTimeProvider")
+        DateTimeProvider auditingDateTimeProvider() {
+            return () -> Optional.of(SENT_AT);
+        }
+    }
+
+    @Test
+    void findMessagesBeforeCursor_pagesThroughTiedTimestampsWithoutGapsOrRepeats() {
+        var conversation = entityManager.persistAndFlush(Conversation.builder()
+                .type(ConversationType.GROUP)
+                .name("Game day")
+                .createdByUserId("user-1")
+                .build());
+        List<UUID> sent = IntStream.range(0, 5)
+                .mapToObj(i -> entityManager.persistAndFlush(Message.builder()
+                        .conversation(conversation)
+                        .senderId("user-1")
+                        .content("Message " + i)
+                        .build()).getId())
+                .toList();
+        entityManager.clear();
+
+        List<UUID> seen = new ArrayList<>();
+        var page = messageRepository.findMessages(conversation.getId(), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(message -> seen.add(message.getId()));
+            var oldest = page.get(page.size() - 1);
+            var cursor = HistoryCursor.decode(new HistoryCursor(oldest.getCreatedAt(), oldest.getId()).encode());
+            page = messageRepository.findMessagesBeforeCursor(conversation.getId(), cursor.createdAt(), cursor.id(),
+                    PageRequest.of(0, 2));
+        }
+
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(sent);
+    }
+
+    @Test
+    void decode_rejectsTokensItDidNotIssue() {
+        assertThatThrownBy(() -> HistoryCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
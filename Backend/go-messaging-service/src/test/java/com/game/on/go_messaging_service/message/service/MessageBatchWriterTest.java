@@ -0,0 +1,105 @@
+package com.game.on.go_messaging_service.message.service;
+
+import com.game.on.go_messaging_service.conversation.model.Conversation;
+import com.game.on.go_messaging_service.conversation.model.ConversationType;
+import com.game.on.go_messaging_service.conversation.repository.ConversationRepository;
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
+import com.game.on.go_messaging_service.message.repository.MessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.auditing.DateTimeProvider;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({
+        MessageBatchWriter.class,
+        MessageBatchWriterTest.TestAuditConfig.class
+})
+class MessageBatchWriterTest {
+
+    @Autowired
+    private MessageBatchWriter batchWriter;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @SpyBean
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @TestConfiguration
+    static class TestAuditConfig {
+        @Bean(name = "auditingDateTimeProvider")
+        DateTimeProvider auditingDateTimeProvider() {
+            return () -> Optional.of(OffsetDateTime.now());
+        }
+    }
+
+    @Test
+    void write_insertsTheBatchAndMovesEachSummaryOnce() {
+        var busy = saveConversation("user-1");
+        var quiet = saveConversation("user-2");
+        var start = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        var batch = List.of(
+                queued(busy, "user-1", "Bus leaves at 5", start),
+                queued(quiet, "user-2", "Who has the cones?", start.plusNanos(1_000)),
+                queued(busy, "user-3", "Saving seats", start.plusNanos(2_000)),
+                queued(busy, "user-1", "Doors open", start.plusNanos(3_000)));
+
+        assertThat(batchWriter.write(batch)).isEqualTo(4);
+        entityManager.clear();
+
+        assertThat(messageRepository.count()).isEqualTo(4);
+        verify(conversationRepository, times(1)).recordLastMessage(eq(busy), any(), anyString(), anyString(), any());
+        verify(conversationRepository, times(1)).recordLastMessage(eq(quiet), any(), anyString(), anyString(), any());
+        var summary = conversationRepository.findById(busy).orElseThrow();
+        assertThat(summary.getLastMessageId()).isEqualTo(batch.get(3).id());
+        assertThat(summary.getLastMessagePreview()).isEqualTo("Doors open");
+        assertThat(messageRepository.findById(batch.get(2).id()).orElseThrow().getSenderId()).isEqualTo("user-3");
+    }
+
+    @Test
+    void write_skipsMessagesThatAreAlreadyStored() {
+        var conversationId = saveConversation("user-1");
+        var first = queued(conversationId, "user-1", "One", OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        batchWriter.write(List.of(first));
+
+        var redelivered = List.of(first, queued(conversationId, "user-1", "Two", first.createdAt().plusNanos(1_000)));
+
+        assertThat(batchWriter.write(redelivered)).isEqualTo(1);
+        assertThat(batchWriter.write(redelivered)).isZero();
+        assertThat(messageRepository.count()).isEqualTo(2);
+    }
+
+    private UUID saveConversation(String createdBy) {
+        return entityManager.persistAndFlush(Conversation.builder()
+                .type(ConversationType.GROUP)
+                .name("Game day")
+                .createdByUserId(createdBy)
+                .build()).getId();
+    }
+
+    private static QueuedMessage queued(UUID conversationId, String senderId, String content, OffsetDateTime createdAt) {
+        return new QueuedMessage(UUID.randomUUID(), conversationId, senderId, content, createdAt);
+    }
+}
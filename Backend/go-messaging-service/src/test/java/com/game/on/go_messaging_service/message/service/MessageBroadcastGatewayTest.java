@@ -0,0 +1,142 @@
+package com.game.on.go_messaging_service.message.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.on.go_messaging_service.conversation.model.Conversation;
+import com.game.on.go_messaging_service.conversation.model.ConversationType;
+import com.game.on.go_messaging_service.conversation.service.ConversationMapper;
+import com.game.on.go_messaging_service.message.model.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MessageBroadcastGatewayTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final ConversationMapper conversationMapper = spy(new ConversationMapper());
+    private final ObjectMapper objectMapper = spy(new ObjectMapper().findAndRegisterModules());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MessageBroadcastGateway gateway;
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new MessageBroadcastGateway(messagingTemplate, conversationMapper, objectMapper, meterRegistry, 2, 10);
+        var conversation = Conversation.builder()
+                .id(UUID.randomUUID())
+                .type(ConversationType.GROUP)
+                .build();
+        message = Message.builder()
+                .id(UUID.randomUUID())
+                .conversation(conversation)
+                .senderId("user-1")
+                .content("Kickoff moved to 7pm")
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishToUsers_encodesOnceAndSendsTheSameBytesToEveryRecipient() throws Exception {
+        gateway.publishToUsers(List.of("user-1", "user-2", "user-3"), message);
+        gateway.shutdown();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<org.springframework.messaging.Message<byte[]>> sent =
+                ArgumentCaptor.forClass(org.springframework.messaging.Message.class);
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        verify(messagingTemplate, times(3)).send(destinations.capture(), sent.capture());
+
+        assertThat(destinations.getAllValues()).containsExactly(
+                "/user/user-1/queue/messages", "/user/user-2/queue/messages", "/user/user-3/queue/messages");
+        var payload = sent.getAllValues().get(0).getPayload();
+        assertThat(sent.getAllValues()).allSatisfy(each -> assertThat(each.getPayload()).isSameAs(payload));
+        assertThat(sent.getValue().getHeaders().get("contentType")).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(new String(payload, StandardCharsets.UTF_8)).contains("Kickoff moved to 7pm");
+        verify(conversationMapper, times(1)).toMessageResponse(message);
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+
+        assertThat(meterRegistry.summary("message_fanout_recipients").totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.timer("message_fanout_latency").count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishToUsers_waitsForTheTransactionToCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        gateway.publishToUsers(List.of("user-1"), message);
+
+        verifyNoInteractions(messagingTemplate);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        gateway.shutdown();
+        verify(messagingTemplate).send(anyString(), any(org.springframework.messaging.Message.class));
+    }
+
+    @Test
+    void publishToConversation_keepsEachConversationInCommitOrder() {
+        var conversations = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            // uneven send times, so a shared pool would let later messages overtake earlier ones
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            org.springframework.messaging.Message<byte[]> sent = invocation.getArgument(1);
+            received.computeIfAbsent(invocation.getArgument(0), ignored -> new CopyOnWriteArrayList<>())
+                    .add(objectMapper.readTree(sent.getPayload()).get("content").asText());
+            return null;
+        }).when(messagingTemplate).send(anyString(), any(org.springframework.messaging.Message.class));
+
+        Map<String, List<String>> expected = new HashMap<>();
+        for (int i = 0; i < 60; i++) {
+            var conversationId = conversations.get(i % conversations.size());
+            var content = "message " + i;
+            gateway.publishToConversation(conversationId, Message.builder()
+                    .id(UUID.randomUUID())
+                    .conversation(Conversation.builder().id(conversationId).type(ConversationType.GROUP).build())
+                    .senderId("user-1")
+                    .content(content)
+                    .createdAt(OffsetDateTime.now())
+                    .build());
+            expected.computeIfAbsent("/topic/chatrooms/" + conversationId, ignored -> new ArrayList<>()).add(content);
+        }
+        gateway.shutdown();
+
+        assertThat(received).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,100 @@
+package com.game.on.go_messaging_service.message.service;
+
+import com.game.on.go_messaging_service.conversation.service.ConversationService;
+import com.game.on.go_messaging_service.exception.BadRequestException;
+import com.game.on.go_messaging_service.exception.ForbiddenException;
+import com.game.on.go_messaging_service.message.dto.HistoryCursor;
+import com.game.on.go_messaging_service.message.dto.MessageSearchResult;
+import com.game.on.go_messaging_service.message.repository.MessageSearchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MessageSearchServiceTest {
+
+    @Mock
+    private MessageSearchRepository searchRepository;
+
+    @Mock
+    private ConversationService conversationService;
+
+    @InjectMocks
+    private MessageSearchService searchService;
+
+    @Test
+    void search_returnsACursorFromTheOldestHitOfAFullPage() {
+        var now = OffsetDateTime.now();
+        var hits = IntStream.range(0, 3)
+                .mapToObj(i -> new MessageSearchResult(UUID.randomUUID(), UUID.randomUUID(), "user-2",
+                        "bring the <mark>jerseys</mark>", now.minusMinutes(i)))
+                .toList();
+        when(searchRepository.search("user-1", "jerseys", null, null, 3)).thenReturn(hits);
+
+        var response = searchService.search("user-1", "  jerseys ", null, 3, null);
+
+        assertThat(response.results()).isEqualTo(hits);
+        var cursor = HistoryCursor.decode(response.nextCursor());
+        assertThat(cursor.id()).isEqualTo(hits.get(2).id());
+        assertThat(cursor.createdAt()).isEqualTo(hits.get(2).createdAt());
+    }
+
+    @Test
+    void search_acrossConversations_revokesStaleTeamChatsBeforeQuerying() {
+        when(searchRepository.search("user-1", "jerseys", null, null, 20)).thenReturn(List.of());
+
+        searchService.search("user-1", "jerseys", null, null, null);
+
+        var inOrder = inOrder(conversationService, searchRepository);
+        inOrder.verify(conversationService).revokeStaleTeamParticipation("user-1");
+        inOrder.verify(searchRepository).search("user-1", "jerseys", null, null, 20);
+        verify(conversationService, never()).requireParticipant(any(), any());
+    }
+
+    @Test
+    void search_withinAConversation_checksAccessFirst() {
+        var conversationId = UUID.randomUUID();
+        doThrow(new ForbiddenException("You are not part of this conversation"))
+                .when(conversationService).requireParticipant(conversationId, "user-1");
+
+        assertThatThrownBy(() -> searchService.search("user-1", "jerseys", conversationId, null, null))
+                .isInstanceOf(ForbiddenException.class);
+        verifyNoInteractions(searchRepository);
+    }
+
+    @Test
+    void search_lastPageHasNoCursor() {
+        when(searchRepository.search(eq("user-1"), anyString(), any(), any(), anyInt())).thenReturn(List.of());
+
+        var response = searchService.search("user-1", "jerseys", null, 500, null);
+
+        assertThat(response.nextCursor()).isNull();
+        verify(searchRepository).search("user-1", "jerseys", null, null, 50);
+    }
+
+    @Test
+    void search_rejectsBlankQueries() {
+        assertThatThrownBy(() -> searchService.search("user-1", "  ", null, null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
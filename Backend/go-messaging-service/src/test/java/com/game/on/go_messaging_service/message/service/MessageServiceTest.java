@@ -8,6 +8,7 @@ import com.game.on.go_messaging_service.conversation.service.ConversationMapper;
 import com.game.on.go_messaging_service.conversation.service.ConversationService;
 import com.game.on.go_messaging_service.exception.BadRequestException;
 import com.game.on.go_messaging_service.message.dto.MessageResponse;
+import com.game.on.go_messaging_service.message.dto.QueuedMessage;
 import com.game.on.go_messaging_service.message.model.Message;
 import com.game.on.go_messaging_service.message.repository.MessageRepository;
 import org.junit.jupiter.api.Test;
@@ -16,16 +17,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -50,6 +57,15 @@ class MessageServiceTest {
     @Mock
     private MessageBroadcastGateway broadcastGateway;
 
+    @Mock
+    private MessageWriteBehind messageWriteBehind;
+
+    @Mock
+    private MessageBatchWriter messageBatchWriter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private MessageService messageService;
 
@@ -67,7 +83,7 @@ class MessageServiceTest {
         UUID conversationId = UUID.randomUUID();
         when(messageRepository.findMessages(eq(conversationId), any())).thenReturn(List.of());
 
-        messageService.fetchHistory(conversationId, "user-98", 25, null);
+        messageService.fetchHistory(conversationId, "user-98", 25, null, null);
 
         verify(conversationService).requireParticipant(conversationId, "user-98");
     }
@@ -82,14 +98,28 @@ class MessageServiceTest {
                 .build();
         when(conversationService.requireConversation(conversationId)).thenReturn(conversation);
         when(participantRepository.findParticipantIds(conversationId)).thenReturn(List.of("user-10", "user-20"));
+        var inTransaction = new AtomicBoolean();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        // fan-out happens once the write has committed
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return null;
+        }).when(broadcastGateway).publishToUsers(any(), any());
         when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
             Message message = invocation.getArgument(0);
             message.setId(UUID.randomUUID());
             message.setCreatedAt(OffsetDateTime.now());
             message.setConversation(conversation);
             return message;
         });
-        when(conversationRepository.save(conversation)).thenReturn(conversation);
         when(conversationMapper.toMessageResponse(any(Message.class)))
                 .thenAnswer(invocation -> {
                     Message m = invocation.getArgument(0);
@@ -102,5 +132,58 @@ class MessageServiceTest {
         ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
         verify(broadcastGateway).publishToUsers(eq(List.of("user-10", "user-20")), messageCaptor.capture());
         assertThat(messageCaptor.getValue().getContent()).isEqualTo("A quick ping");
+        verify(conversationRepository).recordLastMessage(eq(conversationId), eq(response.id()), eq("user-10"),
+                eq("A quick ping"), eq(response.createdAt()));
+    }
+
+    @Test
+    void sendMessage_withWriteBehind_acknowledgesOnceQueued() {
+        UUID conversationId = UUID.randomUUID();
+        var conversation = Conversation.builder()
+                .id(conversationId)
+                .type(ConversationType.DIRECT)
+                .createdByUserId("user-10")
+                .build();
+        when(conversationService.requireConversation(conversationId)).thenReturn(conversation);
+        when(participantRepository.findParticipantIds(conversationId)).thenReturn(List.of("user-10", "user-20"));
+        when(messageWriteBehind.isEnabled()).thenReturn(true);
+        when(messageWriteBehind.enqueue(any(QueuedMessage.class))).thenReturn(true);
+        when(conversationMapper.toMessageResponse(any(Message.class)))
+                .thenAnswer(invocation -> {
+                    Message m = invocation.getArgument(0);
+                    return new MessageResponse(m.getId(), conversationId, m.getSenderId(), m.getContent(), m.getCreatedAt());
+                });
+
+        var response = messageService.sendMessage(conversationId, "user-10", "Warmups at 6");
+
+        ArgumentCaptor<QueuedMessage> queued = ArgumentCaptor.forClass(QueuedMessage.class);
+        verify(messageWriteBehind).enqueue(queued.capture());
+        assertThat(queued.getValue().id()).isEqualTo(response.id());
+        assertThat(queued.getValue().createdAt()).isEqualTo(response.createdAt());
+        verify(broadcastGateway).publishToUsers(eq(List.of("user-10", "user-20")), any(Message.class));
+        verify(messageRepository, never()).save(any(Message.class));
+        verify(messageBatchWriter, never()).write(any());
+        verifyNoMoreInteractions(conversationRepository);
+        // the broker acknowledgement is awaited without a transaction, so no connection is held
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void sendMessage_withWriteBehind_writesDirectlyWhenTheQueueIsUnavailable() {
+        UUID conversationId = UUID.randomUUID();
+        var conversation = Conversation.builder()
+                .id(conversationId)
+                .type(ConversationType.DIRECT)
+                .createdByUserId("user-10")
+                .build();
+        when(conversationService.requireConversation(conversationId)).thenReturn(conversation);
+        when(messageWriteBehind.isEnabled()).thenReturn(true);
+        when(messageWriteBehind.enqueue(any(QueuedMessage.class))).thenReturn(false);
+
+        messageService.sendMessage(conversationId, "user-10", "Warmups at 6");
+
+        ArgumentCaptor<QueuedMessage> queued = ArgumentCaptor.forClass(QueuedMessage.class);
+        verify(messageWriteBehind).enqueue(queued.capture());
+        verify(messageBatchWriter).write(List.of(queued.getValue()));
     }
 }
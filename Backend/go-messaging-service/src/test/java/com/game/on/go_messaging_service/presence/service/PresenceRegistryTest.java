@@ -0,0 +1,142 @@
+package com.game.on.go_messaging_service.presence.service;
+
+import com.game.on.go_messaging_service.presence.dto.PresenceBatch;
+import com.game.on.go_messaging_service.presence.dto.PresenceUpdate;
+import com.game.on.go_messaging_service.websocket.MessagingPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceRegistryTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final UUID practice = UUID.randomUUID();
+    private final UUID roster = UUID.randomUUID();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PresenceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PresenceRegistry(meterRegistry, Duration.ofSeconds(6), Duration.ofSeconds(45), 2, 5, false);
+    }
+
+    @Test
+    void drain_coalescesEveryChangeInATickIntoOneBatchPerConversation() {
+        registry.connect("s1", "user-1", false, 0);
+        registry.connect("s2", "user-2", false, 0);
+        registry.watch("s1", "sub-0", practice);
+        registry.watch("s2", "sub-0", practice);
+        registry.watch("s2", "sub-1", roster);
+        registry.typing("s1", practice, true, 0);
+        registry.typing("s1", practice, false, 0);
+        registry.typing("s2", practice, true, 0);
+
+        assertThat(registry.drain(0)).containsExactlyInAnyOrder(
+                new PresenceBatch(practice, List.of(
+                        new PresenceUpdate("user-1", true, false),
+                        new PresenceUpdate("user-2", true, true))),
+                new PresenceBatch(roster, List.of(new PresenceUpdate("user-2", true, false))));
+        assertThat(registry.drain(1)).isEmpty();
+
+        // a user who comes and goes between two ticks is never announced
+        registry.connect("s3", "user-3", false, 2);
+        registry.watch("s3", "sub-0", roster);
+        registry.disconnect("s3");
+        registry.disconnect("s2");
+
+        assertThat(registry.drain(3)).containsExactlyInAnyOrder(
+                new PresenceBatch(practice, List.of(new PresenceUpdate("user-2", false, false))),
+                new PresenceBatch(roster, List.of(new PresenceUpdate("user-2", false, false))));
+        assertThat(meterRegistry.counter("presence_events_in", "type", "typing").count()).isEqualTo(3);
+    }
+
+    @Test
+    void typing_isRateLimitedPerUserAcrossSessions() {
+        registry.connect("s1", "user-1", false, 0);
+        registry.connect("s2", "user-1", false, 0);
+        registry.watch("s1", "sub-0", practice);
+        registry.watch("s2", "sub-0", practice);
+
+        for (int i = 0; i < 8; i++) {
+            registry.typing(i % 2 == 0 ? "s1" : "s2", practice, i % 2 == 0, 0);
+        }
+        registry.typing("s1", practice, false, SECOND);
+
+        assertThat(meterRegistry.counter("presence_events_dropped", "reason", "rate_limited").count()).isEqualTo(3);
+        var batches = registry.drain(SECOND);
+        assertThat(batches).singleElement()
+                .satisfies(batch -> assertThat(batch.updates()).containsExactly(new PresenceUpdate("user-1", true, false)));
+    }
+
+    @Test
+    void watch_isCappedPerSessionAndTypingNeedsAWatchedConversation() {
+        registry.connect("s1", "user-1", false, 0);
+        registry.watch("s1", "sub-0", practice);
+        registry.watch("s1", "sub-1", roster);
+        registry.watch("s1", "sub-2", UUID.randomUUID());
+        registry.unwatch("s1", "sub-1");
+        registry.typing("s1", roster, true, 0);
+
+        assertThat(meterRegistry.counter("presence_events_dropped", "reason", "session_limit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("presence_events_dropped", "reason", "not_subscribed").count()).isEqualTo(1);
+        assertThat(registry.drain(0)).extracting(PresenceBatch::conversationId).containsExactly(practice);
+    }
+
+    @Test
+    void drain_expiresTypingAndEvictsSessionsThatStopHeartbeating() {
+        registry.connect("quiet", "user-1", true, 0);
+        registry.connect("legacy", "user-2", false, 0);
+        registry.watch("quiet", "sub-0", practice);
+        registry.watch("legacy", "sub-0", practice);
+        registry.typing("legacy", practice, true, 0);
+        registry.drain(0);
+
+        assertThat(registry.drain(7 * SECOND)).singleElement()
+                .satisfies(batch -> assertThat(batch.updates()).containsExactly(new PresenceUpdate("user-2", true, false)));
+        assertThat(registry.drain(46 * SECOND)).singleElement()
+                .satisfies(batch -> assertThat(batch.updates()).containsExactly(new PresenceUpdate("user-1", false, false)));
+        assertThat(meterRegistry.counter("presence_sessions_evicted").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("presence_sessions").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void relayMode_ignoresEventsBecauseCountsAreOnlyLocal() {
+        var relayRegistry = new PresenceRegistry(new SimpleMeterRegistry(), Duration.ofSeconds(6),
+                Duration.ofSeconds(45), 2, 5, true);
+        for (var target : List.of(registry, relayRegistry)) {
+            target.onConnected(connected("s1", "user-1"));
+            target.onSubscribe(subscribed("s1", "sub-0", practice));
+            target.typing("s1", practice, true);
+        }
+
+        assertThat(registry.drain()).extracting(PresenceBatch::conversationId).containsExactly(practice);
+        assertThat(relayRegistry.drain()).isEmpty();
+    }
+
+    private SessionConnectedEvent connected(String sessionId, String userId) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        var message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionConnectedEvent(this, message, new MessagingPrincipal(userId, null, null));
+    }
+
+    private SessionSubscribeEvent subscribed(String sessionId, String subscriptionId, UUID conversationId) {
+        var accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(PresenceBroadcaster.destination(conversationId));
+        return new SessionSubscribeEvent(this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,249 @@
+package com.game.on.go_messaging_service.websocket;
+
+import com.game.on.go_messaging_service.config.WebSocketConfig;
+import com.game.on.go_messaging_service.conversation.service.ConversationService;
+import com.game.on.go_messaging_service.exception.ForbiddenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.MultiServerUserRegistry;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.simp.user.UserRegistryMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.messaging.DefaultSimpUserRegistry;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs several messaging instances in one JVM against an in-memory stand-in for the external STOMP
+ * broker, wired the way {@link WebSocketConfig} wires the broker relay, and checks that /user
+ * messages reach sessions held by other instances exactly once.
+ */
+class BrokerRelayClusterTest {
+
+    private static final int INSTANCES = 4;
+    private static final int USERS = 200;
+    private static final int MESSAGES = 5000;
+    private static final String USER_QUEUE = "/queue/messages";
+
+    private final FakeBroker broker = new FakeBroker();
+    private final List<Instance> instances = new ArrayList<>();
+    private ThreadPoolTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.initialize();
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(new Instance(broker, scheduler));
+        }
+        // every user on one instance, every tenth user with a second session on the next one
+        for (int u = 0; u < USERS; u++) {
+            instances.get(u % INSTANCES).connect("user-" + u, "s" + u + "a");
+            if (u % 10 == 0) {
+                instances.get((u + 1) % INSTANCES).connect("user-" + u, "s" + u + "b");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void userMessages_reachSessionsOnOtherInstances_onceRegistriesAreShared() throws Exception {
+        instances.forEach(instance -> instance.registryHandler.onApplicationEvent(new BrokerAvailabilityEvent(true, this)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (instances.stream().anyMatch(instance -> instance.userRegistry.getUserCount() < USERS)) {
+            assertThat(System.nanoTime()).as("user registries synchronised").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+
+        sendLoad();
+
+        assertDeliveredExactlyOnce();
+        assertThat(broker.published(WebSocketConfig.USER_DESTINATION_BROADCAST)).isZero();
+    }
+
+    @Test
+    void userMessages_forUsersNotYetInTheRegistry_areResolvedThroughTheBroadcastTopic() throws Exception {
+        sendLoad();
+
+        assertDeliveredExactlyOnce();
+        assertThat(broker.published(WebSocketConfig.USER_DESTINATION_BROADCAST)).isPositive();
+    }
+
+    @Test
+    void subscribe_toBrokerSystemDestinations_isForbidden() {
+        var interceptor = new SubscriptionAuthorizationInterceptor(mock(ConversationService.class));
+        var principal = new MessagingPrincipal("user-1", null, null);
+
+        for (String destination : List.of(WebSocketConfig.USER_DESTINATION_BROADCAST, WebSocketConfig.USER_REGISTRY_BROADCAST)) {
+            var message = stompMessage(StompCommand.SUBSCRIBE, "s1", principal, destination);
+            assertThatThrownBy(() -> interceptor.preSend(message, null)).isInstanceOf(ForbiddenException.class);
+        }
+    }
+
+    private void sendLoad() throws InterruptedException {
+        ExecutorService senders = Executors.newFixedThreadPool(8);
+        for (int m = 0; m < MESSAGES; m++) {
+            int message = m;
+            senders.submit(() -> {
+                var sender = instances.get(message % INSTANCES);
+                sender.messagingTemplate.convertAndSendToUser(recipient(message), USER_QUEUE, "m" + message);
+            });
+        }
+        senders.shutdown();
+        assertThat(senders.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void assertDeliveredExactlyOnce() {
+        for (int m = 0; m < MESSAGES; m++) {
+            int user = Integer.parseInt(recipient(m).substring("user-".length()));
+            assertThat(broker.received("s" + user + "a")).as("message %d on first session", m).containsOnlyOnce("m" + m);
+            if (user % 10 == 0) {
+                assertThat(broker.received("s" + user + "b")).as("message %d on second session", m).containsOnlyOnce("m" + m);
+            }
+        }
+        long expected = 0;
+        for (int m = 0; m < MESSAGES; m++) {
+            expected += Integer.parseInt(recipient(m).substring("user-".length())) % 10 == 0 ? 2 : 1;
+        }
+        assertThat(broker.totalReceived()).isEqualTo(expected);
+    }
+
+    // spread recipients so most of them live on a different instance from the sender
+    private static String recipient(int message) {
+        return "user-" + ((message * 7 + 3) % USERS);
+    }
+
+    private static Message<byte[]> stompMessage(StompCommand command, String sessionId, MessagingPrincipal user, String destination) {
+        var accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(user);
+        if (destination != null) {
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /**
+     * What the relay does for one messaging instance: /user destinations are resolved locally, every
+     * other broker-bound message goes to the shared broker, and the two cluster topics are consumed
+     * over the instance's system session.
+     */
+    private static final class Instance {
+        private final DefaultSimpUserRegistry localRegistry = new DefaultSimpUserRegistry();
+        private final MultiServerUserRegistry userRegistry = new MultiServerUserRegistry(localRegistry);
+        private final SimpMessagingTemplate messagingTemplate;
+        private final UserRegistryMessageHandler registryHandler;
+        private final FakeBroker broker;
+
+        private Instance(FakeBroker broker, ThreadPoolTaskScheduler scheduler) {
+            this.broker = broker;
+            var brokerChannel = new ExecutorSubscribableChannel();
+            var userDestinationHandler = new UserDestinationMessageHandler(
+                    new ExecutorSubscribableChannel(), brokerChannel, new DefaultUserDestinationResolver(userRegistry));
+            userDestinationHandler.setBroadcastDestination(WebSocketConfig.USER_DESTINATION_BROADCAST);
+            userDestinationHandler.start();
+            brokerChannel.subscribe(message -> {
+                var destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                if (destination != null && !destination.startsWith("/user/")) {
+                    broker.publish(message);
+                }
+            });
+
+            var registryTemplate = new SimpMessagingTemplate(brokerChannel);
+            registryTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+            registryHandler = new UserRegistryMessageHandler(
+                    userRegistry, registryTemplate, WebSocketConfig.USER_REGISTRY_BROADCAST, scheduler);
+            // long enough that no remote registry lapses mid-test; the first broadcast goes out immediately
+            registryHandler.setRegistryExpirationPeriod(60_000);
+
+            broker.subscribe(WebSocketConfig.USER_DESTINATION_BROADCAST, userDestinationHandler::handleMessage);
+            broker.subscribe(WebSocketConfig.USER_REGISTRY_BROADCAST, registryHandler::handleMessage);
+            messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        }
+
+        private void connect(String userId, String sessionId) {
+            var principal = new MessagingPrincipal(userId, null, null);
+            localRegistry.onApplicationEvent(new SessionConnectedEvent(this,
+                    stompMessage(StompCommand.CONNECT, sessionId, principal, null), principal));
+            localRegistry.onApplicationEvent(new SessionSubscribeEvent(this,
+                    stompMessage(StompCommand.SUBSCRIBE, sessionId, principal, "/user" + USER_QUEUE), principal));
+            // the broker subscription the user destination handler translates /user/queue/messages into
+            broker.subscribeSession(USER_QUEUE + "-user" + sessionId, sessionId);
+        }
+    }
+
+    private static final class FakeBroker {
+        private static final String SYSTEM_SESSION = "broker-system-session";
+
+        private final Map<String, List<Consumer<Message<?>>>> subscribers = new ConcurrentHashMap<>();
+        private final Map<String, Queue<String>> received = new ConcurrentHashMap<>();
+        private final Map<String, Integer> publishedCounts = new ConcurrentHashMap<>();
+
+        void subscribe(String destination, Consumer<Message<?>> subscriber) {
+            subscribers.computeIfAbsent(destination, ignored -> new CopyOnWriteArrayList<>()).add(subscriber);
+        }
+
+        void subscribeSession(String destination, String sessionId) {
+            var inbox = received.computeIfAbsent(sessionId, ignored -> new ConcurrentLinkedQueue<>());
+            subscribe(destination, message -> inbox.add(String.valueOf(message.getPayload())));
+        }
+
+        void publish(Message<?> message) {
+            var destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            publishedCounts.merge(destination, 1, Integer::sum);
+            for (var subscriber : subscribers.getOrDefault(destination, List.of())) {
+                // arrives as a MESSAGE frame on the subscriber's connection
+                var accessor = SimpMessageHeaderAccessor.wrap(message);
+                accessor.setMessageTypeIfNotSet(SimpMessageType.MESSAGE);
+                accessor.setSessionId(SYSTEM_SESSION);
+                subscriber.accept(MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders()));
+            }
+        }
+
+        int published(String destination) {
+            return publishedCounts.getOrDefault(destination, 0);
+        }
+
+        List<String> received(String sessionId) {
+            return List.copyOf(received.getOrDefault(sessionId, new ConcurrentLinkedQueue<>()));
+        }
+
+        long totalReceived() {
+            return received.values().stream().mapToLong(Queue::size).sum();
+        }
+    }
+}
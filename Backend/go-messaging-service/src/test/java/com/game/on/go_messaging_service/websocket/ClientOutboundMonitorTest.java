@@ -0,0 +1,86 @@
+package com.game.on.go_messaging_service.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientOutboundMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClientOutboundMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ClientOutboundMonitor(meterRegistry, 1, Integer.MAX_VALUE);
+        monitor.executor().initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.executor().shutdown();
+    }
+
+    @Test
+    void decorate_countsOnlySessionsClosedForOverrunningTheirLimits() throws Exception {
+        var handler = mock(WebSocketHandler.class);
+        var session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        var decorated = monitor.decorate(handler);
+
+        decorated.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+        decorated.afterConnectionClosed(session, CloseStatus.NORMAL);
+        decorated.afterConnectionClosed(session, CloseStatus.GOING_AWAY);
+
+        assertThat(meterRegistry.counter("websocket_sessions_dropped", "reason", "slow_consumer").count()).isEqualTo(1);
+        verify(handler).afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+        verify(handler).afterConnectionClosed(session, CloseStatus.NORMAL);
+    }
+
+    @Test
+    void executor_reportsQueueDepthAndSendLatency() throws Exception {
+        var release = new CountDownLatch(1);
+        var done = new CountDownLatch(3);
+        var executor = monitor.executor();
+        executor.execute(() -> {
+            await(release);
+            done.countDown();
+        });
+        executor.execute(done::countDown);
+        executor.execute(done::countDown);
+
+        assertThat(meterRegistry.get("websocket_outbound_queue_depth").gauge().value()).isEqualTo(2);
+        Thread.sleep(20);
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var latency = meterRegistry.get("websocket_outbound_send_latency").timer();
+        // the frames queued behind the stuck one carry its delay
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (latency.count() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(latency.count()).isEqualTo(3);
+        assertThat(latency.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+        assertThat(meterRegistry.get("websocket_outbound_queue_depth").gauge().value()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.game.on.go_messaging_service.websocket;
+
+import com.game.on.go_messaging_service.config.WebSocketConfig;
+import com.game.on.go_messaging_service.conversation.service.ConversationService;
+import com.game.on.go_messaging_service.exception.ForbiddenException;
+import com.game.on.go_messaging_service.presence.service.PresenceBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SubscriptionAuthorizationInterceptorTest {
+
+    private final ConversationService conversationService = mock(ConversationService.class);
+    private final SubscriptionAuthorizationInterceptor interceptor = new SubscriptionAuthorizationInterceptor(conversationService);
+    private final MessagingPrincipal principal = new MessagingPrincipal("user-1", null, null);
+    private final UUID conversationId = UUID.randomUUID();
+
+    @Test
+    void send_isOnlyAllowedToApplicationDestinations() {
+        var allowed = stompMessage(StompCommand.SEND, "/app/messages/send");
+        assertThat(interceptor.preSend(allowed, null)).isSameAs(allowed);
+
+        for (String destination : List.of(
+                WebSocketConfig.USER_DESTINATION_BROADCAST,
+                WebSocketConfig.USER_REGISTRY_BROADCAST,
+                "/topic/chatrooms/" + conversationId,
+                "/queue/messages-usersession-2",
+                "/user/user-2/queue/messages",
+                "/application")) {
+            var message = stompMessage(StompCommand.SEND, destination);
+            assertThatThrownBy(() -> interceptor.preSend(message, null))
+                    .as(destination)
+                    .isInstanceOf(ForbiddenException.class);
+        }
+    }
+
+    @Test
+    void send_cannotForgePresenceBatchesForAChatroomTheUserIsIn() {
+        var forged = stompMessage(StompCommand.SEND, PresenceBroadcaster.destination(conversationId));
+
+        assertThatThrownBy(() -> interceptor.preSend(forged, null)).isInstanceOf(ForbiddenException.class);
+        var typing = stompMessage(StompCommand.SEND, "/app/presence/typing");
+        assertThat(interceptor.preSend(typing, null)).isSameAs(typing);
+    }
+
+    @Test
+    void subscribe_refusesBrokerWildcardsAndUnknownDestinations() {
+        for (String destination : List.of(
+                "/topic/>",
+                "/topic/#",
+                "/topic/chatrooms/*",
+                "/topic/chatrooms/" + conversationId + "/>",
+                "/queue/messages-usersession-2",
+                "/user/user-2/queue/messages",
+                "/user/queue/>",
+                WebSocketConfig.USER_REGISTRY_BROADCAST)) {
+            var message = stompMessage(StompCommand.SUBSCRIBE, destination);
+            assertThatThrownBy(() -> interceptor.preSend(message, null))
+                    .as(destination)
+                    .isInstanceOf(ForbiddenException.class);
+        }
+        verify(conversationService, never()).requireParticipant(any(), any());
+    }
+
+    @Test
+    void subscribe_allowsOwnQueuesAndChatroomsOfParticipantsOnly() {
+        for (String destination : List.of(
+                "/user/queue/messages",
+                "/topic/chatrooms/" + conversationId,
+                PresenceBroadcaster.destination(conversationId))) {
+            var message = stompMessage(StompCommand.SUBSCRIBE, destination);
+            assertThat(interceptor.preSend(message, null)).isSameAs(message);
+        }
+
+        UUID otherConversation = UUID.randomUUID();
+        doThrow(new ForbiddenException("not a participant"))
+                .when(conversationService).requireParticipant(otherConversation, "user-1");
+        var message = stompMessage(StompCommand.SUBSCRIBE, "/topic/chatrooms/" + otherConversation);
+        assertThatThrownBy(() -> interceptor.preSend(message, null)).isInstanceOf(ForbiddenException.class);
+    }
+
+    private Message<byte[]> stompMessage(StompCommand command, String destination) {
+        var accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId("s1");
+        accessor.setUser(principal);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,72 @@
+package com.game.on.go_team_service.kafka;
+
+import com.game.on.common.dto.TeamMembershipEventDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamMembershipProducer {
+    private final KafkaTemplate<String, TeamMembershipEventDTO> teamMembershipKafkaTemplate;
+
+    public void memberJoined(UUID teamId, String userId) {
+        publish(new TeamMembershipEventDTO(teamId, userId, TeamMembershipEventDTO.JOINED, LocalDateTime.now()));
+    }
+
+    public void memberLeft(UUID teamId, String userId) {
+        publish(new TeamMembershipEventDTO(teamId, userId, TeamMembershipEventDTO.LEFT, LocalDateTime.now()));
+    }
+
+    public void ownerChanged(UUID teamId, String newOwnerUserId) {
+        publish(new TeamMembershipEventDTO(teamId, newOwnerUserId, TeamMembershipEventDTO.OWNER_CHANGED, LocalDateTime.now()));
+    }
+
+    public void teamArchived(UUID teamId) {
+        publish(new TeamMembershipEventDTO(teamId, null, TeamMembershipEventDTO.TEAM_ARCHIVED, LocalDateTime.now()));
+    }
+
+    // Sent after commit so consumers never re-read the membership before it is visible.
+    private void publish(TeamMembershipEventDTO event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(TeamMembershipEventDTO event) {
+        Message<TeamMembershipEventDTO> message = MessageBuilder
+                .withPayload(event)
+                .setHeader(KafkaHeaders.TOPIC, TeamMembershipEventDTO.TOPIC)
+                .setHeader(KafkaHeaders.KEY, event.teamId().toString())
+                .build();
+
+        try {
+            teamMembershipKafkaTemplate.send(message).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.warn("team_membership_event_failed teamId={} userId={} change={}",
+                            event.teamId(), event.userId(), event.change(), ex);
+                }
+            });
+        } catch (Exception ex) {
+            log.warn("team_membership_event_failed teamId={} userId={} change={}",
+                    event.teamId(), event.userId(), event.change(), ex);
+        }
+    }
+}
@@ -75,6 +75,11 @@ public class TeamController {
         return ResponseEntity.ok(teamService.isMember(teamId, userId));
     }
 
+    @PostMapping("/members/check")
+    public ResponseEntity<TeamMembershipCheckResponse> findMembers(@Valid @RequestBody TeamMembershipCheckRequest request) {
+        return ResponseEntity.ok(teamService.findMembers(request));
+    }
+
     @DeleteMapping("/{teamId}/delete/{userId}")
     public ResponseEntity<Void> removeMember(@PathVariable UUID teamId, @PathVariable String userId) {
         teamService.removeMember(teamId, userId);
@@ -1,5 +1,7 @@
 package com.game.on.go_team_service.team.controller;
 
+import com.game.on.go_team_service.team.dto.RefereeCommitmentResponse;
+import com.game.on.go_team_service.team.dto.RefereeCommitmentsRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchCancelRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchCreateRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchResponse;
@@ -112,4 +114,9 @@ public class TeamMatchController {
     public ResponseEntity<List<TeamMatchResponse>> listMyRefereeMatches() {
         return ResponseEntity.ok(teamMatchService.listMyRefereeMatches());
     }
+
+    @PostMapping("/matches/referees/commitments")
+    public ResponseEntity<List<RefereeCommitmentResponse>> listRefereeCommitments(@Valid @RequestBody RefereeCommitmentsRequest request) {
+        return ResponseEntity.ok(teamMatchService.listRefereeCommitments(request));
+    }
 }
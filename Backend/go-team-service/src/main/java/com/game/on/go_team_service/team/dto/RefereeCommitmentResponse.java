@@ -0,0 +1,12 @@
+package com.game.on.go_team_service.team.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record RefereeCommitmentResponse(
+        String refereeUserId,
+        UUID matchId,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime
+) {
+}
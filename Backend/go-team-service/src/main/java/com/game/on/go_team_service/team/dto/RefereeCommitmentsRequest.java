@@ -0,0 +1,19 @@
+package com.game.on.go_team_service.team.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record RefereeCommitmentsRequest(
+        @NotEmpty(message = "refereeUserIds is required")
+        @Size(max = 1000, message = "refereeUserIds must contain at most 1000 entries")
+        List<String> refereeUserIds,
+        @NotNull(message = "from is required")
+        OffsetDateTime from,
+        @NotNull(message = "to is required")
+        OffsetDateTime to
+) {
+}
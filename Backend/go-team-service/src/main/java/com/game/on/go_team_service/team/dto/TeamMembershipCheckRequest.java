@@ -0,0 +1,17 @@
+package com.game.on.go_team_service.team.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TeamMembershipCheckRequest(
+        @NotEmpty(message = "teamIds is required")
+        @Size(max = 10, message = "teamIds must contain at most 10 entries")
+        List<UUID> teamIds,
+        @NotEmpty(message = "userIds is required")
+        @Size(max = 1000, message = "userIds must contain at most 1000 entries")
+        List<String> userIds
+) {
+}
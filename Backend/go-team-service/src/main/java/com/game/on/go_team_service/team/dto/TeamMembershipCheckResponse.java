@@ -0,0 +1,8 @@
+package com.game.on.go_team_service.team.dto;
+
+import java.util.List;
+
+public record TeamMembershipCheckResponse(
+        List<String> memberUserIds
+) {
+}
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,6 +14,21 @@ public interface TeamMatchRepository extends JpaRepository<TeamMatch, UUID> {
     List<TeamMatch> findByHomeTeamIdOrAwayTeamIdOrderByStartTimeDesc(UUID homeTeamId, UUID awayTeamId);
     List<TeamMatch> findByRefereeUserIdOrderByStartTimeDesc(String refereeUserId);
 
+    @Query("""
+            SELECT tm FROM TeamMatch tm
+            WHERE tm.refereeUserId IN :refereeUserIds
+              AND tm.status NOT IN (
+                    com.game.on.go_team_service.team.model.TeamMatchStatus.DECLINED,
+                    com.game.on.go_team_service.team.model.TeamMatchStatus.CANCELLED)
+              AND tm.startTime < :to
+              AND tm.endTime > :from
+            """)
+    List<TeamMatch> findRefereeCommitmentsBetween(
+            @Param("refereeUserIds") Collection<String> refereeUserIds,
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to
+    );
+
     @Query(value = """
             SELECT tm.* FROM team_matches tm
             JOIN teams t ON tm.home_team_id = t.id
@@ -6,6 +6,7 @@ import com.game.on.go_team_service.team.model.TeamRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,4 +27,7 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, UUID> {
     List<TeamMember> findActiveMemberships(String userId);
 
     List<TeamMember> findByTeamIdAndRole(UUID teamId, TeamRole teamRole);
+
+    @Query("select distinct tm.userId from TeamMember tm where tm.team.id in :teamIds and tm.userId in :userIds")
+    List<String> findMemberUserIds(Collection<UUID> teamIds, Collection<String> userIds);
 }
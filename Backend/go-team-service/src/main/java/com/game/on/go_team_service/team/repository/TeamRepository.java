@@ -3,7 +3,11 @@ package com.game.on.go_team_service.team.repository;
 import com.game.on.go_team_service.team.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,7 +17,14 @@ public interface TeamRepository extends JpaRepository<Team, UUID>, JpaSpecificat
 
     Optional<Team> findBySlugIgnoreCaseAndDeletedAtIsNull(String slug);
 
-    boolean existsBySlug(String slug);
+    @Query("""
+            SELECT t.slug FROM Team t
+            WHERE t.slug = :baseSlug
+               OR t.slug LIKE CONCAT(:baseSlug, '-%')
+            """)
+    List<String> findSlugsByBase(@Param("baseSlug") String baseSlug);
+
+    long countByIdInAndDeletedAtIsNull(Collection<UUID> ids);
 
 //    boolean existsByIdAndOwnerUserId(UUID id, Long ownerUserId);
 }
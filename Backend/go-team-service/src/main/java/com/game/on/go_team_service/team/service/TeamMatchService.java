@@ -6,6 +6,8 @@ import com.game.on.go_team_service.exception.BadRequestException;
 import com.game.on.go_team_service.exception.ConflictException;
 import com.game.on.go_team_service.exception.ForbiddenException;
 import com.game.on.go_team_service.exception.NotFoundException;
+import com.game.on.go_team_service.team.dto.RefereeCommitmentResponse;
+import com.game.on.go_team_service.team.dto.RefereeCommitmentsRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchCancelRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchCreateRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchResponse;
@@ -623,6 +625,22 @@ public class TeamMatchService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<RefereeCommitmentResponse> listRefereeCommitments(RefereeCommitmentsRequest request) {
+        if (!request.to().isAfter(request.from())) {
+            throw new BadRequestException("to must be after from");
+        }
+        return teamMatchRepository.findRefereeCommitmentsBetween(request.refereeUserIds(), request.from(), request.to())
+                .stream()
+                .map(match -> new RefereeCommitmentResponse(
+                        match.getRefereeUserId(),
+                        match.getId(),
+                        match.getStartTime(),
+                        match.getEndTime()
+                ))
+                .toList();
+    }
+
     private String trimToNull(String value) {
         return StringUtils.hasText(value) ? value.trim() : null;
     }
@@ -6,13 +6,16 @@ import com.game.on.go_team_service.exception.BadRequestException;
 import com.game.on.go_team_service.exception.ConflictException;
 import com.game.on.go_team_service.exception.ForbiddenException;
 import com.game.on.go_team_service.exception.NotFoundException;
+import com.game.on.go_team_service.kafka.TeamMembershipProducer;
 import com.game.on.go_team_service.team.dto.*;
 import com.game.on.go_team_service.team.mapper.TeamMapper;
 import com.game.on.go_team_service.team.metrics.TeamMetricsPublisher;
 import com.game.on.go_team_service.team.model.*;
 import com.game.on.go_team_service.team.repository.*;
+import com.game.on.go_team_service.team.util.SlugGenerator;
 import com.game.on.common.dto.UserResponse;
 import feign.FeignException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +39,8 @@ import static java.lang.String.format;
 @RequiredArgsConstructor
 public class TeamService {
 
+    private static final int MAX_SLUG_ATTEMPTS = 3;
+
     private final TeamRepository teamRepository;
 
     private final TeamMemberRepository teamMemberRepository;
@@ -56,22 +61,37 @@ public class TeamService {
 
     private final TeamMetricsPublisher metricsPublisher;
 
-    @Transactional
+    private final TeamMembershipProducer membershipProducer;
+
+    // Not @Transactional: each attempt inserts in its own transaction so a slug collision can be retried.
     public TeamDetailResponse createTeam(TeamCreateRequest request) {
         String ownerUserId = userProvider.clerkUserId();
 
-        Team team = teamMapper.toTeam(request, ownerUserId);
-
-        var saved = teamRepository.save(team);
-        log.info("Team created with teamId {} and ownerId {}", saved.getId(), ownerUserId);
-        metricsPublisher.teamCreated();
-
-        TeamMember newMember = teamMapper.toTeamMember(team, ownerUserId, TeamRole.OWNER);
-        teamMemberRepository.save(newMember);
-
-        log.info("Team owner {} added to team with ID {}", saved.getId(), ownerUserId);
-
-        return teamMapper.toDetail(saved);
+        for (int attempt = 1; ; attempt++) {
+            Team team = teamMapper.toTeam(request, ownerUserId);
+            TeamMember newMember = teamMapper.toTeamMember(team, ownerUserId, TeamRole.OWNER);
+            team.getMembers().add(newMember);
+
+            try {
+                // owner membership is persisted through the members cascade in the same insert transaction
+                var saved = teamRepository.saveAndFlush(team);
+                log.info("Team created with teamId {} and ownerId {}", saved.getId(), ownerUserId);
+                metricsPublisher.teamCreated();
+                membershipProducer.memberJoined(saved.getId(), ownerUserId);
+
+                log.info("Team owner {} added to team with ID {}", saved.getId(), ownerUserId);
+
+                return teamMapper.toDetail(saved);
+            } catch (DataIntegrityViolationException ex) {
+                if (!SlugGenerator.isSlugConflict(ex)) {
+                    throw ex;
+                }
+                if (attempt >= MAX_SLUG_ATTEMPTS) {
+                    throw new ConflictException("Unable to allocate a unique team slug");
+                }
+                log.info("Team slug {} already taken, retrying (attempt {})", team.getSlug(), attempt);
+            }
+        }
     }
 
     @Transactional
@@ -146,6 +166,7 @@ public class TeamService {
 
         team.setDeletedAt(OffsetDateTime.now());
         teamRepository.save(team);
+        membershipProducer.teamArchived(teamId);
         metricsPublisher.teamArchived();
         log.info("Team {} archived by user {}", teamId, userId);
     }
@@ -170,6 +191,7 @@ public class TeamService {
         }
 
         teamMemberRepository.delete(targetMembership);
+        membershipProducer.memberLeft(teamId, targetMemberId);
         log.info("Team member {} of teamId {} removed user {}", teamId, targetMemberId, userId);
     }
 
@@ -256,6 +278,22 @@ public class TeamService {
         return teamMemberRepository.existsByTeamIdAndUserId(teamId, userId);
     }
 
+    @Transactional(readOnly = true)
+    public TeamMembershipCheckResponse findMembers(TeamMembershipCheckRequest request) {
+        var teamIds = request.teamIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (teamIds.isEmpty() || teamRepository.countByIdInAndDeletedAtIsNull(teamIds) != teamIds.size()) {
+            throw new NotFoundException("Team not found");
+        }
+        var userIds = request.userIds().stream()
+                .filter(StringUtils::hasText)
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) {
+            return new TeamMembershipCheckResponse(List.of());
+        }
+        return new TeamMembershipCheckResponse(teamMemberRepository.findMemberUserIds(teamIds, userIds));
+    }
+
     @Transactional
     public TeamInviteResponse createInvite(TeamInviteCreateRequest request) {
         String userId = userProvider.clerkUserId();
@@ -362,6 +400,7 @@ public class TeamService {
 
         TeamMember newMember = teamMapper.toTeamMember(team, userId, invite.getRole());
         teamMemberRepository.save(newMember);
+        membershipProducer.memberJoined(team.getId(), userId);
         log.info("Team member {} added as PLAYER to team {}", invitationId, userId);
 
         log.info("Updating status of invitation {}", invitationId);
@@ -425,6 +464,7 @@ public class TeamService {
         teamMemberRepository.saveAll(List.of(currentOwnerMembership, newOwnerMembership));
 
         metricsPublisher.ownershipTransferred();
+        membershipProducer.ownerChanged(teamId, newOwnerUserId);
         log.info("Team owner transferred teamId {} from user {} to user={}", teamId, userId, newOwnerUserId);
 
         return teamMapper.toDetail(team);
@@ -3,16 +3,23 @@ package com.game.on.go_team_service.team.util;
 import com.game.on.go_team_service.exception.BadRequestException;
 import com.game.on.go_team_service.team.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public final class SlugGenerator {
 
+    private static final Pattern NUMERIC_SUFFIX = Pattern.compile("[1-9]\\d{0,8}");
+
     private final TeamRepository teamRepository;
 
     public static String from(String input) {
@@ -28,16 +35,51 @@ public final class SlugGenerator {
         return nowhitespace.toLowerCase(Locale.ENGLISH);
     }
 
+    /**
+     * Picks the first free slug for the name with a single prefix query over existing team slugs.
+     * Concurrent creators can still pick the same slug; the unique constraint on teams.slug decides
+     * and callers retry on {@link #isSlugConflict(Throwable)}.
+     */
     public String generateUniqueSlug(String name) {
         var baseSlug = SlugGenerator.from(name);
         if (!StringUtils.hasText(baseSlug)) {
             throw new BadRequestException("Unable to generate team slug");
         }
-        var slug = baseSlug;
+        return nextFreeSlug(baseSlug, teamRepository.findSlugsByBase(baseSlug));
+    }
+
+    public static String nextFreeSlug(String baseSlug, Collection<String> takenSlugs) {
+        boolean baseTaken = false;
+        Set<Integer> takenSuffixes = new HashSet<>();
+        String prefix = baseSlug + "-";
+        for (String taken : takenSlugs) {
+            if (baseSlug.equals(taken)) {
+                baseTaken = true;
+            } else if (taken.startsWith(prefix)) {
+                String suffix = taken.substring(prefix.length());
+                if (NUMERIC_SUFFIX.matcher(suffix).matches()) {
+                    takenSuffixes.add(Integer.parseInt(suffix));
+                }
+            }
+        }
+        if (!baseTaken) {
+            return baseSlug;
+        }
         int suffix = 1;
-        while (teamRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + suffix++;
+        while (takenSuffixes.contains(suffix)) {
+            suffix++;
+        }
+        return prefix + suffix;
+    }
+
+    public static boolean isSlugConflict(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains("slug")) {
+                return true;
+            }
         }
-        return slug;
+        return false;
     }
 }
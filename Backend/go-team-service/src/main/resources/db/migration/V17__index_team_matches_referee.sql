@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_team_matches_referee_start
+    ON team_matches(referee_user_id, start_time);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_teams_slug_prefix
+    ON teams(slug varchar_pattern_ops);
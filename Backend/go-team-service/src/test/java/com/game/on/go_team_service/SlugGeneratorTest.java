@@ -3,9 +3,14 @@ package com.game.on.go_team_service;
 import com.game.on.go_team_service.exception.BadRequestException;
 import com.game.on.go_team_service.team.repository.TeamRepository;
 import com.game.on.go_team_service.team.util.SlugGenerator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,46 +61,49 @@ class SlugGeneratorTest {
 
     @Test
     void generateUniqueSlug_whenBaseUnique_returnsBase() {
-        when(teamRepository.existsBySlug("my-team")).thenReturn(false);
+        when(teamRepository.findSlugsByBase("my-team")).thenReturn(List.of("my-team-2"));
 
         String out = slugGenerator.generateUniqueSlug("My Team");
 
         assertEquals("my-team", out);
-        verify(teamRepository).existsBySlug("my-team");
+        verify(teamRepository).findSlugsByBase("my-team");
         verifyNoMoreInteractions(teamRepository);
     }
 
     @Test
     void generateUniqueSlug_whenBaseTaken_appendsSuffix1() {
-        when(teamRepository.existsBySlug("my-team")).thenReturn(true);
-        when(teamRepository.existsBySlug("my-team-1")).thenReturn(false);
+        when(teamRepository.findSlugsByBase("my-team")).thenReturn(List.of("my-team"));
 
         String out = slugGenerator.generateUniqueSlug("My Team");
 
         assertEquals("my-team-1", out);
-        verify(teamRepository).existsBySlug("my-team");
-        verify(teamRepository).existsBySlug("my-team-1");
+        verify(teamRepository).findSlugsByBase("my-team");
         verifyNoMoreInteractions(teamRepository);
     }
 
     @Test
-    void generateUniqueSlug_whenMultipleTaken_incrementsSuffixUntilFree() {
-        when(teamRepository.existsBySlug("my-team")).thenReturn(true);
-        when(teamRepository.existsBySlug("my-team-1")).thenReturn(true);
-        when(teamRepository.existsBySlug("my-team-2")).thenReturn(true);
-        when(teamRepository.existsBySlug("my-team-3")).thenReturn(false);
+    void generateUniqueSlug_whenMultipleTaken_picksFirstFreeSuffixWithOneQuery() {
+        when(teamRepository.findSlugsByBase("my-team"))
+                .thenReturn(List.of("my-team", "my-team-1", "my-team-2", "my-team-4", "my-team-stars", "my-team-03"));
 
         String out = slugGenerator.generateUniqueSlug("My Team");
 
         assertEquals("my-team-3", out);
-
-        verify(teamRepository).existsBySlug("my-team");
-        verify(teamRepository).existsBySlug("my-team-1");
-        verify(teamRepository).existsBySlug("my-team-2");
-        verify(teamRepository).existsBySlug("my-team-3");
+        verify(teamRepository, times(1)).findSlugsByBase("my-team");
         verifyNoMoreInteractions(teamRepository);
     }
 
+    @Test
+    void isSlugConflict_onlyMatchesSlugConstraint() {
+        var slugViolation = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(), "teams_slug_key"));
+        var otherViolation = new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("fk violation", new SQLException(), "fk_team_members_team"));
+
+        assertTrue(SlugGenerator.isSlugConflict(slugViolation));
+        assertFalse(SlugGenerator.isSlugConflict(otherViolation));
+    }
+
     @Test
     void generateUniqueSlug_whenGeneratedSlugBlank_throwsBadRequest() {
         // baseSlug becomes "" after cleaning => hasText() false
@@ -6,20 +6,25 @@ import com.game.on.go_team_service.config.CurrentUserProvider;
 import com.game.on.go_team_service.exception.BadRequestException;
 import com.game.on.go_team_service.exception.ConflictException;
 import com.game.on.go_team_service.exception.ForbiddenException;
+import com.game.on.go_team_service.exception.NotFoundException;
+import com.game.on.go_team_service.kafka.TeamMembershipProducer;
 import com.game.on.go_team_service.team.dto.*;
 import com.game.on.go_team_service.team.mapper.TeamMapper;
 import com.game.on.go_team_service.team.metrics.TeamMetricsPublisher;
 import com.game.on.go_team_service.team.model.*;
 import com.game.on.go_team_service.team.repository.*;
 import com.game.on.go_team_service.team.service.TeamService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.*;
 
@@ -40,6 +45,7 @@ class TeamServiceTest {
     @Mock CurrentUserProvider userProvider;
     @Mock TeamMapper teamMapper;
     @Mock TeamMetricsPublisher metricsPublisher;
+    @Mock TeamMembershipProducer membershipProducer;
 
     @InjectMocks
     TeamService teamService;
@@ -67,16 +73,41 @@ class TeamServiceTest {
         TeamDetailResponse detailResponse = mock(TeamDetailResponse.class);
 
         when(teamMapper.toTeam(request, callerUserId)).thenReturn(mappedTeam);
-        when(teamRepository.save(mappedTeam)).thenReturn(savedTeam);
+        when(teamRepository.saveAndFlush(mappedTeam)).thenReturn(savedTeam);
         when(teamMapper.toTeamMember(any(Team.class), eq(callerUserId), eq(TeamRole.OWNER))).thenReturn(ownerMember);
         when(teamMapper.toDetail(savedTeam)).thenReturn(detailResponse);
 
         TeamDetailResponse out = teamService.createTeam(request);
 
         assertSame(detailResponse, out);
-        verify(teamRepository).save(mappedTeam);
-        verify(teamMemberRepository).save(ownerMember);
+        verify(teamRepository).saveAndFlush(mappedTeam);
+        assertEquals(List.of(ownerMember), mappedTeam.getMembers());
         verify(metricsPublisher).teamCreated();
+        verify(membershipProducer).memberJoined(teamId, callerUserId);
+    }
+
+    @Test
+    void createTeam_whenSlugTakenConcurrently_retriesWithFreshSlug() {
+        TeamCreateRequest request = mock(TeamCreateRequest.class);
+        Team first = Team.builder().slug("fc-united").build();
+        Team second = Team.builder().slug("fc-united-1").build();
+        Team savedTeam = new Team();
+        savedTeam.setId(teamId);
+
+        when(teamMapper.toTeam(request, callerUserId)).thenReturn(first, second);
+        when(teamMapper.toTeamMember(any(Team.class), eq(callerUserId), eq(TeamRole.OWNER))).thenReturn(new TeamMember());
+        when(teamRepository.saveAndFlush(any(Team.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("duplicate key", new SQLException(), "teams_slug_key")))
+                .thenReturn(savedTeam);
+
+        teamService.createTeam(request);
+
+        ArgumentCaptor<Team> attempts = ArgumentCaptor.forClass(Team.class);
+        verify(teamRepository, times(2)).saveAndFlush(attempts.capture());
+        assertEquals(List.of("fc-united", "fc-united-1"), attempts.getAllValues().stream().map(Team::getSlug).toList());
+        verify(metricsPublisher, times(1)).teamCreated();
+        verify(membershipProducer, times(1)).memberJoined(teamId, callerUserId);
     }
 
     @Test
@@ -291,6 +322,7 @@ class TeamServiceTest {
         verify(teamMemberRepository).save(newMember);
         verify(teamInviteRepository).save(invite);
         verify(metricsPublisher).inviteAccepted();
+        verify(membershipProducer).memberJoined(team.getId(), callerUserId);
 
         assertEquals(TeamInviteStatus.ACCEPTED, invite.getStatus());
         assertNotNull(invite.getRespondedAt());
@@ -686,4 +718,29 @@ class TeamServiceTest {
         verify(teamMemberRepository).findByTeamIdAndUserId(teamId, callerUserId);
         verify(playRepository).findAllByTeam_Id(teamId);
     }
+
+    @Test
+    void findMembers_returnsMatchingUserIdsInOneQuery() {
+        UUID otherTeamId = UUID.randomUUID();
+        when(teamRepository.countByIdInAndDeletedAtIsNull(List.of(teamId, otherTeamId))).thenReturn(2L);
+        when(teamMemberRepository.findMemberUserIds(List.of(teamId, otherTeamId), List.of("ref_1", "ref_2")))
+                .thenReturn(List.of("ref_2"));
+
+        var response = teamService.findMembers(new TeamMembershipCheckRequest(
+                List.of(teamId, otherTeamId, teamId),
+                List.of("ref_1", "ref_2", " ", "ref_1")
+        ));
+
+        assertEquals(List.of("ref_2"), response.memberUserIds());
+        verify(teamMemberRepository, never()).existsByTeamIdAndUserId(any(), any());
+    }
+
+    @Test
+    void findMembers_whenTeamArchived_throwsNotFound() {
+        when(teamRepository.countByIdInAndDeletedAtIsNull(List.of(teamId))).thenReturn(0L);
+
+        assertThrows(NotFoundException.class,
+                () -> teamService.findMembers(new TeamMembershipCheckRequest(List.of(teamId), List.of("ref_1"))));
+        verify(teamMemberRepository, never()).findMemberUserIds(any(), any());
+    }
 }
@@ -4,6 +4,7 @@ import com.game.on.go_team_service.config.CurrentUserProvider;
 import com.game.on.go_team_service.exception.BadRequestException;
 import com.game.on.go_team_service.exception.ConflictException;
 import com.game.on.go_team_service.exception.ForbiddenException;
+import com.game.on.go_team_service.team.dto.RefereeCommitmentsRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchScheduleValidationResponse;
 import com.game.on.go_team_service.team.dto.TeamMatchCreateRequest;
 import com.game.on.go_team_service.team.dto.TeamMatchScoreRequest;
@@ -419,4 +420,35 @@ class TeamMatchServiceTest {
         assertEquals(1, responses.get(0).homeScore());
         assertEquals(1, responses.get(0).awayScore());
     }
+
+    @Test
+    void listRefereeCommitments_returnsOverlappingMatchesFromOneQuery() {
+        OffsetDateTime from = OffsetDateTime.now().plusDays(1);
+        OffsetDateTime to = from.plusDays(2);
+
+        TeamMatch match = new TeamMatch();
+        match.setId(UUID.randomUUID());
+        match.setRefereeUserId("ref_1");
+        match.setStartTime(from.plusHours(2));
+        match.setEndTime(from.plusHours(4));
+
+        when(teamMatchRepository.findRefereeCommitmentsBetween(List.of("ref_1", "ref_2"), from, to))
+                .thenReturn(List.of(match));
+
+        var commitments = teamMatchService.listRefereeCommitments(
+                new RefereeCommitmentsRequest(List.of("ref_1", "ref_2"), from, to));
+
+        assertEquals(1, commitments.size());
+        assertEquals("ref_1", commitments.get(0).refereeUserId());
+        assertEquals(match.getId(), commitments.get(0).matchId());
+        verify(teamMatchRepository, never()).findByRefereeUserIdOrderByStartTimeDesc(any());
+    }
+
+    @Test
+    void listRefereeCommitments_whenRangeEmpty_throwsBadRequest() {
+        OffsetDateTime from = OffsetDateTime.now();
+
+        assertThrows(BadRequestException.class, () -> teamMatchService.listRefereeCommitments(
+                new RefereeCommitmentsRequest(List.of("ref_1"), from, from)));
+    }
 }
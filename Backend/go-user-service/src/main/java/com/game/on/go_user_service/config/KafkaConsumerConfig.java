@@ -0,0 +1,83 @@
+package com.game.on.go_user_service.config;
+
+import com.game.on.common.dto.PaymentDTO;
+import com.game.on.go_user_service.kafka.PaymentConsumerMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Batch listener setup for go-payment. Offsets are committed by the listener once a batch is
+ * stored; a record the listener rejects is retried a few times and then published to
+ * {@code go-payment.DLT} so it cannot block its partition.
+ */
+@Log4j2
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String PAYMENT_DLT = PaymentDTO.TOPIC + ".DLT";
+
+    @Bean
+    public KafkaTemplate<Object, Object> deadLetterKafkaTemplate(KafkaProperties kafkaProperties) {
+        // records that failed deserialization are forwarded as their raw bytes, the rest as JSON
+        Map<Class<?>, Serializer<?>> keySerializers = new LinkedHashMap<>();
+        keySerializers.put(byte[].class, new ByteArraySerializer());
+        keySerializers.put(String.class, new StringSerializer());
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, new JsonSerializer<>());
+        var producerFactory = new DefaultKafkaProducerFactory<Object, Object>(
+                kafkaProperties.buildProducerProperties(),
+                new DelegatingByTypeSerializer(keySerializers),
+                new DelegatingByTypeSerializer(valueSerializers, true));
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    @Bean
+    public DefaultErrorHandler paymentErrorHandler(KafkaTemplate<Object, Object> deadLetterKafkaTemplate,
+                                                   PaymentConsumerMetrics metrics,
+                                                   @Value("${payment.consumer.retry-interval-ms:1000}") long retryIntervalMs,
+                                                   @Value("${payment.consumer.max-retries:2}") long maxRetries) {
+        var recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate, (record, ex) -> {
+            metrics.deadLettered();
+            log.warn("Sending payment record {}-{}@{} to {}: {}",
+                    record.topic(), record.partition(), record.offset(), PAYMENT_DLT, ex.getMessage());
+            return new TopicPartition(PAYMENT_DLT, -1);
+        });
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(retryIntervalMs, maxRetries));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentDTO> paymentBatchListenerContainerFactory(
+            ConsumerFactory<String, PaymentDTO> consumerFactory,
+            DefaultErrorHandler paymentErrorHandler,
+            @Value("${payment.consumer.concurrency:3}") int concurrency) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, PaymentDTO>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(paymentErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setMicrometerEnabled(true);
+        return factory;
+    }
+}
@@ -1,23 +1,84 @@
 package com.game.on.go_user_service.kafka;
+
 import com.game.on.common.dto.PaymentDTO;
-import lombok.extern.slf4j.Slf4j;
+import com.game.on.go_user_service.service.PaymentEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes go-payment in batches. Each batch is stored in one transaction and its offsets are
+ * committed afterwards; redelivery is harmless because storage is idempotent per paymentId.
+ * A malformed record is reported by index so the records before it are kept and the record itself
+ * ends up on the dead-letter topic, while a database failure re-polls the whole batch after a pause.
+ */
+@Log4j2
 @Service
-@Slf4j
+@RequiredArgsConstructor
 public class PaymentConsumer {
 
-    @KafkaListener(topics = "go-payment", groupId = "payment-service")
-    public void onPaymentCreated(ConsumerRecord<String, PaymentDTO> record) {
-        String key = record.key();
-        PaymentDTO paymentDTO = record.value();
+    private final PaymentEventService paymentEventService;
+    private final PaymentConsumerMetrics metrics;
+
+    @Value("${payment.consumer.retry-interval-ms:1000}")
+    private long retryIntervalMs;
 
-        /* TO DO: Replace with actual logic once Payment/ stripe is implemented */
-        log.info("Received payment event:");
-        log.info("Key: {}", key);
-        log.info("DTO: {}", paymentDTO);
+    @KafkaListener(
+            topics = PaymentDTO.TOPIC,
+            groupId = "payment-service",
+            containerFactory = "paymentBatchListenerContainerFactory"
+    )
+    public void onPaymentEvents(List<ConsumerRecord<String, PaymentDTO>> records, Acknowledgment acknowledgment) {
+        long start = System.nanoTime();
+        List<PaymentDTO> events = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            String problem = validate(records.get(i));
+            if (problem != null) {
+                if (store(events, acknowledgment, start)) {
+                    throw new BatchListenerFailedException(problem, i);
+                }
+                return;
+            }
+            events.add(records.get(i).value());
+        }
+
+        if (store(events, acknowledgment, start)) {
+            acknowledgment.acknowledge();
+        }
     }
-}
 
+    private boolean store(List<PaymentDTO> events, Acknowledgment acknowledgment, long start) {
+        try {
+            int applied = paymentEventService.applyBatch(events);
+            metrics.batchProcessed(events.size(), applied, System.nanoTime() - start);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Storing {} payment events failed, retrying batch in {} ms", events.size(), retryIntervalMs, e);
+            metrics.batchRetried();
+            acknowledgment.nack(0, Duration.ofMillis(retryIntervalMs));
+            return false;
+        }
+    }
+
+    private static String validate(ConsumerRecord<String, PaymentDTO> record) {
+        if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+            return "Payment record could not be deserialized";
+        }
+        PaymentDTO event = record.value();
+        if (event == null || event.paymentId() == null || event.userId() == null || event.status() == null) {
+            return "Payment record is missing paymentId, userId or status";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.game.on.go_user_service.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput metrics for the payment consumer. Consumer lag comes from the Kafka client metrics
+ * (kafka.consumer.fetch.manager.records.lag.max) that Spring Boot binds to the same registry.
+ */
+@Component
+public class PaymentConsumerMetrics {
+
+    private final Counter received;
+    private final Counter applied;
+    private final Counter deadLettered;
+    private final Counter retried;
+    private final Timer batchTimer;
+
+    public PaymentConsumerMetrics(MeterRegistry meterRegistry) {
+        this.received = meterRegistry.counter("payment_events_received");
+        this.applied = meterRegistry.counter("payment_events_applied");
+        this.deadLettered = meterRegistry.counter("payment_events_dead_lettered");
+        this.retried = meterRegistry.counter("payment_batches_retried");
+        this.batchTimer = meterRegistry.timer("payment_event_batch");
+    }
+
+    public void batchProcessed(int receivedCount, int appliedCount, long elapsedNanos) {
+        this.received.increment(receivedCount);
+        this.applied.increment(appliedCount);
+        this.batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void deadLettered() {
+        this.deadLettered.increment();
+    }
+
+    public void batchRetried() {
+        this.retried.increment();
+    }
+}
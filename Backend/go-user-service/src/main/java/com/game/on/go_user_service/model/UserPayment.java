@@ -0,0 +1,66 @@
+package com.game.on.go_user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest known state of a payment made by a user, as published by go-league-service on go-payment.
+ * Ids are assigned by the producer, so {@link Persistable} tells Spring Data which rows are new and
+ * lets a batch of inserts go through persist instead of a select-then-merge per row.
+ */
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "user_payments", indexes = @Index(name = "idx_user_payments_user_id", columnList = "user_id"))
+public class UserPayment implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "payment_id")
+    private UUID paymentId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "league_id")
+    private UUID leagueId;
+
+    @Column(name = "team_id")
+    private UUID teamId;
+
+    /* Amount in minor units (ex: cents) */
+    private Long amount;
+
+    private String currency;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newPayment = true;
+
+    @Override
+    public UUID getId() {
+        return paymentId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newPayment;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newPayment = false;
+    }
+}
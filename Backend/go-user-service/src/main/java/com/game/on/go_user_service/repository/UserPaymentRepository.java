@@ -0,0 +1,11 @@
+package com.game.on.go_user_service.repository;
+
+import com.game.on.go_user_service.model.UserPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserPaymentRepository extends JpaRepository<UserPayment, UUID> {
+}
@@ -0,0 +1,78 @@
+package com.game.on.go_user_service.service;
+
+import com.game.on.common.dto.PaymentDTO;
+import com.game.on.go_user_service.model.UserPayment;
+import com.game.on.go_user_service.repository.UserPaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PaymentEventService {
+
+    private final UserPaymentRepository userPaymentRepository;
+
+    /**
+     * Applies a batch of payment events in a single transaction. Events are keyed by paymentId and
+     * only an event newer than the stored state is applied, so redelivered or out of order events
+     * leave the stored payments unchanged.
+     *
+     * @return the number of payments inserted or updated
+     */
+    @Transactional
+    public int applyBatch(List<PaymentDTO> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, PaymentDTO> latestByPayment = new LinkedHashMap<>();
+        for (PaymentDTO event : events) {
+            latestByPayment.merge(event.paymentId(), event,
+                    (current, candidate) -> isNewer(candidate.occurredAt(), current.occurredAt()) ? candidate : current);
+        }
+
+        Map<UUID, UserPayment> stored = userPaymentRepository.findAllById(latestByPayment.keySet()).stream()
+                .collect(Collectors.toMap(UserPayment::getPaymentId, Function.identity()));
+
+        List<UserPayment> changed = new ArrayList<>();
+        for (PaymentDTO event : latestByPayment.values()) {
+            UserPayment payment = stored.get(event.paymentId());
+            if (payment == null) {
+                payment = UserPayment.builder().paymentId(event.paymentId()).build();
+            } else if (!isNewer(event.occurredAt(), payment.getOccurredAt())) {
+                continue;
+            }
+            payment.setUserId(event.userId());
+            payment.setLeagueId(event.leagueId());
+            payment.setTeamId(event.teamId());
+            payment.setAmount(event.amount());
+            payment.setCurrency(event.currency());
+            payment.setStatus(event.status());
+            payment.setOccurredAt(event.occurredAt());
+            changed.add(payment);
+        }
+
+        userPaymentRepository.saveAll(changed);
+        log.debug("Applied {} of {} payment events", changed.size(), events.size());
+        return changed.size();
+    }
+
+    private static boolean isNewer(LocalDateTime candidate, LocalDateTime current) {
+        if (current == null) {
+            return candidate != null;
+        }
+        return candidate != null && candidate.isAfter(current);
+    }
+}
@@ -0,0 +1,94 @@
+package com.game.on.go_user_service;
+
+import com.game.on.common.dto.PaymentDTO;
+import com.game.on.go_user_service.kafka.PaymentConsumer;
+import com.game.on.go_user_service.kafka.PaymentConsumerMetrics;
+import com.game.on.go_user_service.service.PaymentEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentConsumerTest {
+
+    @Mock
+    private PaymentEventService paymentEventService;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PaymentConsumer paymentConsumer;
+
+    @BeforeEach
+    void setup() {
+        paymentConsumer = new PaymentConsumer(paymentEventService, new PaymentConsumerMetrics(meterRegistry));
+        ReflectionTestUtils.setField(paymentConsumer, "retryIntervalMs", 250L);
+    }
+
+    private static ConsumerRecord<String, PaymentDTO> record(long offset, PaymentDTO value) {
+        String key = value == null || value.paymentId() == null ? null : value.paymentId().toString();
+        return new ConsumerRecord<>(PaymentDTO.TOPIC, 0, offset, key, value);
+    }
+
+    private static PaymentDTO event(String status) {
+        return new PaymentDTO(UUID.randomUUID(), "user_1", UUID.randomUUID(), null, 2500L, "cad", status, LocalDateTime.now());
+    }
+
+    @Test
+    void onPaymentEvents_storesWholeBatchThenAcknowledges() {
+        var first = event("CREATED");
+        var second = event("SUCCEEDED");
+        when(paymentEventService.applyBatch(List.of(first, second))).thenReturn(2);
+
+        paymentConsumer.onPaymentEvents(List.of(record(0, first), record(1, second)), acknowledgment);
+
+        verify(acknowledgment).acknowledge();
+        assertThat(meterRegistry.counter("payment_events_received").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("payment_events_applied").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void onPaymentEvents_poisonRecord_storesPrefixAndReportsItsIndex() {
+        var valid = event("CREATED");
+        var poison = new PaymentDTO(null, "user_1", null, null, 100L, "cad", "CREATED", LocalDateTime.now());
+        when(paymentEventService.applyBatch(List.of(valid))).thenReturn(1);
+
+        assertThatThrownBy(() -> paymentConsumer.onPaymentEvents(
+                List.of(record(0, valid), record(1, poison), record(2, event("SUCCEEDED"))), acknowledgment))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(ex -> assertThat(((BatchListenerFailedException) ex).getIndex()).isEqualTo(1));
+
+        verify(paymentEventService).applyBatch(List.of(valid));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void onPaymentEvents_databaseFailure_nacksWholeBatchWithoutDeadLettering() {
+        when(paymentEventService.applyBatch(anyList())).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        paymentConsumer.onPaymentEvents(List.of(record(0, event("CREATED"))), acknowledgment);
+
+        verify(acknowledgment).nack(0, Duration.ofMillis(250));
+        verify(acknowledgment, never()).acknowledge();
+        assertThat(meterRegistry.counter("payment_batches_retried").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.on.go_user_service;
+
+import com.game.on.common.dto.PaymentDTO;
+import com.game.on.go_user_service.model.UserPayment;
+import com.game.on.go_user_service.repository.UserPaymentRepository;
+import com.game.on.go_user_service.service.PaymentEventService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentEventServiceTest {
+
+    @InjectMocks
+    private PaymentEventService paymentEventService;
+
+    @Mock
+    private UserPaymentRepository userPaymentRepository;
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private static PaymentDTO event(UUID paymentId, String status, LocalDateTime occurredAt) {
+        return new PaymentDTO(paymentId, "user_1", UUID.randomUUID(), null, 2500L, "cad", status, occurredAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserPayment> savedPayments() {
+        ArgumentCaptor<List<UserPayment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userPaymentRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void applyBatch_keepsNewestEventPerPaymentAndInsertsNewPayments() {
+        UUID paymentId = UUID.randomUUID();
+        when(userPaymentRepository.findAllById(any())).thenReturn(List.of());
+
+        int applied = paymentEventService.applyBatch(List.of(
+                event(paymentId, "SUCCEEDED", T0.plusSeconds(5)),
+                event(paymentId, "CREATED", T0),
+                event(paymentId, "SUCCEEDED", T0.plusSeconds(5))
+        ));
+
+        assertThat(applied).isEqualTo(1);
+        List<UserPayment> saved = savedPayments();
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(saved.get(0).isNew()).isTrue();
+    }
+
+    @Test
+    void applyBatch_ignoresEventsNotNewerThanStoredState() {
+        UUID stale = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        UserPayment storedStale = UserPayment.builder().paymentId(stale).userId("user_1")
+                .status("SUCCEEDED").occurredAt(T0.plusMinutes(1)).newPayment(false).build();
+        UserPayment storedFresh = UserPayment.builder().paymentId(fresh).userId("user_1")
+                .status("CREATED").occurredAt(T0).newPayment(false).build();
+        when(userPaymentRepository.findAllById(any())).thenReturn(List.of(storedStale, storedFresh));
+
+        int applied = paymentEventService.applyBatch(List.of(
+                event(stale, "REQUIRES_ACTION", T0),
+                event(fresh, "FAILED", T0.plusMinutes(2))
+        ));
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(storedStale.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(storedFresh.getStatus()).isEqualTo("FAILED");
+        assertThat(savedPayments()).containsExactly(storedFresh);
+    }
+
+    @Test
+    void applyBatch_withEmptyBatch_doesNotTouchRepository() {
+        assertThat(paymentEventService.applyBatch(List.of())).isZero();
+        verifyNoInteractions(userPaymentRepository);
+    }
+}
@@ -25,6 +25,7 @@ export interface MessageResponse {
 export interface MessageHistoryResponse {
   messages: MessageResponse[];
   hasMore: boolean;
+  nextCursor?: string | null;
 }
 
 export interface ConversationResponse {
@@ -58,6 +59,17 @@ export interface SendMessagePayload {
   content: string;
 }
 
+export interface PresenceUpdate {
+  userId: string;
+  online: boolean;
+  typing: boolean;
+}
+
+export interface PresenceBatch {
+  conversationId: string;
+  updates: PresenceUpdate[];
+}
+
 export interface UserDirectoryEntry {
   id: string;
   email: string;
@@ -70,6 +82,7 @@ export interface FetchMessagesParams {
   conversationId: string;
   limit?: number;
   before?: string | null;
+  cursor?: string | null;
 }
 
 export type ChatListDateRow = {
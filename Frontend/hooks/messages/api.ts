@@ -60,10 +60,11 @@ export async function fetchMessages(
   api: AxiosInstance,
   params: FetchMessagesParams,
 ): Promise<MessageHistoryResponse> {
-  const { conversationId, limit, before } = params;
+  const { conversationId, limit, before, cursor } = params;
   const query: Record<string, string> = {};
   if (limit) query.limit = String(limit);
-  if (before) query.before = String(before);
+  if (cursor) query.cursor = cursor;
+  else if (before) query.before = String(before);
 
   const resp = await api.get<MessageHistoryResponse>(
     GO_MESSAGING_ROUTES.MESSAGES(conversationId),
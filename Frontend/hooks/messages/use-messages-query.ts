@@ -16,11 +16,11 @@ export function useMessagesQuery(conversationId: string) {
       fetchMessages(api, {
         conversationId,
         limit: 40,
-        before: pageParam as string | null,
+        cursor: pageParam as string | null,
       }),
     getNextPageParam: (lastPage) => {
-      if (!lastPage.hasMore || !lastPage.messages.length) return undefined;
-      return lastPage.messages[0].createdAt;
+      if (!lastPage.hasMore || !lastPage.nextCursor) return undefined;
+      return lastPage.nextCursor;
     },
     enabled: Boolean(conversationId),
   });
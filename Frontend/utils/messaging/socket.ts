@@ -3,6 +3,7 @@ import { createScopedLog } from "@/utils/logger";
 import { isDevelopment } from "@/utils/runtime";
 import type {
   MessageResponse,
+  PresenceBatch,
   SendMessagePayload,
 } from "@/constants/messaging";
 
@@ -13,6 +14,7 @@ const log = createScopedLog("MessagingSocket");
 export interface MessagingSocketOptions {
   getToken: () => Promise<string | null>;
   onMessage: (message: MessageResponse) => void;
+  onPresence?: (batch: PresenceBatch) => void;
   onStateChange?: (state: SocketState) => void;
 }
 
@@ -20,6 +22,7 @@ export class MessagingSocket {
   private client: Client | null = null;
   private readonly getToken: () => Promise<string | null>;
   private readonly onMessage: (message: MessageResponse) => void;
+  private readonly onPresence?: (batch: PresenceBatch) => void;
   private readonly onStateChange?: (state: SocketState) => void;
   private readonly wsBaseUrl: string;
   private currentWsUrl: string | null = null;
@@ -29,12 +32,14 @@ export class MessagingSocket {
     string,
     StompSubscription
   >();
+  private readonly presenceSubscriptions = new Map<string, StompSubscription>();
   private desiredConversationIds = new Set<string>();
   private state: SocketState = "idle";
 
   constructor(options: MessagingSocketOptions) {
     this.getToken = options.getToken;
     this.onMessage = options.onMessage;
+    this.onPresence = options.onPresence;
     this.onStateChange = options.onStateChange;
     const base = process.env.EXPO_PUBLIC_API_BASE_URL ?? "";
     if (!base) {
@@ -75,8 +80,9 @@ export class MessagingSocket {
     this.client = new Client({
       debug: (msg) => log.info(`[STOMP] ${msg}`),
       reconnectDelay: 15000,
-      heartbeatOutgoing: 0,
-      heartbeatIncoming: 0,
+      // heartbeats keep this session's presence alive on the server
+      heartbeatOutgoing: 10000,
+      heartbeatIncoming: 10000,
       connectHeaders: this.currentConnectHeaders,
       beforeConnect: async () => {
         await this.refreshWebSocketUrl();
@@ -184,6 +190,8 @@ export class MessagingSocket {
     this.userSubscription = null;
     this.conversationSubscriptions.forEach((sub) => sub.unsubscribe());
     this.conversationSubscriptions.clear();
+    this.presenceSubscriptions.forEach((sub) => sub.unsubscribe());
+    this.presenceSubscriptions.clear();
   }
 
   private subscribeUserQueue() {
@@ -210,6 +218,12 @@ export class MessagingSocket {
         this.conversationSubscriptions.delete(id);
       }
     });
+    this.presenceSubscriptions.forEach((sub, id) => {
+      if (!nextIds.has(id)) {
+        sub.unsubscribe();
+        this.presenceSubscriptions.delete(id);
+      }
+    });
     nextIds.forEach((id) => this.subscribeConversation(id));
   }
 
@@ -225,6 +239,26 @@ export class MessagingSocket {
       this.handleInboundMessage(message),
     );
     this.conversationSubscriptions.set(conversationId, subscription);
+    this.subscribePresence(conversationId);
+  }
+
+  private subscribePresence(conversationId: string) {
+    const onPresence = this.onPresence;
+    if (!onPresence || !this.client?.connected) {
+      return;
+    }
+    if (this.presenceSubscriptions.has(conversationId)) {
+      return;
+    }
+    const destination = `/topic/chatrooms/${conversationId}/presence`;
+    const subscription = this.client.subscribe(destination, (frame) => {
+      try {
+        onPresence(JSON.parse(frame.body) as PresenceBatch);
+      } catch (err) {
+        log.warn("Failed to parse presence batch", err);
+      }
+    });
+    this.presenceSubscriptions.set(conversationId, subscription);
   }
 
   private handleInboundMessage(frame: IMessage) {
@@ -252,4 +286,14 @@ export class MessagingSocket {
       body: JSON.stringify(payload),
     });
   }
+
+  sendTyping(conversationId: string, typing: boolean) {
+    if (!this.client?.connected) {
+      return;
+    }
+    this.client.publish({
+      destination: "/app/presence/typing",
+      body: JSON.stringify({ conversationId, typing }),
+    });
+  }
 }